@@ -0,0 +1,261 @@
+package clasificacion;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+import metricas.Metrica;
+
+/**
+ * @brief Árbol de bolas para búsqueda exacta de vecinos con cualquier métrica
+ *
+ * Cada nodo cubre un rango de una permutación de las filas y guarda el
+ * centroide de esas filas y el radio de la bola que las contiene. Por la
+ * desigualdad triangular, ninguna fila del nodo puede estar a menos de
+ * d(consulta, centro) - radio, lo que permite podar nodos completos sin
+ * depender de cortes alineados con los ejes. Funciona por tanto con cualquier
+ * Metrica (euclídea ponderada, Manhattan, Chebyshev...) y se degrada mucho
+ * menos que ArbolKD con 30-80 atributos.
+ */
+public class ArbolBolas implements BuscadorVecinos {
+	/** @brief Número máximo de filas en una hoja */
+	public static final int TAMANO_HOJA = 24;
+
+	private final MatrizCaracteristicas matriz;
+	private final Metrica metrica;
+	private final double[] valores;
+	private final double[] pesos;
+	private final int dimension;
+	private final int[] orden;
+	private final LongAdder evaluaciones = new LongAdder();
+
+	private int[] inicio;
+	private int[] fin;
+	private int[] izquierdo;
+	private int[] derecho;
+	private double[] radios;
+	private double[] centros;
+	private int nodos;
+
+	/**
+	 * @brief Construye el árbol con distancia euclídea ponderada
+	 * @param matriz Matriz a indexar
+	 */
+	public ArbolBolas(MatrizCaracteristicas matriz) {
+		this(matriz, Metrica.EUCLIDEA);
+	}
+
+	/**
+	 * @brief Construye el árbol con una métrica concreta
+	 * @param matriz Matriz a indexar
+	 * @param metrica Métrica que cumpla la desigualdad triangular
+	 * @throws IllegalArgumentException Si la métrica no la cumple
+	 */
+	public ArbolBolas(MatrizCaracteristicas matriz, Metrica metrica) {
+		if (!metrica.cumpleDesigualdadTriangular()) {
+			throw new IllegalArgumentException("La métrica no cumple la desigualdad triangular");
+		}
+		this.matriz = matriz;
+		this.metrica = metrica;
+		this.valores = matriz.valores();
+		this.pesos = matriz.pesos();
+		this.dimension = matriz.dimension();
+		int n = matriz.numeroFilas();
+		this.orden = new int[n];
+		for (int i = 0; i < n; ++i) orden[i] = i;
+
+		int capacidad = Math.max(1, 2 * (n / TAMANO_HOJA + 1));
+		inicio = new int[capacidad];
+		fin = new int[capacidad];
+		izquierdo = new int[capacidad];
+		derecho = new int[capacidad];
+		radios = new double[capacidad];
+		centros = new double[capacidad * dimension];
+		if (n > 0) construir(0, n, new double[n]);
+	}
+
+	/**
+	 * @brief Construye recursivamente el subárbol del rango [desde, hasta)
+	 * @param claves Array auxiliar para ordenar las filas al partir
+	 * @return Índice del nodo creado
+	 */
+	private int construir(int desde, int hasta, double[] claves) {
+		int nodo = nuevoNodo(desde, hasta);
+		int centro = nodo * dimension;
+		for (int i = desde; i < hasta; ++i) {
+			int base = orden[i] * dimension;
+			for (int c = 0; c < dimension; ++c) centros[centro + c] += valores[base + c];
+		}
+		for (int c = 0; c < dimension; ++c) centros[centro + c] /= (hasta - desde);
+
+		int lejano = desde;
+		double radio = 0.0;
+		for (int i = desde; i < hasta; ++i) {
+			double d = metrica.distancia(valores, orden[i] * dimension, centros, centro, pesos, dimension);
+			if (d > radio) {
+				radio = d;
+				lejano = i;
+			}
+		}
+		radios[nodo] = radio;
+		if (hasta - desde <= TAMANO_HOJA || radio == 0.0) return nodo;
+
+		// Dos pivotes alejados entre sí; cada fila se ordena por cuánto más cerca está del primero
+		int p1 = orden[lejano] * dimension;
+		int p2 = p1;
+		double mayor = -1.0;
+		for (int i = desde; i < hasta; ++i) {
+			double d = metrica.distancia(valores, orden[i] * dimension, valores, p1, pesos, dimension);
+			if (d > mayor) {
+				mayor = d;
+				p2 = orden[i] * dimension;
+			}
+		}
+		for (int i = desde; i < hasta; ++i) {
+			int base = orden[i] * dimension;
+			claves[orden[i]] = metrica.distancia(valores, base, valores, p1, pesos, dimension)
+					- metrica.distancia(valores, base, valores, p2, pesos, dimension);
+		}
+		int medio = (desde + hasta) >>> 1;
+		seleccionar(claves, desde, hasta - 1, medio);
+
+		int hijoIzquierdo = construir(desde, medio, claves);
+		int hijoDerecho = construir(medio, hasta, claves);
+		izquierdo[nodo] = hijoIzquierdo;
+		derecho[nodo] = hijoDerecho;
+		return nodo;
+	}
+
+	private int nuevoNodo(int desde, int hasta) {
+		if (nodos == inicio.length) {
+			int capacidad = inicio.length * 2;
+			inicio = Arrays.copyOf(inicio, capacidad);
+			fin = Arrays.copyOf(fin, capacidad);
+			izquierdo = Arrays.copyOf(izquierdo, capacidad);
+			derecho = Arrays.copyOf(derecho, capacidad);
+			radios = Arrays.copyOf(radios, capacidad);
+			centros = Arrays.copyOf(centros, capacidad * dimension);
+		}
+		int nodo = nodos++;
+		inicio[nodo] = desde;
+		fin[nodo] = hasta;
+		izquierdo[nodo] = -1;
+		derecho[nodo] = -1;
+		return nodo;
+	}
+
+	/**
+	 * @brief Quickselect de la permutación según las claves de cada fila
+	 */
+	private void seleccionar(double[] claves, int lo, int hi, int objetivo) {
+		while (hi > lo) {
+			double pivote = claves[orden[(lo + hi) >>> 1]];
+			int i = lo;
+			int j = hi;
+			while (i <= j) {
+				while (claves[orden[i]] < pivote) i++;
+				while (claves[orden[j]] > pivote) j--;
+				if (i <= j) {
+					int aux = orden[i];
+					orden[i] = orden[j];
+					orden[j] = aux;
+					i++;
+					j--;
+				}
+			}
+			if (objetivo <= j) hi = j;
+			else if (objetivo >= i) lo = i;
+			else return;
+		}
+	}
+
+	/**
+	 * @brief Busca los k vecinos exactos de una consulta
+	 * @param consulta Valores de la instancia a clasificar
+	 * @param k Número de vecinos
+	 * @return Vecinos ordenados según la métrica del árbol
+	 */
+	@Override
+	public Vecinos buscar(double[] consulta, int k) {
+		matriz.validarConsulta(consulta);
+		MonticuloVecinos monticulo = new MonticuloVecinos(Math.max(1, Math.min(k, orden.length)));
+		if (orden.length > 0) {
+			long[] contador = new long[1];
+			double cota = cotaInferior(0, consulta, contador);
+			buscar(0, cota, consulta, monticulo, contador);
+			evaluaciones.add(contador[0]);
+		}
+		return monticulo.extraer();
+	}
+
+	private void buscar(int nodo, double cota, double[] consulta, MonticuloVecinos monticulo, long[] contador) {
+		if (cota > monticulo.peor()) return;
+		if (izquierdo[nodo] < 0) {
+			for (int i = inicio[nodo]; i < fin[nodo]; ++i) {
+				int fila = orden[i];
+				double d = metrica.distancia(valores, fila * dimension, consulta, 0, pesos, consulta.length);
+				if (d <= monticulo.peor()) monticulo.add(fila, d);
+			}
+			contador[0] += fin[nodo] - inicio[nodo];
+			return;
+		}
+		double cotaIzquierda = cotaInferior(izquierdo[nodo], consulta, contador);
+		double cotaDerecha = cotaInferior(derecho[nodo], consulta, contador);
+		if (cotaIzquierda <= cotaDerecha) {
+			buscar(izquierdo[nodo], cotaIzquierda, consulta, monticulo, contador);
+			buscar(derecho[nodo], cotaDerecha, consulta, monticulo, contador);
+		} else {
+			buscar(derecho[nodo], cotaDerecha, consulta, monticulo, contador);
+			buscar(izquierdo[nodo], cotaIzquierda, consulta, monticulo, contador);
+		}
+	}
+
+	/**
+	 * @brief Distancia mínima posible entre la consulta y cualquier fila del nodo
+	 */
+	private double cotaInferior(int nodo, double[] consulta, long[] contador) {
+		contador[0]++;
+		double d = metrica.distancia(consulta, 0, centros, nodo * dimension, pesos, consulta.length);
+		// Pequeño margen para que el redondeo nunca pode una fila empatada con el k-ésimo
+		return Math.max(0.0, d - radios[nodo] - 1e-12 * (d + radios[nodo]));
+	}
+
+	/**
+	 * @brief Obtiene la matriz indexada
+	 * @return Matriz de características
+	 */
+	@Override
+	public MatrizCaracteristicas getMatriz() {
+		return matriz;
+	}
+
+	/**
+	 * @brief Obtiene la métrica del árbol
+	 * @return Métrica de distancia
+	 */
+	public Metrica getMetrica() {
+		return metrica;
+	}
+
+	/**
+	 * @brief Número de distancias calculadas en búsquedas (filas y centros)
+	 * @return Número de evaluaciones de distancia desde la creación o el último reinicio
+	 */
+	public long getEvaluaciones() {
+		return evaluaciones.sum();
+	}
+
+	/**
+	 * @brief Pone a cero el contador de evaluaciones
+	 */
+	public void reiniciarEvaluaciones() {
+		evaluaciones.reset();
+	}
+
+	/**
+	 * @brief Obtiene el número de nodos del árbol
+	 * @return Número de nodos
+	 */
+	public int numeroNodos() {
+		return nodos;
+	}
+}
@@ -0,0 +1,233 @@
+package clasificacion;
+
+import java.util.Arrays;
+
+import metricas.DistanciaCoseno;
+import metricas.Metrica;
+
+/**
+ * @brief Árbol k-d para búsqueda exacta de vecinos en datasets de baja dimensión
+ *
+ * Se construye una sola vez sobre una MatrizCaracteristicas sin copiar sus
+ * valores: el árbol solo guarda una permutación de las filas y, por cada nodo,
+ * el rango de filas que cubre, la columna de corte y el valor de corte. La
+ * columna de corte es la de mayor rango ponderado por Atributo.getPeso(), y la
+ * búsqueda poda una rama cuando la distancia ponderada al plano de corte ya
+ * supera la del k-ésimo mejor candidato. Con otras métricas la poda usa
+ * Metrica.cotaCoordenada(); si la métrica no ofrece cota, el árbol sigue siendo
+ * exacto pero recorre todas las hojas.
+ */
+public class ArbolKD implements BuscadorVecinos {
+	/** @brief Número máximo de filas en una hoja */
+	public static final int TAMANO_HOJA = 16;
+
+	private final MatrizCaracteristicas matriz;
+	private final Metrica metrica;
+	private final boolean euclidea;
+	private final double[] valores;
+	private final double[] pesos;
+	private final int dimension;
+	private final int[] orden;
+
+	private int[] inicio;
+	private int[] fin;
+	private int[] columnaCorte;
+	private double[] valorCorte;
+	private int[] izquierdo;
+	private int[] derecho;
+	private int nodos;
+
+	/**
+	 * @brief Construye el árbol sobre una matriz de características
+	 * @param matriz Matriz a indexar
+	 */
+	public ArbolKD(MatrizCaracteristicas matriz) {
+		this(matriz, Metrica.EUCLIDEA);
+	}
+
+	/**
+	 * @brief Construye el árbol con una métrica concreta
+	 * @param matriz Matriz a indexar (normalizada si la métrica lo requiere)
+	 * @param metrica Métrica de distancia; si requiere normalización, buscar() normaliza una copia de la consulta
+	 */
+	public ArbolKD(MatrizCaracteristicas matriz, Metrica metrica) {
+		this.matriz = matriz;
+		this.metrica = metrica;
+		this.euclidea = metrica == Metrica.EUCLIDEA;
+		this.valores = matriz.valores();
+		this.pesos = matriz.pesos();
+		this.dimension = matriz.dimension();
+		int n = matriz.numeroFilas();
+		this.orden = new int[n];
+		for (int i = 0; i < n; ++i) orden[i] = i;
+
+		int capacidad = Math.max(1, 2 * (n / TAMANO_HOJA + 1));
+		inicio = new int[capacidad];
+		fin = new int[capacidad];
+		columnaCorte = new int[capacidad];
+		valorCorte = new double[capacidad];
+		izquierdo = new int[capacidad];
+		derecho = new int[capacidad];
+		construir(0, n);
+	}
+
+	/**
+	 * @brief Construye recursivamente el subárbol del rango [desde, hasta)
+	 * @return Índice del nodo creado
+	 */
+	private int construir(int desde, int hasta) {
+		int nodo = nuevoNodo(desde, hasta);
+		if (hasta - desde <= TAMANO_HOJA || dimension == 0) return nodo;
+
+		int columna = columnaMayorRango(desde, hasta);
+		if (columna < 0) return nodo;
+
+		int medio = (desde + hasta) >>> 1;
+		seleccionarMediana(desde, hasta - 1, medio, columna);
+		columnaCorte[nodo] = columna;
+		valorCorte[nodo] = valores[orden[medio] * dimension + columna];
+		int hijoIzquierdo = construir(desde, medio);
+		int hijoDerecho = construir(medio, hasta);
+		izquierdo[nodo] = hijoIzquierdo;
+		derecho[nodo] = hijoDerecho;
+		return nodo;
+	}
+
+	private int nuevoNodo(int desde, int hasta) {
+		if (nodos == inicio.length) {
+			int capacidad = inicio.length * 2;
+			inicio = Arrays.copyOf(inicio, capacidad);
+			fin = Arrays.copyOf(fin, capacidad);
+			columnaCorte = Arrays.copyOf(columnaCorte, capacidad);
+			valorCorte = Arrays.copyOf(valorCorte, capacidad);
+			izquierdo = Arrays.copyOf(izquierdo, capacidad);
+			derecho = Arrays.copyOf(derecho, capacidad);
+		}
+		int nodo = nodos++;
+		inicio[nodo] = desde;
+		fin[nodo] = hasta;
+		columnaCorte[nodo] = -1;
+		izquierdo[nodo] = -1;
+		derecho[nodo] = -1;
+		return nodo;
+	}
+
+	/**
+	 * @brief Columna con mayor rango ponderado en el rango de filas
+	 * @return Índice de la columna, o -1 si todas las filas son iguales
+	 */
+	private int columnaMayorRango(int desde, int hasta) {
+		int mejor = -1;
+		double mayorRango = 0.0;
+		for (int c = 0; c < dimension; ++c) {
+			double min = Double.POSITIVE_INFINITY;
+			double max = Double.NEGATIVE_INFINITY;
+			for (int i = desde; i < hasta; ++i) {
+				double v = valores[orden[i] * dimension + c];
+				if (v < min) min = v;
+				if (v > max) max = v;
+			}
+			double rango = (max - min) * Math.abs(pesos[c]);
+			if (rango > mayorRango) {
+				mayorRango = rango;
+				mejor = c;
+			}
+		}
+		return mejor;
+	}
+
+	/**
+	 * @brief Quickselect sobre la permutación según una columna
+	 */
+	private void seleccionarMediana(int lo, int hi, int objetivo, int columna) {
+		while (hi > lo) {
+			int medio = (lo + hi) >>> 1;
+			double pivote = valor(medio, columna);
+			int i = lo;
+			int j = hi;
+			while (i <= j) {
+				while (valor(i, columna) < pivote) i++;
+				while (valor(j, columna) > pivote) j--;
+				if (i <= j) {
+					int aux = orden[i];
+					orden[i] = orden[j];
+					orden[j] = aux;
+					i++;
+					j--;
+				}
+			}
+			if (objetivo <= j) hi = j;
+			else if (objetivo >= i) lo = i;
+			else return;
+		}
+	}
+
+	private double valor(int posicion, int columna) {
+		return valores[orden[posicion] * dimension + columna];
+	}
+
+	/**
+	 * @brief Busca los k vecinos exactos de una consulta
+	 * @param consulta Valores de la instancia a clasificar
+	 * @param k Número de vecinos
+	 * @return Vecinos ordenados según la métrica del árbol
+	 */
+	@Override
+	public Vecinos buscar(double[] consulta, int k) {
+		matriz.validarConsulta(consulta);
+		double[] q = consulta;
+		if (metrica.requiereNormalizacion()) {
+			q = consulta.clone();
+			DistanciaCoseno.normalizar(q, 0, pesos, q.length);
+		}
+		MonticuloVecinos monticulo = new MonticuloVecinos(Math.max(1, Math.min(k, orden.length)));
+		if (orden.length > 0) buscar(0, q, monticulo);
+		Vecinos cercanos = monticulo.extraer();
+		return euclidea ? cercanos.raiz() : cercanos;
+	}
+
+	private void buscar(int nodo, double[] consulta, MonticuloVecinos monticulo) {
+		int columna = columnaCorte[nodo];
+		if (columna < 0) {
+			for (int i = inicio[nodo]; i < fin[nodo]; ++i) {
+				int fila = orden[i];
+				double d = euclidea ? matriz.distanciaCuadrada(fila, consulta)
+						: metrica.distancia(valores, fila * dimension, consulta, 0, pesos, consulta.length);
+				if (d <= monticulo.peor()) monticulo.add(fila, d);
+			}
+			return;
+		}
+		double delta = columna < consulta.length ? consulta[columna] - valorCorte[nodo] : 0.0;
+		double diff = delta * pesos[columna];
+		int cercano = delta < 0 ? izquierdo[nodo] : derecho[nodo];
+		int lejano = delta < 0 ? derecho[nodo] : izquierdo[nodo];
+		buscar(cercano, consulta, monticulo);
+		double cota = euclidea ? diff * diff : metrica.cotaCoordenada(diff);
+		if (cota <= monticulo.peor()) buscar(lejano, consulta, monticulo);
+	}
+
+	/**
+	 * @brief Obtiene la matriz indexada
+	 * @return Matriz de características
+	 */
+	@Override
+	public MatrizCaracteristicas getMatriz() {
+		return matriz;
+	}
+
+	/**
+	 * @brief Obtiene el número de nodos del árbol
+	 * @return Número de nodos
+	 */
+	public int numeroNodos() {
+		return nodos;
+	}
+
+	/**
+	 * @brief Obtiene la métrica utilizada
+	 * @return Métrica de distancia
+	 */
+	public Metrica getMetrica() {
+		return metrica;
+	}
+}
@@ -0,0 +1,25 @@
+package clasificacion;
+
+/**
+ * @brief Interfaz común para las estrategias de búsqueda de vecinos más cercanos
+ *
+ * Cada implementación se construye sobre una MatrizCaracteristicas y devuelve
+ * los índices de fila de esa matriz, de modo que KNN puede votar con sus
+ * etiquetas independientemente de cómo se haya realizado la búsqueda.
+ */
+public interface BuscadorVecinos {
+
+	/**
+	 * @brief Busca los k vecinos más cercanos a una consulta
+	 * @param consulta Valores de la instancia a clasificar
+	 * @param k Número de vecinos a devolver
+	 * @return Vecinos ordenados de menor a mayor distancia
+	 */
+	public Vecinos buscar(double[] consulta, int k);
+
+	/**
+	 * @brief Obtiene la matriz sobre la que se realiza la búsqueda
+	 * @return Matriz de características indexada
+	 */
+	public MatrizCaracteristicas getMatriz();
+}
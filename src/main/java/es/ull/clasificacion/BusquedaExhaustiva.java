@@ -0,0 +1,96 @@
+package clasificacion;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+import metricas.DistanciaCoseno;
+import metricas.Metrica;
+
+/**
+ * @brief Búsqueda exacta por fuerza bruta sobre una matriz compilada
+ *
+ * Calcula la distancia a todas las filas y selecciona las k menores. Es la
+ * referencia exacta con la que se comparan los índices, y como ellos lleva la
+ * cuenta de las evaluaciones de distancia realizadas.
+ */
+public class BusquedaExhaustiva implements BuscadorVecinos {
+	private final MatrizCaracteristicas matriz;
+	private final Metrica metrica;
+	private final LongAdder evaluaciones = new LongAdder();
+
+	/**
+	 * @brief Constructor con distancia euclídea ponderada
+	 * @param matriz Matriz de características sobre la que buscar
+	 */
+	public BusquedaExhaustiva(MatrizCaracteristicas matriz) {
+		this(matriz, Metrica.EUCLIDEA);
+	}
+
+	/**
+	 * @brief Constructor con una métrica concreta
+	 * @param matriz Matriz de características sobre la que buscar (normalizada si la métrica lo requiere)
+	 * @param metrica Métrica de distancia; si requiere normalización, buscar() normaliza una copia de la consulta
+	 */
+	public BusquedaExhaustiva(MatrizCaracteristicas matriz, Metrica metrica) {
+		this.matriz = matriz;
+		this.metrica = metrica;
+	}
+
+	/**
+	 * @brief Busca los k vecinos más cercanos recorriendo todas las filas
+	 * @param consulta Valores de la instancia a clasificar
+	 * @param k Número de vecinos
+	 * @return Vecinos ordenados
+	 */
+	@Override
+	public Vecinos buscar(double[] consulta, int k) {
+		matriz.validarConsulta(consulta);
+		double[] valores = matriz.valores();
+		double[] pesos = matriz.pesos();
+		int dimension = matriz.dimension();
+		double[] q = consulta;
+		if (metrica.requiereNormalizacion()) {
+			q = consulta.clone();
+			DistanciaCoseno.normalizar(q, 0, pesos, q.length);
+		}
+		double[] preparada = q;
+		double[] distancias = new double[matriz.numeroFilas()];
+		IntStream.range(0, distancias.length)
+				.parallel()
+				.forEach(i -> distancias[i] = metrica.distancia(valores, i * dimension, preparada, 0, pesos, preparada.length));
+		evaluaciones.add(distancias.length);
+		return SeleccionVecinos.seleccionar(distancias, k);
+	}
+
+	/**
+	 * @brief Obtiene la matriz sobre la que se busca
+	 * @return Matriz de características
+	 */
+	@Override
+	public MatrizCaracteristicas getMatriz() {
+		return matriz;
+	}
+
+	/**
+	 * @brief Obtiene la métrica utilizada
+	 * @return Métrica de distancia
+	 */
+	public Metrica getMetrica() {
+		return metrica;
+	}
+
+	/**
+	 * @brief Número de distancias calculadas desde la creación o el último reinicio
+	 * @return Número de evaluaciones de distancia
+	 */
+	public long getEvaluaciones() {
+		return evaluaciones.sum();
+	}
+
+	/**
+	 * @brief Pone a cero el contador de evaluaciones
+	 */
+	public void reiniciarEvaluaciones() {
+		evaluaciones.reset();
+	}
+}
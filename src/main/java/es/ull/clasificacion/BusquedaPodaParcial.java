@@ -0,0 +1,194 @@
+package clasificacion;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @brief Búsqueda exacta por fuerza bruta con abandono temprano de filas
+ *
+ * Trabaja con distancias euclídeas ponderadas al cuadrado y va acumulando la
+ * suma parcial de cada fila; en cuanto supera la distancia del k-ésimo mejor
+ * candidato, la fila se descarta sin terminar de recorrer sus columnas. Para
+ * que el abandono llegue antes, las columnas pueden reordenarse de mayor a
+ * menor contribución esperada (peso² x varianza), de modo que las diferencias
+ * grandes se sumen primero. El resultado es el mismo que el de
+ * BusquedaExhaustiva con la métrica euclídea.
+ */
+public class BusquedaPodaParcial implements BuscadorVecinos {
+	/** @brief Número de columnas que se suman entre dos comprobaciones de la cota */
+	public static final int COLUMNAS_POR_COMPROBACION = 4;
+
+	private final MatrizCaracteristicas matriz;
+	private final int[] orden;
+	private final double[] valores;
+	private final double[] pesos;
+	private final LongAdder evaluaciones = new LongAdder();
+	private final LongAdder abandonos = new LongAdder();
+
+	/**
+	 * @brief Constructor que reordena las columnas por contribución
+	 * @param matriz Matriz de características sobre la que buscar
+	 */
+	public BusquedaPodaParcial(MatrizCaracteristicas matriz) {
+		this(matriz, true);
+	}
+
+	/**
+	 * @brief Constructor
+	 * @param matriz Matriz de características sobre la que buscar
+	 * @param reordenar Si se ordenan las columnas por peso² x varianza descendente
+	 */
+	public BusquedaPodaParcial(MatrizCaracteristicas matriz, boolean reordenar) {
+		this.matriz = matriz;
+		int dimension = matriz.dimension();
+		this.orden = reordenar ? ordenPorContribucion(matriz) : identidad(dimension);
+
+		double[] original = matriz.valores();
+		double[] pesosOriginales = matriz.pesos();
+		int filas = matriz.numeroFilas();
+		this.valores = new double[filas * dimension];
+		this.pesos = new double[dimension];
+		for (int p = 0; p < dimension; ++p) pesos[p] = pesosOriginales[orden[p]];
+		for (int i = 0; i < filas; ++i) {
+			int base = i * dimension;
+			for (int p = 0; p < dimension; ++p) valores[base + p] = original[base + orden[p]];
+		}
+	}
+
+	private static int[] identidad(int n) {
+		int[] orden = new int[n];
+		for (int i = 0; i < n; ++i) orden[i] = i;
+		return orden;
+	}
+
+	/**
+	 * @brief Ordena las columnas por peso² x varianza descendente
+	 * @param matriz Matriz de características
+	 * @return Permutación de columnas (posición -> columna original)
+	 */
+	static int[] ordenPorContribucion(MatrizCaracteristicas matriz) {
+		int dimension = matriz.dimension();
+		int filas = matriz.numeroFilas();
+		double[] valores = matriz.valores();
+		double[] pesos = matriz.pesos();
+		double[] media = new double[dimension];
+		double[] m2 = new double[dimension];
+		for (int i = 0; i < filas; ++i) {
+			int base = i * dimension;
+			for (int c = 0; c < dimension; ++c) {
+				double delta = valores[base + c] - media[c];
+				media[c] += delta / (i + 1);
+				m2[c] += delta * (valores[base + c] - media[c]);
+			}
+		}
+		double[] contribucion = new double[dimension];
+		for (int c = 0; c < dimension; ++c) contribucion[c] = pesos[c] * pesos[c] * m2[c];
+
+		// Inserción estable: la dimensión es pequeña y así los empates conservan el orden original
+		int[] orden = identidad(dimension);
+		for (int i = 1; i < dimension; ++i) {
+			int columna = orden[i];
+			int j = i - 1;
+			while (j >= 0 && contribucion[orden[j]] < contribucion[columna]) {
+				orden[j + 1] = orden[j];
+				j--;
+			}
+			orden[j + 1] = columna;
+		}
+		return orden;
+	}
+
+	/**
+	 * @brief Busca los k vecinos más cercanos abandonando las filas lejanas
+	 * @param consulta Valores de la instancia a clasificar
+	 * @param k Número de vecinos
+	 * @return Vecinos ordenados, con distancias euclídeas
+	 * @throws IllegalArgumentException Si la consulta no es compatible o k no es positivo
+	 */
+	@Override
+	public Vecinos buscar(double[] consulta, int k) {
+		if (k <= 0) {
+			throw new IllegalArgumentException("El número de vecinos debe ser positivo");
+		}
+		matriz.validarConsulta(consulta);
+		int filas = matriz.numeroFilas();
+		if (filas == 0) return new Vecinos(new int[0], new double[0]);
+
+		// Consulta y pesos en el orden de columnas de la copia; las columnas
+		// que la consulta no trae no cuentan en la distancia
+		int dimension = orden.length;
+		double[] q = new double[dimension];
+		double[] w = new double[dimension];
+		for (int p = 0; p < dimension; ++p) {
+			if (orden[p] < consulta.length) {
+				q[p] = consulta[orden[p]];
+				w[p] = pesos[p];
+			}
+		}
+
+		MonticuloVecinos monticulo = new MonticuloVecinos(Math.min(k, filas));
+		long abandonadas = 0;
+		for (int i = 0; i < filas; ++i) {
+			int base = i * dimension;
+			double cota = monticulo.peor();
+			double suma = 0.0;
+			int c = 0;
+			while (c < dimension) {
+				int fin = Math.min(dimension, c + COLUMNAS_POR_COMPROBACION);
+				for (; c < fin; ++c) {
+					double diff = (valores[base + c] - q[c]) * w[c];
+					suma += diff * diff;
+				}
+				if (suma > cota) break;
+			}
+			if (c < dimension) {
+				abandonadas++;
+			} else if (suma <= cota) {
+				monticulo.add(i, suma);
+			}
+		}
+		abandonos.add(abandonadas);
+		evaluaciones.add(filas - abandonadas);
+		return monticulo.extraer().raiz();
+	}
+
+	/**
+	 * @brief Obtiene la matriz sobre la que se busca
+	 * @return Matriz de características
+	 */
+	@Override
+	public MatrizCaracteristicas getMatriz() {
+		return matriz;
+	}
+
+	/**
+	 * @brief Obtiene el orden en que se recorren las columnas
+	 * @return Copia de la permutación (posición -> columna original)
+	 */
+	public int[] getOrden() {
+		return orden.clone();
+	}
+
+	/**
+	 * @brief Número de filas cuya distancia se ha calculado completa
+	 * @return Número de evaluaciones completas
+	 */
+	public long getEvaluaciones() {
+		return evaluaciones.sum();
+	}
+
+	/**
+	 * @brief Número de filas descartadas antes de terminar su distancia
+	 * @return Número de abandonos
+	 */
+	public long getAbandonos() {
+		return abandonos.sum();
+	}
+
+	/**
+	 * @brief Pone a cero los contadores de evaluaciones y abandonos
+	 */
+	public void reiniciarEvaluaciones() {
+		evaluaciones.reset();
+		abandonos.reset();
+	}
+}
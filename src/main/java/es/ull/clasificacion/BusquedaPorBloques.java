@@ -0,0 +1,169 @@
+package clasificacion;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import metricas.Metrica;
+
+/**
+ * @brief Búsqueda exacta de vecinos para muchas consultas a la vez
+ *
+ * Recorre el producto consultas x filas de entrenamiento en bloques: cada
+ * tarea toma un bloque de consultas y lo cruza con bloques de filas del tamaño
+ * adecuado para permanecer en caché, de modo que cada bloque de filas se lee
+ * de memoria una vez por bloque de consultas y no una vez por consulta. Los
+ * bloques de consultas se reparten con fork/join y cada consulta mantiene su
+ * propio montículo de k candidatos, por lo que no hay estado compartido.
+ * Con la métrica euclídea se comparan distancias al cuadrado y la raíz solo se
+ * aplica a los k vecinos finales.
+ */
+public class BusquedaPorBloques {
+	/** @brief Número de consultas por bloque */
+	public static final int BLOQUE_CONSULTAS = 32;
+
+	/** @brief Número aproximado de valores double por bloque de filas (256 KB) */
+	public static final int VALORES_POR_BLOQUE = 32 * 1024;
+
+	private final MatrizCaracteristicas matriz;
+	private final ForkJoinPool pool;
+	private final Metrica metrica;
+	private final boolean euclidea;
+
+	/**
+	 * @brief Constructor que usa el pool común de fork/join
+	 * @param matriz Matriz de entrenamiento
+	 */
+	public BusquedaPorBloques(MatrizCaracteristicas matriz) {
+		this(matriz, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * @brief Constructor con un pool concreto
+	 * @param matriz Matriz de entrenamiento
+	 * @param pool Pool de fork/join en el que repartir los bloques
+	 */
+	public BusquedaPorBloques(MatrizCaracteristicas matriz, ForkJoinPool pool) {
+		this(matriz, pool, Metrica.EUCLIDEA);
+	}
+
+	/**
+	 * @brief Constructor con un pool y una métrica concretos
+	 * @param matriz Matriz de entrenamiento (normalizada si la métrica lo requiere)
+	 * @param pool Pool de fork/join en el que repartir los bloques
+	 * @param metrica Métrica de distancia
+	 */
+	public BusquedaPorBloques(MatrizCaracteristicas matriz, ForkJoinPool pool, Metrica metrica) {
+		this.matriz = matriz;
+		this.pool = pool;
+		this.metrica = metrica;
+		this.euclidea = metrica == Metrica.EUCLIDEA;
+	}
+
+	/**
+	 * @brief Busca los k vecinos de todas las consultas
+	 * @param consultas Consultas a resolver
+	 * @param k Número de vecinos por consulta
+	 * @return Vecinos de cada consulta, en el mismo orden
+	 * @throws IllegalArgumentException Si alguna consulta no es compatible o k no es positivo
+	 */
+	public Vecinos[] buscar(double[][] consultas, int k) {
+		return buscar(consultas, k, 0, 0);
+	}
+
+	/**
+	 * @brief Busca los k vecinos de todas las consultas sin considerar un tramo de filas
+	 * @param consultas Consultas a resolver
+	 * @param k Número de vecinos por consulta
+	 * @param excluirDesde Primera fila que no se considera
+	 * @param excluirHasta Fila siguiente a la última que no se considera
+	 * @return Vecinos de cada consulta, en el mismo orden, con índices de fila de la matriz
+	 * @throws IllegalArgumentException Si alguna consulta no es compatible, k no es positivo
+	 *         o el tramo no es válido
+	 *
+	 * Si las filas de un pliegue de validación cruzada son contiguas (ver
+	 * MatrizCaracteristicas.reordenar()), excluir su tramo busca sobre el
+	 * resto de la matriz sin copiarla.
+	 */
+	public Vecinos[] buscar(double[][] consultas, int k, int excluirDesde, int excluirHasta) {
+		if (k <= 0) {
+			throw new IllegalArgumentException("El número de vecinos debe ser positivo");
+		}
+		if (excluirDesde < 0 || excluirHasta < excluirDesde || excluirHasta > matriz.numeroFilas()) {
+			throw new IllegalArgumentException(
+					String.format("Tramo excluido [%d, %d) no válido para %d filas", excluirDesde, excluirHasta,
+							matriz.numeroFilas()));
+		}
+		for (double[] consulta : consultas) matriz.validarConsulta(consulta);
+		Vecinos[] resultado = new Vecinos[consultas.length];
+		int disponibles = matriz.numeroFilas() - (excluirHasta - excluirDesde);
+		int capacidad = Math.max(1, Math.min(k, disponibles));
+		pool.invoke(new Tarea(consultas, resultado, capacidad, excluirDesde, excluirHasta, 0, consultas.length));
+		return resultado;
+	}
+
+	/**
+	 * @brief Tarea fork/join sobre un rango de consultas
+	 */
+	private final class Tarea extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final transient double[][] consultas;
+		private final transient Vecinos[] resultado;
+		private final int k;
+		private final int excluirDesde;
+		private final int excluirHasta;
+		private final int desde;
+		private final int hasta;
+
+		Tarea(double[][] consultas, Vecinos[] resultado, int k, int excluirDesde, int excluirHasta, int desde,
+				int hasta) {
+			this.consultas = consultas;
+			this.resultado = resultado;
+			this.k = k;
+			this.excluirDesde = excluirDesde;
+			this.excluirHasta = excluirHasta;
+			this.desde = desde;
+			this.hasta = hasta;
+		}
+
+		@Override
+		protected void compute() {
+			if (hasta - desde > BLOQUE_CONSULTAS) {
+				int medio = (desde + hasta) >>> 1;
+				invokeAll(new Tarea(consultas, resultado, k, excluirDesde, excluirHasta, desde, medio),
+						new Tarea(consultas, resultado, k, excluirDesde, excluirHasta, medio, hasta));
+				return;
+			}
+			int n = hasta - desde;
+			MonticuloVecinos[] monticulos = new MonticuloVecinos[n];
+			for (int q = 0; q < n; ++q) monticulos[q] = new MonticuloVecinos(k);
+
+			int filas = matriz.numeroFilas();
+			int dimension = matriz.dimension();
+			double[] valores = matriz.valores();
+			double[] pesos = matriz.pesos();
+			int bloqueFilas = Math.max(1, VALORES_POR_BLOQUE / Math.max(1, matriz.dimension()));
+			for (int inicio = 0; inicio < filas; inicio += bloqueFilas) {
+				int fin = Math.min(filas, inicio + bloqueFilas);
+				for (int q = 0; q < n; ++q) {
+					double[] consulta = consultas[desde + q];
+					MonticuloVecinos monticulo = monticulos[q];
+					recorrer(consulta, monticulo, valores, pesos, dimension, inicio, Math.min(fin, excluirDesde));
+					recorrer(consulta, monticulo, valores, pesos, dimension, Math.max(inicio, excluirHasta), fin);
+				}
+			}
+			for (int q = 0; q < n; ++q) {
+				Vecinos cercanos = monticulos[q].extraer();
+				resultado[desde + q] = euclidea ? cercanos.raiz() : cercanos;
+			}
+		}
+
+		private void recorrer(double[] consulta, MonticuloVecinos monticulo, double[] valores, double[] pesos,
+				int dimension, int inicio, int fin) {
+			for (int i = inicio; i < fin; ++i) {
+				double d = euclidea ? matriz.distanciaCuadrada(i, consulta)
+						: metrica.distancia(valores, i * dimension, consulta, 0, pesos, consulta.length);
+				if (d <= monticulo.peor()) monticulo.add(i, d);
+			}
+		}
+	}
+}
@@ -0,0 +1,164 @@
+package clasificacion;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import datos.DatasetProyectado;
+import metricas.DistanciaCoseno;
+import metricas.Metrica;
+import vectores.Nucleos;
+
+/**
+ * @brief Búsqueda exacta de vecinos sobre un dataset proyectado en memoria
+ *
+ * Igual que MatrizCaracteristicas, usa como características los atributos
+ * cuantitativos salvo el último, que es la clase. Las filas se recorren por
+ * bloques: los valores de cada columna del bloque se leen de la proyección a
+ * un pequeño array por filas reutilizado, sobre el que se aplica la métrica,
+ * de modo que la memoria usada no depende del tamaño del dataset.
+ */
+public class BusquedaProyectada {
+	/** @brief Número de filas que se leen de la proyección de una vez */
+	public static final int FILAS_POR_BLOQUE = 1024;
+
+	private final DatasetProyectado datos;
+	private final Metrica metrica;
+	private final int[] columnas;
+	private final double[] pesos;
+	private final int clase;
+
+	/**
+	 * @brief Constructor con distancia euclídea ponderada
+	 * @param datos Dataset proyectado
+	 */
+	public BusquedaProyectada(DatasetProyectado datos) {
+		this(datos, Metrica.EUCLIDEA);
+	}
+
+	/**
+	 * @brief Constructor con una métrica concreta
+	 * @param datos Dataset proyectado
+	 * @param metrica Métrica de distancia
+	 */
+	public BusquedaProyectada(DatasetProyectado datos, Metrica metrica) {
+		this.datos = datos;
+		this.metrica = metrica;
+		this.clase = datos.numeroAtributos() - 1;
+		List<Integer> numericas = new ArrayList<>();
+		for (int j = 0; j < clase; ++j) {
+			if (datos.esNumerico(j)) numericas.add(j);
+		}
+		this.columnas = new int[numericas.size()];
+		this.pesos = new double[columnas.length];
+		for (int c = 0; c < columnas.length; ++c) {
+			columnas[c] = numericas.get(c);
+			pesos[c] = datos.getPeso(columnas[c]);
+		}
+	}
+
+	/**
+	 * @brief Busca los k vecinos más cercanos recorriendo todas las filas
+	 * @param consulta Valores de los atributos cuantitativos de la consulta, en orden
+	 * @param k Número de vecinos
+	 * @return Vecinos ordenados, con distancias de la métrica
+	 * @throws IllegalArgumentException Si la consulta no es compatible o k no es positivo
+	 */
+	public Vecinos buscar(double[] consulta, int k) {
+		if (k <= 0) {
+			throw new IllegalArgumentException("El número de vecinos debe ser positivo");
+		}
+		validarConsulta(consulta);
+		int filas = datos.numeroCasos();
+		if (filas == 0) return new Vecinos(new int[0], new double[0]);
+		boolean euclidea = metrica == Metrica.EUCLIDEA;
+		boolean normalizar = metrica.requiereNormalizacion();
+		double[] q = consulta;
+		if (normalizar) {
+			q = consulta.clone();
+			DistanciaCoseno.normalizar(q, 0, pesos, q.length);
+		}
+
+		int dimension = columnas.length;
+		double[] columna = new double[FILAS_POR_BLOQUE];
+		double[] bloque = new double[FILAS_POR_BLOQUE * Math.max(1, dimension)];
+		MonticuloVecinos monticulo = new MonticuloVecinos(Math.min(k, filas));
+		for (int inicio = 0; inicio < filas; inicio += FILAS_POR_BLOQUE) {
+			int n = Math.min(FILAS_POR_BLOQUE, filas - inicio);
+			for (int c = 0; c < dimension; ++c) {
+				datos.leer(columnas[c], inicio, columna, 0, n);
+				for (int i = 0; i < n; ++i) bloque[i * dimension + c] = columna[i];
+			}
+			for (int i = 0; i < n; ++i) {
+				if (normalizar) DistanciaCoseno.normalizar(bloque, i * dimension, pesos, dimension);
+				double d = euclidea ? Nucleos.ACTIVOS.euclideaCuadrada(bloque, i * dimension, q, 0, pesos, q.length)
+						: metrica.distancia(bloque, i * dimension, q, 0, pesos, q.length);
+				if (d <= monticulo.peor()) monticulo.add(inicio + i, d);
+			}
+		}
+		Vecinos cercanos = monticulo.extraer();
+		return euclidea ? cercanos.raiz() : cercanos;
+	}
+
+	/**
+	 * @brief Clasifica una consulta por mayoría entre sus k vecinos
+	 * @param consulta Valores de los atributos cuantitativos de la consulta
+	 * @param k Número de vecinos
+	 * @return Clase predicha (a igualdad de votos, la que antes alcanza ese número)
+	 * @throws IllegalStateException Si el dataset está vacío
+	 */
+	public String clasificar(double[] consulta, int k) {
+		if (datos.numeroCasos() == 0) {
+			throw new IllegalStateException("El dataset está vacío. No se puede clasificar.");
+		}
+		Vecinos cercanos = buscar(consulta, k);
+		String[] etiquetas = new String[cercanos.size()];
+		int[] votos = new int[cercanos.size()];
+		int distintas = 0;
+		int ganadora = 0;
+		for (int v = 0; v < cercanos.size(); ++v) {
+			String etiqueta = getClase(cercanos.getIndice(v));
+			int e = 0;
+			while (e < distintas && !etiquetas[e].equals(etiqueta)) e++;
+			if (e == distintas) etiquetas[distintas++] = etiqueta;
+			votos[e]++;
+			if (votos[e] > votos[ganadora]) ganadora = e;
+		}
+		return etiquetas[ganadora];
+	}
+
+	/**
+	 * @brief Obtiene la clase (último atributo) de una fila
+	 * @param fila Índice de la fila
+	 * @return Clase como texto
+	 */
+	public String getClase(int fila) {
+		return datos.esNumerico(clase) ? String.valueOf(datos.getDouble(fila, clase)) : datos.getTexto(fila, clase);
+	}
+
+	/**
+	 * @brief Obtiene el número de características usadas en la distancia
+	 * @return Número de atributos cuantitativos sin contar la clase
+	 */
+	public int dimension() {
+		return columnas.length;
+	}
+
+	/**
+	 * @brief Obtiene el dataset sobre el que se busca
+	 * @return Dataset proyectado
+	 */
+	public DatasetProyectado getDatos() {
+		return datos;
+	}
+
+	private void validarConsulta(double[] consulta) {
+		if (consulta == null) {
+			throw new IllegalArgumentException("La consulta no puede ser nula");
+		}
+		if (consulta.length > columnas.length) {
+			throw new IllegalArgumentException(
+					String.format("Tamaños no coinciden (datos: %d, consulta: %d)", columnas.length, consulta.length)
+			);
+		}
+	}
+}
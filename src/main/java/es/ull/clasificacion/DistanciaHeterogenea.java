@@ -0,0 +1,169 @@
+package clasificacion;
+
+import metricas.Metrica;
+import vectores.Nucleos;
+
+/**
+ * @brief Distancia heterogénea (HEOM o HVDM) para matrices con columnas cualitativas
+ *
+ * Las columnas cuantitativas se comparan con la diferencia dividida por su rango
+ * en el entrenamiento. Las cualitativas, que la matriz guarda como códigos de
+ * diccionario, se comparan por solapamiento (HEOM: 0 si coinciden, 1 si no) o
+ * por la diferencia de valores (HVDM: distancia entre las distribuciones de
+ * clase condicionadas a cada valor). Todo lo que depende del dataset (escalas,
+ * probabilidades y tablas de diferencias) se precalcula una vez al construir la
+ * métrica, así que cada comparación solo hace aritmética y consultas a tablas.
+ * Los valores desconocidos (código -1) cuentan como diferencia 1.
+ */
+public class DistanciaHeterogenea implements Metrica {
+	/** @brief Número máximo de valores distintos para guardar la tabla completa de diferencias */
+	public static final int LIMITE_TABLA_VDM = 256;
+
+	private final boolean vdm;
+	private final int numericas;
+	private final int clases;
+	private final double[] pesosNumericos;
+	private final double[] pesosCategoricos;
+	private final int[] cardinalidades;
+	private final double[][] probabilidades;
+	private final double[][] tablas;
+
+	private DistanciaHeterogenea(MatrizCaracteristicas matriz, boolean vdm) {
+		this.vdm = vdm;
+		this.numericas = matriz.numericas();
+		this.clases = Math.max(1, matriz.getClases().size());
+		int dimension = matriz.dimension();
+		int filas = matriz.numeroFilas();
+		double[] valores = matriz.valores();
+		double[] pesos = matriz.pesos();
+
+		// Escala 1 / rango incorporada al peso de cada columna cuantitativa
+		this.pesosNumericos = new double[numericas];
+		for (int c = 0; c < numericas; ++c) {
+			double min = Double.POSITIVE_INFINITY;
+			double max = Double.NEGATIVE_INFINITY;
+			for (int i = 0; i < filas; ++i) {
+				double v = valores[i * dimension + c];
+				if (v < min) min = v;
+				if (v > max) max = v;
+			}
+			double rango = max - min;
+			pesosNumericos[c] = rango > 0 ? pesos[c] / rango : pesos[c];
+		}
+
+		int categoricas = dimension - numericas;
+		this.pesosCategoricos = new double[categoricas];
+		this.cardinalidades = new int[categoricas];
+		this.probabilidades = new double[categoricas][];
+		this.tablas = new double[categoricas][];
+		for (int a = 0; a < categoricas; ++a) {
+			int columna = numericas + a;
+			pesosCategoricos[a] = pesos[columna];
+			cardinalidades[a] = matriz.getDiccionario(columna).size();
+			if (vdm) {
+				probabilidades[a] = probabilidades(matriz, columna, cardinalidades[a]);
+				if (cardinalidades[a] <= LIMITE_TABLA_VDM) tablas[a] = tabla(probabilidades[a], cardinalidades[a]);
+			}
+		}
+	}
+
+	/**
+	 * @brief Métrica HEOM (solapamiento para las columnas cualitativas)
+	 * @param matriz Matriz compilada con los atributos cualitativos
+	 * @return Métrica ligada a las columnas de esa matriz
+	 */
+	public static DistanciaHeterogenea heom(MatrizCaracteristicas matriz) {
+		return new DistanciaHeterogenea(matriz, false);
+	}
+
+	/**
+	 * @brief Métrica HVDM (diferencia de valores para las columnas cualitativas)
+	 * @param matriz Matriz compilada con los atributos cualitativos
+	 * @return Métrica ligada a las columnas de esa matriz
+	 */
+	public static DistanciaHeterogenea hvdm(MatrizCaracteristicas matriz) {
+		return new DistanciaHeterogenea(matriz, true);
+	}
+
+	/**
+	 * @brief Probabilidad de cada clase condicionada a cada valor de una columna
+	 * @return Tabla valores x clases por filas
+	 */
+	private double[] probabilidades(MatrizCaracteristicas matriz, int columna, int cardinalidad) {
+		double[] tabla = new double[cardinalidad * clases];
+		int[] totales = new int[cardinalidad];
+		for (int i = 0; i < matriz.numeroFilas(); ++i) {
+			int valor = (int) matriz.get(i, columna);
+			tabla[valor * clases + matriz.getEtiqueta(i)]++;
+			totales[valor]++;
+		}
+		for (int v = 0; v < cardinalidad; ++v) {
+			for (int c = 0; c < clases; ++c) {
+				if (totales[v] > 0) tabla[v * clases + c] /= totales[v];
+			}
+		}
+		return tabla;
+	}
+
+	/**
+	 * @brief Diferencia entre cada par de valores de una columna
+	 * @return Tabla valores x valores por filas
+	 */
+	private double[] tabla(double[] probabilidades, int cardinalidad) {
+		double[] tabla = new double[cardinalidad * cardinalidad];
+		for (int x = 0; x < cardinalidad; ++x) {
+			for (int y = x + 1; y < cardinalidad; ++y) {
+				double d = diferenciaValores(probabilidades, x, y);
+				tabla[x * cardinalidad + y] = d;
+				tabla[y * cardinalidad + x] = d;
+			}
+		}
+		return tabla;
+	}
+
+	private double diferenciaValores(double[] probabilidades, int x, int y) {
+		double suma = 0.0;
+		for (int c = 0; c < clases; ++c) {
+			double diff = probabilidades[x * clases + c] - probabilidades[y * clases + c];
+			suma += diff * diff;
+		}
+		return Math.sqrt(suma);
+	}
+
+	/**
+	 * @brief Calcula la distancia heterogénea entre dos filas codificadas
+	 * @param pesos Se ignora: la métrica usa los pesos de la matriz con la que se construyó
+	 * @return Raíz de la suma de diferencias ponderadas al cuadrado
+	 */
+	@Override
+	public double distancia(double[] a, int desdeA, double[] b, int desdeB, double[] pesos, int dimension) {
+		double dist = Nucleos.ACTIVOS.euclideaCuadrada(a, desdeA, b, desdeB, pesosNumericos,
+				Math.min(numericas, dimension));
+		for (int c = numericas; c < dimension; ++c) {
+			int atributo = c - numericas;
+			double diff = diferencia(atributo, (int) a[desdeA + c], (int) b[desdeB + c]) * pesosCategoricos[atributo];
+			dist += diff * diff;
+		}
+		return Math.sqrt(dist);
+	}
+
+	/**
+	 * @brief Diferencia entre dos códigos de una columna cualitativa
+	 */
+	private double diferencia(int atributo, int x, int y) {
+		if (x < 0 || y < 0 || x >= cardinalidades[atributo] || y >= cardinalidades[atributo]) return 1.0;
+		if (x == y) return 0.0;
+		if (!vdm) return 1.0;
+		double[] tabla = tablas[atributo];
+		if (tabla != null) return tabla[x * cardinalidades[atributo] + y];
+		return diferenciaValores(probabilidades[atributo], x, y);
+	}
+
+	/**
+	 * @brief Indica si las columnas cualitativas usan la diferencia de valores
+	 * @return true para HVDM, false para HEOM
+	 */
+	public boolean esVdm() {
+		return vdm;
+	}
+}
@@ -0,0 +1,587 @@
+package clasificacion;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * @brief Índice aproximado HNSW (Hierarchical Navigable Small World)
+ *
+ * Construye un grafo de proximidad en varias capas sobre una
+ * MatrizCaracteristicas: las capas superiores, cada vez más dispersas, sirven
+ * para acercarse rápidamente a la zona de la consulta y la capa 0 se recorre
+ * con una búsqueda en haz de anchura efSearch. Sacrifica algo de exactitud a
+ * cambio de no visitar la mayoría de las filas. Los parámetros son:
+ * - M: enlaces por nodo en las capas superiores (2M en la capa 0)
+ * - efConstruction: anchura del haz al insertar
+ * - efSearch: anchura del haz al consultar (ajustable tras la construcción)
+ *
+ * Las filas se insertan en paralelo; cada nodo protege su lista de enlaces con
+ * un cerrojo de un conjunto repartido por índice de fila. Con inserciones
+ * concurrentes algunos nodos pueden quedar fuera del alcance de cualquier
+ * búsqueda, así que al terminar se enlazan los que no encuentra una búsqueda
+ * de su propia fila (ver repararAlcance). El grafo resultante
+ * depende del orden en que acaben las inserciones; para obtener siempre el
+ * mismo grafo con la misma semilla puede construirse secuencialmente.
+ */
+public class GrafoHNSW implements BuscadorVecinos {
+	/** @brief Valor por defecto de M */
+	public static final int M_DEFECTO = 16;
+
+	/** @brief Valor por defecto de efConstruction */
+	public static final int EF_CONSTRUCCION_DEFECTO = 100;
+
+	/** @brief Valor por defecto de efSearch */
+	public static final int EF_BUSQUEDA_DEFECTO = 64;
+
+	private static final int NIVEL_MAXIMO = 16;
+	private static final int NUMERO_CERROJOS = 4096;
+
+	private final MatrizCaracteristicas matriz;
+	private final double[] valores;
+	private final double[] pesos;
+	private final int dimension;
+	private final int m;
+	private final int efConstruccion;
+	private volatile int efBusqueda;
+
+	private final int[] niveles;
+	/** @brief enlaces[nodo][nivel][0] es el número de enlaces; a continuación van los vecinos */
+	private final int[][][] enlaces;
+	private final Object[] cerrojos = new Object[NUMERO_CERROJOS];
+	private final Object cerrojoEntrada = new Object();
+	private volatile int entrada = -1;
+	private volatile int nivelEntrada = -1;
+
+	private final ThreadLocal<int[]> visitados;
+	private final ThreadLocal<int[]> generacion = ThreadLocal.withInitial(() -> new int[1]);
+
+	/**
+	 * @brief Construye el grafo con los parámetros por defecto
+	 * @param matriz Matriz a indexar
+	 */
+	public GrafoHNSW(MatrizCaracteristicas matriz) {
+		this(matriz, M_DEFECTO, EF_CONSTRUCCION_DEFECTO, EF_BUSQUEDA_DEFECTO, 42L);
+	}
+
+	/**
+	 * @brief Construye el grafo insertando todas las filas en paralelo
+	 * @param matriz Matriz a indexar
+	 * @param m Número de enlaces por nodo en las capas superiores
+	 * @param efConstruccion Anchura del haz durante la construcción
+	 * @param efBusqueda Anchura del haz durante las consultas
+	 * @param semilla Semilla para asignar los niveles de cada nodo
+	 * @throws IllegalArgumentException Si algún parámetro no es positivo
+	 */
+	public GrafoHNSW(MatrizCaracteristicas matriz, int m, int efConstruccion, int efBusqueda, long semilla) {
+		this(matriz, m, efConstruccion, efBusqueda, semilla, true);
+	}
+
+	/**
+	 * @brief Construye el grafo insertando las filas en paralelo o en orden
+	 * @param matriz Matriz a indexar
+	 * @param m Número de enlaces por nodo en las capas superiores
+	 * @param efConstruccion Anchura del haz durante la construcción
+	 * @param efBusqueda Anchura del haz durante las consultas
+	 * @param semilla Semilla para asignar los niveles de cada nodo
+	 * @param paralela Si es false, las filas se insertan una a una en orden y
+	 *        el grafo es el mismo en cada construcción
+	 * @throws IllegalArgumentException Si algún parámetro no es positivo
+	 */
+	public GrafoHNSW(MatrizCaracteristicas matriz, int m, int efConstruccion, int efBusqueda, long semilla,
+			boolean paralela) {
+		if (m < 2 || efConstruccion <= 0 || efBusqueda <= 0) {
+			throw new IllegalArgumentException("M debe ser al menos 2 y efConstruction/efSearch positivos");
+		}
+		this.matriz = matriz;
+		this.valores = matriz.valores();
+		this.pesos = matriz.pesos();
+		this.dimension = matriz.dimension();
+		this.m = m;
+		this.efConstruccion = efConstruccion;
+		this.efBusqueda = efBusqueda;
+		for (int i = 0; i < NUMERO_CERROJOS; ++i) cerrojos[i] = new Object();
+
+		int n = matriz.numeroFilas();
+		this.visitados = ThreadLocal.withInitial(() -> new int[n]);
+		this.niveles = new int[n];
+		this.enlaces = new int[n][][];
+		double factor = 1.0 / Math.log(m);
+		for (int i = 0; i < n; ++i) {
+			double u = 1.0 - new SplittableRandom(semilla + i).nextDouble();
+			niveles[i] = Math.min(NIVEL_MAXIMO, (int) (-Math.log(u) * factor));
+			enlaces[i] = new int[niveles[i] + 1][];
+			for (int l = 0; l <= niveles[i]; ++l) enlaces[i][l] = new int[maximoEnlaces(l) + 1];
+		}
+		if (n == 0) return;
+
+		entrada = 0;
+		nivelEntrada = niveles[0];
+		if (paralela) {
+			IntStream.range(1, n).parallel().forEach(this::insertar);
+		} else {
+			for (int i = 1; i < n; ++i) insertar(i);
+		}
+		repararAlcance(paralela);
+	}
+
+	private int maximoEnlaces(int nivel) {
+		return nivel == 0 ? 2 * m : m;
+	}
+
+	private Object cerrojo(int nodo) {
+		return cerrojos[nodo & (NUMERO_CERROJOS - 1)];
+	}
+
+	/**
+	 * @brief Inserta una fila en el grafo
+	 * @param nodo Índice de la fila
+	 */
+	private void insertar(int nodo) {
+		double[] consulta = matriz.getFila(nodo);
+		int nivel = niveles[nodo];
+		boolean nuevaEntrada = nivel > nivelEntrada;
+		if (nuevaEntrada) {
+			// Un nodo que eleva el nivel máximo se inserta en exclusiva
+			synchronized (cerrojoEntrada) {
+				insertar(nodo, consulta, nivel);
+			}
+		} else {
+			insertar(nodo, consulta, nivel);
+		}
+	}
+
+	private void insertar(int nodo, double[] consulta, int nivel) {
+		int actual;
+		int nivelActual;
+		synchronized (cerrojoEntrada) {
+			actual = entrada;
+			nivelActual = nivelEntrada;
+		}
+		for (int l = nivelActual; l > nivel; --l) {
+			actual = voraz(consulta, actual, l);
+		}
+		for (int l = Math.min(nivel, nivelActual); l >= 0; --l) {
+			Vecinos candidatos = buscarCapa(consulta, actual, efConstruccion, l, nodo);
+			if (candidatos.size() == 0) continue;
+			int[] elegidos = heuristica(candidatos, m);
+			fijarEnlaces(nodo, l, elegidos);
+			for (int vecino : elegidos) enlazar(vecino, nodo, l);
+			actual = candidatos.getIndice(0);
+		}
+		if (nivel > nivelEntrada) {
+			synchronized (cerrojoEntrada) {
+				if (nivel > nivelEntrada) {
+					entrada = nodo;
+					nivelEntrada = nivel;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @brief Fija los enlaces de un nodo recién insertado en una capa
+	 *
+	 * Otro hilo puede haber llegado al nodo por una capa superior y haberle
+	 * añadido ya enlaces en esta; en ese caso se conservan junto con los
+	 * elegidos, recortando con la heurística si no caben, para que ningún
+	 * nodo pierda su único enlace de entrada.
+	 */
+	private void fijarEnlaces(int nodo, int nivel, int[] elegidos) {
+		synchronized (cerrojo(nodo)) {
+			int[] lista = enlaces[nodo][nivel];
+			int previos = lista[0];
+			int[] indices = Arrays.copyOf(elegidos, elegidos.length + previos);
+			int n = elegidos.length;
+			for (int i = 1; i <= previos; ++i) {
+				boolean repetido = false;
+				for (int j = 0; j < elegidos.length && !repetido; ++j) repetido = elegidos[j] == lista[i];
+				if (!repetido) indices[n++] = lista[i];
+			}
+			int maximo = maximoEnlaces(nivel);
+			if (n > maximo) {
+				double[] distancias = new double[n];
+				for (int i = 0; i < n; ++i) distancias[i] = distanciaNodos(nodo, indices[i]);
+				indices = heuristica(ordenar(Arrays.copyOf(indices, n), distancias), maximo);
+				n = indices.length;
+			}
+			lista[0] = n;
+			System.arraycopy(indices, 0, lista, 1, n);
+		}
+	}
+
+	/**
+	 * @brief Añade un enlace desde origen hacia destino, recortando la lista si se llena
+	 */
+	private void enlazar(int origen, int destino, int nivel) {
+		synchronized (cerrojo(origen)) {
+			int[] lista = enlaces[origen][nivel];
+			int maximo = maximoEnlaces(nivel);
+			if (lista[0] < maximo) {
+				lista[++lista[0]] = destino;
+				return;
+			}
+			int[] indices = new int[maximo + 1];
+			double[] distancias = new double[maximo + 1];
+			for (int i = 0; i < maximo; ++i) {
+				indices[i] = lista[i + 1];
+				distancias[i] = distanciaNodos(origen, lista[i + 1]);
+			}
+			indices[maximo] = destino;
+			distancias[maximo] = distanciaNodos(origen, destino);
+			Vecinos candidatos = ordenar(indices, distancias);
+			int[] elegidos = heuristica(candidatos, maximo);
+			lista[0] = elegidos.length;
+			System.arraycopy(elegidos, 0, lista, 1, elegidos.length);
+		}
+	}
+
+	/**
+	 * @brief Enlaza los nodos a los que no llega una búsqueda de su propia fila
+	 * @param paralela Si las comprobaciones se reparten entre hilos
+	 *
+	 * Un nodo insertado mientras sus vecinos aún no tenían enlaces, o cuyo único
+	 * enlace de entrada se recortó después, puede quedar fuera del alcance de
+	 * cualquier búsqueda. Tras la construcción se busca cada fila y, para las
+	 * que no aparecen en su propio resultado, se añade un enlace hacia ellas
+	 * desde el nodo más cercano al que sí llega la búsqueda. Si su lista está
+	 * llena se sustituye el enlace más lejano cuyo destino tenga otras entradas.
+	 */
+	private void repararAlcance(boolean paralela) {
+		int n = niveles.length;
+		IntStream filas = paralela ? IntStream.range(0, n).parallel() : IntStream.range(0, n);
+		int[] perdidos = filas.filter(i -> !alcanzable(i)).toArray();
+		if (perdidos.length == 0) return;
+		int[] entrantes = new int[n];
+		for (int i = 0; i < n; ++i) {
+			int[] lista = enlaces[i][0];
+			for (int e = 1; e <= lista[0]; ++e) entrantes[lista[e]]++;
+		}
+		for (int nodo : perdidos) {
+			Vecinos cercanos = buscarCapaInferior(matriz.getFila(nodo), efBusqueda, nodo);
+			for (int v = 0; v < cercanos.size(); ++v) {
+				if (enlazarEntrada(cercanos.getIndice(v), nodo, entrantes)) break;
+			}
+		}
+	}
+
+	/**
+	 * @brief Añade en la capa 0 un enlace desde origen hacia destino sin dejar a otro nodo sin entradas
+	 * @return Si se ha añadido el enlace
+	 */
+	private boolean enlazarEntrada(int origen, int destino, int[] entrantes) {
+		int[] lista = enlaces[origen][0];
+		for (int e = 1; e <= lista[0]; ++e) {
+			if (lista[e] == destino) return false;
+		}
+		int hueco = -1;
+		if (lista[0] < maximoEnlaces(0)) {
+			hueco = ++lista[0];
+		} else {
+			double distanciaPeor = -1.0;
+			for (int e = 1; e <= lista[0]; ++e) {
+				if (entrantes[lista[e]] < 2) continue;
+				double d = distanciaNodos(origen, lista[e]);
+				if (d > distanciaPeor) {
+					distanciaPeor = d;
+					hueco = e;
+				}
+			}
+			if (hueco < 0) return false;
+			entrantes[lista[hueco]]--;
+		}
+		lista[hueco] = destino;
+		entrantes[destino]++;
+		return true;
+	}
+
+	/**
+	 * @brief Indica si una búsqueda de la fila de un nodo llega hasta él
+	 *
+	 * La búsqueda en haz termina en cuanto encuentra el nodo.
+	 */
+	private boolean alcanzable(int nodo) {
+		double[] consulta = matriz.getFila(nodo);
+		Vecinos encontrados = buscarCapa(consulta, descender(consulta), efBusqueda, 0, -1, nodo);
+		for (int v = 0; v < encontrados.size(); ++v) {
+			if (encontrados.getIndice(v) == nodo) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @brief Heurística de selección de vecinos de HNSW
+	 *
+	 * Recorre los candidatos de más cercano a más lejano y descarta los que están
+	 * más cerca de un vecino ya elegido que del nodo, favoreciendo enlaces en
+	 * direcciones distintas; si sobran huecos se rellenan con los descartados.
+	 */
+	private int[] heuristica(Vecinos candidatos, int maximo) {
+		int[] elegidos = new int[Math.min(maximo, candidatos.size())];
+		int n = 0;
+		boolean[] descartado = new boolean[candidatos.size()];
+		for (int i = 0; i < candidatos.size() && n < elegidos.length; ++i) {
+			int c = candidatos.getIndice(i);
+			double d = candidatos.getDistancia(i);
+			boolean valido = true;
+			for (int j = 0; j < n && valido; ++j) {
+				if (distanciaNodos(c, elegidos[j]) < d) valido = false;
+			}
+			if (valido) elegidos[n++] = c;
+			else descartado[i] = true;
+		}
+		for (int i = 0; i < candidatos.size() && n < elegidos.length; ++i) {
+			if (descartado[i]) elegidos[n++] = candidatos.getIndice(i);
+		}
+		return n == elegidos.length ? elegidos : Arrays.copyOf(elegidos, n);
+	}
+
+	/**
+	 * @brief Descenso voraz en una capa superior
+	 * @return Nodo más cercano encontrado
+	 */
+	private int voraz(double[] consulta, int actual, int nivel) {
+		double mejor = matriz.distanciaCuadrada(actual, consulta);
+		int[] copia = new int[maximoEnlaces(nivel) + 1];
+		boolean cambiado = true;
+		while (cambiado) {
+			cambiado = false;
+			copiarEnlaces(actual, nivel, copia);
+			for (int i = 1; i <= copia[0]; ++i) {
+				double d = matriz.distanciaCuadrada(copia[i], consulta);
+				if (d < mejor) {
+					mejor = d;
+					actual = copia[i];
+					cambiado = true;
+				}
+			}
+		}
+		return actual;
+	}
+
+	private void copiarEnlaces(int nodo, int nivel, int[] destino) {
+		synchronized (cerrojo(nodo)) {
+			int[] lista = enlaces[nodo][nivel];
+			System.arraycopy(lista, 0, destino, 0, lista[0] + 1);
+		}
+	}
+
+	/**
+	 * @brief Búsqueda en haz dentro de una capa
+	 * @param excluido Nodo que no debe aparecer en el resultado (-1 si ninguno)
+	 * @return Los ef mejores candidatos, ordenados por distancia al cuadrado
+	 */
+	private Vecinos buscarCapa(double[] consulta, int inicio, int ef, int nivel, int excluido) {
+		return buscarCapa(consulta, inicio, ef, nivel, excluido, -1);
+	}
+
+	/**
+	 * @brief Búsqueda en haz dentro de una capa que se detiene al llegar a un nodo
+	 * @param excluido Nodo que no debe aparecer en el resultado (-1 si ninguno)
+	 * @param objetivo Nodo con el que termina la búsqueda en cuanto se alcanza (-1 si ninguno)
+	 * @return Los mejores candidatos encontrados, ordenados por distancia al cuadrado
+	 */
+	private Vecinos buscarCapa(double[] consulta, int inicio, int ef, int nivel, int excluido, int objetivo) {
+		int[] marcas = visitados.get();
+		int[] gen = generacion.get();
+		if (++gen[0] == Integer.MAX_VALUE) {
+			Arrays.fill(marcas, 0);
+			gen[0] = 1;
+		}
+		int marca = gen[0];
+
+		MonticuloVecinos resultado = new MonticuloVecinos(ef);
+		ColaMinima candidatos = new ColaMinima(ef * 2);
+		double d = matriz.distanciaCuadrada(inicio, consulta);
+		marcas[inicio] = marca;
+		candidatos.add(inicio, d);
+		if (inicio != excluido) resultado.add(inicio, d);
+		if (inicio == objetivo) return resultado.extraer();
+
+		int[] copia = new int[maximoEnlaces(nivel) + 1];
+		while (candidatos.size() > 0) {
+			double dc = candidatos.distanciaMinima();
+			int c = candidatos.extraer();
+			if (dc > resultado.peor()) break;
+			copiarEnlaces(c, nivel, copia);
+			for (int i = 1; i <= copia[0]; ++i) {
+				int e = copia[i];
+				if (marcas[e] == marca) continue;
+				marcas[e] = marca;
+				double de = matriz.distanciaCuadrada(e, consulta);
+				if (de <= resultado.peor()) {
+					candidatos.add(e, de);
+					if (e != excluido) resultado.add(e, de);
+					if (e == objetivo) return resultado.extraer();
+				}
+			}
+		}
+		return resultado.extraer();
+	}
+
+	private double distanciaNodos(int a, int b) {
+		int baseA = a * dimension;
+		int baseB = b * dimension;
+		double dist = 0.0;
+		for (int c = 0; c < dimension; ++c) {
+			double diff = (valores[baseA + c] - valores[baseB + c]) * pesos[c];
+			dist += diff * diff;
+		}
+		return dist;
+	}
+
+	private static Vecinos ordenar(int[] indices, double[] distancias) {
+		MonticuloVecinos monticulo = new MonticuloVecinos(indices.length);
+		for (int i = 0; i < indices.length; ++i) monticulo.add(indices[i], distancias[i]);
+		return monticulo.extraer();
+	}
+
+	/**
+	 * @brief Busca de forma aproximada los k vecinos de una consulta
+	 * @param consulta Valores de la instancia a clasificar
+	 * @param k Número de vecinos
+	 * @return Vecinos ordenados con distancia euclídea ponderada
+	 */
+	@Override
+	public Vecinos buscar(double[] consulta, int k) {
+		matriz.validarConsulta(consulta);
+		if (entrada < 0) return new Vecinos(new int[0], new double[0]);
+		return buscarCapaInferior(consulta, Math.max(efBusqueda, k), -1).primeros(k).raiz();
+	}
+
+	/**
+	 * @brief Desciende desde el punto de entrada y busca en haz en la capa 0
+	 * @return Los ef mejores candidatos, ordenados por distancia al cuadrado
+	 */
+	private Vecinos buscarCapaInferior(double[] consulta, int ef, int excluido) {
+		return buscarCapa(consulta, descender(consulta), ef, 0, excluido);
+	}
+
+	/**
+	 * @brief Desciende de forma voraz desde el punto de entrada hasta la capa 1
+	 * @return Nodo desde el que empezar la búsqueda en la capa 0
+	 */
+	private int descender(double[] consulta) {
+		int actual;
+		int nivelActual;
+		synchronized (cerrojoEntrada) {
+			actual = entrada;
+			nivelActual = nivelEntrada;
+		}
+		for (int l = nivelActual; l > 0; --l) {
+			actual = voraz(consulta, actual, l);
+		}
+		return actual;
+	}
+
+	/**
+	 * @brief Cambia la anchura del haz de búsqueda
+	 * @param efBusqueda Nuevo valor de efSearch
+	 * @throws IllegalArgumentException Si no es positivo
+	 */
+	public void setEfBusqueda(int efBusqueda) {
+		if (efBusqueda <= 0) {
+			throw new IllegalArgumentException("efSearch debe ser positivo");
+		}
+		this.efBusqueda = efBusqueda;
+	}
+
+	/**
+	 * @brief Obtiene la anchura del haz de búsqueda
+	 * @return Valor de efSearch
+	 */
+	public int getEfBusqueda() {
+		return efBusqueda;
+	}
+
+	/**
+	 * @brief Obtiene el número de enlaces por nodo en las capas superiores
+	 * @return Valor de M
+	 */
+	public int getM() {
+		return m;
+	}
+
+	/**
+	 * @brief Obtiene la anchura del haz de construcción
+	 * @return Valor de efConstruction
+	 */
+	public int getEfConstruccion() {
+		return efConstruccion;
+	}
+
+	/**
+	 * @brief Obtiene el número de capas del grafo
+	 * @return Nivel del punto de entrada más uno (0 si está vacío)
+	 */
+	public int numeroCapas() {
+		return nivelEntrada + 1;
+	}
+
+	/**
+	 * @brief Obtiene la matriz indexada
+	 * @return Matriz de características
+	 */
+	@Override
+	public MatrizCaracteristicas getMatriz() {
+		return matriz;
+	}
+
+	/**
+	 * @brief Cola de prioridad de mínimos sobre arrays primitivos
+	 */
+	private static final class ColaMinima {
+		private int[] indices;
+		private double[] distancias;
+		private int size;
+
+		ColaMinima(int capacidad) {
+			indices = new int[Math.max(capacidad, 4)];
+			distancias = new double[indices.length];
+		}
+
+		int size() {
+			return size;
+		}
+
+		double distanciaMinima() {
+			return distancias[0];
+		}
+
+		void add(int indice, double distancia) {
+			if (size == indices.length) {
+				indices = Arrays.copyOf(indices, size * 2);
+				distancias = Arrays.copyOf(distancias, size * 2);
+			}
+			int i = size++;
+			while (i > 0) {
+				int padre = (i - 1) >>> 1;
+				if (distancias[padre] <= distancia) break;
+				indices[i] = indices[padre];
+				distancias[i] = distancias[padre];
+				i = padre;
+			}
+			indices[i] = indice;
+			distancias[i] = distancia;
+		}
+
+		int extraer() {
+			int minimo = indices[0];
+			--size;
+			int indice = indices[size];
+			double distancia = distancias[size];
+			int i = 0;
+			while (2 * i + 1 < size) {
+				int hijo = 2 * i + 1;
+				if (hijo + 1 < size && distancias[hijo + 1] < distancias[hijo]) hijo++;
+				if (distancias[hijo] >= distancia) break;
+				indices[i] = indices[hijo];
+				distancias[i] = distancias[hijo];
+				i = hijo;
+			}
+			indices[i] = indice;
+			distancias[i] = distancia;
+			return minimo;
+		}
+	}
+}
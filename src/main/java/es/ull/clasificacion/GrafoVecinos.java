@@ -0,0 +1,224 @@
+package clasificacion;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
+
+import metricas.Metrica;
+import vectores.Nucleos;
+
+/**
+ * @brief Grafo de los k vecinos más cercanos de todas las filas de una matriz
+ *
+ * Para cada fila obtiene sus k vecinos entre las demás filas, que es lo que
+ * necesita una validación dejando uno fuera. En vez de lanzar una búsqueda
+ * por fila, recorre una sola vez los pares de bloques de filas (A, B) con
+ * A <= B: cada distancia d(a, b) se calcula una vez y se ofrece a la vez al
+ * montículo de a y al de b, con lo que se hace la mitad de cálculos que con n
+ * búsquedas. Los pares de bloques se reparten con fork/join; como dos tareas
+ * pueden actualizar los montículos del mismo bloque, cada bloque tiene su
+ * cerrojo. Una tarea calcula las distancias del par en un buffer sin ningún
+ * cerrojo y después toma el de A y luego el de B, nunca los dos a la vez, solo
+ * para ofrecerlas a los montículos. Cada tarea hoja recorre muchos pares con
+ * el mismo buffer.
+ * El resultado no depende del orden de las tareas porque los montículos usan
+ * el orden total (distancia, índice).
+ */
+public class GrafoVecinos {
+	/** @brief Número máximo de filas por bloque */
+	public static final int FILAS_POR_BLOQUE = 256;
+
+	/** @brief Número aproximado de tareas hoja por hilo del pool */
+	public static final int TAREAS_POR_HILO = 8;
+
+	private final MatrizCaracteristicas matriz;
+	private final ForkJoinPool pool;
+	private final Metrica metrica;
+	private final boolean euclidea;
+
+	/**
+	 * @brief Constructor que usa el pool común de fork/join
+	 * @param matriz Matriz cuyas filas forman el grafo
+	 */
+	public GrafoVecinos(MatrizCaracteristicas matriz) {
+		this(matriz, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * @brief Constructor con un pool concreto
+	 * @param matriz Matriz cuyas filas forman el grafo
+	 * @param pool Pool de fork/join en el que repartir los pares de bloques
+	 */
+	public GrafoVecinos(MatrizCaracteristicas matriz, ForkJoinPool pool) {
+		this(matriz, pool, Metrica.EUCLIDEA);
+	}
+
+	/**
+	 * @brief Constructor con un pool y una métrica concretos
+	 * @param matriz Matriz cuyas filas forman el grafo (normalizada si la métrica lo requiere)
+	 * @param pool Pool de fork/join en el que repartir los pares de bloques
+	 * @param metrica Métrica de distancia (simétrica)
+	 */
+	public GrafoVecinos(MatrizCaracteristicas matriz, ForkJoinPool pool, Metrica metrica) {
+		this.matriz = matriz;
+		this.pool = pool;
+		this.metrica = metrica;
+		this.euclidea = metrica == Metrica.EUCLIDEA;
+	}
+
+	/**
+	 * @brief Calcula los k vecinos de cada fila sin contar la propia fila
+	 * @param k Número de vecinos por fila
+	 * @return Vecinos de cada fila, en el orden de la matriz; los mismos que
+	 *         BusquedaPorBloques con la fila como consulta y excluyéndola a ella
+	 * @throws IllegalArgumentException Si k no es positivo
+	 */
+	public Vecinos[] calcular(int k) {
+		if (k <= 0) {
+			throw new IllegalArgumentException("El número de vecinos debe ser positivo");
+		}
+		int filas = matriz.numeroFilas();
+		MonticuloVecinos[] monticulos = new MonticuloVecinos[filas];
+		int capacidad = Math.max(1, Math.min(k, filas - 1));
+		for (int i = 0; i < filas; ++i) monticulos[i] = new MonticuloVecinos(capacidad);
+
+		int bloques = (filas + FILAS_POR_BLOQUE - 1) / FILAS_POR_BLOQUE;
+		int[] primero = new int[bloques * (bloques + 1) / 2];
+		int[] segundo = new int[primero.length];
+		for (int a = 0, p = 0; a < bloques; ++a) {
+			for (int b = a; b < bloques; ++b, ++p) {
+				primero[p] = a;
+				segundo[p] = b;
+			}
+		}
+		Object[] cerrojos = new Object[bloques];
+		for (int b = 0; b < bloques; ++b) cerrojos[b] = new Object();
+		int paresPorTarea = Math.max(1, primero.length / (TAREAS_POR_HILO * pool.getParallelism()));
+		pool.invoke(new Tarea(monticulos, cerrojos, primero, segundo, paresPorTarea, 0, primero.length));
+
+		Vecinos[] resultado = new Vecinos[filas];
+		for (int i = 0; i < filas; ++i) {
+			Vecinos cercanos = monticulos[i].extraer();
+			resultado[i] = euclidea ? cercanos.raiz() : cercanos;
+		}
+		return resultado;
+	}
+
+	/**
+	 * @brief Calcula los k vecinos de cada fila con un índice ya construido
+	 * @param indice Índice de búsqueda sobre la matriz
+	 * @param k Número de vecinos por fila
+	 * @return Vecinos de cada fila de indice.getMatriz(), sin contar la propia fila
+	 * @throws IllegalArgumentException Si k no es positivo
+	 *
+	 * Busca k + 1 vecinos por fila, en paralelo, y quita la propia fila (o el
+	 * último si hay más de k + 1 filas a distancia cero). Con índices exactos
+	 * da el mismo resultado que calcular(); aprovecha la poda del índice cuando
+	 * la dimensión es baja.
+	 */
+	public static Vecinos[] calcular(BuscadorVecinos indice, int k) {
+		if (k <= 0) {
+			throw new IllegalArgumentException("El número de vecinos debe ser positivo");
+		}
+		MatrizCaracteristicas datos = indice.getMatriz();
+		Vecinos[] resultado = new Vecinos[datos.numeroFilas()];
+		IntStream.range(0, resultado.length).parallel().forEach(i -> {
+			Vecinos cercanos = indice.buscar(datos.getFila(i), k + 1);
+			int n = Math.min(k, Math.max(0, resultado.length - 1));
+			int[] indices = new int[n];
+			double[] distancias = new double[n];
+			for (int v = 0, w = 0; v < cercanos.size() && w < n; ++v) {
+				if (cercanos.getIndice(v) == i) continue;
+				indices[w] = cercanos.getIndice(v);
+				distancias[w++] = cercanos.getDistancia(v);
+			}
+			resultado[i] = new Vecinos(indices, distancias);
+		});
+		return resultado;
+	}
+
+	/**
+	 * @brief Tarea fork/join sobre un rango de pares de bloques
+	 */
+	private final class Tarea extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final transient MonticuloVecinos[] monticulos;
+		private final transient Object[] cerrojos;
+		private final int[] primero;
+		private final int[] segundo;
+		private final int paresPorTarea;
+		private final int desde;
+		private final int hasta;
+
+		Tarea(MonticuloVecinos[] monticulos, Object[] cerrojos, int[] primero, int[] segundo, int paresPorTarea,
+				int desde, int hasta) {
+			this.monticulos = monticulos;
+			this.cerrojos = cerrojos;
+			this.primero = primero;
+			this.segundo = segundo;
+			this.paresPorTarea = paresPorTarea;
+			this.desde = desde;
+			this.hasta = hasta;
+		}
+
+		@Override
+		protected void compute() {
+			if (hasta - desde > paresPorTarea) {
+				int medio = (desde + hasta) >>> 1;
+				invokeAll(new Tarea(monticulos, cerrojos, primero, segundo, paresPorTarea, desde, medio),
+						new Tarea(monticulos, cerrojos, primero, segundo, paresPorTarea, medio, hasta));
+				return;
+			}
+			// Un solo buffer para todos los pares de la hoja
+			double[] distancias = new double[FILAS_POR_BLOQUE * FILAS_POR_BLOQUE];
+			for (int p = desde; p < hasta; ++p) cruzar(primero[p], segundo[p], distancias);
+		}
+
+		/**
+		 * @brief Calcula las distancias entre dos bloques y las vuelca en los montículos de ambos
+		 */
+		private void cruzar(int bloqueA, int bloqueB, double[] distancias) {
+			int filas = matriz.numeroFilas();
+			int inicioA = bloqueA * FILAS_POR_BLOQUE;
+			int finA = Math.min(filas, inicioA + FILAS_POR_BLOQUE);
+			int inicioB = bloqueB * FILAS_POR_BLOQUE;
+			int finB = Math.min(filas, inicioB + FILAS_POR_BLOQUE);
+			int anchoB = finB - inicioB;
+			boolean diagonal = bloqueA == bloqueB;
+			int dimension = matriz.dimension();
+			double[] valores = matriz.valores();
+			double[] pesos = matriz.pesos();
+			// En el bloque diagonal solo se calcula la mitad superior (b > a)
+			for (int a = inicioA; a < finA; ++a) {
+				int fila = (a - inicioA) * anchoB - inicioB;
+				int desdeA = a * dimension;
+				for (int b = diagonal ? a + 1 : inicioB; b < finB; ++b) {
+					distancias[fila + b] = euclidea
+							? Nucleos.ACTIVOS.euclideaCuadrada(valores, b * dimension, valores, desdeA, pesos, dimension)
+							: metrica.distancia(valores, b * dimension, valores, desdeA, pesos, dimension);
+				}
+			}
+			synchronized (cerrojos[bloqueA]) {
+				for (int a = inicioA; a < finA; ++a) {
+					MonticuloVecinos monticulo = monticulos[a];
+					int fila = (a - inicioA) * anchoB - inicioB;
+					for (int b = diagonal ? a + 1 : inicioB; b < finB; ++b) {
+						double d = distancias[fila + b];
+						if (d <= monticulo.peor()) monticulo.add(b, d);
+						if (diagonal && d <= monticulos[b].peor()) monticulos[b].add(a, d);
+					}
+				}
+			}
+			if (diagonal) return;
+			synchronized (cerrojos[bloqueB]) {
+				for (int a = inicioA; a < finA; ++a) {
+					int fila = (a - inicioA) * anchoB - inicioB;
+					for (int b = inicioB; b < finB; ++b) {
+						double d = distancias[fila + b];
+						if (d <= monticulos[b].peor()) monticulos[b].add(a, d);
+					}
+				}
+			}
+		}
+	}
+}
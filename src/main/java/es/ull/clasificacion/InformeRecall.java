@@ -0,0 +1,143 @@
+package clasificacion;
+
+import java.util.Arrays;
+
+/**
+ * @brief Informe de exhaustividad (recall) de una búsqueda aproximada frente a la exacta
+ *
+ * Ejecuta las mismas consultas con un buscador aproximado (por ejemplo
+ * GrafoHNSW) y con uno exacto (por ejemplo BusquedaExhaustiva), y recoge la
+ * fracción media de vecinos exactos recuperados junto con las latencias
+ * mediana y p99 de cada camino.
+ */
+public class InformeRecall {
+	private final int k;
+	private final int consultas;
+	private final double recall;
+	private final double latenciaMedianaAproximada;
+	private final double latenciaP99Aproximada;
+	private final double latenciaMedianaExacta;
+	private final double latenciaP99Exacta;
+
+	private InformeRecall(int k, int consultas, double recall, long[] aproximada, long[] exacta) {
+		this.k = k;
+		this.consultas = consultas;
+		this.recall = recall;
+		this.latenciaMedianaAproximada = percentil(aproximada, 0.50);
+		this.latenciaP99Aproximada = percentil(aproximada, 0.99);
+		this.latenciaMedianaExacta = percentil(exacta, 0.50);
+		this.latenciaP99Exacta = percentil(exacta, 0.99);
+	}
+
+	/**
+	 * @brief Compara un buscador aproximado con uno exacto
+	 * @param aproximado Buscador a evaluar
+	 * @param exacto Buscador de referencia
+	 * @param consultas Consultas a ejecutar
+	 * @param k Número de vecinos por consulta
+	 * @return Informe con recall@k y latencias
+	 * @throws IllegalArgumentException Si no hay consultas
+	 */
+	public static InformeRecall generar(BuscadorVecinos aproximado, BuscadorVecinos exacto, double[][] consultas, int k) {
+		if (consultas.length == 0) {
+			throw new IllegalArgumentException("Se necesita al menos una consulta");
+		}
+		long[] tiemposAproximados = new long[consultas.length];
+		long[] tiemposExactos = new long[consultas.length];
+		double aciertos = 0.0;
+		double total = 0.0;
+		for (int q = 0; q < consultas.length; ++q) {
+			long inicio = System.nanoTime();
+			Vecinos encontrados = aproximado.buscar(consultas[q], k);
+			tiemposAproximados[q] = System.nanoTime() - inicio;
+
+			inicio = System.nanoTime();
+			Vecinos esperados = exacto.buscar(consultas[q], k);
+			tiemposExactos[q] = System.nanoTime() - inicio;
+
+			int[] exactos = esperados.getIndices();
+			Arrays.sort(exactos);
+			for (int i = 0; i < encontrados.size(); ++i) {
+				if (Arrays.binarySearch(exactos, encontrados.getIndice(i)) >= 0) aciertos++;
+			}
+			total += exactos.length;
+		}
+		return new InformeRecall(k, consultas.length, total == 0 ? 1.0 : aciertos / total,
+				tiemposAproximados, tiemposExactos);
+	}
+
+	private static double percentil(long[] tiempos, double p) {
+		long[] ordenados = tiempos.clone();
+		Arrays.sort(ordenados);
+		int posicion = (int) Math.ceil(p * ordenados.length) - 1;
+		return ordenados[Math.max(0, posicion)] / 1e6;
+	}
+
+	/**
+	 * @brief Obtiene el recall@k medio
+	 * @return Fracción de vecinos exactos recuperados (0-1)
+	 */
+	public double getRecall() {
+		return recall;
+	}
+
+	/**
+	 * @brief Obtiene el número de vecinos por consulta
+	 * @return Valor de k
+	 */
+	public int getK() {
+		return k;
+	}
+
+	/**
+	 * @brief Obtiene el número de consultas ejecutadas
+	 * @return Número de consultas
+	 */
+	public int getConsultas() {
+		return consultas;
+	}
+
+	/**
+	 * @brief Latencia mediana del buscador aproximado
+	 * @return Milisegundos
+	 */
+	public double getLatenciaMedianaAproximada() {
+		return latenciaMedianaAproximada;
+	}
+
+	/**
+	 * @brief Latencia p99 del buscador aproximado
+	 * @return Milisegundos
+	 */
+	public double getLatenciaP99Aproximada() {
+		return latenciaP99Aproximada;
+	}
+
+	/**
+	 * @brief Latencia mediana del buscador exacto
+	 * @return Milisegundos
+	 */
+	public double getLatenciaMedianaExacta() {
+		return latenciaMedianaExacta;
+	}
+
+	/**
+	 * @brief Latencia p99 del buscador exacto
+	 * @return Milisegundos
+	 */
+	public double getLatenciaP99Exacta() {
+		return latenciaP99Exacta;
+	}
+
+	/**
+	 * @brief Representación en cadena del informe
+	 * @return Resumen de recall y latencias
+	 */
+	@Override
+	public String toString() {
+		return String.format("recall@%d = %.4f (%d consultas) | aproximada p50 %.3f ms, p99 %.3f ms"
+						+ " | exacta p50 %.3f ms, p99 %.3f ms",
+				k, recall, consultas, latenciaMedianaAproximada, latenciaP99Aproximada,
+				latenciaMedianaExacta, latenciaP99Exacta);
+	}
+}
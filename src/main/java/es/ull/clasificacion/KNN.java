@@ -1,11 +1,15 @@
 package clasificacion;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Collections;
 import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.IntStream;
 
 import datos.*;
+import metricas.DistanciaCoseno;
+import metricas.Metrica;
 import vectores.Vector;
 
 /**
@@ -13,17 +17,29 @@ import vectores.Vector;
  *
  * Esta clase implementa el algoritmo de aprendizaje supervisado KNN,
  * que clasifica instancias basándose en los k vecinos más cercanos
- * en el espacio de características.
+ * en el espacio de características. La distancia es la euclídea ponderada
+ * salvo que se indique otra Metrica.
  */
 public class KNN {
 	private int vecinos;
+	private final Metrica metrica;
 
 	/**
 	 * @brief Constructor que inicializa el número de vecinos a considerar
 	 * @param k Número de vecinos cercanos a usar para la clasificación
 	 */
 	public KNN(int k) {
+		this(k, Metrica.EUCLIDEA);
+	}
+
+	/**
+	 * @brief Constructor con una métrica de distancia concreta
+	 * @param k Número de vecinos cercanos a usar para la clasificación
+	 * @param metrica Métrica con la que comparar las instancias
+	 */
+	public KNN(int k, Metrica metrica) {
 		this.vecinos = k;
+		this.metrica = metrica;
 	}
 
 	/**
@@ -32,27 +48,58 @@ public class KNN {
 	 * @param nueva Instancia a clasificar
 	 * @return Vector con las distancias calculadas
 	 *
-	 * Utiliza paralelización para mejorar el rendimiento con datasets grandes
-	 * y considera los pesos de los atributos en el cálculo.
+	 * Compila el dataset en una MatrizCaracteristicas y delega en
+	 * getDistancias(MatrizCaracteristicas, double[]).
 	 */
 	public Vector getDistancias(Dataset datos, Instancia nueva) {
-		// Convertir pesos a array primitivo para mejor performance
-		double[] pesosArray = datos.getAtributos().stream()
-				.mapToDouble(Atributo::getPeso)
-				.toArray();
+		MatrizCaracteristicas matriz = new MatrizCaracteristicas(datos);
+		return new Vector(getDistancias(matriz, MatrizCaracteristicas.consulta(nueva)));
+	}
 
-		// Paralelización del cálculo de distancias
-		return IntStream.range(0, datos.numeroCasos())
+	/**
+	 * @brief Calcula distancias entre una consulta y todas las filas de una matriz compilada
+	 * @param datos Matriz de características de entrenamiento
+	 * @param consulta Valores de la instancia a clasificar
+	 * @return Array con la distancia a cada fila según la métrica del clasificador
+	 *
+	 * Utiliza paralelización para mejorar el rendimiento con datasets grandes.
+	 * No reserva memoria por fila: trabaja directamente sobre el array primitivo.
+	 */
+	public double[] getDistancias(MatrizCaracteristicas datos, double[] consulta) {
+		datos.validarConsulta(consulta);
+		double[] distancias = new double[datos.numeroFilas()];
+		if (metrica == Metrica.EUCLIDEA) {
+			IntStream.range(0, datos.numeroFilas())
+					.parallel()
+					.forEach(i -> distancias[i] = Math.sqrt(datos.distanciaCuadrada(i, consulta)));
+			return distancias;
+		}
+		MatrizCaracteristicas matriz = preparar(datos);
+		double[] q = preparar(consulta, datos.pesos());
+		double[] valores = matriz.valores();
+		double[] pesos = matriz.pesos();
+		int dimension = matriz.dimension();
+		IntStream.range(0, matriz.numeroFilas())
 				.parallel()
-				.mapToObj(i -> {
-					Instancia instancia = datos.getInstance(i);
-					return getDistanciaEuclidea(
-							instancia.getVector(),
-							nueva.getVector(),
-							pesosArray
-					);
-				})
-				.collect(Vector::new, Vector::add, Vector::concat);
+				.forEach(i -> distancias[i] = metrica.distancia(valores, i * dimension, q, 0, pesos, q.length));
+		return distancias;
+	}
+
+	/**
+	 * @brief Normaliza la matriz si la métrica lo requiere
+	 */
+	private MatrizCaracteristicas preparar(MatrizCaracteristicas datos) {
+		return metrica.requiereNormalizacion() ? datos.normalizada() : datos;
+	}
+
+	/**
+	 * @brief Normaliza una copia de la consulta si la métrica lo requiere
+	 */
+	private double[] preparar(double[] consulta, double[] pesos) {
+		if (!metrica.requiereNormalizacion()) return consulta;
+		double[] copia = consulta.clone();
+		DistanciaCoseno.normalizar(copia, 0, pesos, copia.length);
+		return copia;
 	}
 
 	/**
@@ -134,23 +181,11 @@ public class KNN {
 	 * @return Clase predicha para la nueva instancia
 	 */
 	public String getVecino(List<Instancia> candidatos, Vector distancias){
-		Vector aux = new Vector();
-		List<Integer> indices = new ArrayList<>();
-		for (int i = 0; i < vecinos; i++) {
-			aux.add(distancias.get(i));
-			indices.add(i);
-		}
-		// metemos los k primeros elementos en un vector
-		for (int i = 0+vecinos-1; i < candidatos.size(); ++i) {
-			// si el elemento mayor del vector tiene
-			if (aux.getMax() > distancias.get(i)) {
-				// sacar el mayor y meter el nuevo
-				aux.set(aux.getMaxInt(), distancias.get(i));
-				indices.set(aux.getMaxInt(), i);
-			}
-		}
+		double[] aux = new double[candidatos.size()];
+		for (int i = 0; i < aux.length; ++i) aux[i] = distancias.get(i);
+		Vecinos cercanos = SeleccionVecinos.seleccionar(aux, vecinos);
 		List<Instancia> elegidos = new ArrayList<>();
-		for (int i = 0; i < indices.size(); i++) elegidos.add(candidatos.get(indices.get(i)));
+		for (int i = 0; i < cercanos.size(); i++) elegidos.add(candidatos.get(cercanos.getIndice(i)));
 		return this.getClase(elegidos);
 	}
 
@@ -161,11 +196,254 @@ public class KNN {
 	 * @return Clase predicha para la nueva instancia
 	 */
 	public String clasificar(Dataset datos, Instancia nueva) {
-		Vector aux = this.getDistancias(datos, nueva);
-		List<Instancia> elegidos = new ArrayList<>();
-		for (int i = 0; i < datos.numeroCasos(); ++i) {
-			elegidos.add(datos.getInstance(i));
+		return this.clasificar(new MatrizCaracteristicas(datos), MatrizCaracteristicas.consulta(nueva));
+	}
+
+	/**
+	 * @brief Clasifica una consulta contra una matriz de características ya compilada
+	 * @param datos Matriz de características de entrenamiento
+	 * @param consulta Valores de la instancia a clasificar
+	 * @return Clase predicha para la consulta
+	 *
+	 * Permite compilar el dataset de entrenamiento una única vez y reutilizarlo
+	 * en todas las consultas.
+	 */
+	public String clasificar(MatrizCaracteristicas datos, double[] consulta) {
+		if (datos.numeroFilas() == 0) {
+			throw new IllegalStateException("El dataset está vacío. No se puede clasificar.");
+		}
+		return datos.getClases().get(votar(datos, this.getVecinos(datos, consulta)));
+	}
+
+	/**
+	 * @brief Obtiene los k vecinos más cercanos a una consulta, ordenados por distancia
+	 * @param datos Matriz de características de entrenamiento
+	 * @param consulta Valores de la instancia a clasificar
+	 * @return Índices de fila y distancias de los vecinos, del más cercano al más lejano
+	 *
+	 * El resultado puede reutilizarse para votar, explicar una predicción o evaluar
+	 * sin repetir la búsqueda.
+	 */
+	public Vecinos getVecinos(MatrizCaracteristicas datos, double[] consulta) {
+		return SeleccionVecinos.seleccionar(this.getDistancias(datos, consulta), vecinos);
+	}
+
+	/**
+	 * @brief Clasifica una consulta usando un índice de búsqueda de vecinos
+	 * @param buscador Estrategia de búsqueda (exhaustiva, árbol k-d, ...)
+	 * @param consulta Valores de la instancia a clasificar
+	 * @return Clase predicha para la consulta
+	 */
+	public String clasificar(BuscadorVecinos buscador, double[] consulta) {
+		MatrizCaracteristicas datos = buscador.getMatriz();
+		if (datos.numeroFilas() == 0) {
+			throw new IllegalStateException("El dataset está vacío. No se puede clasificar.");
+		}
+		return datos.getClases().get(votar(datos, buscador.buscar(consulta, vecinos)));
+	}
+
+	/**
+	 * @brief Clasifica una consulta contra un dataset proyectado en memoria
+	 * @param datos Dataset de entrenamiento proyectado desde un archivo columnar
+	 * @param consulta Valores de los atributos cuantitativos de la instancia
+	 * @return Clase predicha para la consulta
+	 *
+	 * Recorre las columnas proyectadas sin copiar el dataset al heap (ver
+	 * BusquedaProyectada).
+	 */
+	public String clasificar(DatasetProyectado datos, double[] consulta) {
+		return new BusquedaProyectada(datos, metrica).clasificar(consulta, vecinos);
+	}
+
+	/**
+	 * @brief Obtiene los k vecinos de una consulta en un dataset proyectado en memoria
+	 * @param datos Dataset de entrenamiento proyectado
+	 * @param consulta Valores de los atributos cuantitativos de la instancia
+	 * @return Vecinos ordenados por distancia
+	 */
+	public Vecinos getVecinos(DatasetProyectado datos, double[] consulta) {
+		return new BusquedaProyectada(datos, metrica).buscar(consulta, vecinos);
+	}
+
+	/**
+	 * @brief Clasifica muchas consultas a la vez contra una matriz compilada
+	 * @param datos Matriz de características de entrenamiento
+	 * @param consultas Valores de cada instancia a clasificar
+	 * @return Clase predicha para cada consulta, en el mismo orden
+	 *
+	 * Las distancias se calculan por bloques de consultas x filas de
+	 * entrenamiento (ver BusquedaPorBloques), lo que reutiliza cada bloque de
+	 * la matriz en caché para todas las consultas del bloque.
+	 */
+	public String[] clasificarLote(MatrizCaracteristicas datos, double[][] consultas) {
+		return clasificarLote(datos, consultas, 0, 0);
+	}
+
+	/**
+	 * @brief Clasifica muchas consultas contra una matriz sin un tramo de sus filas
+	 * @param datos Matriz de características
+	 * @param consultas Valores de cada instancia a clasificar
+	 * @param excluirDesde Primera fila que no se usa como vecino
+	 * @param excluirHasta Fila siguiente a la última que no se usa como vecino
+	 * @return Clase predicha para cada consulta, en el mismo orden
+	 * @throws IllegalStateException Si no quedan filas con las que clasificar
+	 */
+	public String[] clasificarLote(MatrizCaracteristicas datos, double[][] consultas, int excluirDesde,
+			int excluirHasta) {
+		if (datos.numeroFilas() - (excluirHasta - excluirDesde) <= 0) {
+			throw new IllegalStateException("El dataset está vacío. No se puede clasificar.");
+		}
+		Vecinos[] cercanos = this.getVecinosLote(datos, consultas, excluirDesde, excluirHasta);
+		String[] clases = new String[consultas.length];
+		for (int q = 0; q < consultas.length; ++q) {
+			clases[q] = datos.getClases().get(votar(datos, cercanos[q]));
+		}
+		return clases;
+	}
+
+	/**
+	 * @brief Clasifica muchas consultas con todos los valores de k hasta getK()
+	 * @param datos Matriz de características de entrenamiento
+	 * @param consultas Valores de cada instancia a clasificar
+	 * @return Array predicciones[k - 1][q] con la clase predicha para la consulta q usando k vecinos
+	 * @throws IllegalStateException Si el dataset está vacío
+	 *
+	 * Busca una sola vez los getK() vecinos de cada consulta. Como la lista está
+	 * ordenada por (distancia, índice), sus k primeros son exactamente los k
+	 * vecinos de una búsqueda con ese k, y los votos se acumulan prefijo a
+	 * prefijo con la misma regla de desempate que votar(): el barrido cuesta
+	 * lo mismo que clasificar con el k mayor.
+	 */
+	public String[][] clasificarBarrido(MatrizCaracteristicas datos, double[][] consultas) {
+		if (datos.numeroFilas() == 0) {
+			throw new IllegalStateException("El dataset está vacío. No se puede clasificar.");
+		}
+		Vecinos[] cercanos = this.getVecinosLote(datos, consultas);
+		List<String> clases = datos.getClases();
+		String[][] predicciones = new String[vecinos][consultas.length];
+		int[] votos = new int[clases.size()];
+		for (int q = 0; q < consultas.length; ++q) {
+			Arrays.fill(votos, 0);
+			int ganadora = datos.getEtiqueta(cercanos[q].getIndice(0));
+			for (int k = 1; k <= vecinos; ++k) {
+				if (k <= cercanos[q].size()) {
+					int etiqueta = datos.getEtiqueta(cercanos[q].getIndice(k - 1));
+					votos[etiqueta]++;
+					if (votos[etiqueta] > votos[ganadora]) ganadora = etiqueta;
+				}
+				predicciones[k - 1][q] = clases.get(ganadora);
+			}
+		}
+		return predicciones;
+	}
+
+	/**
+	 * @brief Obtiene los k vecinos de muchas consultas a la vez
+	 * @param datos Matriz de características de entrenamiento
+	 * @param consultas Valores de cada instancia
+	 * @return Vecinos de cada consulta, en el mismo orden
+	 */
+	public Vecinos[] getVecinosLote(MatrizCaracteristicas datos, double[][] consultas) {
+		return getVecinosLote(datos, consultas, 0, 0);
+	}
+
+	/**
+	 * @brief Obtiene los k vecinos de muchas consultas sin considerar un tramo de filas
+	 * @param datos Matriz de características
+	 * @param consultas Valores de cada instancia
+	 * @param excluirDesde Primera fila que no se considera
+	 * @param excluirHasta Fila siguiente a la última que no se considera
+	 * @return Vecinos de cada consulta, en el mismo orden (ver BusquedaPorBloques)
+	 */
+	public Vecinos[] getVecinosLote(MatrizCaracteristicas datos, double[][] consultas, int excluirDesde,
+			int excluirHasta) {
+		double[][] preparadas = consultas;
+		if (metrica.requiereNormalizacion()) {
+			preparadas = new double[consultas.length][];
+			for (int q = 0; q < consultas.length; ++q) {
+				datos.validarConsulta(consultas[q]);
+				preparadas[q] = preparar(consultas[q], datos.pesos());
+			}
+		}
+		return new BusquedaPorBloques(preparar(datos), ForkJoinPool.commonPool(), metrica)
+				.buscar(preparadas, vecinos, excluirDesde, excluirHasta);
+	}
+
+	/**
+	 * @brief Clasifica cada fila de una matriz con las demás (validación dejando uno fuera)
+	 * @param datos Matriz de características
+	 * @return Clase predicha para cada fila, en el orden de la matriz
+	 * @throws IllegalStateException Si la matriz tiene menos de dos filas
+	 *
+	 * Los vecinos de todas las filas salen de un único grafo de k vecinos
+	 * (ver GrafoVecinos), que calcula cada distancia entre dos filas una sola vez.
+	 */
+	public String[] clasificarDejandoUno(MatrizCaracteristicas datos) {
+		if (datos.numeroFilas() < 2) {
+			throw new IllegalStateException("Se necesitan al menos dos filas para dejar una fuera.");
+		}
+		return votarTodas(datos, getVecinosDejandoUno(datos));
+	}
+
+	/**
+	 * @brief Clasifica cada fila del índice con las demás (validación dejando uno fuera)
+	 * @param buscador Índice de búsqueda sobre la matriz
+	 * @return Clase predicha para cada fila de buscador.getMatriz()
+	 * @throws IllegalStateException Si la matriz tiene menos de dos filas
+	 */
+	public String[] clasificarDejandoUno(BuscadorVecinos buscador) {
+		MatrizCaracteristicas datos = buscador.getMatriz();
+		if (datos.numeroFilas() < 2) {
+			throw new IllegalStateException("Se necesitan al menos dos filas para dejar una fuera.");
+		}
+		return votarTodas(datos, GrafoVecinos.calcular(buscador, vecinos));
+	}
+
+	/**
+	 * @brief Obtiene los k vecinos de cada fila de una matriz entre las demás filas
+	 * @param datos Matriz de características
+	 * @return Vecinos de cada fila, en el orden de la matriz
+	 */
+	public Vecinos[] getVecinosDejandoUno(MatrizCaracteristicas datos) {
+		return new GrafoVecinos(preparar(datos), ForkJoinPool.commonPool(), metrica).calcular(vecinos);
+	}
+
+	private String[] votarTodas(MatrizCaracteristicas datos, Vecinos[] cercanos) {
+		String[] clases = new String[cercanos.length];
+		for (int i = 0; i < cercanos.length; ++i) clases[i] = datos.getClases().get(votar(datos, cercanos[i]));
+		return clases;
+	}
+
+	/**
+	 * @brief Obtiene la etiqueta mayoritaria entre los vecinos encontrados
+	 * @param datos Matriz con las etiquetas
+	 * @param cercanos Vecinos ordenados por distancia
+	 * @return Código de la clase más votada (en caso de empate, la que alcanza antes ese número de votos)
+	 */
+	public int votar(MatrizCaracteristicas datos, Vecinos cercanos) {
+		int[] votos = new int[datos.getClases().size()];
+		int ganadora = datos.getEtiqueta(cercanos.getIndice(0));
+		for (int i = 0; i < cercanos.size(); ++i) {
+			int etiqueta = datos.getEtiqueta(cercanos.getIndice(i));
+			votos[etiqueta]++;
+			if (votos[etiqueta] > votos[ganadora]) ganadora = etiqueta;
 		}
-		return this.getVecino(elegidos, aux);
+		return ganadora;
+	}
+
+	/**
+	 * @brief Obtiene el número de vecinos considerados
+	 * @return Valor de k
+	 */
+	public int getK() {
+		return vecinos;
+	}
+
+	/**
+	 * @brief Obtiene la métrica de distancia utilizada
+	 * @return Métrica del clasificador
+	 */
+	public Metrica getMetrica() {
+		return metrica;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,406 @@
+package clasificacion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import datos.*;
+import metricas.DistanciaCoseno;
+import vectores.Nucleos;
+
+/**
+ * @brief Instantánea compilada y de solo lectura de las características de un Dataset
+ *
+ * Almacena los atributos cuantitativos (salvo el último, que es la clase) en un
+ * único array primitivo por filas (n x d), junto con los pesos de cada columna y
+ * la etiqueta de clase de cada fila codificada como entero. Se construye una sola
+ * vez y se reutiliza en todas las consultas, evitando crear una Instancia y un
+ * Vector por fila en cada clasificación.
+ *
+ * Opcionalmente incluye también los atributos cualitativos, codificados con un
+ * diccionario por columna: el código entero de cada valor se guarda como double
+ * en la misma fila, detrás de todas las columnas cuantitativas. Estas columnas
+ * solo tienen sentido con una métrica que las distinga, como
+ * DistanciaHeterogenea.
+ */
+public class MatrizCaracteristicas {
+	private final double[] valores;
+	private final double[] pesos;
+	private final int[] etiquetas;
+	private final List<String> clases;
+	private final int filas;
+	private final int dimension;
+	private final int numericas;
+	private final int[] origen;
+	private final List<List<String>> diccionarios;
+	private final List<Map<String, Integer>> codigos;
+	private final boolean normalizadaPorFilas;
+	private volatile MatrizCaracteristicas normalizada;
+
+	/**
+	 * @brief Compila la matriz de características a partir de un dataset
+	 * @param datos Dataset de origen (el último atributo se interpreta como la clase)
+	 */
+	public MatrizCaracteristicas(Dataset datos) {
+		this(datos, false);
+	}
+
+	/**
+	 * @brief Compila la matriz indicando si se incluyen los atributos cualitativos
+	 * @param datos Dataset de origen (el último atributo se interpreta como la clase)
+	 * @param incluirCualitativos Si se codifican también las columnas cualitativas
+	 */
+	public MatrizCaracteristicas(Dataset datos, boolean incluirCualitativos) {
+		List<Atributo> atributos = datos.getAtributos();
+		List<Integer> columnas = new ArrayList<>();
+		for (int j = 0; j < atributos.size() - 1; ++j) {
+			if (atributos.get(j) instanceof Cuantitativo) columnas.add(j);
+		}
+		this.numericas = columnas.size();
+		if (incluirCualitativos) {
+			for (int j = 0; j < atributos.size() - 1; ++j) {
+				if (atributos.get(j) instanceof Cualitativo) columnas.add(j);
+			}
+		}
+		this.filas = datos.numeroCasos();
+		this.dimension = columnas.size();
+		this.origen = new int[dimension];
+		this.valores = new double[filas * dimension];
+		this.pesos = new double[dimension];
+		for (int c = 0; c < dimension; ++c) {
+			origen[c] = columnas.get(c);
+			pesos[c] = atributos.get(origen[c]).getPeso();
+		}
+
+		// Los códigos de cada Cualitativo se renumeran por orden de primera aparición
+		int[][] recodificacion = new int[dimension - numericas][];
+		List<List<String>> nombresValores = new ArrayList<>();
+		for (int c = numericas; c < dimension; ++c) {
+			recodificacion[c - numericas] = nuevaRecodificacion((Cualitativo) atributos.get(origen[c]));
+			nombresValores.add(new ArrayList<>());
+		}
+		this.etiquetas = new int[filas];
+		List<String> nombres = new ArrayList<>();
+		int ultima = atributos.size() - 1;
+		boolean claseCualitativa = ultima >= 0 && atributos.get(ultima) instanceof Cualitativo;
+		int[] recodificacionClase = claseCualitativa ? nuevaRecodificacion((Cualitativo) atributos.get(ultima)) : null;
+		Map<String, Integer> codigoClase = new HashMap<>();
+
+		CursorFila fila = datos.cursor();
+		for (int i = 0; i < filas; ++i) {
+			fila.mover(i);
+			int base = i * dimension;
+			for (int c = 0; c < numericas; ++c) valores[base + c] = fila.getDouble(origen[c]);
+			for (int c = numericas; c < dimension; ++c) {
+				valores[base + c] = recodificar(fila, origen[c], recodificacion[c - numericas],
+						nombresValores.get(c - numericas));
+			}
+			etiquetas[i] = claseCualitativa ? recodificar(fila, ultima, recodificacionClase, nombres)
+					: codificar(fila.getClase(), nombres, codigoClase);
+		}
+
+		List<Map<String, Integer>> codigosValores = new ArrayList<>();
+		for (int a = 0; a < nombresValores.size(); ++a) {
+			List<String> valoresColumna = nombresValores.get(a);
+			Map<String, Integer> codigo = new HashMap<>();
+			for (int v = 0; v < valoresColumna.size(); ++v) codigo.put(valoresColumna.get(v), v);
+			nombresValores.set(a, Collections.unmodifiableList(valoresColumna));
+			codigosValores.add(codigo);
+		}
+		this.diccionarios = Collections.unmodifiableList(nombresValores);
+		this.codigos = codigosValores;
+		this.clases = Collections.unmodifiableList(nombres);
+		this.normalizadaPorFilas = false;
+	}
+
+	/**
+	 * @brief Crea la tabla código de diccionario -> código de matriz, vacía
+	 */
+	private static int[] nuevaRecodificacion(Cualitativo atributo) {
+		int[] recodificacion = new int[atributo.getDiccionario().size()];
+		Arrays.fill(recodificacion, -1);
+		return recodificacion;
+	}
+
+	/**
+	 * @brief Traduce el código de diccionario de la fila actual al de la matriz
+	 */
+	private static int recodificar(CursorFila fila, int columna, int[] recodificacion, List<String> nombres) {
+		int codigo = fila.getCodigo(columna);
+		if (recodificacion[codigo] < 0) {
+			recodificacion[codigo] = nombres.size();
+			nombres.add(fila.getTexto(columna));
+		}
+		return recodificacion[codigo];
+	}
+
+	/**
+	 * @brief Obtiene el código de un valor, dándole uno nuevo si no lo tenía
+	 */
+	private static int codificar(String nombre, List<String> nombres, Map<String, Integer> codigos) {
+		Integer codigo = codigos.get(nombre);
+		if (codigo == null) {
+			codigo = nombres.size();
+			codigos.put(nombre, codigo);
+			nombres.add(nombre);
+		}
+		return codigo;
+	}
+
+	/**
+	 * @brief Copia una matriz sustituyendo sus filas
+	 */
+	private MatrizCaracteristicas(MatrizCaracteristicas origen, double[] valores, int[] etiquetas,
+			boolean normalizadaPorFilas) {
+		this.valores = valores;
+		this.pesos = origen.pesos;
+		this.etiquetas = etiquetas;
+		this.clases = origen.clases;
+		this.filas = etiquetas.length;
+		this.dimension = origen.dimension;
+		this.numericas = origen.numericas;
+		this.origen = origen.origen;
+		this.diccionarios = origen.diccionarios;
+		this.codigos = origen.codigos;
+		this.normalizadaPorFilas = normalizadaPorFilas;
+		this.normalizada = normalizadaPorFilas ? this : null;
+	}
+
+	/**
+	 * @brief Obtiene una copia con cada fila dividida por su norma euclídea ponderada
+	 * @return Matriz normalizada (se calcula una vez y se reutiliza)
+	 *
+	 * Es la forma que esperan las métricas con requiereNormalizacion(), como
+	 * Metrica.COSENO. Solo se normalizan las columnas cuantitativas; las etiquetas
+	 * y los pesos se comparten con esta matriz.
+	 */
+	public MatrizCaracteristicas normalizada() {
+		MatrizCaracteristicas resultado = normalizada;
+		if (resultado == null) {
+			double[] copia = valores.clone();
+			for (int i = 0; i < filas; ++i) DistanciaCoseno.normalizar(copia, i * dimension, pesos, numericas);
+			resultado = new MatrizCaracteristicas(this, copia, etiquetas, true);
+			normalizada = resultado;
+		}
+		return resultado;
+	}
+
+	/**
+	 * @brief Obtiene una copia con las filas en otro orden
+	 * @param orden Índices de fila de esta matriz en el orden deseado (permutación o subconjunto)
+	 * @return Matriz de orden.length filas; pesos, clases y diccionarios se comparten con esta
+	 * @throws IndexOutOfBoundsException Si algún índice no es una fila válida
+	 *
+	 * La fila i del resultado es la fila orden[i] de esta matriz. Permite
+	 * agrupar en tramos contiguos las filas de cada pliegue de una validación
+	 * cruzada con una sola copia de los valores ya compilados.
+	 */
+	public MatrizCaracteristicas reordenar(int[] orden) {
+		double[] copia = new double[orden.length * dimension];
+		int[] nuevas = new int[orden.length];
+		for (int i = 0; i < orden.length; ++i) {
+			if (orden[i] < 0 || orden[i] >= filas) {
+				throw new IndexOutOfBoundsException(String.format("Fila %d fuera de rango (tamaño %d)", orden[i], filas));
+			}
+			System.arraycopy(valores, orden[i] * dimension, copia, i * dimension, dimension);
+			nuevas[i] = etiquetas[orden[i]];
+		}
+		return new MatrizCaracteristicas(this, copia, nuevas, normalizadaPorFilas);
+	}
+
+	/**
+	 * @brief Indica si las filas de esta matriz están normalizadas
+	 * @return true si se ha obtenido con normalizada()
+	 */
+	public boolean esNormalizada() {
+		return normalizadaPorFilas;
+	}
+
+	/**
+	 * @brief Convierte una instancia en un array de consulta
+	 * @param nueva Instancia a convertir
+	 * @return Array con los mismos valores que Instancia.getVector()
+	 */
+	public static double[] consulta(Instancia nueva) {
+		List<Object> datos = nueva.getValores();
+		double[] aux = new double[datos.size()];
+		int n = 0;
+		for (int i = 0; i < datos.size() - 1; ++i) {
+			Object valor = datos.get(i);
+			if (valor instanceof Number) aux[n++] = ((Number) valor).doubleValue();
+		}
+		return Arrays.copyOf(aux, n);
+	}
+
+	/**
+	 * @brief Convierte una instancia en una consulta con el mismo orden de columnas que la matriz
+	 * @param nueva Instancia a convertir (con los atributos en el orden del dataset)
+	 * @return Array de dimension() valores; los cualitativos como código, o -1 si el valor no se conoce
+	 */
+	public double[] codificar(Instancia nueva) {
+		List<Object> datos = nueva.getValores();
+		double[] consulta = new double[dimension];
+		for (int c = 0; c < numericas; ++c) {
+			consulta[c] = ((Number) datos.get(origen[c])).doubleValue();
+		}
+		for (int c = numericas; c < dimension; ++c) {
+			Integer codigo = codigos.get(c - numericas).get(String.valueOf(datos.get(origen[c])));
+			consulta[c] = codigo == null ? -1 : codigo;
+		}
+		return consulta;
+	}
+
+	/**
+	 * @brief Calcula la distancia euclídea ponderada al cuadrado entre una fila y una consulta
+	 * @param fila Índice de la fila de entrenamiento
+	 * @param consulta Valores de la consulta
+	 * @return Distancia al cuadrado (sin raíz)
+	 *
+	 * Solo se recorren las primeras consulta.length columnas, igual que
+	 * KNN.getDistanciaEuclidea(Vector, Vector, double[]).
+	 */
+	public double distanciaCuadrada(int fila, double[] consulta) {
+		return Nucleos.ACTIVOS.euclideaCuadrada(valores, fila * dimension, consulta, 0, pesos, consulta.length);
+	}
+
+	/**
+	 * @brief Comprueba que una consulta es compatible con la matriz
+	 * @param consulta Valores de la consulta
+	 * @throws IllegalArgumentException Si la consulta es nula o tiene más columnas que la matriz
+	 */
+	public void validarConsulta(double[] consulta) {
+		if (consulta == null) {
+			throw new IllegalArgumentException("La consulta no puede ser nula");
+		}
+		if (consulta.length > dimension) {
+			throw new IllegalArgumentException(
+					String.format("Tamaños no coinciden (matriz: %d, consulta: %d)", dimension, consulta.length)
+			);
+		}
+	}
+
+	/**
+	 * @brief Obtiene el número de filas (instancias)
+	 * @return Número de filas
+	 */
+	public int numeroFilas() {
+		return filas;
+	}
+
+	/**
+	 * @brief Obtiene el número de columnas de cada fila
+	 * @return Dimensión de cada fila
+	 */
+	public int dimension() {
+		return dimension;
+	}
+
+	/**
+	 * @brief Obtiene el número de columnas cuantitativas, que ocupan las primeras posiciones
+	 * @return Número de columnas cuantitativas
+	 */
+	public int numericas() {
+		return numericas;
+	}
+
+	/**
+	 * @brief Indica si una columna procede de un atributo cualitativo
+	 * @param columna Índice de la columna
+	 * @return true si la columna guarda códigos de diccionario
+	 */
+	public boolean esCategorica(int columna) {
+		return columna >= numericas;
+	}
+
+	/**
+	 * @brief Obtiene el diccionario de una columna cualitativa
+	 * @param columna Índice de la columna
+	 * @return Lista inmodificable con el valor de cada código
+	 * @throws IndexOutOfBoundsException Si la columna no es cualitativa
+	 */
+	public List<String> getDiccionario(int columna) {
+		return diccionarios.get(columna - numericas);
+	}
+
+	/**
+	 * @brief Obtiene un valor de la matriz
+	 * @param fila Índice de la fila
+	 * @param columna Índice de la columna
+	 * @return Valor almacenado (código si la columna es cualitativa)
+	 */
+	public double get(int fila, int columna) {
+		return valores[fila * dimension + columna];
+	}
+
+	/**
+	 * @brief Obtiene una copia de una fila
+	 * @param fila Índice de la fila
+	 * @return Array con los valores de la fila
+	 */
+	public double[] getFila(int fila) {
+		double[] copia = new double[dimension];
+		System.arraycopy(valores, fila * dimension, copia, 0, dimension);
+		return copia;
+	}
+
+	/**
+	 * @brief Obtiene una copia de los pesos de las columnas
+	 * @return Array de pesos
+	 */
+	public double[] getPesos() {
+		return pesos.clone();
+	}
+
+	/**
+	 * @brief Obtiene el código de clase de una fila
+	 * @param fila Índice de la fila
+	 * @return Código entero de la clase (índice en getClases())
+	 */
+	public int getEtiqueta(int fila) {
+		return etiquetas[fila];
+	}
+
+	/**
+	 * @brief Obtiene el nombre de la clase de una fila
+	 * @param fila Índice de la fila
+	 * @return Nombre de la clase
+	 */
+	public String getClase(int fila) {
+		return clases.get(etiquetas[fila]);
+	}
+
+	/**
+	 * @brief Obtiene los nombres de clase en orden de aparición
+	 * @return Lista inmodificable de clases
+	 */
+	public List<String> getClases() {
+		return clases;
+	}
+
+	/**
+	 * @brief Acceso interno al array de valores por filas
+	 * @return Array compartido (no debe modificarse)
+	 */
+	double[] valores() {
+		return valores;
+	}
+
+	/**
+	 * @brief Acceso interno al array de pesos
+	 * @return Array compartido (no debe modificarse)
+	 */
+	double[] pesos() {
+		return pesos;
+	}
+
+	/**
+	 * @brief Acceso interno a la columna de etiquetas
+	 * @return Array compartido (no debe modificarse)
+	 */
+	int[] etiquetas() {
+		return etiquetas;
+	}
+}
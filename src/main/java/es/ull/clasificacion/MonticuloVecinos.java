@@ -0,0 +1,141 @@
+package clasificacion;
+
+/**
+ * @brief Montículo de máximos acotado para mantener los k mejores candidatos
+ *
+ * Guarda como mucho k pares (índice, distancia) en arrays primitivos. La raíz
+ * es siempre el peor candidato retenido, de modo que decidir si un nuevo
+ * candidato entra cuesta O(1) y sustituirlo O(log k). Los empates de
+ * distancia se resuelven por índice de fila para que el resultado sea
+ * determinista. Puede reutilizarse entre consultas llamando a clear().
+ */
+public class MonticuloVecinos {
+	private final int[] indices;
+	private final double[] distancias;
+	private int size;
+
+	/**
+	 * @brief Crea un montículo con capacidad para k candidatos
+	 * @param k Número máximo de vecinos a retener
+	 * @throws IllegalArgumentException Si k no es positivo
+	 */
+	public MonticuloVecinos(int k) {
+		if (k <= 0) {
+			throw new IllegalArgumentException("El número de vecinos debe ser positivo");
+		}
+		this.indices = new int[k];
+		this.distancias = new double[k];
+	}
+
+	/**
+	 * @brief Ofrece un candidato al montículo
+	 * @param indice Índice de la fila candidata
+	 * @param distancia Distancia del candidato a la consulta
+	 * @return true si el candidato ha quedado retenido
+	 */
+	public boolean add(int indice, double distancia) {
+		if (size < indices.length) {
+			int i = size++;
+			while (i > 0) {
+				int padre = (i - 1) >>> 1;
+				if (!mayor(distancia, indice, distancias[padre], indices[padre])) break;
+				indices[i] = indices[padre];
+				distancias[i] = distancias[padre];
+				i = padre;
+			}
+			indices[i] = indice;
+			distancias[i] = distancia;
+			return true;
+		}
+		if (!mayor(distancias[0], indices[0], distancia, indice)) return false;
+		hundir(indice, distancia);
+		return true;
+	}
+
+	/**
+	 * @brief Distancia del peor candidato retenido, o infinito si aún no hay k
+	 * @return Cota que debe mejorar un candidato para entrar
+	 */
+	public double peor() {
+		return size < indices.length ? Double.POSITIVE_INFINITY : distancias[0];
+	}
+
+	/**
+	 * @brief Indica si el montículo ya contiene k candidatos
+	 * @return true si está lleno
+	 */
+	public boolean lleno() {
+		return size == indices.length;
+	}
+
+	/**
+	 * @brief Obtiene el número de candidatos retenidos
+	 * @return Número de candidatos
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @brief Obtiene la capacidad del montículo
+	 * @return Valor de k
+	 */
+	public int capacidad() {
+		return indices.length;
+	}
+
+	/**
+	 * @brief Vacía el montículo para reutilizarlo
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * @brief Extrae los candidatos ordenados de menor a mayor distancia
+	 * @return Vecinos ordenados; el montículo queda vacío
+	 */
+	public Vecinos extraer() {
+		int n = size;
+		int[] i = new int[n];
+		double[] d = new double[n];
+		for (int pos = n - 1; pos >= 0; --pos) {
+			i[pos] = indices[0];
+			d[pos] = distancias[0];
+			--size;
+			if (size > 0) hundir(indices[size], distancias[size]);
+		}
+		return new Vecinos(i, d);
+	}
+
+	/**
+	 * @brief Coloca un elemento en la raíz y lo hunde hasta su posición
+	 * @param indice Índice del elemento
+	 * @param distancia Distancia del elemento
+	 */
+	private void hundir(int indice, double distancia) {
+		int i = 0;
+		int mitad = size >>> 1;
+		while (i < mitad) {
+			int hijo = 2 * i + 1;
+			int derecho = hijo + 1;
+			if (derecho < size && mayor(distancias[derecho], indices[derecho], distancias[hijo], indices[hijo])) {
+				hijo = derecho;
+			}
+			if (!mayor(distancias[hijo], indices[hijo], distancia, indice)) break;
+			indices[i] = indices[hijo];
+			distancias[i] = distancias[hijo];
+			i = hijo;
+		}
+		indices[i] = indice;
+		distancias[i] = distancia;
+	}
+
+	/**
+	 * @brief Orden total (distancia, índice) usado en todo el paquete
+	 * @return true si (da, ia) va después de (db, ib)
+	 */
+	static boolean mayor(double da, int ia, double db, int ib) {
+		return da > db || (da == db && ia > ib);
+	}
+}
@@ -0,0 +1,180 @@
+package clasificacion;
+
+/**
+ * @brief Selección de los k menores valores de un array de distancias
+ *
+ * Para k pequeño utiliza un montículo de máximos acotado (O(n log k)); para k
+ * grande utiliza introselect sobre una copia de índices (O(n) de media, con
+ * recurso a selección por montículo si la recursión degenera), y ordena solo
+ * los k elegidos. Ambos caminos producen el mismo resultado, ordenado por
+ * (distancia, índice).
+ */
+public final class SeleccionVecinos {
+	/** @brief A partir de este k se usa introselect en lugar del montículo */
+	public static final int UMBRAL_INTROSELECT = 64;
+
+	private SeleccionVecinos() {
+	}
+
+	/**
+	 * @brief Selecciona los k vecinos más cercanos
+	 * @param distancias Distancia de cada fila a la consulta
+	 * @param k Número de vecinos a seleccionar
+	 * @return Vecinos ordenados de menor a mayor distancia (como mucho k)
+	 * @throws IllegalArgumentException Si k no es positivo
+	 */
+	public static Vecinos seleccionar(double[] distancias, int k) {
+		if (k <= 0) {
+			throw new IllegalArgumentException("El número de vecinos debe ser positivo");
+		}
+		int n = distancias.length;
+		if (k >= n) return ordenarTodos(distancias);
+		if (k < UMBRAL_INTROSELECT) return seleccionarMonticulo(distancias, k);
+		return seleccionarIntroselect(distancias, k);
+	}
+
+	/**
+	 * @brief Selección mediante montículo de máximos acotado
+	 * @param distancias Distancia de cada fila a la consulta
+	 * @param k Número de vecinos a seleccionar
+	 * @return Vecinos ordenados
+	 */
+	static Vecinos seleccionarMonticulo(double[] distancias, int k) {
+		MonticuloVecinos monticulo = new MonticuloVecinos(Math.min(k, Math.max(distancias.length, 1)));
+		for (int i = 0; i < distancias.length; ++i) {
+			if (distancias[i] <= monticulo.peor()) monticulo.add(i, distancias[i]);
+		}
+		return monticulo.extraer();
+	}
+
+	/**
+	 * @brief Selección mediante introselect y ordenación de los k primeros
+	 * @param distancias Distancia de cada fila a la consulta
+	 * @param k Número de vecinos a seleccionar
+	 * @return Vecinos ordenados
+	 */
+	static Vecinos seleccionarIntroselect(double[] distancias, int k) {
+		int n = distancias.length;
+		int[] orden = new int[n];
+		for (int i = 0; i < n; ++i) orden[i] = i;
+		int limite = 2 * (32 - Integer.numberOfLeadingZeros(n));
+		seleccionar(orden, distancias, 0, n - 1, k - 1, limite);
+		ordenar(orden, distancias, 0, k - 1);
+		return construir(orden, distancias, k);
+	}
+
+	/**
+	 * @brief Ordena todas las filas por distancia
+	 * @param distancias Distancia de cada fila a la consulta
+	 * @return Vecinos con todas las filas ordenadas
+	 */
+	private static Vecinos ordenarTodos(double[] distancias) {
+		int n = distancias.length;
+		int[] orden = new int[n];
+		for (int i = 0; i < n; ++i) orden[i] = i;
+		ordenar(orden, distancias, 0, n - 1);
+		return construir(orden, distancias, n);
+	}
+
+	private static Vecinos construir(int[] orden, double[] distancias, int k) {
+		int[] indices = new int[k];
+		double[] d = new double[k];
+		for (int i = 0; i < k; ++i) {
+			indices[i] = orden[i];
+			d[i] = distancias[orden[i]];
+		}
+		return new Vecinos(indices, d);
+	}
+
+	/**
+	 * @brief Introselect: deja en orden[objetivo] el elemento que le corresponde ordenado
+	 */
+	private static void seleccionar(int[] orden, double[] d, int lo, int hi, int objetivo, int limite) {
+		while (hi > lo) {
+			if (limite-- == 0) {
+				seleccionarPorMonticulo(orden, d, lo, hi, objetivo);
+				return;
+			}
+			int p = particionar(orden, d, lo, hi);
+			if (p == objetivo) return;
+			if (objetivo < p) hi = p - 1;
+			else lo = p + 1;
+		}
+	}
+
+	/**
+	 * @brief Recurso de introselect: ordena parcialmente el rango con heapsort
+	 */
+	private static void seleccionarPorMonticulo(int[] orden, double[] d, int lo, int hi, int objetivo) {
+		int n = hi - lo + 1;
+		for (int i = n / 2 - 1; i >= 0; --i) hundir(orden, d, lo, i, n);
+		for (int fin = n - 1; fin > objetivo - lo; --fin) {
+			intercambiar(orden, lo, lo + fin);
+			hundir(orden, d, lo, 0, fin);
+		}
+	}
+
+	private static void hundir(int[] orden, double[] d, int base, int i, int n) {
+		while (2 * i + 1 < n) {
+			int hijo = 2 * i + 1;
+			if (hijo + 1 < n && mayor(orden[base + hijo + 1], orden[base + hijo], d)) hijo++;
+			if (!mayor(orden[base + hijo], orden[base + i], d)) return;
+			intercambiar(orden, base + i, base + hijo);
+			i = hijo;
+		}
+	}
+
+	/**
+	 * @brief Partición de Lomuto con pivote mediana de tres
+	 * @return Posición final del pivote
+	 */
+	private static int particionar(int[] orden, double[] d, int lo, int hi) {
+		int medio = (lo + hi) >>> 1;
+		if (mayor(orden[lo], orden[medio], d)) intercambiar(orden, lo, medio);
+		if (mayor(orden[medio], orden[hi], d)) intercambiar(orden, medio, hi);
+		if (mayor(orden[lo], orden[medio], d)) intercambiar(orden, lo, medio);
+		intercambiar(orden, medio, hi);
+		int pivote = orden[hi];
+		int i = lo;
+		for (int j = lo; j < hi; ++j) {
+			if (mayor(pivote, orden[j], d)) intercambiar(orden, i++, j);
+		}
+		intercambiar(orden, i, hi);
+		return i;
+	}
+
+	/**
+	 * @brief Ordenación por inserción / quicksort del rango [lo, hi]
+	 */
+	private static void ordenar(int[] orden, double[] d, int lo, int hi) {
+		while (hi - lo > 16) {
+			int p = particionar(orden, d, lo, hi);
+			if (p - lo < hi - p) {
+				ordenar(orden, d, lo, p - 1);
+				lo = p + 1;
+			} else {
+				ordenar(orden, d, p + 1, hi);
+				hi = p - 1;
+			}
+		}
+		for (int i = lo + 1; i <= hi; ++i) {
+			int actual = orden[i];
+			int j = i - 1;
+			while (j >= lo && mayor(orden[j], actual, d)) {
+				orden[j + 1] = orden[j];
+				--j;
+			}
+			orden[j + 1] = actual;
+		}
+	}
+
+	private static boolean mayor(int a, int b, double[] d) {
+		return MonticuloVecinos.mayor(d[a], a, d[b], b);
+	}
+
+	private static void intercambiar(int[] orden, int a, int b) {
+		int aux = orden[a];
+		orden[a] = orden[b];
+		orden[b] = aux;
+	}
+}
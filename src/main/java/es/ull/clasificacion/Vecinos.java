@@ -0,0 +1,110 @@
+package clasificacion;
+
+/**
+ * @brief Resultado ordenado de una búsqueda de vecinos más cercanos
+ *
+ * Contiene los índices de las filas vecinas y sus distancias, ordenados de
+ * menor a mayor distancia (a igual distancia, por índice de fila). Permite
+ * reutilizar una misma búsqueda para votación, explicación o evaluación.
+ */
+public class Vecinos {
+	private final int[] indices;
+	private final double[] distancias;
+
+	/**
+	 * @brief Construye el resultado a partir de arrays ya ordenados
+	 * @param indices Índices de las filas vecinas
+	 * @param distancias Distancias correspondientes
+	 * @throws IllegalArgumentException Si los arrays tienen distinta longitud
+	 */
+	public Vecinos(int[] indices, double[] distancias) {
+		if (indices.length != distancias.length) {
+			throw new IllegalArgumentException(
+					String.format("Tamaños no coinciden (indices: %d, distancias: %d)",
+							indices.length, distancias.length)
+			);
+		}
+		this.indices = indices;
+		this.distancias = distancias;
+	}
+
+	/**
+	 * @brief Obtiene el número de vecinos encontrados
+	 * @return Número de vecinos
+	 */
+	public int size() {
+		return indices.length;
+	}
+
+	/**
+	 * @brief Obtiene el índice de fila del vecino en una posición del ranking
+	 * @param posicion Posición (0 es el más cercano)
+	 * @return Índice de la fila en el conjunto de entrenamiento
+	 */
+	public int getIndice(int posicion) {
+		return indices[posicion];
+	}
+
+	/**
+	 * @brief Obtiene la distancia del vecino en una posición del ranking
+	 * @param posicion Posición (0 es el más cercano)
+	 * @return Distancia a la consulta
+	 */
+	public double getDistancia(int posicion) {
+		return distancias[posicion];
+	}
+
+	/**
+	 * @brief Obtiene una copia de los índices ordenados
+	 * @return Array de índices
+	 */
+	public int[] getIndices() {
+		return indices.clone();
+	}
+
+	/**
+	 * @brief Obtiene una copia de las distancias ordenadas
+	 * @return Array de distancias
+	 */
+	public double[] getDistancias() {
+		return distancias.clone();
+	}
+
+	/**
+	 * @brief Obtiene los k primeros vecinos del ranking
+	 * @param k Número de vecinos a conservar
+	 * @return Nuevo resultado con como mucho k vecinos
+	 */
+	public Vecinos primeros(int k) {
+		int n = Math.min(k, indices.length);
+		int[] i = new int[n];
+		double[] d = new double[n];
+		System.arraycopy(indices, 0, i, 0, n);
+		System.arraycopy(distancias, 0, d, 0, n);
+		return new Vecinos(i, d);
+	}
+
+	/**
+	 * @brief Convierte distancias al cuadrado en distancias euclídeas
+	 * @return Nuevo resultado con la raíz cuadrada de cada distancia
+	 */
+	Vecinos raiz() {
+		double[] d = new double[distancias.length];
+		for (int i = 0; i < d.length; ++i) d[i] = Math.sqrt(distancias[i]);
+		return new Vecinos(indices, d);
+	}
+
+	/**
+	 * @brief Representación en cadena de los vecinos
+	 * @return Cadena con pares índice=distancia
+	 */
+	@Override
+	public String toString() {
+		StringBuilder aux = new StringBuilder("[");
+		for (int i = 0; i < indices.length; ++i) {
+			if (i > 0) aux.append(", ");
+			aux.append(indices[i]).append('=').append(distancias[i]);
+		}
+		return aux.append(']').toString();
+	}
+}
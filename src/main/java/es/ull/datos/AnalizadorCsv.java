@@ -0,0 +1,216 @@
+package datos;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * @brief Separador de registros CSV que trabaja sobre bytes
+ *
+ * Lee la entrada por bloques y deja los campos de cada registro, ya sin
+ * comillas, en un array de bytes reutilizable, de modo que leer un registro no
+ * crea objetos. Un campo que empieza por comilla doble o simple puede contener
+ * separadores y saltos de línea; una comilla repetida dentro de él equivale a
+ * una comilla literal. Acepta finales de línea \n y \r\n, ignora las líneas en
+ * blanco y la marca BOM de UTF-8 al principio.
+ */
+class AnalizadorCsv {
+	/** @brief Tamaño del bloque de lectura */
+	static final int TAMANO_BLOQUE = 64 * 1024;
+
+	private final InputStream entrada;
+	private final byte separador;
+	private final byte[] bloque;
+	private int posicion;
+	private int limite;
+	private boolean inicio;
+	private long desplazamiento;
+	private boolean saltoEntreComillas;
+
+	private byte[] campos = new byte[256];
+	private int usados;
+	private int[] inicios = new int[16];
+	private int[] finales = new int[16];
+	private int numeroCampos;
+	private long registro;
+
+	/**
+	 * @brief Constructor
+	 * @param entrada Flujo con el texto CSV (no se cierra)
+	 * @param separador Carácter separador de campos
+	 */
+	AnalizadorCsv(InputStream entrada, char separador) {
+		this(entrada, separador, true);
+	}
+
+	/**
+	 * @brief Constructor para un tramo que puede no ser el principio del archivo
+	 * @param entrada Flujo con el texto CSV (no se cierra)
+	 * @param separador Carácter separador de campos
+	 * @param principio Si la entrada empieza al principio del archivo y puede llevar BOM
+	 */
+	AnalizadorCsv(InputStream entrada, char separador, boolean principio) {
+		this.entrada = entrada;
+		this.separador = (byte) separador;
+		this.bloque = new byte[TAMANO_BLOQUE];
+		this.inicio = principio;
+	}
+
+	/**
+	 * @brief Avanza al siguiente registro
+	 * @return false si no quedan registros
+	 * @throws IOException Si falla la lectura o hay comillas sin cerrar
+	 */
+	boolean siguiente() throws IOException {
+		numeroCampos = 0;
+		usados = 0;
+		int b = leer();
+		if (inicio) {
+			inicio = false;
+			if (b == 0xEF && limite >= 3 && bloque[1] == (byte) 0xBB && bloque[2] == (byte) 0xBF) {
+				posicion = 3;
+				b = leer();
+			}
+		}
+		while (b == '\n' || b == '\r') b = leer();
+		if (b < 0) return false;
+		registro++;
+		while (true) {
+			int desde = usados;
+			if (b == '"' || b == '\'') {
+				int comilla = b;
+				while (true) {
+					b = leer();
+					if (b < 0) {
+						throw new IOException(String.format("Registro %d: comillas sin cerrar", registro));
+					}
+					if (b == comilla) {
+						b = leer();
+						if (b != comilla) break;
+					}
+					if (b == '\n' || b == '\r') saltoEntreComillas = true;
+					anadir(b);
+				}
+			}
+			// Sin comillas, o lo que siga a la comilla de cierre, se toma literal
+			while (b >= 0 && b != separador && b != '\n' && b != '\r') {
+				anadir(b);
+				b = leer();
+			}
+			cerrarCampo(desde);
+			if (b == separador) {
+				b = leer();
+				continue;
+			}
+			if (b == '\r') {
+				int siguiente = leer();
+				if (siguiente >= 0 && siguiente != '\n') posicion--;
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * @brief Número de campos del registro actual
+	 * @return Número de campos
+	 */
+	int numeroCampos() {
+		return numeroCampos;
+	}
+
+	/**
+	 * @brief Número del registro actual, empezando en 1
+	 * @return Número de registro (la cabecera es el 1)
+	 */
+	long getRegistro() {
+		return registro;
+	}
+
+	/**
+	 * @brief Bytes de la entrada consumidos hasta el final del registro actual
+	 * @return Desplazamiento desde el principio de la entrada
+	 */
+	long getPosicion() {
+		return desplazamiento + posicion;
+	}
+
+	/**
+	 * @brief Indica si algún campo entre comillas leído contenía un salto de línea
+	 * @return true si algún registro ocupa más de una línea
+	 */
+	boolean haySaltoEntreComillas() {
+		return saltoEntreComillas;
+	}
+
+	/**
+	 * @brief Bytes de los campos del registro actual (válidos hasta el siguiente)
+	 * @return Array compartido; cada campo va de inicio(j) a fin(j)
+	 */
+	byte[] bytes() {
+		return campos;
+	}
+
+	int inicio(int campo) {
+		return inicios[campo];
+	}
+
+	int fin(int campo) {
+		return finales[campo];
+	}
+
+	/**
+	 * @brief Convierte un campo en texto
+	 * @param campo Índice del campo
+	 * @return Campo decodificado como UTF-8
+	 */
+	String texto(int campo) {
+		return new String(campos, inicios[campo], finales[campo] - inicios[campo], StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @brief Convierte todos los campos en texto
+	 * @return Array con un String por campo
+	 */
+	String[] textos() {
+		String[] textos = new String[numeroCampos];
+		for (int j = 0; j < numeroCampos; ++j) textos[j] = texto(j);
+		return textos;
+	}
+
+	/**
+	 * @brief Convierte un campo en double
+	 * @param campo Índice del campo
+	 * @return Valor numérico
+	 * @throws NumberFormatException Si el campo no es numérico
+	 */
+	double getDouble(int campo) {
+		return Decimales.parsear(campos, inicios[campo], finales[campo]);
+	}
+
+	private int leer() throws IOException {
+		if (posicion == limite) {
+			int leidos = entrada.read(bloque, 0, bloque.length);
+			if (leidos <= 0) return -1;
+			desplazamiento += limite;
+			posicion = 0;
+			limite = leidos;
+		}
+		return bloque[posicion++] & 0xFF;
+	}
+
+	private void anadir(int b) {
+		if (usados == campos.length) campos = Arrays.copyOf(campos, campos.length * 2);
+		campos[usados++] = (byte) b;
+	}
+
+	private void cerrarCampo(int desde) {
+		if (numeroCampos == inicios.length) {
+			inicios = Arrays.copyOf(inicios, numeroCampos * 2);
+			finales = Arrays.copyOf(finales, numeroCampos * 2);
+		}
+		inicios[numeroCampos] = desde;
+		finales[numeroCampos] = usados;
+		numeroCampos++;
+	}
+}
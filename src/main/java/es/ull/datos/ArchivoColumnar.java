@@ -0,0 +1,376 @@
+package datos;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @brief Formato binario por columnas para guardar y cargar datasets
+ *
+ * Todo en little-endian. El archivo empieza por una cabecera fija de 32 bytes:
+ * magia "KNNC", versión, longitud total de la cabecera, número de atributos,
+ * tipo de preprocesado, 4 bytes reservados y número de filas (long). Siguen
+ * los descriptores de los atributos: tipo (0 cuantitativo, 1 cualitativo),
+ * ancho en bytes de los códigos (1, 2 o 4; 0 si es cuantitativo), peso,
+ * posición de los datos de la columna en el archivo, nombre en UTF-8 con su
+ * longitud delante y, si es cualitativo, el diccionario (número de valores y
+ * cada valor igual que el nombre). Después, cada columna ocupa un tramo
+ * contiguo alineado a 8 bytes: los double de una columna cuantitativa o los
+ * códigos de una cualitativa. Cargar es, por tanto, una lectura secuencial sin
+ * conversión de texto, y las columnas pueden proyectarse en memoria tal cual.
+ */
+public final class ArchivoColumnar {
+	/** @brief Primeros bytes de todo archivo en este formato */
+	static final int MAGIA = 0x434E4E4B; // "KNNC" leído en little-endian
+
+	/** @brief Extensión recomendada para los archivos en este formato */
+	public static final String EXTENSION = ".knnc";
+
+	/** @brief Versión del formato que se escribe */
+	public static final int VERSION = 1;
+
+	/** @brief Longitud de la parte fija de la cabecera */
+	static final int CABECERA_FIJA = 32;
+
+	static final byte TIPO_CUANTITATIVO = 0;
+	static final byte TIPO_CUALITATIVO = 1;
+
+	private static final int BUFFER = 1 << 20;
+
+	private ArchivoColumnar() {
+	}
+
+	/**
+	 * @brief Indica si un archivo está en este formato
+	 * @param ruta Ruta del archivo
+	 * @return true si empieza por la magia del formato
+	 * @throws IOException Si no se puede leer el archivo
+	 */
+	public static boolean esColumnar(String ruta) throws IOException {
+		try (InputStream entrada = Files.newInputStream(Paths.get(ruta))) {
+			byte[] inicio = entrada.readNBytes(4);
+			return inicio.length == 4
+					&& ByteBuffer.wrap(inicio).order(ByteOrder.LITTLE_ENDIAN).getInt() == MAGIA;
+		}
+	}
+
+	/**
+	 * @brief Escribe un dataset en formato columnar
+	 * @param datos Dataset a guardar
+	 * @param ruta Ruta del archivo (se sobrescribe si existe)
+	 * @throws IOException Si falla la escritura
+	 * @throws IllegalArgumentException Si las columnas no tienen todas el mismo número de filas
+	 */
+	public static void escribir(Dataset datos, String ruta) throws IOException {
+		List<Atributo> atributos = datos.getAtributos();
+		int filas = datos.numeroCasos();
+		for (Atributo atributo : atributos) {
+			if (atributo.size() != filas) {
+				throw new IllegalArgumentException(String.format(
+						"El atributo %s tiene %d valores y el dataset %d filas", atributo.getNombre(), atributo.size(), filas));
+			}
+		}
+
+		ByteBuffer cabecera = cabecera(datos, filas);
+		try (FileChannel canal = FileChannel.open(Paths.get(ruta), StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			escribirTodo(canal, cabecera);
+			ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+			long posicion = cabecera.limit();
+			for (Atributo atributo : atributos) {
+				if (atributo instanceof Cuantitativo) {
+					escribirNumerica(canal, buffer, (Cuantitativo) atributo, filas);
+					posicion += (long) filas * Double.BYTES;
+				} else {
+					Cualitativo cualitativo = (Cualitativo) atributo;
+					int ancho = anchoCodigo(cualitativo.getDiccionario().size());
+					escribirCodigos(canal, buffer, cualitativo, filas, ancho);
+					posicion += (long) filas * ancho;
+				}
+				long relleno = alinear(posicion) - posicion;
+				buffer.clear();
+				for (long b = 0; b < relleno; ++b) buffer.put((byte) 0);
+				buffer.flip();
+				escribirTodo(canal, buffer);
+				posicion += relleno;
+			}
+		}
+	}
+
+	/**
+	 * @brief Carga un dataset guardado con escribir()
+	 * @param ruta Ruta del archivo
+	 * @return Dataset con los mismos atributos, valores, pesos y preprocesado
+	 * @throws IOException Si falla la lectura, el archivo no está en este formato o está incompleto
+	 */
+	public static Dataset leer(String ruta) throws IOException {
+		try (FileChannel canal = FileChannel.open(Paths.get(ruta), StandardOpenOption.READ)) {
+			Esquema esquema = Esquema.leer(canal);
+			ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+			List<Atributo> atributos = new ArrayList<>();
+			for (int j = 0; j < esquema.numeroAtributos(); ++j) {
+				Atributo atributo;
+				if (esquema.esNumerico(j)) {
+					double[] valores = new double[esquema.filas];
+					leerDoubles(canal, buffer, esquema.desplazamientos[j], valores);
+					atributo = new Cuantitativo(esquema.nombres[j], ColumnaNumerica.sinCopia(valores));
+				} else {
+					atributo = leerCodigos(canal, buffer, esquema, j);
+				}
+				atributo.setPeso(esquema.pesos[j]);
+				atributos.add(atributo);
+			}
+			Dataset datos = new Dataset(atributos);
+			datos.setPreprocesado(esquema.preprocesado);
+			return datos;
+		}
+	}
+
+	private static ByteBuffer cabecera(Dataset datos, int filas) {
+		List<Atributo> atributos = datos.getAtributos();
+		List<byte[]> nombres = new ArrayList<>();
+		List<List<byte[]>> diccionarios = new ArrayList<>();
+		int longitud = CABECERA_FIJA;
+		for (Atributo atributo : atributos) {
+			byte[] nombre = atributo.getNombre().getBytes(StandardCharsets.UTF_8);
+			nombres.add(nombre);
+			longitud += 1 + 1 + Double.BYTES + Long.BYTES + Integer.BYTES + nombre.length;
+			List<byte[]> diccionario = new ArrayList<>();
+			if (atributo instanceof Cualitativo) {
+				longitud += Integer.BYTES;
+				for (String valor : ((Cualitativo) atributo).getDiccionario()) {
+					byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+					diccionario.add(bytes);
+					longitud += Integer.BYTES + bytes.length;
+				}
+			}
+			diccionarios.add(diccionario);
+		}
+
+		ByteBuffer cabecera = ByteBuffer.allocate((int) alinear(longitud)).order(ByteOrder.LITTLE_ENDIAN);
+		cabecera.putInt(MAGIA).putInt(VERSION).putInt(cabecera.capacity()).putInt(atributos.size())
+				.putInt(datos.getPreprocesado()).putInt(0).putLong(filas);
+		long posicion = cabecera.capacity();
+		for (int j = 0; j < atributos.size(); ++j) {
+			Atributo atributo = atributos.get(j);
+			boolean numerico = atributo instanceof Cuantitativo;
+			int ancho = numerico ? 0 : anchoCodigo(diccionarios.get(j).size());
+			cabecera.put(numerico ? TIPO_CUANTITATIVO : TIPO_CUALITATIVO).put((byte) ancho)
+					.putDouble(atributo.getPeso()).putLong(posicion);
+			cabecera.putInt(nombres.get(j).length).put(nombres.get(j));
+			if (!numerico) {
+				cabecera.putInt(diccionarios.get(j).size());
+				for (byte[] valor : diccionarios.get(j)) cabecera.putInt(valor.length).put(valor);
+			}
+			posicion = alinear(posicion + (long) filas * (numerico ? Double.BYTES : ancho));
+		}
+		cabecera.position(0);
+		return cabecera;
+	}
+
+	private static void escribirNumerica(FileChannel canal, ByteBuffer buffer, Cuantitativo atributo, int filas)
+			throws IOException {
+		double[] tramo = new double[BUFFER / Double.BYTES];
+		for (int desde = 0; desde < filas; desde += tramo.length) {
+			int n = Math.min(tramo.length, filas - desde);
+			atributo.leer(desde, tramo, 0, n);
+			buffer.clear();
+			buffer.asDoubleBuffer().put(tramo, 0, n);
+			buffer.limit(n * Double.BYTES);
+			escribirTodo(canal, buffer);
+		}
+	}
+
+	private static void escribirCodigos(FileChannel canal, ByteBuffer buffer, Cualitativo atributo, int filas,
+			int ancho) throws IOException {
+		buffer.clear();
+		for (int i = 0; i < filas; ++i) {
+			if (buffer.remaining() < ancho) {
+				buffer.flip();
+				escribirTodo(canal, buffer);
+				buffer.clear();
+			}
+			int codigo = atributo.getCodigo(i);
+			if (ancho == 1) buffer.put((byte) codigo);
+			else if (ancho == 2) buffer.putShort((short) codigo);
+			else buffer.putInt(codigo);
+		}
+		buffer.flip();
+		escribirTodo(canal, buffer);
+	}
+
+	private static void leerDoubles(FileChannel canal, ByteBuffer buffer, long posicion, double[] destino)
+			throws IOException {
+		int leidos = 0;
+		while (leidos < destino.length) {
+			int n = Math.min(BUFFER / Double.BYTES, destino.length - leidos);
+			buffer.clear().limit(n * Double.BYTES);
+			leerTodo(canal, buffer, posicion);
+			buffer.flip();
+			buffer.asDoubleBuffer().get(destino, leidos, n);
+			leidos += n;
+			posicion += (long) n * Double.BYTES;
+		}
+	}
+
+	private static Cualitativo leerCodigos(FileChannel canal, ByteBuffer buffer, Esquema esquema, int j)
+			throws IOException {
+		Cualitativo atributo = new Cualitativo(esquema.nombres[j]);
+		List<String> diccionario = esquema.diccionarios.get(j);
+		for (String valor : diccionario) atributo.registrar(valor);
+		atributo.reservar(esquema.filas);
+		int ancho = esquema.anchos[j];
+		long posicion = esquema.desplazamientos[j];
+		int leidos = 0;
+		while (leidos < esquema.filas) {
+			int n = Math.min(BUFFER / ancho, esquema.filas - leidos);
+			buffer.clear().limit(n * ancho);
+			leerTodo(canal, buffer, posicion);
+			buffer.flip();
+			for (int i = 0; i < n; ++i) {
+				int codigo = ancho == 1 ? buffer.get() & 0xFF : ancho == 2 ? buffer.getShort() & 0xFFFF : buffer.getInt();
+				if (codigo < 0 || codigo >= diccionario.size()) {
+					throw new IOException(String.format("Código %d fuera del diccionario del atributo %s",
+							codigo, esquema.nombres[j]));
+				}
+				atributo.addCodigo(codigo);
+			}
+			leidos += n;
+			posicion += (long) n * ancho;
+		}
+		return atributo;
+	}
+
+	/**
+	 * @brief Número de bytes con que se guarda cada código de un diccionario
+	 * @param valores Tamaño del diccionario
+	 * @return 1, 2 o 4
+	 */
+	static int anchoCodigo(int valores) {
+		if (valores <= 1 << 8) return 1;
+		if (valores <= 1 << 16) return 2;
+		return 4;
+	}
+
+	static long alinear(long posicion) {
+		return (posicion + 7) & ~7L;
+	}
+
+	private static void escribirTodo(FileChannel canal, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) canal.write(buffer);
+	}
+
+	private static void leerTodo(FileChannel canal, ByteBuffer buffer, long posicion) throws IOException {
+		while (buffer.hasRemaining()) {
+			int leidos = canal.read(buffer, posicion);
+			if (leidos < 0) throw new IOException("El archivo columnar está incompleto");
+			posicion += leidos;
+		}
+	}
+
+	/**
+	 * @brief Cabecera de un archivo columnar ya interpretada
+	 */
+	static final class Esquema {
+		int version;
+		int preprocesado;
+		int filas;
+		String[] nombres;
+		byte[] tipos;
+		int[] anchos;
+		double[] pesos;
+		long[] desplazamientos;
+		List<List<String>> diccionarios = new ArrayList<>();
+
+		int numeroAtributos() {
+			return nombres.length;
+		}
+
+		boolean esNumerico(int j) {
+			return tipos[j] == TIPO_CUANTITATIVO;
+		}
+
+		/**
+		 * @brief Lee y valida la cabecera
+		 * @param canal Canal del archivo
+		 * @return Esquema del archivo
+		 * @throws IOException Si no es un archivo columnar, la versión no está soportada o está truncado
+		 */
+		static Esquema leer(FileChannel canal) throws IOException {
+			ByteBuffer fija = ByteBuffer.allocate(CABECERA_FIJA).order(ByteOrder.LITTLE_ENDIAN);
+			if (canal.size() < CABECERA_FIJA) throw new IOException("No es un archivo columnar");
+			leerTodo(canal, fija, 0);
+			fija.flip();
+			if (fija.getInt() != MAGIA) throw new IOException("No es un archivo columnar");
+			Esquema esquema = new Esquema();
+			esquema.version = fija.getInt();
+			if (esquema.version != VERSION) {
+				throw new IOException(String.format("Versión %d del formato columnar no soportada", esquema.version));
+			}
+			int longitud = fija.getInt();
+			int n = fija.getInt();
+			esquema.preprocesado = fija.getInt();
+			fija.getInt();
+			long filas = fija.getLong();
+			if (longitud < CABECERA_FIJA || longitud > canal.size() || n < 0 || filas < 0 || filas > Integer.MAX_VALUE) {
+				throw new IOException("Cabecera del archivo columnar no válida");
+			}
+			esquema.filas = (int) filas;
+
+			ByteBuffer cabecera = ByteBuffer.allocate(longitud - CABECERA_FIJA).order(ByteOrder.LITTLE_ENDIAN);
+			leerTodo(canal, cabecera, CABECERA_FIJA);
+			cabecera.flip();
+			esquema.nombres = new String[n];
+			esquema.tipos = new byte[n];
+			esquema.anchos = new int[n];
+			esquema.pesos = new double[n];
+			esquema.desplazamientos = new long[n];
+			try {
+				for (int j = 0; j < n; ++j) {
+					esquema.tipos[j] = cabecera.get();
+					esquema.anchos[j] = cabecera.get();
+					esquema.pesos[j] = cabecera.getDouble();
+					esquema.desplazamientos[j] = cabecera.getLong();
+					esquema.nombres[j] = texto(cabecera);
+					List<String> diccionario = new ArrayList<>();
+					if (esquema.tipos[j] == TIPO_CUALITATIVO) {
+						if (esquema.anchos[j] != 1 && esquema.anchos[j] != 2 && esquema.anchos[j] != 4) {
+							throw new IOException(String.format("Ancho de código %d no válido", esquema.anchos[j]));
+						}
+						int valores = cabecera.getInt();
+						for (int v = 0; v < valores; ++v) diccionario.add(texto(cabecera));
+					} else if (esquema.tipos[j] != TIPO_CUANTITATIVO) {
+						throw new IOException(String.format("Tipo %d desconocido en el atributo %d", esquema.tipos[j], j));
+					}
+					esquema.diccionarios.add(diccionario);
+					long bytes = filas * (esquema.esNumerico(j) ? Double.BYTES : esquema.anchos[j]);
+					if (esquema.desplazamientos[j] < longitud || esquema.desplazamientos[j] + bytes > canal.size()) {
+						throw new IOException("El archivo columnar está incompleto");
+					}
+				}
+			} catch (BufferUnderflowException e) {
+				throw new IOException("Cabecera del archivo columnar truncada", e);
+			}
+			return esquema;
+		}
+
+		private static String texto(ByteBuffer cabecera) throws IOException {
+			int longitud = cabecera.getInt();
+			if (longitud < 0 || longitud > cabecera.remaining()) {
+				throw new IOException("Cabecera del archivo columnar truncada");
+			}
+			byte[] bytes = new byte[longitud];
+			cabecera.get(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+	}
+}
@@ -14,8 +14,11 @@ public abstract class Atributo {
 
 	/**
 	 * @brief Método abstracto para obtener los valores del atributo
-	 * @return Objeto que contiene los valores del atributo
+	 * @return Objeto de solo lectura que contiene los valores del atributo
+	 * @deprecated Los valores devueltos no son el almacenamiento del atributo y
+	 *             no admiten cambios; usa copiarValores() de cada subclase.
 	 */
+	@Deprecated
 	public abstract Object getValores();
 
 	/**
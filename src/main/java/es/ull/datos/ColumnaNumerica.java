@@ -0,0 +1,267 @@
+package datos;
+
+import java.util.Arrays;
+
+/**
+ * @brief Columna de valores double sobre un array primitivo redimensionable
+ *
+ * Guarda los valores en un double[] con un contador de tamaño; cuando se llena,
+ * la capacidad se duplica, de modo que añadir cuesta O(1) amortizado. A
+ * diferencia de un ArrayList<Double>, no crea un objeto por valor: cada valor
+ * ocupa 8 bytes. Es el almacenamiento de Cuantitativo.
+ *
+ * La columna mantiene también su media, suma de cuadrados de las desviaciones
+ * (M2), mínimo y máximo con el método de Welford: cada valor añadido los
+ * actualiza en O(1). Las operaciones que no se pueden deshacer así (set,
+ * remove o crear la columna desde un array) los marcan como desactualizados
+ * y se recalculan en una sola pasada la próxima vez que se piden.
+ */
+public class ColumnaNumerica {
+	private static final int CAPACIDAD_INICIAL = 16;
+
+	private double[] valores;
+	private int size;
+
+	private boolean estadisticasAlDia = true;
+	private double media;
+	private double m2;
+	private double minimo = Double.POSITIVE_INFINITY;
+	private double maximo = Double.NEGATIVE_INFINITY;
+
+	/**
+	 * @brief Constructor de una columna vacía
+	 */
+	public ColumnaNumerica() {
+		this(CAPACIDAD_INICIAL);
+	}
+
+	/**
+	 * @brief Constructor de una columna vacía con capacidad reservada
+	 * @param capacidad Número de valores que caben sin redimensionar
+	 * @throws IllegalArgumentException Si la capacidad es negativa
+	 */
+	public ColumnaNumerica(int capacidad) {
+		if (capacidad < 0) {
+			throw new IllegalArgumentException("La capacidad no puede ser negativa");
+		}
+		this.valores = new double[capacidad];
+	}
+
+	/**
+	 * @brief Constructor a partir de un array de valores
+	 * @param valores Valores iniciales (se copian)
+	 */
+	public ColumnaNumerica(double[] valores) {
+		this.valores = valores.clone();
+		this.size = valores.length;
+		this.estadisticasAlDia = size == 0;
+	}
+
+	/**
+	 * @brief Crea una columna que usa directamente un array, sin copiarlo
+	 * @param valores Array lleno que pasa a ser de la columna
+	 * @return Columna de tamaño valores.length
+	 */
+	static ColumnaNumerica sinCopia(double[] valores) {
+		ColumnaNumerica columna = new ColumnaNumerica(0);
+		columna.valores = valores;
+		columna.size = valores.length;
+		columna.estadisticasAlDia = columna.size == 0;
+		return columna;
+	}
+
+	/**
+	 * @brief Garantiza capacidad para al menos un número de valores
+	 * @param capacidad Capacidad mínima necesaria
+	 */
+	public void reservar(int capacidad) {
+		if (capacidad > valores.length) {
+			valores = Arrays.copyOf(valores, Math.max(capacidad, Math.max(CAPACIDAD_INICIAL, valores.length * 2)));
+		}
+	}
+
+	/**
+	 * @brief Añade un valor al final
+	 * @param valor Valor a añadir
+	 */
+	public void add(double valor) {
+		if (size == valores.length) reservar(size + 1);
+		valores[size++] = valor;
+		if (estadisticasAlDia) acumular(valor, size);
+	}
+
+	/**
+	 * @brief Añade varios valores al final de una vez
+	 * @param origen Array con los valores
+	 * @param desde Posición del primer valor en el array
+	 * @param n Número de valores a añadir
+	 */
+	public void addAll(double[] origen, int desde, int n) {
+		reservar(size + n);
+		System.arraycopy(origen, desde, valores, size, n);
+		if (estadisticasAlDia) {
+			for (int i = 0; i < n; ++i) acumular(origen[desde + i], size + i + 1);
+		}
+		size += n;
+	}
+
+	/**
+	 * @brief Añade al final todos los valores de otra columna
+	 * @param otra Columna cuyos valores se copian
+	 */
+	public void addAll(ColumnaNumerica otra) {
+		boolean combinar = estadisticasAlDia && otra.estadisticasAlDia && otra.size > 0 && otra != this;
+		int previos = size;
+		if (combinar) estadisticasAlDia = false;
+		addAll(otra.valores, 0, otra.size);
+		if (combinar) {
+			// Combinación de dos resúmenes de Welford (Chan et al.) sin recorrer los valores
+			double diferencia = otra.media - media;
+			double proporcion = (double) otra.size / size;
+			media += diferencia * proporcion;
+			m2 += otra.m2 + diferencia * diferencia * previos * proporcion;
+			if (otra.minimo < minimo) minimo = otra.minimo;
+			if (otra.maximo > maximo) maximo = otra.maximo;
+			estadisticasAlDia = true;
+		}
+	}
+
+	/**
+	 * @brief Obtiene un valor sin crear objetos
+	 * @param i Índice del valor
+	 * @return Valor en la posición i
+	 * @throws IndexOutOfBoundsException Si el índice no es válido
+	 */
+	public double get(int i) {
+		if (i < 0 || i >= size) throw new IndexOutOfBoundsException(fueraDeRango(i));
+		return valores[i];
+	}
+
+	/**
+	 * @brief Sustituye un valor
+	 * @param i Índice del valor
+	 * @param valor Nuevo valor
+	 * @throws IndexOutOfBoundsException Si el índice no es válido
+	 */
+	public void set(int i, double valor) {
+		if (i < 0 || i >= size) throw new IndexOutOfBoundsException(fueraDeRango(i));
+		valores[i] = valor;
+		estadisticasAlDia = false;
+	}
+
+	/**
+	 * @brief Copia un tramo de la columna en un array del llamante
+	 * @param desde Índice del primer valor a leer
+	 * @param destino Array en el que escribir
+	 * @param posicion Posición de destino del primer valor
+	 * @param n Número de valores a leer
+	 * @throws IndexOutOfBoundsException Si el tramo se sale de la columna
+	 */
+	public void leer(int desde, double[] destino, int posicion, int n) {
+		if (desde < 0 || n < 0 || desde + n > size) {
+			throw new IndexOutOfBoundsException(
+					String.format("Tramo [%d, %d) fuera de la columna de tamaño %d", desde, desde + n, size));
+		}
+		System.arraycopy(valores, desde, destino, posicion, n);
+	}
+
+	/**
+	 * @brief Elimina un valor desplazando los siguientes
+	 * @param i Índice del valor a eliminar
+	 * @return Valor eliminado
+	 * @throws IndexOutOfBoundsException Si el índice no es válido
+	 */
+	public double remove(int i) {
+		double eliminado = get(i);
+		System.arraycopy(valores, i + 1, valores, i, size - i - 1);
+		size--;
+		estadisticasAlDia = false;
+		return eliminado;
+	}
+
+	/**
+	 * @brief Obtiene el número de valores
+	 * @return Tamaño de la columna
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @brief Vacía la columna conservando la capacidad
+	 */
+	public void clear() {
+		size = 0;
+		reiniciarEstadisticas();
+	}
+
+	/**
+	 * @brief Obtiene una copia de los valores
+	 * @return Array de tamaño size()
+	 */
+	public double[] toArray() {
+		return Arrays.copyOf(valores, size);
+	}
+
+	/**
+	 * @brief Crea una copia independiente de la columna
+	 * @return Nueva columna con los mismos valores
+	 */
+	public ColumnaNumerica copiar() {
+		return new ColumnaNumerica(toArray());
+	}
+
+	/**
+	 * @brief Obtiene las estadísticas de la columna
+	 * @return Resumen con número de valores, media, varianza, mínimo y máximo
+	 *
+	 * Es O(1) si no ha habido cambios desde la última llamada o solo se han
+	 * añadido valores con add(); en otro caso recorre la columna una vez.
+	 */
+	public Estadisticas estadisticas() {
+		if (!estadisticasAlDia) {
+			reiniciarEstadisticas();
+			for (int i = 0; i < size; ++i) acumular(valores[i], i + 1);
+		}
+		return new Estadisticas(size, media, m2, minimo, maximo);
+	}
+
+	private void reiniciarEstadisticas() {
+		estadisticasAlDia = true;
+		media = 0.0;
+		m2 = 0.0;
+		minimo = Double.POSITIVE_INFINITY;
+		maximo = Double.NEGATIVE_INFINITY;
+	}
+
+	/**
+	 * @brief Incorpora un valor a las estadísticas (paso de Welford)
+	 * @param valor Valor añadido
+	 * @param n Número de valores contando el añadido
+	 */
+	private void acumular(double valor, int n) {
+		double diferencia = valor - media;
+		media += diferencia / n;
+		m2 += diferencia * (valor - media);
+		if (valor < minimo) minimo = valor;
+		if (valor > maximo) maximo = valor;
+	}
+
+	private String fueraDeRango(int i) {
+		return String.format("Índice %d fuera de la columna de tamaño %d", i, size);
+	}
+
+	/**
+	 * @brief Representación en cadena con el mismo formato que una lista
+	 * @return Valores entre corchetes separados por comas
+	 */
+	@Override
+	public String toString() {
+		StringBuilder aux = new StringBuilder("[");
+		for (int i = 0; i < size; ++i) {
+			if (i > 0) aux.append(", ");
+			aux.append(valores[i]);
+		}
+		return aux.append(']').toString();
+	}
+}
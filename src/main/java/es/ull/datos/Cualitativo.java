@@ -1,24 +1,43 @@
 package datos;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @brief Clase que representa un atributo cualitativo (categórico)
  *
- * Hereda de la clase Atributo y almacena valores de tipo String.
- * Proporciona funcionalidades para manejar valores categóricos como
- * cálculo de frecuencias, clases únicas, entre otros.
+ * Hereda de la clase Atributo y almacena valores de tipo String codificados
+ * con un diccionario: cada valor distinto recibe un código entero estable y la
+ * columna es un int[] de códigos. El número de apariciones de cada código se
+ * mantiene al añadir y eliminar, de modo que clases(), nClases() y
+ * frecuencia() no recorren la columna salvo cuando una eliminación obliga a
+ * recalcular el orden de primera aparición.
  */
 public class Cualitativo extends Atributo {
-	private List<String> valores;
+	private int[] codigos;
+	private int size;
+	private List<String> diccionario;
+	private Map<String, Integer> indice;
+	private int[] conteos;
+	private int distintos;
+	private List<String> orden;
+	private boolean ordenValido;
 
 	/**
 	 * @brief Constructor por defecto que crea un atributo cualitativo vacío
 	 */
 	public Cualitativo() {
 		this.nombre = "";
-		this.valores = new ArrayList<String>();
+		this.codigos = new int[16];
+		this.diccionario = new ArrayList<>();
+		this.indice = new HashMap<>();
+		this.conteos = new int[4];
+		this.orden = new ArrayList<>();
+		this.ordenValido = true;
 	}
 
 	/**
@@ -38,26 +57,44 @@ public class Cualitativo extends Atributo {
 	public Cualitativo(String name, String valor) {
 		this();
 		this.nombre = name;
-		valores.add(valor);
+		add(valor);
 	}
 
 	/**
 	 * @brief Constructor que crea un atributo con nombre y una lista de valores
 	 * @param name Nombre del atributo
-	 * @param valor Lista de valores iniciales
+	 * @param valor Lista de valores iniciales (se copian)
 	 */
 	public Cualitativo(String name, List<String> valor) {
 		this();
 		this.nombre = name;
-		this.valores = valor;
+		for (String v : valor) add(v);
 	}
 
 	/**
-	 * @brief Obtiene la lista de valores del atributo
-	 * @return Lista de valores del atributo
+	 * @brief Obtiene la lista de valores del atributo, de solo lectura
+	 * @return Lista con los valores del atributo
+	 * @throws UnsupportedOperationException Al intentar modificar la lista devuelta
+	 * @deprecated La lista ya no es el almacenamiento del atributo (los valores
+	 *             se guardan como códigos de un diccionario), así que modificarla
+	 *             no cambiaría sus valores; en lugar de perder esos cambios en
+	 *             silencio, la lista devuelta los rechaza. Usa copiarValores() y
+	 *             setValores() para modificar los valores, o getValor() y
+	 *             getCodigo() para consultarlos.
 	 */
+	@Deprecated
 	public List<String> getValores() {
-		return this.valores;
+		return Collections.unmodifiableList(copiarValores());
+	}
+
+	/**
+	 * @brief Copia los valores del atributo en una lista
+	 * @return Lista nueva; los cambios en ella no afectan al atributo hasta pasarla a setValores()
+	 */
+	public List<String> copiarValores() {
+		List<String> aux = new ArrayList<>(size);
+		for (int i = 0; i < size; ++i) aux.add(diccionario.get(codigos[i]));
+		return aux;
 	}
 
 	/**
@@ -65,19 +102,27 @@ public class Cualitativo extends Atributo {
 	 * @param nuevos Nueva lista de valores
 	 */
 	public void setValores(List<String> nuevos) {
-		this.valores = nuevos;
+		this.clear();
+		for (String v : nuevos) add(v);
 	}
 
 	/**
 	 * @brief Obtiene las clases únicas (valores distintos) del atributo
-	 * @return Lista de clases únicas presentes en los valores
+	 * @return Lista de clases únicas presentes en los valores, en orden de primera aparición
 	 */
 	public List<String> clases() {
-		ArrayList<String> clases = new ArrayList<>();
-		for(int i = 0; i < this.valores.size(); ++i) {
-			if(!clases.contains(this.valores.get(i))) clases.add(this.valores.get(i));
+		if (!ordenValido) {
+			boolean[] vistos = new boolean[diccionario.size()];
+			orden.clear();
+			for (int i = 0; i < size && orden.size() < distintos; ++i) {
+				if (!vistos[codigos[i]]) {
+					vistos[codigos[i]] = true;
+					orden.add(diccionario.get(codigos[i]));
+				}
+			}
+			ordenValido = true;
 		}
-		return clases;
+		return new ArrayList<>(orden);
 	}
 
 	/**
@@ -85,32 +130,55 @@ public class Cualitativo extends Atributo {
 	 * @return Número de clases únicas
 	 */
 	public int nClases() {
-		return this.clases().size();
+		return distintos;
 	}
 
 	/**
 	 * @brief Calcula las frecuencias relativas de cada clase
-	 * @return Lista de frecuencias relativas para cada clase única
+	 * @return Lista de frecuencias relativas para cada clase única, en el orden de clases()
 	 */
 	public List<Double> frecuencia() {
-		List<String> clases = this.clases();
 		ArrayList<Double> frecuencias = new ArrayList<>();
-		for (int j = 0; j < this.nClases(); ++j) {
-			double auxiliar = 0;
-			for(int i = 0; i < this.valores.size(); ++i) {
-				if(clases.get(j).equals(this.valores.get(i))) auxiliar++;
-			}
-			frecuencias.add(auxiliar/this.valores.size());
+		for (String clase : this.clases()) {
+			frecuencias.add((double) conteos[indice.get(clase)] / size);
 		}
 		return frecuencias;
 	}
 
+	/**
+	 * @brief Obtiene cuántas veces aparece un valor
+	 * @param valor Valor a contar
+	 * @return Número de apariciones (0 si no aparece)
+	 */
+	public int frecuenciaAbsoluta(String valor) {
+		Integer codigo = indice.get(valor);
+		return codigo == null ? 0 : conteos[codigo];
+	}
+
+	/**
+	 * @brief Obtiene el código de diccionario de un valor
+	 * @param i Índice del valor
+	 * @return Código entero (posición del valor en getDiccionario())
+	 */
+	public int getCodigo(int i) {
+		comprobarIndice(i);
+		return codigos[i];
+	}
+
+	/**
+	 * @brief Obtiene el diccionario de valores
+	 * @return Lista inmodificable con el valor de cada código, incluidos los que ya no aparecen
+	 */
+	public List<String> getDiccionario() {
+		return Collections.unmodifiableList(diccionario);
+	}
+
 	/**
 	 * @brief Obtiene el número de valores del atributo
 	 * @return Número de valores almacenados
 	 */
 	public int size() {
-		return this.valores.size();
+		return this.size;
 	}
 
 	/**
@@ -119,7 +187,45 @@ public class Cualitativo extends Atributo {
 	 */
 	@Override
 	public void add(Object valor) {
-		valores.add((String) valor);
+		addCodigo(registrar((String) valor));
+	}
+
+	/**
+	 * @brief Obtiene el código de un valor, dándolo de alta en el diccionario si no estaba
+	 * @param texto Valor
+	 * @return Código del valor (no añade ninguna fila)
+	 */
+	int registrar(String texto) {
+		Integer codigo = indice.get(texto);
+		if (codigo == null) {
+			codigo = diccionario.size();
+			indice.put(texto, codigo);
+			diccionario.add(texto);
+			if (codigo == conteos.length) conteos = Arrays.copyOf(conteos, conteos.length * 2);
+		}
+		return codigo;
+	}
+
+	/**
+	 * @brief Añade al final una fila con un código ya registrado
+	 * @param codigo Código devuelto por registrar()
+	 */
+	void addCodigo(int codigo) {
+		if (size == codigos.length) codigos = Arrays.copyOf(codigos, codigos.length * 2);
+		codigos[size++] = codigo;
+		if (conteos[codigo]++ == 0) {
+			distintos++;
+			// Un valor que no estaba presente aparece por primera vez al final
+			if (ordenValido) orden.add(diccionario.get(codigo));
+		}
+	}
+
+	/**
+	 * @brief Reserva espacio para un número total de filas
+	 * @param capacidad Número de filas que deben caber sin redimensionar
+	 */
+	void reservar(int capacidad) {
+		if (capacidad > codigos.length) codigos = Arrays.copyOf(codigos, capacidad);
 	}
 
 	/**
@@ -129,7 +235,8 @@ public class Cualitativo extends Atributo {
 	 */
 	@Override
 	public Object getValor(int i) {
-		return valores.get(i);
+		comprobarIndice(i);
+		return diccionario.get(codigos[i]);
 	}
 
 	/**
@@ -138,7 +245,18 @@ public class Cualitativo extends Atributo {
 	 */
 	@Override
 	public void delete(int index) {
-		valores.remove(index);
+		comprobarIndice(index);
+		int codigo = codigos[index];
+		System.arraycopy(codigos, index + 1, codigos, index, size - index - 1);
+		size--;
+		if (--conteos[codigo] == 0) distintos--;
+		ordenValido = false;
+	}
+
+	private void comprobarIndice(int i) {
+		if (i < 0 || i >= size) {
+			throw new IndexOutOfBoundsException(String.format("Índice %d fuera de rango (tamaño %d)", i, size));
+		}
 	}
 
 	/**
@@ -147,7 +265,7 @@ public class Cualitativo extends Atributo {
 	 */
 	@Override
 	public String toString() {
-		return valores.toString();
+		return copiarValores().toString();
 	}
 
 	/**
@@ -155,7 +273,13 @@ public class Cualitativo extends Atributo {
 	 */
 	@Override
 	public void clear() {
-		valores.clear();
+		size = 0;
+		diccionario.clear();
+		indice.clear();
+		Arrays.fill(conteos, 0);
+		distintos = 0;
+		orden.clear();
+		ordenValido = true;
 	}
 
 	/**
@@ -164,6 +288,15 @@ public class Cualitativo extends Atributo {
 	 */
 	@Override
 	public Cualitativo copiar() {
-		return new Cualitativo(this.nombre, new ArrayList<String>(this.valores));
+		Cualitativo copia = new Cualitativo(this.nombre);
+		copia.codigos = Arrays.copyOf(this.codigos, Math.max(1, this.size));
+		copia.size = this.size;
+		copia.diccionario = new ArrayList<>(this.diccionario);
+		copia.indice = new HashMap<>(this.indice);
+		copia.conteos = this.conteos.clone();
+		copia.distintos = this.distintos;
+		copia.orden = new ArrayList<>(this.orden);
+		copia.ordenValido = this.ordenValido;
+		return copia;
 	}
-}
\ No newline at end of file
+}
@@ -1,23 +1,30 @@
 package datos;
 
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.Scanner;
+
 import vectores.Vector;
 
 /**
  * @brief Clase que representa un atributo cuantitativo (numérico)
  *
- * Hereda de la clase Atributo y almacena valores numéricos en un Vector.
+ * Hereda de la clase Atributo y almacena valores numéricos en una
+ * ColumnaNumerica (un double[] redimensionable, sin un objeto por valor).
  * Proporciona operaciones estadísticas básicas como cálculo de mínimo, máximo,
- * media, desviación estándar y estandarización de valores.
+ * media, desviación estándar y estandarización de valores; las estadísticas
+ * las mantiene la propia columna (ver estadisticas()).
  */
 public class Cuantitativo extends Atributo {
-	private Vector valores;
+	private ColumnaNumerica valores;
 
 	/**
 	 * @brief Constructor por defecto que crea un atributo cuantitativo vacío
 	 */
 	public Cuantitativo() {
 		this.nombre = "";
-		this.valores = new Vector();
+		this.valores = new ColumnaNumerica();
 	}
 
 	/**
@@ -46,17 +53,43 @@ public class Cuantitativo extends Atributo {
 	 * @param valor Vector con valores iniciales
 	 */
 	public Cuantitativo(String name, Vector valor) {
-		this();
+		this.nombre = name;
+		this.valores = aColumna(valor);
+	}
+
+	/**
+	 * @brief Constructor que crea un atributo con nombre y una columna de valores
+	 * @param name Nombre del atributo
+	 * @param valor Columna con los valores iniciales (se usa sin copiar)
+	 */
+	public Cuantitativo(String name, ColumnaNumerica valor) {
 		this.nombre = name;
 		this.valores = valor;
 	}
 
 	/**
-	 * @brief Obtiene los valores del atributo como Vector
+	 * @brief Obtiene los valores del atributo como Vector de solo lectura
 	 * @return Vector con los valores numéricos del atributo
+	 * @throws UnsupportedOperationException Al intentar modificar el Vector devuelto
+	 * @deprecated El Vector ya no es el almacenamiento del atributo, así que
+	 *             modificarlo no cambiaría sus valores; en lugar de perder esos
+	 *             cambios en silencio, el Vector devuelto los rechaza. Usa
+	 *             copiarValores() y setValores() para modificar los valores, o
+	 *             getDouble() y leer() para consultarlos.
 	 */
+	@Deprecated
 	public Vector getValores() {
-		return this.valores;
+		return new VectorSoloLectura(valores.toArray());
+	}
+
+	/**
+	 * @brief Copia los valores del atributo en un Vector
+	 * @return Vector nuevo; los cambios en él no afectan al atributo hasta pasarlo a setValores()
+	 *
+	 * En bucles es preferible getDouble() o leer(), que no crean objetos.
+	 */
+	public Vector copiarValores() {
+		return new Vector(valores.toArray());
 	}
 
 	/**
@@ -64,48 +97,94 @@ public class Cuantitativo extends Atributo {
 	 * @param nuevos Vector con los nuevos valores numéricos
 	 */
 	public void setValores(Vector nuevos) {
-		this.valores = nuevos;
+		this.valores = aColumna(nuevos);
+	}
+
+	private static ColumnaNumerica aColumna(Vector vector) {
+		ColumnaNumerica columna = new ColumnaNumerica(vector.size());
+		for (int i = 0; i < vector.size(); i++) columna.add(vector.get(i));
+		return columna;
+	}
+
+	/**
+	 * @brief Obtiene la columna primitiva que almacena los valores
+	 * @return Columna compartida con el atributo
+	 */
+	public ColumnaNumerica getColumna() {
+		return valores;
+	}
+
+	/**
+	 * @brief Obtiene un valor sin crear un Double
+	 * @param i Índice del valor
+	 * @return Valor numérico en la posición especificada
+	 */
+	public double getDouble(int i) {
+		return valores.get(i);
+	}
+
+	/**
+	 * @brief Copia un tramo de valores en un array del llamante
+	 * @param desde Índice del primer valor
+	 * @param destino Array en el que escribir
+	 * @param posicion Posición de destino del primer valor
+	 * @param n Número de valores
+	 */
+	public void leer(int desde, double[] destino, int posicion, int n) {
+		valores.leer(desde, destino, posicion, n);
+	}
+
+	/**
+	 * @brief Añade varios valores de una vez
+	 * @param origen Array con los valores
+	 * @param desde Posición del primer valor en el array
+	 * @param n Número de valores
+	 */
+	public void addAll(double[] origen, int desde, int n) {
+		valores.addAll(origen, desde, n);
+	}
+
+	/**
+	 * @brief Obtiene un resumen estadístico de los valores
+	 * @return Estadísticas actuales (número, media, desviación, mínimo y máximo)
+	 *
+	 * La columna las mantiene al añadir valores, de modo que normalmente no
+	 * hay que recorrerla. Para varias medidas es mejor pedir un solo resumen.
+	 */
+	public Estadisticas estadisticas() {
+		return valores.estadisticas();
 	}
 
 	/**
-	 * @brief Calcula el valor mínimo de los valores del atributo
+	 * @brief Obtiene el valor mínimo de los valores del atributo
 	 * @return Valor mínimo del conjunto de valores
 	 */
 	public double minimo() {
-		return valores.getMin();
+		return valores.estadisticas().getMinimo();
 	}
 
 	/**
-	 * @brief Calcula el valor máximo de los valores del atributo
+	 * @brief Obtiene el valor máximo de los valores del atributo
 	 * @return Valor máximo del conjunto de valores
 	 */
 	public double maximo() {
-		return valores.getMax();
+		return valores.estadisticas().getMaximo();
 	}
 
 	/**
-	 * @brief Calcula la media aritmética de los valores
+	 * @brief Obtiene la media aritmética de los valores
 	 * @return Media de los valores del atributo
 	 */
 	public double media() {
-		return valores.avg();
+		return valores.estadisticas().getMedia();
 	}
 
 	/**
-	 * @brief Calcula la desviación estándar muestral de los valores
+	 * @brief Obtiene la desviación estándar muestral de los valores
 	 * @return Desviación estándar de los valores
 	 */
 	public double desviacion() {
-		if (valores.size() <= 1) return 0.0;
-
-		double media = this.media();
-		double sumaCuadrados = 0.0;
-
-		for (int i = 0; i < valores.size(); i++) {
-			sumaCuadrados += Math.pow(valores.get(i) - media, 2);
-		}
-
-		return Math.sqrt(sumaCuadrados / (valores.size() - 1));
+		return valores.estadisticas().getDesviacion();
 	}
 
 	/**
@@ -117,8 +196,9 @@ public class Cuantitativo extends Atributo {
 	public void estandarizacion() {
 		if (valores.size() <= 1) return;
 
-		double media = this.media();
-		double desviacion = this.desviacion();
+		Estadisticas resumen = valores.estadisticas();
+		double media = resumen.getMedia();
+		double desviacion = resumen.getDesviacion();
 
 		for (int i = 0; i < valores.size(); i++) {
 			double valorEstandarizado = (valores.get(i) - media) / desviacion;
@@ -192,4 +272,78 @@ public class Cuantitativo extends Atributo {
 	public Cuantitativo copiar() {
 		return new Cuantitativo(this.nombre, this.valores.copiar());
 	}
-}
\ No newline at end of file
+
+	/**
+	 * @brief Vector que rechaza cualquier modificación, devuelto por getValores()
+	 */
+	private static final class VectorSoloLectura extends Vector {
+		VectorSoloLectura(double[] valores) {
+			super(valores);
+		}
+
+		private static UnsupportedOperationException soloLectura() {
+			return new UnsupportedOperationException(
+					"Los valores de un Cuantitativo no se modifican a través de getValores(); usa copiarValores() y setValores()");
+		}
+
+		@Override
+		public void clear() {
+			throw soloLectura();
+		}
+
+		@Override
+		public void set(int index, double value) {
+			throw soloLectura();
+		}
+
+		@Override
+		public void add(double value) {
+			throw soloLectura();
+		}
+
+		@Override
+		public void add(Vector other) {
+			throw soloLectura();
+		}
+
+		@Override
+		public void remove(int index) {
+			throw soloLectura();
+		}
+
+		@Override
+		public void concat(Vector other) {
+			throw soloLectura();
+		}
+
+		@Override
+		public void read(String filename) {
+			throw soloLectura();
+		}
+
+		@Override
+		public void read(File file) {
+			throw soloLectura();
+		}
+
+		@Override
+		public void read(Scanner scanner) {
+			throw soloLectura();
+		}
+
+		@Override
+		public void multiply(double scalar) {
+			throw soloLectura();
+		}
+
+		@Override
+		public void normalize() {
+			throw soloLectura();
+		}
+
+		@Override
+		public List<Double> getValores() {
+			return Collections.unmodifiableList(super.getValores());
+		}
+	}
+}
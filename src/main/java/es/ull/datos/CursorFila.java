@@ -0,0 +1,144 @@
+package datos;
+
+import java.util.List;
+
+/**
+ * @brief Cursor reutilizable sobre las filas de un Dataset
+ *
+ * Da acceso tipado a los valores de una fila directamente sobre el
+ * almacenamiento por columnas (ColumnaNumerica y códigos de Cualitativo), sin
+ * crear una Instancia ni una lista por fila: se obtiene una vez con
+ * Dataset.cursor() y se desplaza con mover(). Es válido mientras no cambie la
+ * lista de atributos del dataset, y no debe compartirse entre hilos.
+ */
+public class CursorFila {
+	private final Cuantitativo[] numericos;
+	private final Cualitativo[] cualitativos;
+	private final int filas;
+	private int fila = -1;
+
+	/**
+	 * @brief Crea un cursor sobre un dataset, sin posicionar
+	 * @param datos Dataset a recorrer
+	 */
+	CursorFila(Dataset datos) {
+		List<Atributo> atributos = datos.getAtributos();
+		this.numericos = new Cuantitativo[atributos.size()];
+		this.cualitativos = new Cualitativo[atributos.size()];
+		for (int j = 0; j < atributos.size(); ++j) {
+			Atributo atributo = atributos.get(j);
+			if (atributo instanceof Cuantitativo) numericos[j] = (Cuantitativo) atributo;
+			else cualitativos[j] = (Cualitativo) atributo;
+		}
+		this.filas = datos.numeroCasos();
+	}
+
+	/**
+	 * @brief Coloca el cursor en una fila
+	 * @param fila Índice de la fila
+	 * @return El propio cursor
+	 * @throws IndexOutOfBoundsException Si la fila no existe
+	 */
+	public CursorFila mover(int fila) {
+		if (fila < 0 || fila >= filas) {
+			throw new IndexOutOfBoundsException(
+					String.format("Índice %d fuera de rango. El dataset contiene %d instancias.", fila, filas)
+			);
+		}
+		this.fila = fila;
+		return this;
+	}
+
+	/**
+	 * @brief Obtiene la fila en la que está el cursor
+	 * @return Índice de la fila, o -1 si aún no se ha movido
+	 */
+	public int getFila() {
+		return fila;
+	}
+
+	/**
+	 * @brief Obtiene el número de filas del dataset
+	 * @return Número de filas
+	 */
+	public int numeroFilas() {
+		return filas;
+	}
+
+	/**
+	 * @brief Obtiene el número de atributos de cada fila
+	 * @return Número de columnas
+	 */
+	public int numeroAtributos() {
+		return numericos.length;
+	}
+
+	/**
+	 * @brief Indica si una columna es cuantitativa
+	 * @param columna Índice del atributo
+	 * @return true si la columna guarda valores numéricos
+	 */
+	public boolean esNumerico(int columna) {
+		return numericos[columna] != null;
+	}
+
+	/**
+	 * @brief Obtiene un valor numérico sin crear objetos
+	 * @param columna Índice de un atributo cuantitativo
+	 * @return Valor de la fila actual
+	 * @throws IllegalArgumentException Si la columna es cualitativa
+	 */
+	public double getDouble(int columna) {
+		Cuantitativo atributo = numericos[columna];
+		if (atributo == null) throw new IllegalArgumentException(noEs(columna, "cuantitativo"));
+		return atributo.getDouble(fila);
+	}
+
+	/**
+	 * @brief Obtiene el código de diccionario de un valor cualitativo
+	 * @param columna Índice de un atributo cualitativo
+	 * @return Código del valor de la fila actual
+	 * @throws IllegalArgumentException Si la columna es cuantitativa
+	 */
+	public int getCodigo(int columna) {
+		return cualitativo(columna).getCodigo(fila);
+	}
+
+	/**
+	 * @brief Obtiene un valor cualitativo (la cadena del diccionario, sin copiarla)
+	 * @param columna Índice de un atributo cualitativo
+	 * @return Valor de la fila actual
+	 * @throws IllegalArgumentException Si la columna es cuantitativa
+	 */
+	public String getTexto(int columna) {
+		return (String) cualitativo(columna).getValor(fila);
+	}
+
+	/**
+	 * @brief Obtiene el código de clase (último atributo) de la fila actual
+	 * @return Código de diccionario de la clase
+	 * @throws IllegalArgumentException Si el último atributo no es cualitativo
+	 */
+	public int getEtiqueta() {
+		return getCodigo(numericos.length - 1);
+	}
+
+	/**
+	 * @brief Obtiene el nombre de la clase (último atributo) de la fila actual
+	 * @return Valor del último atributo como texto
+	 */
+	public String getClase() {
+		int ultima = numericos.length - 1;
+		return esNumerico(ultima) ? String.valueOf(getDouble(ultima)) : getTexto(ultima);
+	}
+
+	private Cualitativo cualitativo(int columna) {
+		Cualitativo atributo = cualitativos[columna];
+		if (atributo == null) throw new IllegalArgumentException(noEs(columna, "cualitativo"));
+		return atributo;
+	}
+
+	private static String noEs(int columna, String tipo) {
+		return String.format("El atributo %d no es %s", columna, tipo);
+	}
+}
@@ -1,9 +1,5 @@
 package datos;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -143,6 +139,21 @@ public class Dataset {
 		}
 	}
 
+	/**
+	 * @brief Añade al final una copia de la fila en la que está un cursor
+	 * @param fila Cursor de un dataset con los mismos tipos de atributo
+	 * @throws IllegalArgumentException Si los tipos de atributo no coinciden
+	 *
+	 * Copia los valores directamente entre columnas, sin crear una Instancia.
+	 */
+	public void add(CursorFila fila) {
+		for (int j = 0; j < atributos.size(); ++j) {
+			Atributo destino = atributos.get(j);
+			if (destino instanceof Cuantitativo) ((Cuantitativo) destino).getColumna().add(fila.getDouble(j));
+			else destino.add(fila.getTexto(j));
+		}
+	}
+
 	/**
 	 * @brief Añade una nueva instancia representada como lista de Strings
 	 * @param nueva Lista de valores de la instancia
@@ -255,44 +266,30 @@ public class Dataset {
 	 * @brief Escribe el dataset en un archivo CSV
 	 * @param filename Ruta del archivo a escribir
 	 * @throws IOException Si ocurre un error de escritura
+	 *
+	 * El contenido es el de toString(), pero se escribe fila a fila con
+	 * EscritorCsv sin generar el texto completo en memoria.
 	 */
 	public void write(String filename) throws IOException {
-		try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename))) {
-			writer.write(this.toString());
-		}
+		new EscritorCsv().escribir(this, filename);
 	}
 
 	/**
 	 * @brief Lee un dataset desde un archivo CSV
 	 * @param filename Ruta del archivo a leer
-	 * @throws IOException Si ocurre un error de lectura
+	 * @throws IOException Si ocurre un error de lectura o el formato no es válido
+	 *
+	 * Los tipos de las columnas se infieren con LectorCsv (ver su muestra por
+	 * defecto). Un archivo guardado con ArchivoColumnar se reconoce por su
+	 * cabecera y se carga sin análisis de texto, con sus pesos y preprocesado.
 	 */
 	public void read(String filename) throws IOException {
-		try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
-			String[] attributeNamesArray = reader.readLine().split(",");
-			String line;
-			if ((line = reader.readLine()) != null) {
-				String[] values = line.split(",");
-				for (int i = 0; i < attributeNamesArray.length ; ++i) {
-					try {
-						this.atributos.add(new Cuantitativo(attributeNamesArray[i], Double.parseDouble(values[i])));
-					} catch (NumberFormatException e) {
-						this.atributos.add(new Cualitativo(attributeNamesArray[i], values[i]));
-					}
-				}
-			}
-			while ((line = reader.readLine()) != null) {
-				String[] values = line.split(",");
-				for (int i = 0; i < attributeNamesArray.length ; ++i) {
-					Atributo nuevo = this.atributos.get(i);
-					try {
-						nuevo.add(Double.parseDouble(values[i]));
-					} catch (NumberFormatException e) {
-						nuevo.add(values[i]);
-					}
-					this.atributos.set(i, nuevo);
-				}
-			}
+		if (ArchivoColumnar.esColumnar(filename)) {
+			Dataset leido = ArchivoColumnar.leer(filename);
+			this.atributos.addAll(leido.getAtributos());
+			this.preprocesado = leido.getPreprocesado();
+		} else {
+			this.atributos.addAll(new LectorCsv().leer(filename).getAtributos());
 		}
 	}
 
@@ -405,6 +402,14 @@ public class Dataset {
 		return new Instancia(auxiliar);
 	}
 
+	/**
+	 * @brief Obtiene un cursor para recorrer las filas sin crear instancias
+	 * @return Cursor sin posicionar (ver CursorFila.mover())
+	 */
+	public CursorFila cursor() {
+		return new CursorFila(this);
+	}
+
 	/**
 	 * @brief Obtiene los pesos de los atributos como Strings
 	 * @return Lista de pesos en formato String
@@ -0,0 +1,224 @@
+package datos;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @brief Dataset de solo lectura proyectado en memoria desde un archivo columnar
+ *
+ * Cada columna de un archivo escrito con ArchivoColumnar se proyecta con
+ * FileChannel.map y se lee en su sitio: no se copia al heap ni se crean
+ * objetos por valor. Abrir solo lee la cabecera, los datos se cargan bajo
+ * demanda desde la caché de páginas del sistema (compartida entre procesos
+ * que proyecten el mismo archivo), y el dataset puede ser mayor que el heap.
+ * Cada columna debe ocupar menos de 2 GB. Las lecturas son seguras desde
+ * varios hilos.
+ */
+public class DatasetProyectado {
+	private final String[] nombres;
+	private final double[] pesos;
+	private final int filas;
+	private final int preprocesado;
+	private final DoubleBuffer[] numericas;
+	private final ByteBuffer[] codigos;
+	private final int[] anchos;
+	private final List<List<String>> diccionarios;
+
+	/**
+	 * @brief Abre y proyecta un archivo columnar
+	 * @param ruta Ruta de un archivo escrito con ArchivoColumnar.escribir()
+	 * @throws IOException Si el archivo no es válido o alguna columna no cabe en una proyección
+	 */
+	public DatasetProyectado(String ruta) throws IOException {
+		try (FileChannel canal = FileChannel.open(Paths.get(ruta), StandardOpenOption.READ)) {
+			ArchivoColumnar.Esquema esquema = ArchivoColumnar.Esquema.leer(canal);
+			int n = esquema.numeroAtributos();
+			this.nombres = esquema.nombres;
+			this.pesos = esquema.pesos;
+			this.filas = esquema.filas;
+			this.preprocesado = esquema.preprocesado;
+			this.numericas = new DoubleBuffer[n];
+			this.codigos = new ByteBuffer[n];
+			this.anchos = esquema.anchos;
+			List<List<String>> listas = new ArrayList<>();
+			for (int j = 0; j < n; ++j) {
+				long bytes = (long) filas * (esquema.esNumerico(j) ? Double.BYTES : anchos[j]);
+				if (bytes > Integer.MAX_VALUE) {
+					throw new IOException(String.format("La columna %s ocupa %d bytes y no cabe en una proyección",
+							nombres[j], bytes));
+				}
+				ByteBuffer proyeccion = canal.map(FileChannel.MapMode.READ_ONLY, esquema.desplazamientos[j], bytes)
+						.order(ByteOrder.LITTLE_ENDIAN);
+				if (esquema.esNumerico(j)) numericas[j] = proyeccion.asDoubleBuffer();
+				else codigos[j] = proyeccion;
+				listas.add(Collections.unmodifiableList(esquema.diccionarios.get(j)));
+			}
+			this.diccionarios = Collections.unmodifiableList(listas);
+		}
+	}
+
+	/**
+	 * @brief Obtiene el número de filas
+	 * @return Número de instancias
+	 */
+	public int numeroCasos() {
+		return filas;
+	}
+
+	/**
+	 * @brief Obtiene el número de atributos
+	 * @return Número de columnas
+	 */
+	public int numeroAtributos() {
+		return nombres.length;
+	}
+
+	/**
+	 * @brief Obtiene el nombre de un atributo
+	 * @param columna Índice del atributo
+	 * @return Nombre
+	 */
+	public String getNombre(int columna) {
+		return nombres[columna];
+	}
+
+	/**
+	 * @brief Obtiene el peso de un atributo
+	 * @param columna Índice del atributo
+	 * @return Peso guardado en el archivo
+	 */
+	public double getPeso(int columna) {
+		return pesos[columna];
+	}
+
+	/**
+	 * @brief Obtiene el tipo de preprocesado guardado en el archivo
+	 * @return Entero con el mismo significado que Dataset.getPreprocesado()
+	 */
+	public int getPreprocesado() {
+		return preprocesado;
+	}
+
+	/**
+	 * @brief Indica si un atributo es cuantitativo
+	 * @param columna Índice del atributo
+	 * @return true si la columna guarda valores double
+	 */
+	public boolean esNumerico(int columna) {
+		return numericas[columna] != null;
+	}
+
+	/**
+	 * @brief Lee un valor numérico directamente de la proyección
+	 * @param fila Índice de la fila
+	 * @param columna Índice de un atributo cuantitativo
+	 * @return Valor
+	 * @throws IllegalArgumentException Si la columna es cualitativa
+	 * @throws IndexOutOfBoundsException Si la fila no existe
+	 */
+	public double getDouble(int fila, int columna) {
+		return numerica(columna).get(fila);
+	}
+
+	/**
+	 * @brief Copia un tramo de una columna numérica en un array del llamante
+	 * @param columna Índice de un atributo cuantitativo
+	 * @param desde Primera fila a leer
+	 * @param destino Array en el que escribir
+	 * @param posicion Posición de destino de la primera fila
+	 * @param n Número de filas
+	 * @throws IllegalArgumentException Si la columna es cualitativa
+	 * @throws IndexOutOfBoundsException Si el tramo se sale de la columna o del destino
+	 */
+	public void leer(int columna, int desde, double[] destino, int posicion, int n) {
+		numerica(columna).get(desde, destino, posicion, n);
+	}
+
+	/**
+	 * @brief Lee el código de diccionario de un valor cualitativo
+	 * @param fila Índice de la fila
+	 * @param columna Índice de un atributo cualitativo
+	 * @return Código (posición en getDiccionario(columna))
+	 * @throws IllegalArgumentException Si la columna es cuantitativa
+	 * @throws IndexOutOfBoundsException Si la fila no existe
+	 */
+	public int getCodigo(int fila, int columna) {
+		ByteBuffer columnaCodigos = codigos[columna];
+		if (columnaCodigos == null) {
+			throw new IllegalArgumentException(String.format("El atributo %d no es cualitativo", columna));
+		}
+		if (fila < 0 || fila >= filas) {
+			throw new IndexOutOfBoundsException(String.format("Índice %d fuera de rango (tamaño %d)", fila, filas));
+		}
+		switch (anchos[columna]) {
+		case 1:
+			return columnaCodigos.get(fila) & 0xFF;
+		case 2:
+			return columnaCodigos.getShort(fila * 2) & 0xFFFF;
+		default:
+			return columnaCodigos.getInt(fila * 4);
+		}
+	}
+
+	/**
+	 * @brief Lee un valor cualitativo
+	 * @param fila Índice de la fila
+	 * @param columna Índice de un atributo cualitativo
+	 * @return Valor como texto
+	 */
+	public String getTexto(int fila, int columna) {
+		return diccionarios.get(columna).get(getCodigo(fila, columna));
+	}
+
+	/**
+	 * @brief Obtiene el diccionario de un atributo cualitativo
+	 * @param columna Índice del atributo
+	 * @return Lista inmodificable (vacía si la columna es cuantitativa)
+	 */
+	public List<String> getDiccionario(int columna) {
+		return diccionarios.get(columna);
+	}
+
+	/**
+	 * @brief Copia el dataset al heap como un Dataset normal
+	 * @return Dataset con los mismos atributos, valores, pesos y preprocesado
+	 */
+	public Dataset aDataset() {
+		List<Atributo> atributos = new ArrayList<>();
+		for (int j = 0; j < nombres.length; ++j) {
+			Atributo atributo;
+			if (esNumerico(j)) {
+				double[] valores = new double[filas];
+				leer(j, 0, valores, 0, filas);
+				atributo = new Cuantitativo(nombres[j], ColumnaNumerica.sinCopia(valores));
+			} else {
+				Cualitativo cualitativo = new Cualitativo(nombres[j]);
+				for (String valor : diccionarios.get(j)) cualitativo.registrar(valor);
+				cualitativo.reservar(filas);
+				for (int i = 0; i < filas; ++i) cualitativo.addCodigo(getCodigo(i, j));
+				atributo = cualitativo;
+			}
+			atributo.setPeso(pesos[j]);
+			atributos.add(atributo);
+		}
+		Dataset datos = new Dataset(atributos);
+		datos.setPreprocesado(preprocesado);
+		return datos;
+	}
+
+	private DoubleBuffer numerica(int columna) {
+		DoubleBuffer columnaNumerica = numericas[columna];
+		if (columnaNumerica == null) {
+			throw new IllegalArgumentException(String.format("El atributo %d no es cuantitativo", columna));
+		}
+		return columnaNumerica;
+	}
+}
@@ -0,0 +1,201 @@
+package datos;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @brief Conversión rápida entre texto ASCII y double
+ *
+ * Interpreta directamente los bytes de un campo sin crear un String. Los
+ * números decimales habituales (hasta 19 cifras significativas y exponente
+ * decimal efectivo en [-22, 22], con mantisa menor que 2^53) se convierten con
+ * una sola multiplicación o división exacta, que da el mismo resultado
+ * redondeado que Double.parseDouble. Cualquier otra forma (más cifras,
+ * exponentes grandes, NaN, Infinity, espacios, sufijos d/f...) se delega en
+ * Double.parseDouble, así que el resultado es siempre idéntico al suyo.
+ *
+ * En sentido contrario, escribir() genera el mismo texto que Double.toString
+ * directamente en un array de bytes. Los valores en notación decimal simple
+ * ([1e-3, 1e7)) con hasta 15 cifras significativas se escriben buscando el
+ * menor número de decimales que vuelve a dar el mismo double; el resto, y los
+ * casos dudosos, se delegan en Double.toString.
+ */
+public final class Decimales {
+	private static final long LIMITE_EXACTO = 1L << 53;
+	private static final int MAXIMO_CIFRAS = 19;
+	private static final double[] POTENCIAS = {
+			1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+			1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	/** @brief Longitud máxima del texto de un double */
+	public static final int LONGITUD_MAXIMA = 32;
+
+	private static final int MAXIMO_CIFRAS_ESCRITURA = 15;
+	private static final long[] POTENCIAS_ENTERAS = {
+			1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L,
+			10000000000L, 100000000000L, 1000000000000L, 10000000000000L, 100000000000000L, 1000000000000000L
+	};
+
+	private Decimales() {
+	}
+
+	/**
+	 * @brief Convierte un tramo de bytes en double
+	 * @param texto Bytes del texto
+	 * @param desde Posición del primer byte
+	 * @param hasta Posición siguiente al último byte
+	 * @return Valor numérico
+	 * @throws NumberFormatException Si el texto no es un número válido para Double.parseDouble
+	 */
+	public static double parsear(byte[] texto, int desde, int hasta) {
+		int i = desde;
+		boolean negativo = false;
+		if (i < hasta && (texto[i] == '-' || texto[i] == '+')) {
+			negativo = texto[i] == '-';
+			i++;
+		}
+		long mantisa = 0;
+		int cifras = 0;
+		int cifrasLeidas = 0;
+		int exponente = 0;
+		for (; i < hasta && esCifra(texto[i]); ++i, ++cifrasLeidas) {
+			if (mantisa != 0 || texto[i] != '0') {
+				if (++cifras > MAXIMO_CIFRAS) return lento(texto, desde, hasta);
+				mantisa = mantisa * 10 + (texto[i] - '0');
+			}
+		}
+		if (i < hasta && texto[i] == '.') {
+			for (++i; i < hasta && esCifra(texto[i]); ++i, ++cifrasLeidas) {
+				if (mantisa != 0 || texto[i] != '0') {
+					if (++cifras > MAXIMO_CIFRAS) return lento(texto, desde, hasta);
+					mantisa = mantisa * 10 + (texto[i] - '0');
+				}
+				exponente--;
+			}
+		}
+		if (cifrasLeidas == 0) return lento(texto, desde, hasta);
+		if (i < hasta && (texto[i] == 'e' || texto[i] == 'E')) {
+			i++;
+			boolean exponenteNegativo = false;
+			if (i < hasta && (texto[i] == '-' || texto[i] == '+')) {
+				exponenteNegativo = texto[i] == '-';
+				i++;
+			}
+			int inicio = i;
+			int valor = 0;
+			for (; i < hasta && esCifra(texto[i]); ++i) {
+				if (i - inicio >= 4) return lento(texto, desde, hasta);
+				valor = valor * 10 + (texto[i] - '0');
+			}
+			if (i == inicio) return lento(texto, desde, hasta);
+			exponente += exponenteNegativo ? -valor : valor;
+		}
+		if (i != hasta) return lento(texto, desde, hasta);
+
+		double resultado;
+		if (mantisa == 0) {
+			resultado = 0.0;
+		} else if (mantisa < LIMITE_EXACTO && exponente >= -22 && exponente <= 22) {
+			// Operandos exactos: una sola operación IEEE queda correctamente redondeada
+			resultado = exponente >= 0 ? mantisa * POTENCIAS[exponente] : mantisa / POTENCIAS[-exponente];
+		} else {
+			return lento(texto, desde, hasta);
+		}
+		return negativo ? -resultado : resultado;
+	}
+
+	/**
+	 * @brief Indica si un tramo de bytes es un número válido
+	 * @param texto Bytes del texto
+	 * @param desde Posición del primer byte
+	 * @param hasta Posición siguiente al último byte
+	 * @return true si parsear() lo acepta
+	 */
+	public static boolean esNumero(byte[] texto, int desde, int hasta) {
+		try {
+			parsear(texto, desde, hasta);
+			return true;
+		} catch (NumberFormatException e) {
+			return false;
+		}
+	}
+
+	private static boolean esCifra(byte b) {
+		return b >= '0' && b <= '9';
+	}
+
+	private static double lento(byte[] texto, int desde, int hasta) {
+		return Double.parseDouble(new String(texto, desde, hasta - desde, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * @brief Escribe un double como texto ASCII, igual que Double.toString
+	 * @param valor Valor a escribir
+	 * @param destino Array de destino, con al menos LONGITUD_MAXIMA bytes libres desde posicion
+	 * @param posicion Posición del primer byte a escribir
+	 * @return Posición siguiente al último byte escrito
+	 */
+	public static int escribir(double valor, byte[] destino, int posicion) {
+		double absoluto = Math.abs(valor);
+		if (absoluto == 0.0) {
+			if (Double.doubleToRawLongBits(valor) != 0) destino[posicion++] = '-';
+			return escribirPlano(0, 1, destino, posicion);
+		}
+		if (absoluto >= 1e-3 && absoluto < 1e7) {
+			int enteras = 1;
+			while (enteras < 7 && absoluto >= POTENCIAS[enteras]) enteras++;
+			double ulp = Math.ulp(absoluto);
+			int maximo = Math.min(POTENCIAS_ENTERAS.length - 1, MAXIMO_CIFRAS_ESCRITURA + (absoluto < 1 ? 1 : 0) - enteras);
+			for (int decimales = 1; decimales <= maximo; ++decimales) {
+				double escala = POTENCIAS[decimales];
+				// Con separación entre candidatos menor que un ulp puede haber dos
+				// que vuelvan al mismo double: el más cercano solo lo sabe Double.toString
+				if (ulp * escala >= 1) break;
+				double producto = absoluto * escala;
+				long mantisa = (long) (producto + 0.5);
+				if (mantisa / escala != absoluto) {
+					// El producto redondeado puede haber caído junto al candidato bueno
+					mantisa += producto > mantisa ? 1 : -1;
+					if (mantisa / escala != absoluto) continue;
+				}
+				if (valor < 0) destino[posicion++] = '-';
+				return escribirPlano(mantisa, decimales, destino, posicion);
+			}
+		}
+		String texto = Double.toString(valor);
+		for (int i = 0; i < texto.length(); ++i) destino[posicion++] = (byte) texto.charAt(i);
+		return posicion;
+	}
+
+	/**
+	 * @brief Escribe mantisa x 10^-decimales en notación decimal simple
+	 *
+	 * Quita los ceros finales de la parte decimal, pero deja al menos uno, como
+	 * Double.toString ("5.0", "0.25").
+	 */
+	private static int escribirPlano(long mantisa, int decimales, byte[] destino, int posicion) {
+		while (decimales > 1 && mantisa % 10 == 0) {
+			mantisa /= 10;
+			decimales--;
+		}
+		long entera = mantisa / POTENCIAS_ENTERAS[decimales];
+		long fraccion = mantisa % POTENCIAS_ENTERAS[decimales];
+		posicion = escribirEntero(entera, destino, posicion);
+		destino[posicion++] = '.';
+		for (int d = decimales - 1; d >= 0; --d) {
+			destino[posicion + d] = (byte) ('0' + fraccion % 10);
+			fraccion /= 10;
+		}
+		return posicion + decimales;
+	}
+
+	private static int escribirEntero(long valor, byte[] destino, int posicion) {
+		int cifras = 1;
+		for (long resto = valor / 10; resto > 0; resto /= 10) cifras++;
+		for (int d = cifras - 1; d >= 0; --d) {
+			destino[posicion + d] = (byte) ('0' + valor % 10);
+			valor /= 10;
+		}
+		return posicion + cifras;
+	}
+}
@@ -0,0 +1,155 @@
+package datos;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * @brief Escritura de datasets CSV fila a fila
+ *
+ * Genera el mismo texto que Dataset.toString() (cabecera con los nombres y una
+ * línea por instancia) sin construirlo entero en memoria: recorre las filas
+ * con un CursorFila y escribe cada campo directamente en un buffer de bytes
+ * que se vuelca al flujo al llenarse. Los números se formatean con
+ * Decimales.escribir() y cada valor del diccionario de una columna cualitativa
+ * se codifica en UTF-8 una sola vez. Los campos que LectorCsv no leería igual
+ * (con el separador, comillas o saltos de línea) se escriben entre comillas
+ * dobles.
+ */
+public class EscritorCsv {
+	/** @brief Tamaño del buffer de escritura en bytes */
+	public static final int TAMANO_BUFFER = 64 * 1024;
+
+	private char separador = ',';
+
+	/**
+	 * @brief Cambia el separador de campos
+	 * @param separador Carácter separador (ASCII)
+	 * @throws IllegalArgumentException Si el separador no es ASCII o es una comilla o un salto de línea
+	 */
+	public void setSeparador(char separador) {
+		if (separador > 127 || separador == '"' || separador == '\'' || separador == '\n' || separador == '\r') {
+			throw new IllegalArgumentException("Separador no válido: " + separador);
+		}
+		this.separador = separador;
+	}
+
+	/**
+	 * @brief Obtiene el separador de campos
+	 * @return Carácter separador
+	 */
+	public char getSeparador() {
+		return separador;
+	}
+
+	/**
+	 * @brief Escribe un dataset en un archivo
+	 * @param datos Dataset a escribir
+	 * @param ruta Ruta del archivo (se sobrescribe si existe)
+	 * @throws IOException Si ocurre un error de escritura
+	 */
+	public void escribir(Dataset datos, String ruta) throws IOException {
+		try (OutputStream salida = Files.newOutputStream(Paths.get(ruta))) {
+			escribir(datos, salida);
+		}
+	}
+
+	/**
+	 * @brief Escribe un dataset en un flujo
+	 * @param datos Dataset a escribir
+	 * @param salida Flujo de destino (no se cierra)
+	 * @throws IOException Si ocurre un error de escritura
+	 */
+	public void escribir(Dataset datos, OutputStream salida) throws IOException {
+		int columnas = datos.numeroAtributos();
+		byte[][][] textos = new byte[columnas][][];
+		for (int j = 0; j < columnas; ++j) {
+			if (datos.get(j) instanceof Cualitativo) {
+				List<String> diccionario = ((Cualitativo) datos.get(j)).getDiccionario();
+				textos[j] = new byte[diccionario.size()][];
+				for (int c = 0; c < textos[j].length; ++c) textos[j][c] = campo(diccionario.get(c));
+			}
+		}
+
+		Salida buffer = new Salida(salida);
+		List<String> nombres = datos.nombreAtributos();
+		for (int j = 0; j < columnas; ++j) {
+			if (j > 0) buffer.escribir((byte) separador);
+			buffer.escribir(campo(nombres.get(j)));
+		}
+		buffer.escribir((byte) '\n');
+
+		if (columnas > 0) {
+			CursorFila cursor = datos.cursor();
+			int filas = cursor.numeroFilas();
+			for (int i = 0; i < filas; ++i) {
+				cursor.mover(i);
+				for (int j = 0; j < columnas; ++j) {
+					if (j > 0) buffer.escribir((byte) separador);
+					if (textos[j] == null) buffer.escribir(cursor.getDouble(j));
+					else buffer.escribir(textos[j][cursor.getCodigo(j)]);
+				}
+				buffer.escribir((byte) '\n');
+			}
+		}
+		buffer.vaciar();
+	}
+
+	/**
+	 * @brief Codifica un campo de texto, entre comillas si hace falta
+	 * @param texto Valor del campo
+	 * @return Bytes UTF-8 tal como se escriben en el archivo
+	 */
+	byte[] campo(String texto) {
+		boolean comillas = texto.startsWith("'");
+		for (int i = 0; i < texto.length() && !comillas; ++i) {
+			char c = texto.charAt(i);
+			comillas = c == separador || c == '"' || c == '\n' || c == '\r';
+		}
+		if (comillas) texto = '"' + texto.replace("\"", "\"\"") + '"';
+		return texto.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @brief Buffer de bytes que se vuelca a un flujo al llenarse
+	 */
+	private static final class Salida {
+		private final OutputStream destino;
+		private final byte[] bytes = new byte[TAMANO_BUFFER];
+		private int posicion;
+
+		Salida(OutputStream destino) {
+			this.destino = destino;
+		}
+
+		void escribir(byte b) throws IOException {
+			if (posicion == bytes.length) vaciar();
+			bytes[posicion++] = b;
+		}
+
+		void escribir(byte[] texto) throws IOException {
+			if (texto.length > bytes.length - posicion) {
+				vaciar();
+				if (texto.length > bytes.length) {
+					destino.write(texto);
+					return;
+				}
+			}
+			System.arraycopy(texto, 0, bytes, posicion, texto.length);
+			posicion += texto.length;
+		}
+
+		void escribir(double valor) throws IOException {
+			if (bytes.length - posicion < Decimales.LONGITUD_MAXIMA) vaciar();
+			posicion = Decimales.escribir(valor, bytes, posicion);
+		}
+
+		void vaciar() throws IOException {
+			destino.write(bytes, 0, posicion);
+			posicion = 0;
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package datos;
+
+/**
+ * @brief Resumen estadístico de una columna numérica en un momento dado
+ *
+ * Lo devuelven ColumnaNumerica.estadisticas() y Cuantitativo.estadisticas().
+ * Es inmutable: los cambios posteriores en la columna no le afectan, así que
+ * un mismo resumen sirve para varias consultas sin volver a la columna.
+ */
+public final class Estadisticas {
+	private final int numero;
+	private final double media;
+	private final double m2;
+	private final double minimo;
+	private final double maximo;
+
+	/**
+	 * @brief Constructor a partir de los acumuladores de Welford
+	 * @param numero Número de valores
+	 * @param media Media de los valores
+	 * @param m2 Suma de cuadrados de las desviaciones respecto a la media
+	 * @param minimo Valor mínimo
+	 * @param maximo Valor máximo
+	 */
+	Estadisticas(int numero, double media, double m2, double minimo, double maximo) {
+		this.numero = numero;
+		this.media = media;
+		this.m2 = m2;
+		this.minimo = minimo;
+		this.maximo = maximo;
+	}
+
+	/**
+	 * @brief Obtiene el número de valores
+	 * @return Número de valores resumidos
+	 */
+	public int getNumero() {
+		return numero;
+	}
+
+	/**
+	 * @brief Obtiene la media aritmética
+	 * @return Media (NaN si no hay valores)
+	 */
+	public double getMedia() {
+		return numero == 0 ? Double.NaN : media;
+	}
+
+	/**
+	 * @brief Obtiene la varianza muestral
+	 * @return Varianza con denominador n - 1 (0 con menos de dos valores)
+	 */
+	public double getVarianza() {
+		return numero <= 1 ? 0.0 : m2 / (numero - 1);
+	}
+
+	/**
+	 * @brief Obtiene la desviación estándar muestral
+	 * @return Raíz de getVarianza()
+	 */
+	public double getDesviacion() {
+		return Math.sqrt(getVarianza());
+	}
+
+	/**
+	 * @brief Obtiene el valor mínimo
+	 * @return Mínimo (+infinito si no hay valores)
+	 */
+	public double getMinimo() {
+		return minimo;
+	}
+
+	/**
+	 * @brief Obtiene el valor máximo
+	 * @return Máximo (-infinito si no hay valores)
+	 */
+	public double getMaximo() {
+		return maximo;
+	}
+
+	/**
+	 * @brief Representación en cadena del resumen
+	 * @return Texto con todos los valores
+	 */
+	@Override
+	public String toString() {
+		return String.format("n=%d, media=%s, desviación=%s, mínimo=%s, máximo=%s",
+				numero, getMedia(), getDesviacion(), minimo, maximo);
+	}
+}
@@ -0,0 +1,553 @@
+package datos;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * @brief Carga de datasets CSV en una sola pasada
+ *
+ * La primera línea da los nombres de los atributos. El tipo de cada columna se
+ * decide con una muestra de las primeras filas: es cuantitativa si todos sus
+ * valores en la muestra son números, y cualitativa en otro caso. El resto del
+ * archivo se procesa registro a registro sobre bytes: los números se
+ * convierten sin pasar por String y los valores cualitativos repetidos
+ * reutilizan la misma cadena. Si una columna cuantitativa encuentra después
+ * un valor no numérico, pasa a ser cualitativa: al leer un archivo se vuelve a
+ * leer con esa columna como texto, de modo que todos sus valores conservan el
+ * texto original; al leer un flujo solo lo conservan las filas de la muestra y
+ * las demás filas anteriores al cambio quedan como el número convertido a
+ * texto. leerParalelo() reparte el análisis de un archivo grande entre los
+ * hilos de un pool de fork/join.
+ */
+public class LectorCsv {
+	/** @brief Número de filas de muestra por defecto para inferir los tipos */
+	public static final int MUESTRA_POR_DEFECTO = 1000;
+
+	/** @brief Tamaño mínimo en bytes de cada trozo en la lectura paralela */
+	public static final long TAMANO_MINIMO_TROZO = 4L * 1024 * 1024;
+
+	/** @brief Tamaño máximo en bytes de cada trozo (una proyección en memoria no pasa de 2 GB) */
+	static final long TAMANO_MAXIMO_TROZO = 1L << 30;
+
+	/** @brief Trozos por hilo del pool, para repartir mejor la carga */
+	static final int TROZOS_POR_HILO = 4;
+
+	/** @brief Valores distintos por columna a partir de los que no se reutilizan cadenas */
+	static final int LIMITE_INTERNADO = 1 << 16;
+
+	private int muestra = MUESTRA_POR_DEFECTO;
+	private char separador = ',';
+
+	/**
+	 * @brief Constructor con la muestra y el separador por defecto
+	 */
+	public LectorCsv() {
+	}
+
+	/**
+	 * @brief Constructor con un tamaño de muestra concreto
+	 * @param muestra Número de filas usadas para inferir los tipos
+	 * @throws IllegalArgumentException Si la muestra no es positiva
+	 */
+	public LectorCsv(int muestra) {
+		setMuestra(muestra);
+	}
+
+	/**
+	 * @brief Cambia el número de filas usadas para inferir los tipos
+	 * @param muestra Número de filas (al menos 1)
+	 * @throws IllegalArgumentException Si la muestra no es positiva
+	 */
+	public void setMuestra(int muestra) {
+		if (muestra <= 0) {
+			throw new IllegalArgumentException("La muestra debe tener al menos una fila");
+		}
+		this.muestra = muestra;
+	}
+
+	/**
+	 * @brief Obtiene el número de filas usadas para inferir los tipos
+	 * @return Tamaño de la muestra
+	 */
+	public int getMuestra() {
+		return muestra;
+	}
+
+	/**
+	 * @brief Cambia el separador de campos
+	 * @param separador Carácter ASCII que separa los campos
+	 * @throws IllegalArgumentException Si no es ASCII, es una comilla o un salto de línea
+	 */
+	public void setSeparador(char separador) {
+		if (separador > 0x7F || separador == '"' || separador == '\'' || separador == '\n' || separador == '\r') {
+			throw new IllegalArgumentException("Separador no válido: " + separador);
+		}
+		this.separador = separador;
+	}
+
+	/**
+	 * @brief Obtiene el separador de campos
+	 * @return Carácter separador
+	 */
+	public char getSeparador() {
+		return separador;
+	}
+
+	/**
+	 * @brief Lee un archivo CSV
+	 * @param ruta Ruta del archivo
+	 * @return Dataset con los atributos y valores del archivo
+	 * @throws IOException Si falla la lectura o el formato no es válido
+	 *
+	 * Si alguna columna cuantitativa según la muestra deja de serlo más
+	 * adelante, el archivo se lee una segunda vez con esas columnas como texto.
+	 */
+	public Dataset leer(String ruta) throws IOException {
+		Path archivo = Paths.get(ruta);
+		Columnas columnas;
+		try (InputStream entrada = Files.newInputStream(archivo)) {
+			columnas = leerColumnas(entrada, null);
+		}
+		if (!columnas.hayCambioDeTipo()) return columnas.dataset();
+		boolean[] texto = columnas.cualitativas();
+		try (InputStream entrada = Files.newInputStream(archivo)) {
+			return leerColumnas(entrada, texto).dataset();
+		}
+	}
+
+	/**
+	 * @brief Lee un CSV desde un flujo de bytes (UTF-8)
+	 * @param entrada Flujo de entrada (no se cierra)
+	 * @return Dataset con los atributos y valores leídos
+	 * @throws IOException Si falla la lectura, no hay cabecera o una fila no tiene tantos campos como la cabecera
+	 */
+	public Dataset leer(InputStream entrada) throws IOException {
+		return leerColumnas(entrada, null).dataset();
+	}
+
+	/**
+	 * @brief Lee todos los registros de un flujo
+	 * @param entrada Flujo de entrada (no se cierra)
+	 * @param texto Columnas que se leen como texto aunque la muestra sea numérica, o null
+	 * @return Columnas leídas
+	 */
+	private Columnas leerColumnas(InputStream entrada, boolean[] texto) throws IOException {
+		AnalizadorCsv csv = new AnalizadorCsv(entrada, separador);
+		String[] nombres = leerCabecera(csv);
+		List<String[]> filas = new ArrayList<>();
+		boolean[] numerica = inferirTipos(csv, nombres.length, filas);
+		if (texto != null) {
+			for (int j = 0; j < numerica.length; ++j) numerica[j] &= !texto[j];
+		}
+
+		Columnas columnas = new Columnas(nombres, numerica, filas);
+		while (csv.siguiente()) {
+			comprobarCampos(csv, nombres.length);
+			columnas.anadir(csv, true);
+		}
+		return columnas;
+	}
+
+	/**
+	 * @brief Lee un archivo CSV repartiendo el análisis en el pool común de fork/join
+	 * @param ruta Ruta del archivo
+	 * @return Dataset idéntico al que devuelve leer(ruta)
+	 * @throws IOException Si falla la lectura o el formato no es válido
+	 */
+	public Dataset leerParalelo(String ruta) throws IOException {
+		return leerParalelo(ruta, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * @brief Lee un archivo CSV repartiendo el análisis en un pool de fork/join
+	 * @param ruta Ruta del archivo
+	 * @param pool Pool en el que analizar los trozos
+	 * @return Dataset idéntico al que devuelve leer(ruta)
+	 * @throws IOException Si falla la lectura o el formato no es válido
+	 *
+	 * La cabecera y la muestra se leen primero para fijar los tipos. Después el
+	 * archivo se proyecta en memoria por trozos que empiezan tras un salto de
+	 * línea; cada trozo se analiza en una tarea sobre sus propias columnas, y al
+	 * final las columnas se concatenan en orden. Si el archivo es pequeño, o si
+	 * algún trozo no puede analizarse por separado (registros con saltos de línea
+	 * entre comillas, valores no numéricos en columnas cuantitativas, errores de
+	 * formato), se lee de forma secuencial.
+	 */
+	public Dataset leerParalelo(String ruta, ForkJoinPool pool) throws IOException {
+		return leerParalelo(ruta, pool, TAMANO_MINIMO_TROZO);
+	}
+
+	Dataset leerParalelo(String ruta, ForkJoinPool pool, long tamanoMinimo) throws IOException {
+		Path archivo = Paths.get(ruta);
+		String[] nombres;
+		boolean[] numerica;
+		long inicio;
+		try (InputStream entrada = Files.newInputStream(archivo)) {
+			AnalizadorCsv csv = new AnalizadorCsv(entrada, separador);
+			nombres = leerCabecera(csv);
+			inicio = csv.getPosicion();
+			numerica = inferirTipos(csv, nombres.length, null);
+		}
+
+		try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+			long[] limites = limites(canal, inicio, pool.getParallelism(), tamanoMinimo);
+			if (limites.length <= 2) return leer(ruta);
+			List<TrozoCsv> trozos = new ArrayList<>();
+			for (int t = 0; t + 1 < limites.length; ++t) {
+				trozos.add(new TrozoCsv(canal, limites[t], limites[t + 1], nombres, numerica));
+			}
+			for (TrozoCsv trozo : trozos) pool.execute(trozo);
+			List<Columnas> partes = new ArrayList<>();
+			for (TrozoCsv trozo : trozos) partes.add(trozo.join());
+			if (partes.contains(null)) return leer(ruta);
+			return concatenar(nombres, numerica, partes);
+		}
+	}
+
+	/**
+	 * @brief Calcula los límites de los trozos, cada uno justo tras un salto de línea
+	 * @param canal Canal del archivo
+	 * @param inicio Posición del primer registro de datos
+	 * @param paralelismo Número de hilos del pool
+	 * @param tamanoMinimo Tamaño mínimo de un trozo en bytes
+	 * @return Posiciones crecientes; el trozo t va de limites[t] a limites[t + 1]
+	 */
+	private static long[] limites(FileChannel canal, long inicio, int paralelismo, long tamanoMinimo) throws IOException {
+		long tamano = canal.size() - inicio;
+		long trozos = Math.min((long) paralelismo * TROZOS_POR_HILO, tamano / Math.max(1, tamanoMinimo));
+		trozos = Math.max(trozos, (tamano + TAMANO_MAXIMO_TROZO - 1) / TAMANO_MAXIMO_TROZO);
+		List<Long> limites = new ArrayList<>();
+		limites.add(inicio);
+		ByteBuffer ventana = ByteBuffer.allocate(AnalizadorCsv.TAMANO_BLOQUE);
+		for (long t = 1; t < trozos; ++t) {
+			long posicion = Math.max(inicio + tamano * t / trozos, limites.get(limites.size() - 1));
+			long limite = siguienteLinea(canal, posicion, ventana);
+			if (limite > limites.get(limites.size() - 1) && limite < canal.size()) limites.add(limite);
+		}
+		limites.add(canal.size());
+		long[] resultado = new long[limites.size()];
+		for (int t = 0; t < resultado.length; ++t) resultado[t] = limites.get(t);
+		return resultado;
+	}
+
+	private static long siguienteLinea(FileChannel canal, long posicion, ByteBuffer ventana) throws IOException {
+		while (true) {
+			ventana.clear();
+			int leidos = canal.read(ventana, posicion);
+			if (leidos <= 0) return canal.size();
+			for (int i = 0; i < leidos; ++i) {
+				if (ventana.get(i) == '\n') return posicion + i + 1;
+			}
+			posicion += leidos;
+		}
+	}
+
+	/**
+	 * @brief Une las columnas de los trozos en un único dataset
+	 *
+	 * Los diccionarios se recorren en orden de trozo, así que los códigos de
+	 * cada Cualitativo salen en el mismo orden de primera aparición que en la
+	 * lectura secuencial.
+	 */
+	private static Dataset concatenar(String[] nombres, boolean[] numerica, List<Columnas> partes) {
+		int filas = 0;
+		for (Columnas parte : partes) filas += parte.filas();
+		List<Atributo> atributos = new ArrayList<>();
+		for (int j = 0; j < nombres.length; ++j) {
+			if (numerica[j]) {
+				ColumnaNumerica columna = new ColumnaNumerica(filas);
+				for (Columnas parte : partes) columna.addAll(parte.numericas[j]);
+				atributos.add(new Cuantitativo(nombres[j], columna));
+			} else {
+				Cualitativo atributo = new Cualitativo(nombres[j]);
+				atributo.reservar(filas);
+				for (Columnas parte : partes) {
+					Cualitativo local = (Cualitativo) parte.atributos[j];
+					List<String> diccionario = local.getDiccionario();
+					int[] traduccion = new int[diccionario.size()];
+					for (int c = 0; c < traduccion.length; ++c) traduccion[c] = atributo.registrar(diccionario.get(c));
+					for (int i = 0; i < local.size(); ++i) atributo.addCodigo(traduccion[local.getCodigo(i)]);
+				}
+				atributos.add(atributo);
+			}
+		}
+		return new Dataset(atributos);
+	}
+
+	private static String[] leerCabecera(AnalizadorCsv csv) throws IOException {
+		if (!csv.siguiente()) throw new IOException("El archivo CSV no tiene cabecera");
+		return csv.textos();
+	}
+
+	/**
+	 * @brief Decide el tipo de cada columna con las primeras filas
+	 * @param csv Analizador situado tras la cabecera
+	 * @param n Número de columnas
+	 * @param filas Lista en la que guardar las filas de muestra como texto, o null
+	 * @return Para cada columna, si es cuantitativa
+	 */
+	private boolean[] inferirTipos(AnalizadorCsv csv, int n, List<String[]> filas) throws IOException {
+		boolean[] numerica = new boolean[n];
+		Arrays.fill(numerica, true);
+		int leidas = 0;
+		while (leidas < muestra && csv.siguiente()) {
+			comprobarCampos(csv, n);
+			for (int j = 0; j < n; ++j) {
+				if (numerica[j]) numerica[j] = Decimales.esNumero(csv.bytes(), csv.inicio(j), csv.fin(j));
+			}
+			if (filas != null) filas.add(csv.textos());
+			leidas++;
+		}
+		// Sin filas no hay pruebas de que una columna sea numérica
+		if (leidas == 0) Arrays.fill(numerica, false);
+		return numerica;
+	}
+
+	private static void comprobarCampos(AnalizadorCsv csv, int esperados) throws IOException {
+		if (csv.numeroCampos() != esperados) {
+			throw new IOException(String.format("Registro %d: se esperaban %d campos y hay %d",
+					csv.getRegistro(), esperados, csv.numeroCampos()));
+		}
+	}
+
+	/**
+	 * @brief Columnas en construcción de un dataset o de un trozo de archivo
+	 */
+	private static final class Columnas {
+		private final String[] nombres;
+		private final Atributo[] atributos;
+		private final ColumnaNumerica[] numericas;
+		private final Internador[] internadores;
+		private final List<String[]> muestra;
+		private boolean cambioDeTipo;
+
+		/**
+		 * @brief Constructor que añade las filas de muestra
+		 * @param nombres Nombres de las columnas
+		 * @param numerica Para cada columna, si es cuantitativa
+		 * @param muestra Filas de muestra como texto (se guardan por si una columna cambia de tipo)
+		 */
+		Columnas(String[] nombres, boolean[] numerica, List<String[]> muestra) {
+			int n = nombres.length;
+			int capacidad = Math.max(16, muestra.size());
+			this.nombres = nombres;
+			this.muestra = muestra;
+			this.atributos = new Atributo[n];
+			this.numericas = new ColumnaNumerica[n];
+			this.internadores = new Internador[n];
+			for (int j = 0; j < n; ++j) {
+				if (numerica[j]) {
+					numericas[j] = new ColumnaNumerica(capacidad);
+					atributos[j] = new Cuantitativo(nombres[j], numericas[j]);
+				} else {
+					atributos[j] = new Cualitativo(nombres[j]);
+					internadores[j] = new Internador();
+				}
+			}
+			for (String[] fila : muestra) anadir(fila);
+		}
+
+		/**
+		 * @brief Añade una fila de muestra ya convertida en texto
+		 */
+		private void anadir(String[] fila) {
+			for (int j = 0; j < fila.length; ++j) {
+				if (numericas[j] != null) numericas[j].add(Double.parseDouble(fila[j]));
+				else atributos[j].add(fila[j]);
+			}
+		}
+
+		/**
+		 * @brief Añade el registro actual del analizador
+		 * @param csv Analizador con un registro del número de campos correcto
+		 * @param cambiarTipo Si una columna cuantitativa con un valor no numérico pasa a cualitativa
+		 * @throws NumberFormatException Si hay un valor no numérico y no se permite cambiar de tipo
+		 */
+		void anadir(AnalizadorCsv csv, boolean cambiarTipo) {
+			byte[] bytes = csv.bytes();
+			for (int j = 0; j < atributos.length; ++j) {
+				if (numericas[j] != null) {
+					try {
+						numericas[j].add(Decimales.parsear(bytes, csv.inicio(j), csv.fin(j)));
+						continue;
+					} catch (NumberFormatException e) {
+						if (!cambiarTipo) throw e;
+						atributos[j] = aCualitativo(j);
+						numericas[j] = null;
+						cambioDeTipo = true;
+						internadores[j] = new Internador();
+					}
+				}
+				atributos[j].add(internadores[j].texto(bytes, csv.inicio(j), csv.fin(j)));
+			}
+		}
+
+		/**
+		 * @brief Indica si alguna columna cuantitativa ha pasado a cualitativa
+		 * @return Si ha habido algún cambio de tipo
+		 */
+		boolean hayCambioDeTipo() {
+			return cambioDeTipo;
+		}
+
+		/**
+		 * @brief Indica qué columnas son cualitativas
+		 * @return Para cada columna, si es cualitativa
+		 */
+		boolean[] cualitativas() {
+			boolean[] cualitativa = new boolean[atributos.length];
+			for (int j = 0; j < atributos.length; ++j) cualitativa[j] = numericas[j] == null;
+			return cualitativa;
+		}
+
+		int filas() {
+			return atributos.length == 0 ? 0 : atributos[0].size();
+		}
+
+		Dataset dataset() {
+			return new Dataset(new ArrayList<>(Arrays.asList(atributos)));
+		}
+
+		/**
+		 * @brief Convierte en cualitativa una columna cuantitativa con los valores ya leídos
+		 *
+		 * Las filas de muestra conservan su texto original; de las demás solo
+		 * queda el número, que se convierte a texto.
+		 */
+		private Cualitativo aCualitativo(int j) {
+			ColumnaNumerica columna = numericas[j];
+			Cualitativo atributo = new Cualitativo(nombres[j]);
+			for (int i = 0; i < columna.size(); ++i) {
+				atributo.add(i < muestra.size() ? muestra.get(i)[j] : String.valueOf(columna.get(i)));
+			}
+			return atributo;
+		}
+	}
+
+	/**
+	 * @brief Tarea que analiza un trozo del archivo proyectado en memoria
+	 *
+	 * Devuelve null si el trozo no puede analizarse por separado, para que la
+	 * lectura se repita de forma secuencial.
+	 */
+	private final class TrozoCsv extends RecursiveTask<Columnas> {
+		private static final long serialVersionUID = 1L;
+		private final transient FileChannel canal;
+		private final long desde;
+		private final long hasta;
+		private final String[] nombres;
+		private final boolean[] numerica;
+
+		TrozoCsv(FileChannel canal, long desde, long hasta, String[] nombres, boolean[] numerica) {
+			this.canal = canal;
+			this.desde = desde;
+			this.hasta = hasta;
+			this.nombres = nombres;
+			this.numerica = numerica;
+		}
+
+		@Override
+		protected Columnas compute() {
+			try {
+				MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, desde, hasta - desde);
+				AnalizadorCsv csv = new AnalizadorCsv(new EntradaBuffer(buffer), separador, false);
+				Columnas columnas = new Columnas(nombres, numerica, new ArrayList<>());
+				while (csv.siguiente()) {
+					comprobarCampos(csv, nombres.length);
+					columnas.anadir(csv, false);
+				}
+				return csv.haySaltoEntreComillas() ? null : columnas;
+			} catch (IOException | NumberFormatException e) {
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * @brief Flujo de entrada sobre un ByteBuffer
+	 */
+	private static final class EntradaBuffer extends InputStream {
+		private final ByteBuffer buffer;
+
+		EntradaBuffer(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] destino, int desde, int n) {
+			if (!buffer.hasRemaining()) return -1;
+			int leidos = Math.min(n, buffer.remaining());
+			buffer.get(destino, desde, leidos);
+			return leidos;
+		}
+	}
+
+	/**
+	 * @brief Tabla de cadenas ya creadas para los valores de una columna
+	 *
+	 * Direccionamiento abierto con sondeo lineal sobre el contenido en bytes, de
+	 * modo que un valor repetido no crea un String nuevo. Deja de guardar valores
+	 * al llegar a LIMITE_INTERNADO distintos, para no duplicar en memoria columnas
+	 * casi únicas.
+	 */
+	private static final class Internador {
+		private byte[][] claves = new byte[64][];
+		private String[] textos = new String[64];
+		private int usados;
+
+		String texto(byte[] bytes, int desde, int hasta) {
+			int hash = 1;
+			for (int i = desde; i < hasta; ++i) hash = 31 * hash + bytes[i];
+			hash ^= hash >>> 16;
+			int mascara = claves.length - 1;
+			int p = hash & mascara;
+			while (claves[p] != null) {
+				if (Arrays.equals(claves[p], 0, claves[p].length, bytes, desde, hasta)) return textos[p];
+				p = (p + 1) & mascara;
+			}
+			String texto = new String(bytes, desde, hasta - desde, StandardCharsets.UTF_8);
+			if (usados < LIMITE_INTERNADO) {
+				claves[p] = Arrays.copyOfRange(bytes, desde, hasta);
+				textos[p] = texto;
+				if (++usados * 2 > claves.length) crecer();
+			}
+			return texto;
+		}
+
+		private void crecer() {
+			byte[][] anteriores = claves;
+			String[] anterioresTextos = textos;
+			claves = new byte[anteriores.length * 2][];
+			textos = new String[anteriores.length * 2];
+			int mascara = claves.length - 1;
+			for (int q = 0; q < anteriores.length; ++q) {
+				if (anteriores[q] == null) continue;
+				int hash = 1;
+				for (byte b : anteriores[q]) hash = 31 * hash + b;
+				hash ^= hash >>> 16;
+				int p = hash & mascara;
+				while (claves[p] != null) p = (p + 1) & mascara;
+				claves[p] = anteriores[q];
+				textos[p] = anterioresTextos[q];
+			}
+		}
+	}
+}
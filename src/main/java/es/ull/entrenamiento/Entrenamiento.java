@@ -1,15 +1,13 @@
 package entrenamiento;
 
-import java.io.BufferedWriter;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.*;
 
 import clasificacion.KNN;
+import clasificacion.MatrizCaracteristicas;
 import datos.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import vectores.Matriz;
 
 /**
  * @brief Clase para manejar el entrenamiento y evaluación de modelos KNN
@@ -40,13 +38,14 @@ public class Entrenamiento {
 		Dataset trainset = new Dataset(datos.getAtributosEmpty());
 		Dataset testset = new Dataset(datos.getAtributosEmpty());
 		clases = datos.getClases();
+		CursorFila fila = datos.cursor();
 		int indice = 0;
 		while(indice < datos.numeroCasos()*porcentaje) {
-			trainset.add(datos.getInstance(indice));
+			trainset.add(fila.mover(indice));
 			indice += 1;
 		}
 		for (int i = indice; i < datos.numeroCasos(); ++i) {
-			testset.add(datos.getInstance(i));
+			testset.add(fila.mover(i));
 		}
 		this.test = testset;
 		this.train = trainset;
@@ -59,56 +58,113 @@ public class Entrenamiento {
 	 * @param datos Dataset completo a dividir
 	 * @param porcentaje Porcentaje para entrenamiento (0-1)
 	 * @param semilla Semilla para reproducibilidad
+	 * @throws IllegalArgumentException Si el porcentaje no está en [0, 1]
 	 */
 	public Entrenamiento(Dataset datos, double porcentaje, int semilla) {
+		this(datos, porcentaje, semilla, false);
+	}
+
+	/**
+	 * @brief Constructor que divide el dataset aleatoriamente, opcionalmente por estratos
+	 * @param datos Dataset completo a dividir
+	 * @param porcentaje Porcentaje para entrenamiento (0-1)
+	 * @param semilla Semilla para reproducibilidad
+	 * @param estratificada Si ambos conjuntos mantienen la proporción de cada clase
+	 * @throws IllegalArgumentException Si el porcentaje no está en [0, 1]
+	 *
+	 * La división se hace sobre índices de fila con Particion, en O(n).
+	 */
+	public Entrenamiento(Dataset datos, double porcentaje, int semilla, boolean estratificada) {
+		Particion particion;
+		if (estratificada) {
+			Cualitativo clase = (Cualitativo) datos.get(datos.numeroAtributos() - 1);
+			int[] etiquetas = new int[datos.numeroCasos()];
+			for (int i = 0; i < etiquetas.length; ++i) etiquetas[i] = clase.getCodigo(i);
+			particion = Particion.estratificada(etiquetas, porcentaje, semilla);
+		} else {
+			particion = Particion.aleatoria(datos.numeroCasos(), porcentaje, semilla);
+		}
 		Dataset trainset = new Dataset(datos.getAtributosEmpty());
 		Dataset testset = new Dataset(datos.getAtributosEmpty());
 		clases = datos.getClases();
-		ArrayList<Integer> indices = new ArrayList<>();
-		@SuppressWarnings("squid:S2245")
-		Random random = new Random(semilla);
-		while(indices.size() < datos.numeroCasos()*porcentaje) {
-			int randomNumber = random.nextInt(datos.numeroCasos());
-			if (!indices.contains(randomNumber)) {
-				trainset.add(datos.getInstance(randomNumber));
-				indices.add(randomNumber);
-			}
-		}
-		for (int i = 0; i < datos.numeroCasos(); ++i) {
-			if (!indices.contains(i)) {
-				testset.add(datos.getInstance(i));
-			}
-		}
+		CursorFila fila = datos.cursor();
+		for (int i : particion.getEntrenamiento()) trainset.add(fila.mover(i));
+		for (int i : particion.getPrueba()) testset.add(fila.mover(i));
 		this.test = testset;
 		this.train =  trainset;
 		this.test.setPreprocesado(datos.getPreprocesado());
 		this.train.setPreprocesado(datos.getPreprocesado());
 	}
 
+	/**
+	 * @brief Clasifica una vez el conjunto de prueba contra el de entrenamiento
+	 * @param valorK Número de vecinos a considerar
+	 * @return Evaluación con las clases reales y predichas de cada fila de prueba
+	 *
+	 * Todas las métricas (aciertos, matriz de confusión, precisión y
+	 * exhaustividad por clase, CSV de resultados) se obtienen de la evaluación
+	 * sin volver a clasificar.
+	 */
+	public Evaluacion evaluar(int valorK) {
+		MatrizCaracteristicas pruebas = new MatrizCaracteristicas(test);
+		return new Evaluacion(clases, reales(pruebas), predecir(pruebas, valorK));
+	}
+
+	/**
+	 * @brief Evalúa el conjunto de prueba con todos los valores de k hasta uno máximo
+	 * @param maximoK Mayor número de vecinos a probar
+	 * @return Array en el que la posición k - 1 es la evaluación con k vecinos
+	 * @throws IllegalArgumentException Si maximoK no es positivo
+	 *
+	 * Hace una sola búsqueda de maximoK vecinos por fila (ver
+	 * KNN.clasificarBarrido()); cada evaluación da las mismas predicciones que
+	 * evaluar(k).
+	 */
+	public Evaluacion[] evaluarBarrido(int maximoK) {
+		if (maximoK <= 0) {
+			throw new IllegalArgumentException("El número de vecinos debe ser positivo");
+		}
+		MatrizCaracteristicas pruebas = new MatrizCaracteristicas(test);
+		String[] reales = reales(pruebas);
+		String[][] predicciones = new String[maximoK][0];
+		if (pruebas.numeroFilas() > 0) {
+			predicciones = new KNN(maximoK).clasificarBarrido(new MatrizCaracteristicas(train), consultas(pruebas));
+		}
+		Evaluacion[] evaluaciones = new Evaluacion[maximoK];
+		for (int k = 1; k <= maximoK; ++k) evaluaciones[k - 1] = new Evaluacion(clases, reales, predicciones[k - 1]);
+		return evaluaciones;
+	}
+
 	/**
 	 * @brief Genera y evalúa predicciones usando KNN
 	 * @param valorK Número de vecinos a considerar
 	 * @param outputPath Ruta para guardar resultados
+	 * @return Evaluación obtenida, reutilizable con generarMatriz(Evaluacion)
 	 */
-	public void generarPrediccion(int valorK, String outputPath) {
-		Dataset pruebas = new Dataset(test);
-		Double aciertos = 0.0;
-		for (int i = 0; i < pruebas.numeroCasos(); ++i) {
-			ArrayList<Object> instance = new ArrayList<>();
-			for (int j = 0; j < pruebas.numeroAtributos()-1; ++j) {
-				instance.add(pruebas.getInstance(i).getValores().get(j));
-			}
-			Instancia nueva = new Instancia(instance);
-			String clase = (new KNN(valorK).clasificar(train, nueva));
-			if (clase.equals(test.getInstance(i).getClase())) aciertos += 1;
-		}
+	public Evaluacion generarPrediccion(int valorK, String outputPath) {
+		Evaluacion evaluacion = evaluar(valorK);
+		generarPrediccion(evaluacion, outputPath);
+		return evaluacion;
+	}
+
+	/**
+	 * @brief Muestra la precisión de una evaluación y exporta sus resultados
+	 * @param evaluacion Evaluación del conjunto de prueba
+	 * @param outputPath Ruta para guardar resultados
+	 */
+	public void generarPrediccion(Evaluacion evaluacion, String outputPath) {
 		Logger logger = LoggerFactory.getLogger(Entrenamiento.class);
 		if (logger.isInfoEnabled()) {
-			double precision = (aciertos / test.numeroCasos()) * 100;
-			logger.info("La precisión predictiva: {} / {} = {}%", aciertos, test.numeroCasos(), precision);
+			logger.info("La precisión predictiva: {} / {} = {}%", evaluacion.getAciertos(), evaluacion.numeroCasos(),
+					evaluacion.porcentajeAciertos());
+			List<String> nombres = evaluacion.getClases();
+			for (int c = 0; c < nombres.size(); ++c) {
+				logger.info("Clase {}: precisión {}, exhaustividad {}, F1 {}", nombres.get(c),
+						evaluacion.precision(c), evaluacion.exhaustividad(c), evaluacion.f1(c));
+			}
 		}
 		try {
-			exportarResultados(outputPath, valorK);
+			exportarResultados(outputPath, evaluacion);
 			logger.info("Resultados exportados exitosamente a {}", outputPath);
 		} catch (IOException e) {
 			logger.error("Error al exportar resultados: {}", e.getMessage());
@@ -120,26 +176,19 @@ public class Entrenamiento {
 	 * @param valorK Número de vecinos a considerar
 	 */
 	public void generarMatriz(int valorK) {
-		Dataset pruebas = new Dataset(test);
-		Matriz confusion = new Matriz(clases.size(), clases.size());
-		for (int i = 0; i < pruebas.numeroCasos(); ++i) {
-			ArrayList<Object> instance = new ArrayList<>();
-			for (int j = 0; j < pruebas.numeroAtributos()-1; ++j) {
-				instance.add(pruebas.getInstance(i).getValores().get(j));
-			}
-			Instancia nueva = new Instancia(instance);
-			String clase = (new KNN(valorK).clasificar(train, nueva));
-			confusion.set(
-					clases.indexOf(test.getInstance(i).getClase()),
-					clases.indexOf(clase),
-					confusion.get(clases.indexOf(test.getInstance(i).getClase()), clases.indexOf(clase))+1
-			);
-		}
+		generarMatriz(evaluar(valorK));
+	}
+
+	/**
+	 * @brief Muestra la matriz de confusión de una evaluación ya hecha
+	 * @param evaluacion Evaluación del conjunto de prueba
+	 */
+	public void generarMatriz(Evaluacion evaluacion) {
 		Logger logger = LoggerFactory.getLogger(Entrenamiento.class);
 		if (logger.isInfoEnabled()) {
-			logger.info(String.valueOf(clases));
+			logger.info(String.valueOf(evaluacion.getClases()));
 		}
-		confusion.print();
+		evaluacion.matrizConfusion().print();
 	}
 
 	/**
@@ -149,12 +198,9 @@ public class Entrenamiento {
 	 * @throws IOException Si ocurre error de escritura
 	 */
 	public void write(String filename1, String filename2) throws IOException {
-		try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename1))) {
-			train.write(filename1);
-		}
-		try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename2))) {
-			test.write(filename2);
-		}
+		EscritorCsv escritor = new EscritorCsv();
+		escritor.escribir(train, filename1);
+		escritor.escribir(test, filename2);
 	}
 
 	/**
@@ -182,54 +228,49 @@ public class Entrenamiento {
 	 * @throws IllegalStateException Si no hay datos de prueba
 	 */
 	public void exportarResultados(String filename, int valorK) throws IOException {
-		if (test == null || test.numeroCasos() == 0) {
-			throw new IllegalStateException("No hay datos de prueba para exportar");
-		}
-
-		try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename))) {
-			writer.write("Instancia,Clase Real,Clase Predicha,Correcto\n");
-
-			for (int i = 0; i < test.numeroCasos(); i++) {
-				Instancia instancia = test.getInstance(i);
-				String claseReal = instancia.getClase();
-
-				ArrayList<Object> valores = new ArrayList<>();
-				for (int j = 0; j < test.numeroAtributos()-1; j++) {
-					valores.add(instancia.getValores().get(j));
-				}
-				Instancia sinClase = new Instancia(valores);
-
-				String clasePredicha = new KNN(valorK).clasificar(train, sinClase);
-				boolean correcto = claseReal.equals(clasePredicha);
+		comprobarPruebas();
+		evaluar(valorK).exportar(filename);
+	}
 
-				writer.write(String.format("%d,%s,%s,%b%n",
-						i, claseReal, clasePredicha, correcto));
-			}
+	/**
+	 * @brief Exporta los resultados de una evaluación ya hecha a archivo CSV
+	 * @param filename Ruta del archivo de salida
+	 * @param evaluacion Evaluación del conjunto de prueba
+	 * @throws IOException Si ocurre error de escritura
+	 * @throws IllegalStateException Si no hay datos de prueba
+	 */
+	public void exportarResultados(String filename, Evaluacion evaluacion) throws IOException {
+		comprobarPruebas();
+		evaluacion.exportar(filename);
+	}
 
-			double precision = calcularPrecision(valorK);
-			writer.write("\nPrecision Global," + precision + "%");
+	private void comprobarPruebas() {
+		if (test == null || test.numeroCasos() == 0) {
+			throw new IllegalStateException("No hay datos de prueba para exportar");
 		}
 	}
 
 	/**
-	 * @brief Calcula la precisión del clasificador
-	 * @param valorK Número de vecinos usados
-	 * @return Precisión en porcentaje
+	 * @brief Clasifica todas las filas de prueba en un único lote
+	 * @param pruebas Matriz compilada del conjunto de prueba
+	 * @param valorK Número de vecinos a considerar
+	 * @return Clase predicha para cada fila de prueba
 	 */
-	private double calcularPrecision(int valorK) {
-		int aciertos = 0;
-		for (int i = 0; i < test.numeroCasos(); i++) {
-			Instancia instancia = test.getInstance(i);
-			ArrayList<Object> valores = new ArrayList<>();
-			for (int j = 0; j < test.numeroAtributos()-1; j++) {
-				valores.add(instancia.getValores().get(j));
-			}
-			String clasePredicha = new KNN(valorK).clasificar(train, new Instancia(valores));
-			if (instancia.getClase().equals(clasePredicha)) {
-				aciertos++;
-			}
-		}
-		return (aciertos * 100.0) / test.numeroCasos();
+	private String[] predecir(MatrizCaracteristicas pruebas, int valorK) {
+		if (pruebas.numeroFilas() == 0) return new String[0];
+		return new KNN(valorK).clasificarLote(new MatrizCaracteristicas(train), consultas(pruebas));
+	}
+
+	private static double[][] consultas(MatrizCaracteristicas pruebas) {
+		double[][] consultas = new double[pruebas.numeroFilas()][];
+		for (int i = 0; i < consultas.length; ++i) consultas[i] = pruebas.getFila(i);
+		return consultas;
+	}
+
+	private static String[] reales(MatrizCaracteristicas pruebas) {
+		String[] reales = new String[pruebas.numeroFilas()];
+		for (int i = 0; i < reales.length; ++i) reales[i] = pruebas.getClase(i);
+		return reales;
 	}
 
 	/**
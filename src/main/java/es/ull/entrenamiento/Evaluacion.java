@@ -0,0 +1,193 @@
+package entrenamiento;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import vectores.Matriz;
+
+/**
+ * @brief Resultado de clasificar un conjunto de prueba
+ *
+ * Guarda la clase real y la predicha de cada caso, obtenidas con una sola
+ * clasificación, y deriva de ellas sin volver a clasificar el porcentaje de
+ * aciertos, la matriz de confusión, la precisión, exhaustividad y F1 de cada
+ * clase, y el CSV de resultados.
+ */
+public class Evaluacion {
+	private final List<String> clases;
+	private final String[] reales;
+	private final String[] predichas;
+	private final int[][] confusion;
+	private final int aciertos;
+
+	/**
+	 * @brief Constructor a partir de las clases reales y predichas
+	 * @param clases Clases en el orden de filas y columnas de la matriz de confusión
+	 *        (las que aparezcan en los resultados y no estén se añaden al final)
+	 * @param reales Clase real de cada caso
+	 * @param predichas Clase predicha de cada caso
+	 * @throws IllegalArgumentException Si los dos arrays no tienen la misma longitud
+	 */
+	public Evaluacion(List<String> clases, String[] reales, String[] predichas) {
+		if (reales.length != predichas.length) {
+			throw new IllegalArgumentException(
+					String.format("Tamaños no coinciden (reales: %d, predichas: %d)", reales.length, predichas.length));
+		}
+		this.reales = reales.clone();
+		this.predichas = predichas.clone();
+		List<String> todas = new ArrayList<>(clases);
+		Map<String, Integer> posiciones = new HashMap<>();
+		for (int c = 0; c < todas.size(); ++c) posiciones.putIfAbsent(todas.get(c), c);
+		int[] fila = new int[reales.length];
+		int[] columna = new int[reales.length];
+		int correctas = 0;
+		for (int i = 0; i < reales.length; ++i) {
+			fila[i] = posicion(reales[i], todas, posiciones);
+			columna[i] = posicion(predichas[i], todas, posiciones);
+			if (reales[i].equals(predichas[i])) correctas++;
+		}
+		this.clases = Collections.unmodifiableList(todas);
+		this.confusion = new int[todas.size()][todas.size()];
+		for (int i = 0; i < reales.length; ++i) confusion[fila[i]][columna[i]]++;
+		this.aciertos = correctas;
+	}
+
+	private static int posicion(String clase, List<String> todas, Map<String, Integer> posiciones) {
+		Integer posicion = posiciones.get(clase);
+		if (posicion == null) {
+			posicion = todas.size();
+			todas.add(clase);
+			posiciones.put(clase, posicion);
+		}
+		return posicion;
+	}
+
+	/**
+	 * @brief Obtiene el número de casos evaluados
+	 * @return Número de filas de prueba
+	 */
+	public int numeroCasos() {
+		return reales.length;
+	}
+
+	/**
+	 * @brief Obtiene las clases en el orden de la matriz de confusión
+	 * @return Lista inmodificable
+	 */
+	public List<String> getClases() {
+		return clases;
+	}
+
+	/**
+	 * @brief Obtiene la clase real de un caso
+	 * @param i Índice del caso
+	 * @return Clase real
+	 */
+	public String getReal(int i) {
+		return reales[i];
+	}
+
+	/**
+	 * @brief Obtiene la clase predicha para un caso
+	 * @param i Índice del caso
+	 * @return Clase predicha
+	 */
+	public String getPrediccion(int i) {
+		return predichas[i];
+	}
+
+	/**
+	 * @brief Obtiene el número de casos bien clasificados
+	 * @return Número de aciertos
+	 */
+	public int getAciertos() {
+		return aciertos;
+	}
+
+	/**
+	 * @brief Calcula el porcentaje de aciertos (precisión global)
+	 * @return Aciertos entre casos por 100 (NaN si no hay casos)
+	 */
+	public double porcentajeAciertos() {
+		return (aciertos * 100.0) / reales.length;
+	}
+
+	/**
+	 * @brief Obtiene una celda de la matriz de confusión
+	 * @param real Índice de la clase real en getClases()
+	 * @param predicha Índice de la clase predicha en getClases()
+	 * @return Número de casos de la clase real clasificados como la predicha
+	 */
+	public int getConfusion(int real, int predicha) {
+		return confusion[real][predicha];
+	}
+
+	/**
+	 * @brief Construye la matriz de confusión
+	 * @return Matriz con las clases reales por filas y las predichas por columnas
+	 */
+	public Matriz matrizConfusion() {
+		Matriz matriz = new Matriz(clases.size(), clases.size());
+		for (int r = 0; r < clases.size(); ++r) {
+			for (int p = 0; p < clases.size(); ++p) matriz.set(r, p, confusion[r][p]);
+		}
+		return matriz;
+	}
+
+	/**
+	 * @brief Calcula la precisión de una clase
+	 * @param clase Índice de la clase en getClases()
+	 * @return Aciertos de la clase entre casos predichos como ella (0 si no se predice nunca)
+	 */
+	public double precision(int clase) {
+		int predichos = 0;
+		for (int r = 0; r < clases.size(); ++r) predichos += confusion[r][clase];
+		return predichos == 0 ? 0.0 : (double) confusion[clase][clase] / predichos;
+	}
+
+	/**
+	 * @brief Calcula la exhaustividad (recall) de una clase
+	 * @param clase Índice de la clase en getClases()
+	 * @return Aciertos de la clase entre sus casos reales (0 si no tiene casos)
+	 */
+	public double exhaustividad(int clase) {
+		int casos = 0;
+		for (int p = 0; p < clases.size(); ++p) casos += confusion[clase][p];
+		return casos == 0 ? 0.0 : (double) confusion[clase][clase] / casos;
+	}
+
+	/**
+	 * @brief Calcula la medida F1 de una clase
+	 * @param clase Índice de la clase en getClases()
+	 * @return Media armónica de precisión y exhaustividad (0 si ambas son 0)
+	 */
+	public double f1(int clase) {
+		double precision = precision(clase);
+		double exhaustividad = exhaustividad(clase);
+		return precision + exhaustividad == 0 ? 0.0 : 2 * precision * exhaustividad / (precision + exhaustividad);
+	}
+
+	/**
+	 * @brief Escribe el CSV de resultados por caso
+	 * @param filename Ruta del archivo de salida
+	 * @throws IOException Si ocurre error de escritura
+	 *
+	 * Una línea por caso (índice, clase real, clase predicha y si coinciden)
+	 * y al final la precisión global en porcentaje.
+	 */
+	public void exportar(String filename) throws IOException {
+		try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename))) {
+			writer.write("Instancia,Clase Real,Clase Predicha,Correcto\n");
+			for (int i = 0; i < reales.length; i++) {
+				writer.write(String.format("%d,%s,%s,%b%n", i, reales[i], predichas[i], reales[i].equals(predichas[i])));
+			}
+			writer.write("\nPrecision Global," + porcentajeAciertos() + "%");
+		}
+	}
+}
@@ -0,0 +1,159 @@
+package entrenamiento;
+
+import java.util.Random;
+
+/**
+ * @brief División de las filas de un dataset en entrenamiento y prueba
+ *
+ * Guarda los índices de fila de cada conjunto. Las divisiones aleatorias se
+ * obtienen con el algoritmo de Fisher–Yates a partir de una semilla, en O(n)
+ * y sin comprobar si una fila ya se ha elegido: la misma semilla da siempre
+ * la misma división. Las filas de entrenamiento quedan en el orden en que se
+ * sortean y las de prueba en el orden del dataset.
+ */
+public final class Particion {
+	private final int[] entrenamiento;
+	private final int[] prueba;
+
+	private Particion(int[] entrenamiento, int[] prueba) {
+		this.entrenamiento = entrenamiento;
+		this.prueba = prueba;
+	}
+
+	/**
+	 * @brief Divide las filas al azar
+	 * @param filas Número de filas del dataset
+	 * @param porcentaje Fracción para entrenamiento (0-1)
+	 * @param semilla Semilla para reproducibilidad
+	 * @return División con ceil(filas * porcentaje) filas de entrenamiento
+	 * @throws IllegalArgumentException Si filas es negativo o el porcentaje no está en [0, 1]
+	 */
+	public static Particion aleatoria(int filas, double porcentaje, int semilla) {
+		comprobar(filas, porcentaje);
+		int tamano = (int) Math.ceil(filas * porcentaje);
+		int[] orden = identidad(filas);
+		@SuppressWarnings("squid:S2245")
+		Random random = new Random(semilla);
+		// Basta con sortear las primeras posiciones
+		for (int i = 0; i < tamano; ++i) intercambiar(orden, i, i + random.nextInt(filas - i));
+		boolean[] elegidas = new boolean[filas];
+		int[] entrenamiento = new int[tamano];
+		for (int i = 0; i < tamano; ++i) {
+			entrenamiento[i] = orden[i];
+			elegidas[orden[i]] = true;
+		}
+		return new Particion(entrenamiento, resto(elegidas, filas - tamano));
+	}
+
+	/**
+	 * @brief Divide las filas al azar manteniendo la proporción de cada clase
+	 * @param etiquetas Código de clase de cada fila (no negativo)
+	 * @param porcentaje Fracción para entrenamiento (0-1)
+	 * @param semilla Semilla para reproducibilidad
+	 * @return División con ceil(filas * porcentaje) filas de entrenamiento
+	 * @throws IllegalArgumentException Si el porcentaje no está en [0, 1]
+	 *
+	 * Cada clase aporta a entrenamiento el suelo de su tamaño por el porcentaje;
+	 * las filas que faltan hasta el total se asignan a las clases con mayor
+	 * parte decimal (a igualdad, la de menor código).
+	 */
+	public static Particion estratificada(int[] etiquetas, double porcentaje, int semilla) {
+		int filas = etiquetas.length;
+		comprobar(filas, porcentaje);
+		int tamano = (int) Math.ceil(filas * porcentaje);
+		int clases = 0;
+		for (int etiqueta : etiquetas) clases = Math.max(clases, etiqueta + 1);
+		int[] porClase = new int[clases];
+		for (int etiqueta : etiquetas) porClase[etiqueta]++;
+
+		int[] cupos = new int[clases];
+		double[] decimales = new double[clases];
+		int asignadas = 0;
+		for (int c = 0; c < clases; ++c) {
+			double exacto = porClase[c] * porcentaje;
+			cupos[c] = Math.min(porClase[c], (int) exacto);
+			decimales[c] = exacto - cupos[c];
+			asignadas += cupos[c];
+		}
+		for (; asignadas < tamano; ++asignadas) {
+			int mejor = -1;
+			for (int c = 0; c < clases; ++c) {
+				if (cupos[c] < porClase[c] && (mejor < 0 || decimales[c] > decimales[mejor])) mejor = c;
+			}
+			cupos[mejor]++;
+			decimales[mejor] = -1.0;
+		}
+
+		int[] orden = permutacion(filas, semilla);
+		boolean[] elegidas = new boolean[filas];
+		int[] entrenamiento = new int[tamano];
+		int n = 0;
+		for (int fila : orden) {
+			if (cupos[etiquetas[fila]] > 0) {
+				cupos[etiquetas[fila]]--;
+				entrenamiento[n++] = fila;
+				elegidas[fila] = true;
+			}
+		}
+		return new Particion(entrenamiento, resto(elegidas, filas - tamano));
+	}
+
+	/**
+	 * @brief Genera una permutación aleatoria de las filas (Fisher–Yates)
+	 * @param filas Número de filas
+	 * @param semilla Semilla para reproducibilidad
+	 * @return Índices 0..filas-1 en orden aleatorio
+	 */
+	static int[] permutacion(int filas, int semilla) {
+		int[] orden = identidad(filas);
+		@SuppressWarnings("squid:S2245")
+		Random random = new Random(semilla);
+		for (int i = filas - 1; i > 0; --i) intercambiar(orden, i, random.nextInt(i + 1));
+		return orden;
+	}
+
+	/**
+	 * @brief Obtiene las filas de entrenamiento
+	 * @return Copia de los índices de fila, en el orden sorteado
+	 */
+	public int[] getEntrenamiento() {
+		return entrenamiento.clone();
+	}
+
+	/**
+	 * @brief Obtiene las filas de prueba
+	 * @return Copia de los índices de fila, en el orden del dataset
+	 */
+	public int[] getPrueba() {
+		return prueba.clone();
+	}
+
+	private static void comprobar(int filas, double porcentaje) {
+		if (filas < 0) {
+			throw new IllegalArgumentException("El número de filas no puede ser negativo: " + filas);
+		}
+		if (!(porcentaje >= 0.0 && porcentaje <= 1.0)) {
+			throw new IllegalArgumentException("El porcentaje debe estar entre 0 y 1: " + porcentaje);
+		}
+	}
+
+	private static int[] identidad(int filas) {
+		int[] orden = new int[filas];
+		for (int i = 0; i < filas; ++i) orden[i] = i;
+		return orden;
+	}
+
+	private static void intercambiar(int[] orden, int i, int j) {
+		int aux = orden[i];
+		orden[i] = orden[j];
+		orden[j] = aux;
+	}
+
+	private static int[] resto(boolean[] elegidas, int tamano) {
+		int[] resto = new int[tamano];
+		for (int i = 0, n = 0; i < elegidas.length; ++i) {
+			if (!elegidas[i]) resto[n++] = i;
+		}
+		return resto;
+	}
+}
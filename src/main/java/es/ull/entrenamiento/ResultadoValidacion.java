@@ -0,0 +1,61 @@
+package entrenamiento;
+
+import datos.ColumnaNumerica;
+import datos.Estadisticas;
+
+/**
+ * @brief Resultado de una validación cruzada
+ *
+ * Reúne la evaluación de cada pliegue y la evaluación conjunta de todas las
+ * predicciones fuera de pliegue, en la que cada fila del dataset aparece una
+ * vez con la clase predicha cuando su pliegue era el de prueba.
+ */
+public class ResultadoValidacion {
+	private final Evaluacion[] pliegues;
+	private final Evaluacion total;
+
+	/**
+	 * @brief Constructor
+	 * @param pliegues Evaluación de cada pliegue
+	 * @param total Evaluación de todas las filas, en el orden del dataset
+	 */
+	ResultadoValidacion(Evaluacion[] pliegues, Evaluacion total) {
+		this.pliegues = pliegues.clone();
+		this.total = total;
+	}
+
+	/**
+	 * @brief Obtiene el número de pliegues
+	 * @return Número de evaluaciones por pliegue
+	 */
+	public int numeroPliegues() {
+		return pliegues.length;
+	}
+
+	/**
+	 * @brief Obtiene la evaluación de un pliegue
+	 * @param pliegue Índice del pliegue
+	 * @return Evaluación de las filas de ese pliegue
+	 */
+	public Evaluacion getPliegue(int pliegue) {
+		return pliegues[pliegue];
+	}
+
+	/**
+	 * @brief Obtiene la evaluación conjunta de todos los pliegues
+	 * @return Evaluación con una predicción por fila del dataset
+	 */
+	public Evaluacion getTotal() {
+		return total;
+	}
+
+	/**
+	 * @brief Resume el porcentaje de aciertos de los pliegues
+	 * @return Estadísticas (media, desviación, mínimo y máximo) de los porcentajes por pliegue
+	 */
+	public Estadisticas estadisticasPorcentaje() {
+		ColumnaNumerica porcentajes = new ColumnaNumerica(pliegues.length);
+		for (Evaluacion pliegue : pliegues) porcentajes.add(pliegue.porcentajeAciertos());
+		return porcentajes.estadisticas();
+	}
+}
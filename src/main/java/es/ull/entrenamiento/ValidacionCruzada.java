@@ -0,0 +1,201 @@
+package entrenamiento;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import clasificacion.KNN;
+import clasificacion.MatrizCaracteristicas;
+import datos.Dataset;
+
+/**
+ * @brief Validación cruzada en k pliegues, simple o estratificada
+ *
+ * Reparte las filas del dataset en pliegues y evalúa cada pliegue usando como
+ * entrenamiento todas las demás filas. Los pliegues son índices de fila: el
+ * dataset se compila una vez en una MatrizCaracteristicas con las filas de
+ * cada pliegue contiguas, y cada pliegue se evalúa buscando vecinos en toda
+ * la matriz salvo su propio tramo, sin crear datasets de entrenamiento ni de
+ * prueba. Los pliegues se evalúan a la vez en un ExecutorService configurable.
+ */
+public class ValidacionCruzada {
+	private final MatrizCaracteristicas matriz;
+	private final int[] orden;
+	private final int[] limites;
+	private ExecutorService ejecutor = ForkJoinPool.commonPool();
+
+	/**
+	 * @brief Constructor con pliegues consecutivos en el orden del dataset
+	 * @param datos Dataset completo (el último atributo es la clase)
+	 * @param pliegues Número de pliegues
+	 * @throws IllegalArgumentException Si hay menos de 2 pliegues o más pliegues que filas
+	 */
+	public ValidacionCruzada(Dataset datos, int pliegues) {
+		this(datos, pliegues, null, false);
+	}
+
+	/**
+	 * @brief Constructor con las filas barajadas antes de repartirlas
+	 * @param datos Dataset completo (el último atributo es la clase)
+	 * @param pliegues Número de pliegues
+	 * @param semilla Semilla para reproducibilidad
+	 * @throws IllegalArgumentException Si hay menos de 2 pliegues o más pliegues que filas
+	 */
+	public ValidacionCruzada(Dataset datos, int pliegues, int semilla) {
+		this(datos, pliegues, semilla, false);
+	}
+
+	/**
+	 * @brief Constructor con las filas barajadas y, opcionalmente, pliegues estratificados
+	 * @param datos Dataset completo (el último atributo es la clase)
+	 * @param pliegues Número de pliegues
+	 * @param semilla Semilla para reproducibilidad
+	 * @param estratificada Si cada pliegue mantiene la proporción de cada clase
+	 * @throws IllegalArgumentException Si hay menos de 2 pliegues o más pliegues que filas
+	 */
+	public ValidacionCruzada(Dataset datos, int pliegues, int semilla, boolean estratificada) {
+		this(datos, pliegues, Integer.valueOf(semilla), estratificada);
+	}
+
+	private ValidacionCruzada(Dataset datos, int pliegues, Integer semilla, boolean estratificada) {
+		MatrizCaracteristicas completa = new MatrizCaracteristicas(datos);
+		int filas = completa.numeroFilas();
+		if (pliegues < 2 || pliegues > filas) {
+			throw new IllegalArgumentException(
+					String.format("El número de pliegues debe estar entre 2 y %d (filas), es %d", filas, pliegues));
+		}
+		int[] permutacion;
+		if (semilla != null) {
+			permutacion = Particion.permutacion(filas, semilla);
+		} else {
+			permutacion = new int[filas];
+			for (int i = 0; i < filas; ++i) permutacion[i] = i;
+		}
+
+		int[] pliegue = new int[filas];
+		if (estratificada) {
+			// Las filas de cada clase se reparten por turnos, siguiendo la cuenta entre clases
+			int clases = completa.getClases().size();
+			int[] porClase = new int[clases + 1];
+			for (int i = 0; i < filas; ++i) porClase[completa.getEtiqueta(i) + 1]++;
+			for (int c = 0; c < clases; ++c) porClase[c + 1] += porClase[c];
+			int[] turno = new int[filas];
+			int[] siguiente = porClase.clone();
+			for (int fila : permutacion) turno[fila] = siguiente[completa.getEtiqueta(fila)]++;
+			for (int i = 0; i < filas; ++i) pliegue[i] = turno[i] % pliegues;
+		} else {
+			for (int i = 0; i < filas; ++i) pliegue[permutacion[i]] = (int) ((long) i * pliegues / filas);
+		}
+
+		this.limites = new int[pliegues + 1];
+		for (int i = 0; i < filas; ++i) limites[pliegue[i] + 1]++;
+		for (int f = 0; f < pliegues; ++f) limites[f + 1] += limites[f];
+		this.orden = new int[filas];
+		int[] posicion = limites.clone();
+		for (int fila : permutacion) orden[posicion[pliegue[fila]]++] = fila;
+		this.matriz = completa.reordenar(orden);
+	}
+
+	/**
+	 * @brief Cambia el ejecutor en el que se evalúan los pliegues
+	 * @param ejecutor Ejecutor (por defecto, el pool común de fork/join)
+	 */
+	public void setEjecutor(ExecutorService ejecutor) {
+		this.ejecutor = ejecutor;
+	}
+
+	/**
+	 * @brief Obtiene el número de pliegues
+	 * @return Número de pliegues
+	 */
+	public int numeroPliegues() {
+		return limites.length - 1;
+	}
+
+	/**
+	 * @brief Obtiene las filas de un pliegue
+	 * @param pliegue Índice del pliegue
+	 * @return Índices de fila del dataset original que forman el pliegue
+	 */
+	public int[] getPliegue(int pliegue) {
+		int[] filas = new int[limites[pliegue + 1] - limites[pliegue]];
+		System.arraycopy(orden, limites[pliegue], filas, 0, filas.length);
+		return filas;
+	}
+
+	/**
+	 * @brief Evalúa todos los pliegues con un valor de k
+	 * @param valorK Número de vecinos a considerar
+	 * @return Evaluación de cada pliegue y de todas las predicciones juntas
+	 * @throws IllegalArgumentException Si valorK no es positivo
+	 * @throws IllegalStateException Si la evaluación se interrumpe
+	 */
+	public ResultadoValidacion evaluar(int valorK) {
+		if (valorK <= 0) {
+			throw new IllegalArgumentException("El número de vecinos debe ser positivo");
+		}
+		KNN knn = new KNN(valorK);
+		List<String> clases = matriz.getClases();
+		String[] reales = new String[orden.length];
+		String[] predichas = new String[orden.length];
+		List<Callable<Evaluacion>> tareas = new ArrayList<>();
+		for (int f = 0; f < numeroPliegues(); ++f) {
+			int desde = limites[f];
+			int hasta = limites[f + 1];
+			tareas.add(() -> {
+				double[][] consultas = new double[hasta - desde][];
+				String[] real = new String[consultas.length];
+				for (int i = 0; i < consultas.length; ++i) {
+					consultas[i] = matriz.getFila(desde + i);
+					real[i] = matriz.getClase(desde + i);
+				}
+				String[] prediccion = knn.clasificarLote(matriz, consultas, desde, hasta);
+				for (int i = 0; i < consultas.length; ++i) {
+					reales[orden[desde + i]] = real[i];
+					predichas[orden[desde + i]] = prediccion[i];
+				}
+				return new Evaluacion(clases, real, prediccion);
+			});
+		}
+
+		Evaluacion[] pliegues = new Evaluacion[tareas.size()];
+		try {
+			List<Future<Evaluacion>> resultados = ejecutor.invokeAll(tareas);
+			for (int f = 0; f < pliegues.length; ++f) pliegues[f] = resultados.get(f).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Validación cruzada interrumpida", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+			if (e.getCause() instanceof Error) throw (Error) e.getCause();
+			throw new IllegalStateException("Error al evaluar un pliegue", e.getCause());
+		}
+		return new ResultadoValidacion(pliegues, new Evaluacion(clases, reales, predichas));
+	}
+
+	/**
+	 * @brief Evalúa un dataset dejando uno fuera: cada fila se clasifica con todas las demás
+	 * @param datos Dataset completo (el último atributo es la clase)
+	 * @param valorK Número de vecinos a considerar
+	 * @return Evaluación con una predicción por fila, en el orden del dataset
+	 * @throws IllegalArgumentException Si valorK no es positivo
+	 * @throws IllegalStateException Si el dataset tiene menos de dos filas
+	 *
+	 * Equivale a n pliegues de una fila, pero en lugar de n búsquedas construye
+	 * una sola vez el grafo de k vecinos de todas las filas (ver GrafoVecinos).
+	 */
+	public static Evaluacion dejarUnoFuera(Dataset datos, int valorK) {
+		if (valorK <= 0) {
+			throw new IllegalArgumentException("El número de vecinos debe ser positivo");
+		}
+		MatrizCaracteristicas matriz = new MatrizCaracteristicas(datos);
+		String[] predichas = new KNN(valorK).clasificarDejandoUno(matriz);
+		String[] reales = new String[matriz.numeroFilas()];
+		for (int i = 0; i < reales.length; ++i) reales[i] = matriz.getClase(i);
+		return new Evaluacion(matriz.getClases(), reales, predichas);
+	}
+}
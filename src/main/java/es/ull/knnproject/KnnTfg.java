@@ -1,8 +1,6 @@
 package knnproject;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -230,18 +228,14 @@ public class KnnTfg  {
 			throw new IOException("El archivo está vacío");
 		}
 
-		try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-			// Verificar que tenga contenido válido
-			String firstLine = reader.readLine();
-			if (firstLine == null || firstLine.trim().isEmpty()) {
-				throw new IOException("El archivo no contiene datos válidos");
-			}
-
-			Dataset datosCrudos = new Dataset(filePath);
-			Dataset datos = new Dataset(filePath);
-			datos = preprocesar(datos);
-			return new Dataset[]{datosCrudos, datos};
+		// Una sola lectura: el preprocesado trabaja sobre una copia en memoria
+		Dataset datosCrudos = ArchivoColumnar.esColumnar(filePath) ? ArchivoColumnar.leer(filePath)
+				: new LectorCsv().leer(filePath);
+		if (datosCrudos.numeroAtributos() == 0) {
+			throw new IOException("El archivo no contiene datos válidos");
 		}
+		Dataset datos = preprocesar(datosCrudos.copiar());
+		return new Dataset[]{datosCrudos, datos};
 	}
 
 	/**
@@ -249,10 +243,14 @@ public class KnnTfg  {
 	 * @param datos Dataset a guardar
 	 * @param ruta Directorio de destino
 	 * @throws IOException Si hay errores de escritura
+	 *
+	 * Si el nombre termina en ArchivoColumnar.EXTENSION se guarda en formato
+	 * binario por columnas; en otro caso, en CSV.
 	 */
 	private static void guardarDataset(Dataset datos, String ruta) throws IOException {
 		String archivo = readFile(ruta);
-		datos.write(ruta + archivo);
+		if (archivo.endsWith(ArchivoColumnar.EXTENSION)) ArchivoColumnar.escribir(datos, ruta + archivo);
+		else datos.write(ruta + archivo);
 	}
 
 	/**
@@ -260,6 +258,10 @@ public class KnnTfg  {
 	 * @param datosCrudos Dataset sin procesar
 	 * @param datos Dataset preprocesado
 	 * @param scanner Scanner para entrada de usuario
+	 *
+	 * La consulta se preprocesa con los parámetros (mínimo y rango, o media y
+	 * desviación) ajustados sobre los datos crudos, los mismos con los que se
+	 * obtuvo datos, y se clasifica directamente contra datos.
 	 */
 	static void ejecutarKNN(Dataset datosCrudos, Dataset datos, Scanner scanner) {
 		if (datosCrudos.numeroCasos() == 0) {
@@ -273,25 +275,15 @@ public class KnnTfg  {
 		logger.info(MENSAJE_INTRODUCIR_VALORES);
 		Scanner scanner1 = new Scanner(System.in);
 		String valoresString = scanner1.nextLine();
-		String[] subcadenas = valoresString.split(",");
-		ArrayList<String> arrayList = new ArrayList<>(Arrays.asList(subcadenas));
-		Instancia instance = new Instancia(valoresString);
-
-		Dataset copiaCrudos = new Dataset(datosCrudos.copiar());
-		if (datos.getPreprocesado() != 1) {
-			arrayList.add("clase");
-			copiaCrudos.add(arrayList);
-			Preprocesado intento1 = new Normalizacion();
-			if (datos.getPreprocesado() == 2) intento1 = new Normalizacion();
-			if (datos.getPreprocesado() == 3) intento1 = new Estandarizacion();
-			copiaCrudos = new Dataset(intento1.procesar(copiaCrudos));
-			instance = copiaCrudos.getInstance(copiaCrudos.numeroCasos() - 1);
-			copiaCrudos.delete(copiaCrudos.numeroCasos() - 1);
-			instance.deleteClase();
-		}
+
+		Preprocesado preprocesado = new Normalizacion();
+		if (datos.getPreprocesado() == 1) preprocesado = new DatosCrudos();
+		if (datos.getPreprocesado() == 3) preprocesado = new Estandarizacion();
+		Instancia instance = preprocesado.ajustar(datosCrudos).transformar(new Instancia(valoresString));
+		instance.getValores().add("clase");
 
 		if (logger.isInfoEnabled()) {
-			logger.info("La clase elegida es: {}", intento.clasificar(copiaCrudos, instance));
+			logger.info("La clase elegida es: {}", intento.clasificar(datos, instance));
 		}
 	}
 
@@ -1104,12 +1096,15 @@ public class KnnTfg  {
 		int opcion = 1;
 		Scanner scanner = new Scanner(System.in);
 		Entrenamiento nuevo = new Entrenamiento();
-		while (opcion != 5) {
+		while (opcion != 8) {
 			logger.info("               [1] Generacion experimentación normal");
 			logger.info("               [2] Generacion experimentación aleatoria");
 			logger.info("               [3] Guardar Dataset ");
 			logger.info("               [4] Cargar Dataset ");
-			logger.info("               [5] Salir");
+			logger.info("               [5] Barrido de valores de k");
+			logger.info("               [6] Validación cruzada");
+			logger.info("               [7] Validación dejando uno fuera");
+			logger.info("               [8] Salir");
 			opcion = scanner.nextInt();
 			switch(opcion) {
 			case(1):
@@ -1120,8 +1115,7 @@ public class KnnTfg  {
 				nuevo = new Entrenamiento(datos, (double)valor/100);
 				logger.info(MENSAJE_INTRODUCIR_K);
 				int k = scanner.nextInt();
-				nuevo.generarPrediccion(k, MENSAJE_RESULTADOS_TXT);
-				nuevo.generarMatriz(k);
+				nuevo.generarMatriz(nuevo.generarPrediccion(k, MENSAJE_RESULTADOS_TXT));
 				break;
 			case(2):
 				nuevo = experimentacionAleatoria(datos);
@@ -1145,8 +1139,29 @@ public class KnnTfg  {
 				nuevo.read(archivo1, archivo2);
 				logger.info(MENSAJE_INTRODUCIR_K);
 				k = scanner.nextInt();
-				nuevo.generarPrediccion(k, MENSAJE_RESULTADOS_TXT);
-				nuevo.generarMatriz(k);
+				nuevo.generarMatriz(nuevo.generarPrediccion(k, MENSAJE_RESULTADOS_TXT));
+				break;
+			case(5):
+				scanner1 = new Scanner(System.in);
+				logger.info(MENSAJE_CONJUNTO_ENTRENAMIENTO);
+				valor = scanner1.nextInt();
+				nuevo = new Entrenamiento(datos, (double)valor/100);
+				logger.info("Introduzca el valor máximo de k: ");
+				barrerK(nuevo, scanner.nextInt());
+				break;
+			case(6):
+				logger.info("Introduzca el número de pliegues: ");
+				int pliegues = scanner.nextInt();
+				logger.info(MENSAJE_INTRODUCIR_K);
+				validarCruzado(new ValidacionCruzada(datos, pliegues, 1234, true), scanner.nextInt());
+				break;
+			case(7):
+				logger.info(MENSAJE_INTRODUCIR_K);
+				Evaluacion evaluacion = ValidacionCruzada.dejarUnoFuera(datos, scanner.nextInt());
+				if (logger.isInfoEnabled()) {
+					logger.info("Aciertos: {}%", evaluacion.porcentajeAciertos());
+				}
+				nuevo.generarMatriz(evaluacion);
 				break;
 			default:
 				break;
@@ -1154,6 +1169,50 @@ public class KnnTfg  {
 		}
 	}
 
+	/**
+	 * @brief Evalúa todos los valores de k hasta uno máximo con una sola búsqueda
+	 * @param entrenamiento División en entrenamiento y prueba
+	 * @param maximoK Mayor número de vecinos a probar
+	 *
+	 * Muestra el porcentaje de aciertos de cada k y la matriz de confusión del
+	 * mejor (el menor k en caso de empate).
+	 */
+	static void barrerK(Entrenamiento entrenamiento, int maximoK) {
+		Evaluacion[] evaluaciones = entrenamiento.evaluarBarrido(maximoK);
+		int mejor = 0;
+		for (int k = 1; k <= evaluaciones.length; ++k) {
+			double porcentaje = evaluaciones[k - 1].porcentajeAciertos();
+			logger.info("k = {}: {}%", k, porcentaje);
+			if (porcentaje > evaluaciones[mejor].porcentajeAciertos()) mejor = k - 1;
+		}
+		if (logger.isInfoEnabled()) {
+			logger.info("Mejor k: {} ({}%)", mejor + 1, evaluaciones[mejor].porcentajeAciertos());
+		}
+		entrenamiento.generarMatriz(evaluaciones[mejor]);
+	}
+
+	/**
+	 * @brief Muestra el resultado de una validación cruzada
+	 * @param validacion Pliegues a evaluar
+	 * @param valorK Número de vecinos a considerar
+	 *
+	 * Muestra el porcentaje de aciertos de cada pliegue, su media y desviación,
+	 * y la matriz de confusión de todas las predicciones juntas.
+	 */
+	static void validarCruzado(ValidacionCruzada validacion, int valorK) {
+		ResultadoValidacion resultado = validacion.evaluar(valorK);
+		for (int f = 0; f < resultado.numeroPliegues(); ++f) {
+			double porcentaje = resultado.getPliegue(f).porcentajeAciertos();
+			logger.info("Pliegue {}: {}%", f + 1, porcentaje);
+		}
+		Estadisticas porcentajes = resultado.estadisticasPorcentaje();
+		if (logger.isInfoEnabled()) {
+			logger.info("Media: {}% (desviación {})", porcentajes.getMedia(), porcentajes.getDesviacion());
+			logger.info(String.valueOf(resultado.getTotal().getClases()));
+		}
+		resultado.getTotal().matrizConfusion().print();
+	}
+
 	/**
 	 * @brief Realiza experimentación con división aleatoria del dataset
 	 * @param datos Dataset completo
@@ -1175,8 +1234,7 @@ public class KnnTfg  {
 			nuevo = new Entrenamiento(datos, (double)valor/100, 1234);
 			logger.info(MENSAJE_INTRODUCIR_K);
 			int k = scanner.nextInt();
-			nuevo.generarPrediccion(k, MENSAJE_RESULTADOS_TXT);
-			nuevo.generarMatriz(k);
+			nuevo.generarMatriz(nuevo.generarPrediccion(k, MENSAJE_RESULTADOS_TXT));
 			return nuevo;
 		case(2):
 			valor = 0;
@@ -1189,8 +1247,7 @@ public class KnnTfg  {
 			nuevo = new Entrenamiento(datos, (double)valor/100, valor2);
 			logger.info(MENSAJE_INTRODUCIR_K);
 			k = scanner.nextInt();
-			nuevo.generarPrediccion(k, MENSAJE_RESULTADOS_TXT);
-			nuevo.generarMatriz(k);
+			nuevo.generarMatriz(nuevo.generarPrediccion(k, MENSAJE_RESULTADOS_TXT));
 			return nuevo;
 		default:
 			break;
@@ -0,0 +1,30 @@
+package metricas;
+
+/**
+ * @brief Distancia de Chebyshev (L-infinito) ponderada
+ */
+public class DistanciaChebyshev implements Metrica {
+
+	/**
+	 * @brief Calcula la distancia de Chebyshev ponderada
+	 * @return Mayor diferencia absoluta ponderada
+	 */
+	@Override
+	public double distancia(double[] a, int desdeA, double[] b, int desdeB, double[] pesos, int dimension) {
+		double dist = 0.0;
+		for (int i = 0; i < dimension; ++i) {
+			double diff = Math.abs((a[desdeA + i] - b[desdeB + i]) * pesos[i]);
+			if (diff > dist) dist = diff;
+		}
+		return dist;
+	}
+
+	/**
+	 * @brief El máximo de las diferencias es al menos cualquiera de ellas
+	 * @return Valor absoluto de la diferencia
+	 */
+	@Override
+	public double cotaCoordenada(double diferencia) {
+		return Math.abs(diferencia);
+	}
+}
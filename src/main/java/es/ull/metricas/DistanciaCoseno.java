@@ -0,0 +1,55 @@
+package metricas;
+
+/**
+ * @brief Distancia coseno ponderada (1 - similitud coseno)
+ *
+ * Supone que los dos puntos ya están normalizados con normalizar(), de modo
+ * que la similitud es un único producto escalar ponderado y no hace falta
+ * calcular normas en cada comparación. No cumple la desigualdad triangular,
+ * así que no sirve para ArbolBolas, y no ofrece cota por coordenada.
+ */
+public class DistanciaCoseno implements Metrica {
+
+	/**
+	 * @brief Calcula la distancia coseno entre dos puntos normalizados
+	 * @return Valor entre 0 (misma dirección) y 2 (direcciones opuestas)
+	 */
+	@Override
+	public double distancia(double[] a, int desdeA, double[] b, int desdeB, double[] pesos, int dimension) {
+		double similitud = 0.0;
+		for (int i = 0; i < dimension; ++i) {
+			similitud += a[desdeA + i] * b[desdeB + i] * pesos[i] * pesos[i];
+		}
+		return Math.min(2.0, Math.max(0.0, 1.0 - similitud));
+	}
+
+	/**
+	 * @brief Divide un punto por su norma euclídea ponderada
+	 * @param valores Array que contiene el punto (se modifica)
+	 * @param desde Posición de la primera coordenada
+	 * @param pesos Peso de cada coordenada
+	 * @param dimension Número de coordenadas
+	 *
+	 * Los puntos de norma cero se dejan como están.
+	 */
+	public static void normalizar(double[] valores, int desde, double[] pesos, int dimension) {
+		double norma = 0.0;
+		for (int i = 0; i < dimension; ++i) {
+			double v = valores[desde + i] * pesos[i];
+			norma += v * v;
+		}
+		if (norma == 0.0) return;
+		norma = Math.sqrt(norma);
+		for (int i = 0; i < dimension; ++i) valores[desde + i] /= norma;
+	}
+
+	@Override
+	public boolean cumpleDesigualdadTriangular() {
+		return false;
+	}
+
+	@Override
+	public boolean requiereNormalizacion() {
+		return true;
+	}
+}
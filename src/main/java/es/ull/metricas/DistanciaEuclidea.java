@@ -0,0 +1,30 @@
+package metricas;
+
+import vectores.Nucleos;
+
+/**
+ * @brief Distancia euclídea ponderada
+ *
+ * Cada diferencia se multiplica por el peso de su atributo antes de elevarla
+ * al cuadrado, igual que KNN.getDistanciaEuclidea(Vector, Vector, double[]).
+ */
+public class DistanciaEuclidea implements Metrica {
+
+	/**
+	 * @brief Calcula la distancia euclídea ponderada
+	 * @return Raíz de la suma de diferencias ponderadas al cuadrado
+	 */
+	@Override
+	public double distancia(double[] a, int desdeA, double[] b, int desdeB, double[] pesos, int dimension) {
+		return Math.sqrt(Nucleos.ACTIVOS.euclideaCuadrada(a, desdeA, b, desdeB, pesos, dimension));
+	}
+
+	/**
+	 * @brief Una sola coordenada nunca supera la norma L2
+	 * @return Valor absoluto de la diferencia
+	 */
+	@Override
+	public double cotaCoordenada(double diferencia) {
+		return Math.abs(diferencia);
+	}
+}
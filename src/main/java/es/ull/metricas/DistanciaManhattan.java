@@ -0,0 +1,27 @@
+package metricas;
+
+import vectores.Nucleos;
+
+/**
+ * @brief Distancia Manhattan (L1) ponderada
+ */
+public class DistanciaManhattan implements Metrica {
+
+	/**
+	 * @brief Calcula la distancia Manhattan ponderada
+	 * @return Suma de las diferencias absolutas ponderadas
+	 */
+	@Override
+	public double distancia(double[] a, int desdeA, double[] b, int desdeB, double[] pesos, int dimension) {
+		return Nucleos.ACTIVOS.manhattan(a, desdeA, b, desdeB, pesos, dimension);
+	}
+
+	/**
+	 * @brief La suma de diferencias absolutas es al menos cada uno de sus términos
+	 * @return Valor absoluto de la diferencia
+	 */
+	@Override
+	public double cotaCoordenada(double diferencia) {
+		return Math.abs(diferencia);
+	}
+}
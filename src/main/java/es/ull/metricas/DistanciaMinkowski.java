@@ -0,0 +1,60 @@
+package metricas;
+
+import vectores.Nucleos;
+
+/**
+ * @brief Distancia de Minkowski ponderada de orden p
+ *
+ * Generaliza Manhattan (p = 1), euclídea (p = 2) y Chebyshev (p infinito).
+ * Esos tres órdenes usan su núcleo específico; el resto recorre las
+ * coordenadas con Math.pow. Solo se admite p >= 1, que es cuando la distancia
+ * cumple la desigualdad triangular.
+ */
+public class DistanciaMinkowski implements Metrica {
+	private final double p;
+
+	/**
+	 * @brief Constructor
+	 * @param p Orden de la distancia (>= 1, puede ser infinito)
+	 * @throws IllegalArgumentException Si p es menor que 1 o no es un número
+	 */
+	public DistanciaMinkowski(double p) {
+		if (!(p >= 1.0)) {
+			throw new IllegalArgumentException("El orden de Minkowski debe ser mayor o igual que 1");
+		}
+		this.p = p;
+	}
+
+	/**
+	 * @brief Calcula la distancia de Minkowski ponderada
+	 * @return Raíz p-ésima de la suma de |diferencia ponderada|^p
+	 */
+	@Override
+	public double distancia(double[] a, int desdeA, double[] b, int desdeB, double[] pesos, int dimension) {
+		if (p == 1.0) return Nucleos.ACTIVOS.manhattan(a, desdeA, b, desdeB, pesos, dimension);
+		if (p == 2.0) return Math.sqrt(Nucleos.ACTIVOS.euclideaCuadrada(a, desdeA, b, desdeB, pesos, dimension));
+		if (p == Double.POSITIVE_INFINITY) return CHEBYSHEV.distancia(a, desdeA, b, desdeB, pesos, dimension);
+		double dist = 0.0;
+		for (int i = 0; i < dimension; ++i) {
+			dist += Math.pow(Math.abs((a[desdeA + i] - b[desdeB + i]) * pesos[i]), p);
+		}
+		return Math.pow(dist, 1.0 / p);
+	}
+
+	/**
+	 * @brief Para p >= 1 la norma nunca es menor que una de sus coordenadas
+	 * @return Valor absoluto de la diferencia
+	 */
+	@Override
+	public double cotaCoordenada(double diferencia) {
+		return Math.abs(diferencia);
+	}
+
+	/**
+	 * @brief Obtiene el orden de la distancia
+	 * @return Valor de p
+	 */
+	public double getP() {
+		return p;
+	}
+}
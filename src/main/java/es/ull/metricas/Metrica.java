@@ -0,0 +1,64 @@
+package metricas;
+
+/**
+ * @brief Interfaz para métricas de distancia ponderadas sobre arrays primitivos
+ *
+ * El núcleo trabaja sobre dos arrays con desplazamiento, de modo que puede
+ * comparar una fila de una matriz plana por filas con una consulta (o con otra
+ * fila) sin copiar ni reservar memoria. Se invoca una vez por par de puntos,
+ * nunca por coordenada. Los índices como ArbolBolas solo admiten métricas que
+ * cumplan la desigualdad triangular, y ArbolKD usa cotaCoordenada() para podar.
+ */
+public interface Metrica {
+	/** @brief Distancia euclídea ponderada */
+	public static final Metrica EUCLIDEA = new DistanciaEuclidea();
+
+	/** @brief Distancia Manhattan ponderada */
+	public static final Metrica MANHATTAN = new DistanciaManhattan();
+
+	/** @brief Distancia de Chebyshev ponderada */
+	public static final Metrica CHEBYSHEV = new DistanciaChebyshev();
+
+	/** @brief Distancia coseno ponderada sobre filas normalizadas */
+	public static final Metrica COSENO = new DistanciaCoseno();
+
+	/**
+	 * @brief Calcula la distancia entre dos puntos
+	 * @param a Array que contiene el primer punto
+	 * @param desdeA Posición de la primera coordenada del primer punto
+	 * @param b Array que contiene el segundo punto
+	 * @param desdeB Posición de la primera coordenada del segundo punto
+	 * @param pesos Peso de cada coordenada
+	 * @param dimension Número de coordenadas a comparar
+	 * @return Distancia entre ambos puntos
+	 */
+	public double distancia(double[] a, int desdeA, double[] b, int desdeB, double[] pesos, int dimension);
+
+	/**
+	 * @brief Cota inferior barata de la distancia a partir de una sola coordenada
+	 * @param diferencia Diferencia ponderada entre ambos puntos en una coordenada
+	 * @return Valor que la distancia completa nunca puede bajar (0 si no hay cota útil)
+	 *
+	 * Permite a los índices descartar una rama comparando solo la distancia al
+	 * plano de corte, sin calcular la distancia completa.
+	 */
+	public default double cotaCoordenada(double diferencia) {
+		return 0.0;
+	}
+
+	/**
+	 * @brief Indica si la métrica cumple la desigualdad triangular
+	 * @return true si puede usarse en índices métricos como ArbolBolas
+	 */
+	public default boolean cumpleDesigualdadTriangular() {
+		return true;
+	}
+
+	/**
+	 * @brief Indica si la métrica espera filas y consultas normalizadas
+	 * @return true si deben normalizarse antes (ver MatrizCaracteristicas.normalizada())
+	 */
+	public default boolean requiereNormalizacion() {
+		return false;
+	}
+}
@@ -24,4 +24,13 @@ public class DatosCrudos implements Preprocesado {
 	public List<Atributo> procesar(Dataset datos) {
 		return datos.getAtributos();
 	}
+
+	/**
+	 * @brief Devuelve un modelo que deja los valores igual
+	 * @param datos Dataset del que se toman los tipos de atributo
+	 * @return Modelo identidad
+	 */
+	public ModeloPreprocesado ajustar(Dataset datos) {
+		return new ModeloPreprocesado(datos);
+	}
 }
\ No newline at end of file
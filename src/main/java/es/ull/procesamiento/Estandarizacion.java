@@ -4,6 +4,7 @@ import java.util.List;
 import datos.Atributo;
 import datos.Cuantitativo;
 import datos.Dataset;
+import datos.Estadisticas;
 
 /**
  * @brief Implementación de preprocesamiento para estandarización de datos
@@ -31,17 +32,27 @@ public class Estandarizacion implements Preprocesado {
 	 * 4. Devuelve la lista de atributos modificados
 	 */
 	public List<Atributo> procesar(Dataset datos) {
-		List<Atributo> nuevos = datos.getAtributos();
-		for (int i = 0; i < nuevos.size(); i++) {
-			if (nuevos.get(i) instanceof Cuantitativo) {
-				Cuantitativo atributo = (Cuantitativo) nuevos.get(i);
+		ajustar(datos).aplicar(datos);
+		return datos.getAtributos();
+	}
+
+	/**
+	 * @brief Fija la media y la desviación de cada atributo cuantitativo
+	 * @param datos Dataset de referencia
+	 * @return Modelo que aplica (valor - media) / desviación con los valores de datos,
+	 *         y deja igual los atributos que procesar() no estandarizaría
+	 */
+	public ModeloPreprocesado ajustar(Dataset datos) {
+		ModeloPreprocesado modelo = new ModeloPreprocesado(datos);
+		for (int i = 0; i < datos.numeroAtributos(); i++) {
+			if (datos.get(i) instanceof Cuantitativo) {
+				Estadisticas resumen = ((Cuantitativo) datos.get(i)).estadisticas();
 				// No estandarizar si solo hay un valor o todos iguales
-				if (atributo.size() > 1 && atributo.desviacion() > 0) {
-					atributo.estandarizacion();
-					nuevos.set(i, atributo);
+				if (resumen.getNumero() > 1 && resumen.getDesviacion() > 0) {
+					modelo.transformarCon(i, resumen.getMedia(), resumen.getDesviacion());
 				}
 			}
 		}
-		return nuevos;
+		return modelo;
 	}
 }
\ No newline at end of file
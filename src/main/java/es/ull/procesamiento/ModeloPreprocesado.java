@@ -0,0 +1,129 @@
+package procesamiento;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import datos.ColumnaNumerica;
+import datos.Cuantitativo;
+import datos.Dataset;
+import datos.Instancia;
+
+/**
+ * @brief Preprocesado ajustado a un dataset, aplicable a nuevas instancias
+ *
+ * Lo devuelve Preprocesado.ajustar(). Guarda para cada atributo cuantitativo
+ * un desplazamiento y una escala, de modo que el valor transformado es
+ * (valor - desplazamiento) / escala: el mínimo y el rango en la normalización
+ * min-max, la media y la desviación en la estandarización. Con esos valores
+ * fijados, transformar una consulta cuesta O(d) y no hace falta volver a
+ * preprocesar el dataset con la consulta añadida.
+ */
+public final class ModeloPreprocesado {
+	private final boolean[] numericas;
+	private final double[] desplazamientos;
+	private final double[] escalas;
+
+	/**
+	 * @brief Constructor del modelo identidad sobre los atributos de un dataset
+	 * @param datos Dataset del que se toman los tipos de atributo
+	 *
+	 * Los valores cuantitativos se convierten a double pero no cambian;
+	 * usar transformarCon() para fijar los parámetros de cada columna.
+	 */
+	ModeloPreprocesado(Dataset datos) {
+		int n = datos.numeroAtributos();
+		this.numericas = new boolean[n];
+		this.desplazamientos = new double[n];
+		this.escalas = new double[n];
+		for (int j = 0; j < n; ++j) {
+			numericas[j] = datos.get(j) instanceof Cuantitativo;
+			escalas[j] = 1.0;
+		}
+	}
+
+	/**
+	 * @brief Fija la transformación de una columna
+	 * @param columna Índice de un atributo cuantitativo
+	 * @param desplazamiento Valor que se resta
+	 * @param escala Valor por el que se divide
+	 */
+	void transformarCon(int columna, double desplazamiento, double escala) {
+		desplazamientos[columna] = desplazamiento;
+		escalas[columna] = escala;
+	}
+
+	/**
+	 * @brief Obtiene el número de atributos del modelo
+	 * @return Número de columnas del dataset ajustado
+	 */
+	public int numeroAtributos() {
+		return numericas.length;
+	}
+
+	/**
+	 * @brief Indica si el modelo cambia los valores de una columna
+	 * @param columna Índice del atributo
+	 * @return false para atributos cualitativos o cuantitativos que se dejan igual
+	 */
+	public boolean transforma(int columna) {
+		return numericas[columna] && (desplazamientos[columna] != 0.0 || escalas[columna] != 1.0);
+	}
+
+	/**
+	 * @brief Transforma un valor de una columna
+	 * @param columna Índice de un atributo cuantitativo
+	 * @param valor Valor sin procesar
+	 * @return Valor transformado
+	 */
+	public double transformar(int columna, double valor) {
+		return (valor - desplazamientos[columna]) / escalas[columna];
+	}
+
+	/**
+	 * @brief Transforma una instancia sin modificarla
+	 * @param instancia Valores en el orden de los atributos; puede faltar la clase
+	 * @return Nueva instancia con los valores cuantitativos como Double transformado
+	 *         y el resto sin cambios
+	 * @throws IllegalArgumentException Si tiene más valores que atributos o un valor
+	 *         cuantitativo no es un número
+	 */
+	public Instancia transformar(Instancia instancia) {
+		List<Object> valores = instancia.getValores();
+		if (valores.size() > numericas.length) {
+			throw new IllegalArgumentException(String.format("Se esperaban como mucho %d valores, se recibieron %d",
+					numericas.length, valores.size()));
+		}
+		List<Object> transformados = new ArrayList<>(valores.size());
+		for (int j = 0; j < valores.size(); ++j) {
+			Object valor = valores.get(j);
+			transformados.add(numericas[j] ? (Object) transformar(j, aDouble(valor)) : valor);
+		}
+		return new Instancia(transformados);
+	}
+
+	/**
+	 * @brief Transforma en su sitio los atributos de un dataset
+	 * @param datos Dataset con los mismos tipos de atributo que el ajustado
+	 * @throws IllegalArgumentException Si el número de atributos no coincide
+	 */
+	public void aplicar(Dataset datos) {
+		if (datos.numeroAtributos() != numericas.length) {
+			throw new IllegalArgumentException(String.format("Se esperaban %d atributos, se recibieron %d",
+					numericas.length, datos.numeroAtributos()));
+		}
+		for (int j = 0; j < numericas.length; ++j) {
+			if (!transforma(j)) continue;
+			ColumnaNumerica columna = ((Cuantitativo) datos.get(j)).getColumna();
+			for (int i = 0; i < columna.size(); ++i) columna.set(i, transformar(j, columna.get(i)));
+		}
+	}
+
+	private static double aDouble(Object valor) {
+		if (valor instanceof Number) return ((Number) valor).doubleValue();
+		try {
+			return Double.parseDouble(String.valueOf(valor).trim());
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Valor no numérico para un atributo cuantitativo: " + valor, e);
+		}
+	}
+}
@@ -3,7 +3,6 @@ package procesamiento;
 import java.util.ArrayList;
 import java.util.List;
 import datos.*;
-import vectores.Vector;
 
 /**
  * @brief Implementación de preprocesamiento para normalización min-max de datos
@@ -21,28 +20,34 @@ public class Normalizacion implements Preprocesado {
 	 *
 	 * El método realiza las siguientes operaciones:
 	 * 1. Crea una nueva lista copia de los atributos originales
-	 * 2. Identifica atributos cuantitativos mediante reflexión
-	 * 3. Para cada atributo cuantitativo:
-	 *    - Obtiene sus valores como Vector
-	 *    - Aplica normalización min-max
-	 *    - Actualiza los valores del atributo
+	 * 2. Identifica los atributos cuantitativos y toma su mínimo y máximo del
+	 *    resumen estadístico de cada uno (ajustar())
+	 * 3. Aplica normalización min-max directamente sobre sus columnas
 	 * 4. Devuelve la lista de atributos modificados
 	 *
 	 * @note Solo afecta a atributos de tipo Cuantitativo
 	 * @note Los valores se escalan al rango [0,1] preservando su distribución original
 	 */
 	public List<Atributo> procesar(Dataset datos) {
-		List<Atributo> nuevos = new ArrayList<Atributo>(datos.getAtributos());
-		Cuantitativo ejemplo = new Cuantitativo();
-		for (int i = 0; i < nuevos.size(); i++) {
-			if (nuevos.get(i).getClass() == ejemplo.getClass()) {
-				ejemplo = (Cuantitativo) nuevos.get(i);
-				Vector valores = ejemplo.getValores();
-				valores.normalize();
-				ejemplo.setValores(valores);
-				nuevos.set(i,ejemplo);
+		ajustar(datos).aplicar(datos);
+		return new ArrayList<Atributo>(datos.getAtributos());
+	}
+
+	/**
+	 * @brief Fija el mínimo y el rango de cada atributo cuantitativo
+	 * @param datos Dataset de referencia
+	 * @return Modelo que aplica (valor - min) / (max - min) con los valores de datos
+	 */
+	public ModeloPreprocesado ajustar(Dataset datos) {
+		ModeloPreprocesado modelo = new ModeloPreprocesado(datos);
+		for (int i = 0; i < datos.numeroAtributos(); i++) {
+			if (datos.get(i) instanceof Cuantitativo) {
+				Estadisticas resumen = ((Cuantitativo) datos.get(i)).estadisticas();
+				if (resumen.getNumero() == 0) continue;
+				double minimo = resumen.getMinimo();
+				modelo.transformarCon(i, minimo, resumen.getMaximo() - minimo);
 			}
 		}
-		return nuevos;
+		return modelo;
 	}
 }
\ No newline at end of file
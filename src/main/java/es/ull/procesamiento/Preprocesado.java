@@ -27,4 +27,14 @@ public interface Preprocesado {
 	 * - Otros tratamientos específicos
 	 */
 	public List<Atributo> procesar(Dataset datos);
+
+	/**
+	 * @brief Calcula los parámetros del preprocesado sin modificar el dataset
+	 * @param datos Dataset de referencia (normalmente el de entrenamiento sin procesar)
+	 * @return Modelo que aplica a otros datos la misma transformación que procesar()
+	 *
+	 * Permite preprocesar una consulta nueva con los parámetros del dataset en
+	 * O(d), en lugar de añadirla al dataset y volver a procesarlo entero.
+	 */
+	public ModeloPreprocesado ajustar(Dataset datos);
 }
\ No newline at end of file
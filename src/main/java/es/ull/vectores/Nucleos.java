@@ -0,0 +1,45 @@
+package vectores;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * @brief Selección al arrancar de la implementación de núcleos de distancia
+ *
+ * Usa NucleosSimd si la JVM se ha lanzado con --add-modules jdk.incubator.vector
+ * y la máquina tiene registros vectoriales; en otro caso, NucleosEscalares. La
+ * propiedad de sistema knn.simd=false fuerza la versión escalar.
+ */
+public final class Nucleos {
+	/** @brief Implementación seleccionada para este proceso */
+	public static final NucleosDistancia ACTIVOS = seleccionar();
+
+	private Nucleos() {
+	}
+
+	private static NucleosDistancia seleccionar() {
+		Logger logger = LoggerFactory.getLogger(Nucleos.class);
+		if (!Boolean.parseBoolean(System.getProperty("knn.simd", "true"))
+				|| ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+			return new NucleosEscalares();
+		}
+		try {
+			// Se carga por reflexión para no resolver la Vector API si el módulo no está
+			NucleosDistancia simd = (NucleosDistancia) Class.forName("vectores.NucleosSimd")
+					.getDeclaredConstructor().newInstance();
+			logger.debug("Núcleos de distancia SIMD activados");
+			return simd;
+		} catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+			logger.debug("Núcleos SIMD no disponibles, se usan los escalares: {}", e.getMessage());
+			return new NucleosEscalares();
+		}
+	}
+
+	/**
+	 * @brief Indica si se están usando los núcleos vectoriales
+	 * @return true si ACTIVOS es la implementación SIMD
+	 */
+	public static boolean simd() {
+		return !(ACTIVOS instanceof NucleosEscalares);
+	}
+}
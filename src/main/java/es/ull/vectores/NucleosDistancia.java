@@ -0,0 +1,54 @@
+package vectores;
+
+/**
+ * @brief Núcleos de cálculo de distancias y productos sobre arrays primitivos
+ *
+ * Cada método recorre n posiciones de dos arrays a partir de un desplazamiento,
+ * sin reservar memoria. Hay una implementación escalar (NucleosEscalares) y otra
+ * vectorial basada en la Vector API del JDK (NucleosSimd); Nucleos.ACTIVOS
+ * contiene la que se ha seleccionado al arrancar.
+ */
+public interface NucleosDistancia {
+
+	/**
+	 * @brief Distancia euclídea ponderada al cuadrado
+	 * @param a Primer array
+	 * @param desdeA Desplazamiento en el primer array
+	 * @param b Segundo array
+	 * @param desdeB Desplazamiento en el segundo array
+	 * @param pesos Peso de cada posición (se aplica antes de elevar al cuadrado)
+	 * @param n Número de posiciones
+	 * @return Suma de ((a - b) * peso)²
+	 */
+	public double euclideaCuadrada(double[] a, int desdeA, double[] b, int desdeB, double[] pesos, int n);
+
+	/**
+	 * @brief Distancia Manhattan ponderada
+	 * @return Suma de |(a - b) * peso|
+	 */
+	public double manhattan(double[] a, int desdeA, double[] b, int desdeB, double[] pesos, int n);
+
+	/**
+	 * @brief Producto escalar
+	 * @return Suma de a * b
+	 */
+	public double productoEscalar(double[] a, int desdeA, double[] b, int desdeB, int n);
+
+	/**
+	 * @brief Distancia euclídea ponderada al cuadrado en precisión simple
+	 * @return Suma de ((a - b) * peso)²
+	 */
+	public float euclideaCuadrada(float[] a, int desdeA, float[] b, int desdeB, float[] pesos, int n);
+
+	/**
+	 * @brief Distancia Manhattan ponderada en precisión simple
+	 * @return Suma de |(a - b) * peso|
+	 */
+	public float manhattan(float[] a, int desdeA, float[] b, int desdeB, float[] pesos, int n);
+
+	/**
+	 * @brief Producto escalar en precisión simple
+	 * @return Suma de a * b
+	 */
+	public float productoEscalar(float[] a, int desdeA, float[] b, int desdeB, int n);
+}
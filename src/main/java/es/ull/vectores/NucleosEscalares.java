@@ -0,0 +1,61 @@
+package vectores;
+
+/**
+ * @brief Implementación escalar de los núcleos de distancia
+ *
+ * Se usa cuando la Vector API no está disponible en tiempo de ejecución.
+ */
+public class NucleosEscalares implements NucleosDistancia {
+
+	@Override
+	public double euclideaCuadrada(double[] a, int desdeA, double[] b, int desdeB, double[] pesos, int n) {
+		double dist = 0.0;
+		for (int i = 0; i < n; ++i) {
+			double diff = (a[desdeA + i] - b[desdeB + i]) * pesos[i];
+			dist += diff * diff;
+		}
+		return dist;
+	}
+
+	@Override
+	public double manhattan(double[] a, int desdeA, double[] b, int desdeB, double[] pesos, int n) {
+		double dist = 0.0;
+		for (int i = 0; i < n; ++i) {
+			dist += Math.abs((a[desdeA + i] - b[desdeB + i]) * pesos[i]);
+		}
+		return dist;
+	}
+
+	@Override
+	public double productoEscalar(double[] a, int desdeA, double[] b, int desdeB, int n) {
+		double result = 0.0;
+		for (int i = 0; i < n; ++i) result += a[desdeA + i] * b[desdeB + i];
+		return result;
+	}
+
+	@Override
+	public float euclideaCuadrada(float[] a, int desdeA, float[] b, int desdeB, float[] pesos, int n) {
+		float dist = 0.0f;
+		for (int i = 0; i < n; ++i) {
+			float diff = (a[desdeA + i] - b[desdeB + i]) * pesos[i];
+			dist += diff * diff;
+		}
+		return dist;
+	}
+
+	@Override
+	public float manhattan(float[] a, int desdeA, float[] b, int desdeB, float[] pesos, int n) {
+		float dist = 0.0f;
+		for (int i = 0; i < n; ++i) {
+			dist += Math.abs((a[desdeA + i] - b[desdeB + i]) * pesos[i]);
+		}
+		return dist;
+	}
+
+	@Override
+	public float productoEscalar(float[] a, int desdeA, float[] b, int desdeB, int n) {
+		float result = 0.0f;
+		for (int i = 0; i < n; ++i) result += a[desdeA + i] * b[desdeB + i];
+		return result;
+	}
+}
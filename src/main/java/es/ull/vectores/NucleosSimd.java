@@ -0,0 +1,121 @@
+package vectores;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * @brief Implementación SIMD de los núcleos de distancia con la Vector API del JDK
+ *
+ * Procesa tantas posiciones por iteración como permita el ancho de vector
+ * preferido de la máquina (4 doubles con AVX2, 8 con AVX-512) y termina las
+ * posiciones sobrantes de forma escalar. Solo se carga si el módulo
+ * jdk.incubator.vector está presente (ver Nucleos).
+ */
+public class NucleosSimd implements NucleosDistancia {
+	private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+	private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+
+	/**
+	 * @brief Constructor
+	 * @throws UnsupportedOperationException Si la máquina no tiene registros vectoriales útiles
+	 */
+	public NucleosSimd() {
+		if (DOUBLES.length() < 2) {
+			throw new UnsupportedOperationException("La plataforma no ofrece vectores de más de un double");
+		}
+	}
+
+	@Override
+	public double euclideaCuadrada(double[] a, int desdeA, double[] b, int desdeB, double[] pesos, int n) {
+		DoubleVector acumulado = DoubleVector.zero(DOUBLES);
+		int i = 0;
+		for (int limite = DOUBLES.loopBound(n); i < limite; i += DOUBLES.length()) {
+			DoubleVector diff = DoubleVector.fromArray(DOUBLES, a, desdeA + i)
+					.sub(DoubleVector.fromArray(DOUBLES, b, desdeB + i))
+					.mul(DoubleVector.fromArray(DOUBLES, pesos, i));
+			acumulado = diff.fma(diff, acumulado);
+		}
+		double dist = acumulado.reduceLanes(VectorOperators.ADD);
+		for (; i < n; ++i) {
+			double diff = (a[desdeA + i] - b[desdeB + i]) * pesos[i];
+			dist += diff * diff;
+		}
+		return dist;
+	}
+
+	@Override
+	public double manhattan(double[] a, int desdeA, double[] b, int desdeB, double[] pesos, int n) {
+		DoubleVector acumulado = DoubleVector.zero(DOUBLES);
+		int i = 0;
+		for (int limite = DOUBLES.loopBound(n); i < limite; i += DOUBLES.length()) {
+			DoubleVector diff = DoubleVector.fromArray(DOUBLES, a, desdeA + i)
+					.sub(DoubleVector.fromArray(DOUBLES, b, desdeB + i))
+					.mul(DoubleVector.fromArray(DOUBLES, pesos, i));
+			acumulado = acumulado.add(diff.abs());
+		}
+		double dist = acumulado.reduceLanes(VectorOperators.ADD);
+		for (; i < n; ++i) dist += Math.abs((a[desdeA + i] - b[desdeB + i]) * pesos[i]);
+		return dist;
+	}
+
+	@Override
+	public double productoEscalar(double[] a, int desdeA, double[] b, int desdeB, int n) {
+		DoubleVector acumulado = DoubleVector.zero(DOUBLES);
+		int i = 0;
+		for (int limite = DOUBLES.loopBound(n); i < limite; i += DOUBLES.length()) {
+			acumulado = DoubleVector.fromArray(DOUBLES, a, desdeA + i)
+					.fma(DoubleVector.fromArray(DOUBLES, b, desdeB + i), acumulado);
+		}
+		double result = acumulado.reduceLanes(VectorOperators.ADD);
+		for (; i < n; ++i) result += a[desdeA + i] * b[desdeB + i];
+		return result;
+	}
+
+	@Override
+	public float euclideaCuadrada(float[] a, int desdeA, float[] b, int desdeB, float[] pesos, int n) {
+		FloatVector acumulado = FloatVector.zero(FLOATS);
+		int i = 0;
+		for (int limite = FLOATS.loopBound(n); i < limite; i += FLOATS.length()) {
+			FloatVector diff = FloatVector.fromArray(FLOATS, a, desdeA + i)
+					.sub(FloatVector.fromArray(FLOATS, b, desdeB + i))
+					.mul(FloatVector.fromArray(FLOATS, pesos, i));
+			acumulado = diff.fma(diff, acumulado);
+		}
+		float dist = acumulado.reduceLanes(VectorOperators.ADD);
+		for (; i < n; ++i) {
+			float diff = (a[desdeA + i] - b[desdeB + i]) * pesos[i];
+			dist += diff * diff;
+		}
+		return dist;
+	}
+
+	@Override
+	public float manhattan(float[] a, int desdeA, float[] b, int desdeB, float[] pesos, int n) {
+		FloatVector acumulado = FloatVector.zero(FLOATS);
+		int i = 0;
+		for (int limite = FLOATS.loopBound(n); i < limite; i += FLOATS.length()) {
+			FloatVector diff = FloatVector.fromArray(FLOATS, a, desdeA + i)
+					.sub(FloatVector.fromArray(FLOATS, b, desdeB + i))
+					.mul(FloatVector.fromArray(FLOATS, pesos, i));
+			acumulado = acumulado.add(diff.abs());
+		}
+		float dist = acumulado.reduceLanes(VectorOperators.ADD);
+		for (; i < n; ++i) dist += Math.abs((a[desdeA + i] - b[desdeB + i]) * pesos[i]);
+		return dist;
+	}
+
+	@Override
+	public float productoEscalar(float[] a, int desdeA, float[] b, int desdeB, int n) {
+		FloatVector acumulado = FloatVector.zero(FLOATS);
+		int i = 0;
+		for (int limite = FLOATS.loopBound(n); i < limite; i += FLOATS.length()) {
+			acumulado = FloatVector.fromArray(FLOATS, a, desdeA + i)
+					.fma(FloatVector.fromArray(FLOATS, b, desdeB + i), acumulado);
+		}
+		float result = acumulado.reduceLanes(VectorOperators.ADD);
+		for (; i < n; ++i) result += a[desdeA + i] * b[desdeB + i];
+		return result;
+	}
+}
@@ -0,0 +1,72 @@
+package clasificacion;
+
+import datos.*;
+import metricas.Metrica;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+class ArbolBolasTest {
+
+    /**
+     * @brief Dataset con grupos separados en muchas dimensiones
+     */
+    private static Dataset agrupado(int filas, int columnas, long semilla) {
+        DatosAleatorios.Valores grupos = DatosAleatorios.agrupados(8, columnas, 100.0, semilla);
+        return DatosAleatorios.dataset(filas, columnas, 8, semilla, grupos);
+    }
+
+    @Test
+    void testCoincideConFuerzaBrutaEnTodasLasMetricas() {
+        Dataset datos = agrupado(3000, 30, 11);
+        datos.cambiarPeso(0, 0.5);
+        datos.cambiarPeso(5, 3.0);
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(datos);
+
+        for (Metrica metrica : new Metrica[]{Metrica.EUCLIDEA, Metrica.MANHATTAN, Metrica.CHEBYSHEV}) {
+            ArbolBolas arbol = new ArbolBolas(matriz, metrica);
+            BusquedaExhaustiva exhaustiva = new BusquedaExhaustiva(matriz, metrica);
+            for (int q = 0; q < 40; ++q) {
+                double[] consulta = matriz.getFila(q * 37);
+                consulta[1] += 0.3;
+                Vecinos esperado = exhaustiva.buscar(consulta, 10);
+                Vecinos obtenido = arbol.buscar(consulta, 10);
+                assertArrayEquals(esperado.getIndices(), obtenido.getIndices());
+                assertArrayEquals(esperado.getDistancias(), obtenido.getDistancias(), 1e-9);
+            }
+            assertTrue(arbol.getEvaluaciones() < exhaustiva.getEvaluaciones(),
+                    "El árbol debe evaluar menos distancias que la búsqueda exhaustiva");
+        }
+    }
+
+    @Test
+    void testContadorEvaluaciones() {
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(agrupado(500, 3, 2));
+        ArbolBolas arbol = new ArbolBolas(matriz);
+        assertEquals(0, arbol.getEvaluaciones());
+        arbol.buscar(matriz.getFila(0), 3);
+        assertTrue(arbol.getEvaluaciones() > 0);
+        arbol.reiniciarEvaluaciones();
+        assertEquals(0, arbol.getEvaluaciones());
+    }
+
+    @Test
+    void testRechazaMetricaNoTriangular() {
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(agrupado(50, 3, 2));
+        assertThrows(IllegalArgumentException.class, () -> new ArbolBolas(matriz.normalizada(), Metrica.COSENO));
+    }
+
+    @Test
+    void testFilasRepetidas() {
+        Dataset datos = new Dataset();
+        datos.getAtributos().add(new Cuantitativo("x"));
+        datos.getAtributos().add(new Cualitativo("clase"));
+        for (int i = 0; i < 100; ++i) datos.add(List.of("1.0", "A"));
+        ArbolBolas arbol = new ArbolBolas(new MatrizCaracteristicas(datos));
+
+        Vecinos vecinos = arbol.buscar(new double[]{1.0}, 3);
+        assertArrayEquals(new int[]{0, 1, 2}, vecinos.getIndices());
+        assertEquals("A", new KNN(3).clasificar(arbol, new double[]{1.0}));
+    }
+}
@@ -0,0 +1,109 @@
+package clasificacion;
+
+import datos.*;
+import metricas.DistanciaMinkowski;
+import metricas.Metrica;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.Random;
+
+class ArbolKDTest {
+
+    private static Dataset aleatorio(int filas, int columnas, long semilla) {
+        // Valores enteros para forzar empates y cortes repetidos
+        return DatosAleatorios.dataset(filas, columnas, 2, semilla, DatosAleatorios.enteros(0, 20));
+    }
+
+    @Test
+    void testCoincideConFuerzaBruta() {
+        Dataset datos = aleatorio(2000, 4, 7);
+        datos.cambiarPeso(1, 0.25);
+        datos.cambiarPeso(3, 2.0);
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(datos);
+        ArbolKD arbol = new ArbolKD(matriz);
+        BusquedaExhaustiva exhaustiva = new BusquedaExhaustiva(matriz);
+
+        Random random = new Random(3);
+        for (int q = 0; q < 50; ++q) {
+            double[] consulta = {random.nextDouble() * 20, random.nextDouble() * 20,
+                    random.nextDouble() * 20, random.nextDouble() * 20};
+            for (int k : new int[]{1, 5, 30}) {
+                Vecinos esperado = exhaustiva.buscar(consulta, k);
+                Vecinos obtenido = arbol.buscar(consulta, k);
+                assertArrayEquals(esperado.getIndices(), obtenido.getIndices());
+                assertArrayEquals(esperado.getDistancias(), obtenido.getDistancias(), 1e-12);
+            }
+        }
+        assertTrue(arbol.numeroNodos() > 1);
+    }
+
+    @Test
+    void testOtrasMetricas() {
+        Dataset datos = aleatorio(1500, 3, 12);
+        datos.cambiarPeso(2, 0.5);
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(datos);
+        Random random = new Random(4);
+        for (Metrica metrica : new Metrica[]{Metrica.MANHATTAN, Metrica.CHEBYSHEV, new DistanciaMinkowski(3)}) {
+            ArbolKD arbol = new ArbolKD(matriz, metrica);
+            BusquedaExhaustiva exhaustiva = new BusquedaExhaustiva(matriz, metrica);
+            assertSame(metrica, arbol.getMetrica());
+            for (int q = 0; q < 30; ++q) {
+                double[] consulta = {random.nextDouble() * 20, random.nextDouble() * 20, random.nextDouble() * 20};
+                Vecinos esperado = exhaustiva.buscar(consulta, 7);
+                Vecinos obtenido = arbol.buscar(consulta, 7);
+                assertArrayEquals(esperado.getIndices(), obtenido.getIndices());
+                assertArrayEquals(esperado.getDistancias(), obtenido.getDistancias(), 1e-12);
+            }
+        }
+    }
+
+    @Test
+    void testCosenoNormalizaLaConsulta() throws IOException {
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(new Dataset("iris.csv"));
+        MatrizCaracteristicas normalizada = matriz.normalizada();
+        ArbolKD arbol = new ArbolKD(normalizada, Metrica.COSENO);
+        BusquedaExhaustiva exhaustiva = new BusquedaExhaustiva(normalizada, Metrica.COSENO);
+        KNN knn = new KNN(5, Metrica.COSENO);
+
+        for (int i = 0; i < matriz.numeroFilas(); ++i) {
+            double[] consulta = matriz.getFila(i);
+            for (int c = 0; c < consulta.length; ++c) consulta[c] = consulta[c] * 3 + 1;
+            Vecinos esperado = knn.getVecinos(matriz, consulta);
+            for (Vecinos obtenido : new Vecinos[]{arbol.buscar(consulta, 5), exhaustiva.buscar(consulta, 5)}) {
+                assertArrayEquals(esperado.getIndices(), obtenido.getIndices());
+                assertArrayEquals(esperado.getDistancias(), obtenido.getDistancias(), 1e-12);
+            }
+            assertEquals(knn.clasificar(matriz, consulta), knn.clasificar(arbol, consulta));
+        }
+    }
+
+    @Test
+    void testIris() throws IOException {
+        Dataset iris = new Dataset("iris.csv");
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(iris);
+        ArbolKD arbol = new ArbolKD(matriz);
+        KNN knn = new KNN(3);
+
+        for (int i = 0; i < matriz.numeroFilas(); i += 10) {
+            double[] consulta = matriz.getFila(i);
+            assertEquals(knn.clasificar(matriz, consulta), knn.clasificar(arbol, consulta));
+            assertEquals(0.0, arbol.buscar(consulta, 1).getDistancia(0));
+        }
+    }
+
+    @Test
+    void testKMayorQueFilas() {
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(aleatorio(5, 2, 1));
+        assertEquals(5, new ArbolKD(matriz).buscar(new double[]{0.0, 0.0}, 10).size());
+    }
+
+    @Test
+    void testDatasetVacio() {
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(aleatorio(0, 2, 1));
+        ArbolKD arbol = new ArbolKD(matriz);
+        assertEquals(0, arbol.buscar(new double[]{0.0, 0.0}, 3).size());
+        assertThrows(IllegalStateException.class, () -> new KNN(3).clasificar(arbol, new double[]{0.0, 0.0}));
+    }
+}
@@ -0,0 +1,82 @@
+package clasificacion;
+
+import datos.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+
+class BusquedaPodaParcialTest {
+
+    private static MatrizCaracteristicas aleatoria(int filas, int columnas, long semilla) {
+        // Escalas distintas por columna para que el reordenado tenga efecto
+        return DatosAleatorios.matriz(filas, columnas, 2, semilla, DatosAleatorios.GAUSSIANOS_ESCALADOS);
+    }
+
+    private static void assertMismosVecinos(Vecinos esperados, Vecinos obtenidos) {
+        assertArrayEquals(esperados.getIndices(), obtenidos.getIndices());
+        for (int i = 0; i < esperados.size(); ++i) {
+            assertEquals(esperados.getDistancia(i), obtenidos.getDistancia(i), 1e-9);
+        }
+    }
+
+    @Test
+    void testCoincideConFuerzaBruta() {
+        MatrizCaracteristicas matriz = aleatoria(2000, 40, 4);
+        BusquedaExhaustiva exacta = new BusquedaExhaustiva(matriz);
+        BusquedaPodaParcial ordenada = new BusquedaPodaParcial(matriz);
+        BusquedaPodaParcial original = new BusquedaPodaParcial(matriz, false);
+        for (int q = 0; q < 30; ++q) {
+            double[] consulta = matriz.getFila(q * 61);
+            consulta[3] += 0.5;
+            for (int k : new int[]{1, 5, 50}) {
+                Vecinos esperados = exacta.buscar(consulta, k);
+                assertMismosVecinos(esperados, ordenada.buscar(consulta, k));
+                assertMismosVecinos(esperados, original.buscar(consulta, k));
+            }
+        }
+        assertTrue(ordenada.getAbandonos() > 0);
+    }
+
+    @Test
+    void testOrdenPorContribucion() {
+        MatrizCaracteristicas matriz = aleatoria(1000, 5, 2);
+        // La varianza crece con el índice de columna
+        assertArrayEquals(new int[]{4, 3, 2, 1, 0}, new BusquedaPodaParcial(matriz).getOrden());
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, new BusquedaPodaParcial(matriz, false).getOrden());
+    }
+
+    @Test
+    void testReordenarAbandonaAntes() {
+        MatrizCaracteristicas matriz = aleatoria(3000, 32, 8);
+        BusquedaPodaParcial ordenada = new BusquedaPodaParcial(matriz);
+        BusquedaPodaParcial original = new BusquedaPodaParcial(matriz, false);
+        for (int q = 0; q < 20; ++q) {
+            ordenada.buscar(matriz.getFila(q), 5);
+            original.buscar(matriz.getFila(q), 5);
+        }
+        assertEquals(20 * 3000, ordenada.getEvaluaciones() + ordenada.getAbandonos());
+        assertTrue(ordenada.getEvaluaciones() <= original.getEvaluaciones());
+        ordenada.reiniciarEvaluaciones();
+        assertEquals(0, ordenada.getAbandonos());
+    }
+
+    @Test
+    void testPesosYConsultaCorta() throws IOException {
+        Dataset datos = new Dataset("iris.csv");
+        datos.cambiarPeso(0, 0.0);
+        datos.cambiarPeso(2, 4.0);
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(datos);
+        BusquedaExhaustiva exacta = new BusquedaExhaustiva(matriz);
+        BusquedaPodaParcial poda = new BusquedaPodaParcial(matriz);
+        double[] corta = {5.0, 3.0, 1.5};
+        assertMismosVecinos(exacta.buscar(corta, 7), poda.buscar(corta, 7));
+        assertEquals(matriz.numeroFilas(), poda.buscar(matriz.getFila(0), 1000).size());
+        assertThrows(IllegalArgumentException.class, () -> poda.buscar(corta, 0));
+    }
+
+    @Test
+    void testMatrizVacia() {
+        assertEquals(0, new BusquedaPodaParcial(aleatoria(0, 3, 1)).buscar(new double[]{1, 2, 3}, 4).size());
+    }
+}
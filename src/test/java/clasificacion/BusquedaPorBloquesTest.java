@@ -0,0 +1,79 @@
+package clasificacion;
+
+import datos.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+class BusquedaPorBloquesTest {
+
+    @Test
+    void testCoincideConConsultasIndividuales() {
+        Dataset datos = DatosAleatorios.dataset(20000, 5, 3, 21, DatosAleatorios.enteros(0, 50));
+        datos.cambiarPeso(4, 0.1);
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(datos);
+
+        Random random = new Random(22);
+        double[][] consultas = new double[150][5];
+        for (double[] consulta : consultas) {
+            for (int c = 0; c < 5; ++c) consulta[c] = random.nextDouble() * 50;
+        }
+        KNN knn = new KNN(7);
+        Vecinos[] lote = new BusquedaPorBloques(matriz, new ForkJoinPool(3)).buscar(consultas, 7);
+        String[] clases = knn.clasificarLote(matriz, consultas);
+
+        for (int q = 0; q < consultas.length; ++q) {
+            Vecinos individual = knn.getVecinos(matriz, consultas[q]);
+            assertArrayEquals(individual.getIndices(), lote[q].getIndices());
+            assertArrayEquals(individual.getDistancias(), lote[q].getDistancias(), 1e-12);
+            assertEquals(knn.clasificar(matriz, consultas[q]), clases[q]);
+        }
+    }
+
+    @Test
+    void testIris() throws IOException {
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(new Dataset("iris.csv"));
+        double[][] consultas = new double[matriz.numeroFilas()][];
+        for (int i = 0; i < consultas.length; ++i) consultas[i] = matriz.getFila(i);
+
+        Vecinos[] vecinos = new KNN(200).getVecinosLote(matriz, consultas);
+        assertEquals(matriz.numeroFilas(), vecinos[0].size(), "k se limita al número de filas");
+        assertEquals(0.0, vecinos[10].getDistancia(0));
+    }
+
+    @Test
+    void testSinConsultas() {
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(new Dataset());
+        assertEquals(0, new BusquedaPorBloques(matriz).buscar(new double[0][], 3).length);
+        assertThrows(IllegalArgumentException.class, () -> new BusquedaPorBloques(matriz).buscar(new double[0][], 0));
+    }
+
+    @Test
+    void testExcluirTramo() {
+        MatrizCaracteristicas matriz = DatosAleatorios.matriz(3000, 3, 2, 5, DatosAleatorios.enteros(0, 20));
+        int desde = 1000;
+        int hasta = 1800;
+        int[] restantes = new int[matriz.numeroFilas() - (hasta - desde)];
+        for (int i = 0, n = 0; i < matriz.numeroFilas(); ++i) {
+            if (i < desde || i >= hasta) restantes[n++] = i;
+        }
+        MatrizCaracteristicas sinTramo = matriz.reordenar(restantes);
+
+        double[][] consultas = new double[50][];
+        for (int q = 0; q < consultas.length; ++q) consultas[q] = matriz.getFila(desde + q);
+        BusquedaPorBloques busqueda = new BusquedaPorBloques(matriz, new ForkJoinPool(2));
+        Vecinos[] excluidos = busqueda.buscar(consultas, 5, desde, hasta);
+        Vecinos[] esperados = new BusquedaPorBloques(sinTramo).buscar(consultas, 5);
+        for (int q = 0; q < consultas.length; ++q) {
+            assertArrayEquals(esperados[q].getDistancias(), excluidos[q].getDistancias(), 1e-12);
+            for (int v = 0; v < 5; ++v) {
+                assertEquals(restantes[esperados[q].getIndices()[v]], excluidos[q].getIndices()[v]);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> busqueda.buscar(consultas, 5, 10, 5));
+        assertThrows(IllegalArgumentException.class, () -> busqueda.buscar(consultas, 5, 0, 4000));
+    }
+}
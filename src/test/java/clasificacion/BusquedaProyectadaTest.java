@@ -0,0 +1,73 @@
+package clasificacion;
+
+import datos.*;
+import metricas.DistanciaMinkowski;
+import metricas.Metrica;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+
+class BusquedaProyectadaTest {
+
+    private static Dataset aleatorio(int filas, int columnas, long semilla) {
+        Dataset datos = DatosAleatorios.dataset(filas, columnas, 3, semilla, DatosAleatorios.GAUSSIANOS_ESCALADOS);
+        // Un atributo cualitativo antes de la clase, que la proyección debe ignorar
+        Random random = new Random(semilla);
+        Cualitativo color = new Cualitativo("color");
+        for (int i = 0; i < filas; ++i) color.add(random.nextBoolean() ? "rojo" : "azul");
+        datos.getAtributos().add(columnas, color);
+        datos.cambiarPeso(1, 2.0);
+        return datos;
+    }
+
+    private static DatasetProyectado proyectar(Dataset datos, Path directorio) throws IOException {
+        String ruta = directorio.resolve("datos.knnc").toString();
+        ArchivoColumnar.escribir(datos, ruta);
+        return new DatasetProyectado(ruta);
+    }
+
+    @Test
+    void testCoincideConMatriz(@TempDir Path directorio) throws IOException {
+        // Más filas que un bloque para cubrir el último bloque incompleto
+        Dataset datos = aleatorio(2500, 6, 5);
+        DatasetProyectado proyectado = proyectar(datos, directorio);
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(datos);
+        for (Metrica metrica : new Metrica[]{Metrica.EUCLIDEA, Metrica.MANHATTAN, Metrica.COSENO,
+                new DistanciaMinkowski(3)}) {
+            KNN knn = new KNN(7, metrica);
+            assertEquals(6, new BusquedaProyectada(proyectado, metrica).dimension());
+            for (int q = 0; q < 20; ++q) {
+                double[] consulta = matriz.getFila(q * 97);
+                consulta[2] += 0.3;
+                Vecinos esperados = knn.getVecinos(matriz, consulta);
+                Vecinos obtenidos = knn.getVecinos(proyectado, consulta);
+                assertArrayEquals(esperados.getIndices(), obtenidos.getIndices(), metrica.toString());
+                for (int i = 0; i < esperados.size(); ++i) {
+                    assertEquals(esperados.getDistancia(i), obtenidos.getDistancia(i), 1e-12);
+                }
+                assertEquals(knn.clasificar(matriz, consulta), knn.clasificar(proyectado, consulta));
+            }
+        }
+    }
+
+    @Test
+    void testIris(@TempDir Path directorio) throws IOException {
+        Dataset iris = new Dataset("iris.csv");
+        BusquedaProyectada busqueda = new BusquedaProyectada(proyectar(iris, directorio));
+        assertEquals("Iris-setosa", busqueda.clasificar(new double[]{5.0, 3.4, 1.5, 0.2}, 5));
+        assertEquals("Iris-virginica", busqueda.getClase(149));
+        assertEquals(0, busqueda.buscar(MatrizCaracteristicas.consulta(iris.getInstance(0)), 1).getIndice(0));
+    }
+
+    @Test
+    void testErrores(@TempDir Path directorio) throws IOException {
+        BusquedaProyectada busqueda = new BusquedaProyectada(proyectar(new Dataset("iris.csv"), directorio));
+        assertThrows(IllegalArgumentException.class, () -> busqueda.buscar(new double[5], 1));
+        assertThrows(IllegalArgumentException.class, () -> busqueda.buscar(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> busqueda.buscar(new double[4], 0));
+    }
+}
@@ -0,0 +1,72 @@
+package clasificacion;
+
+import datos.*;
+
+import java.util.Random;
+
+/**
+ * @brief Datasets aleatorios reproducibles para las pruebas de búsqueda de vecinos
+ *
+ * @details Genera columnas cuantitativas x0..x(n-1) con la distribución que
+ * indique cada prueba y una última columna "clase" con valores C0..C(k-1). En
+ * cada fila se sortea primero la clase, de modo que la distribución de los
+ * valores puede depender de ella.
+ */
+final class DatosAleatorios {
+
+    /**
+     * @brief Distribución de los valores de las columnas cuantitativas
+     */
+    interface Valores {
+        double generar(Random random, int clase, int columna);
+    }
+
+    /** @brief Uniformes en [0, 1) */
+    static final Valores UNIFORMES = (random, clase, columna) -> random.nextDouble();
+
+    /** @brief Normales con desviación columna + 1, para que cada columna tenga una escala distinta */
+    static final Valores GAUSSIANOS_ESCALADOS = (random, clase, columna) -> random.nextGaussian() * (columna + 1);
+
+    private DatosAleatorios() {
+    }
+
+    /**
+     * @brief Enteros en [desde, hasta), útiles para forzar empates y filas repetidas
+     */
+    static Valores enteros(int desde, int hasta) {
+        return (random, clase, columna) -> desde + random.nextInt(hasta - desde);
+    }
+
+    /**
+     * @brief Normales de desviación 1 alrededor de un centro por clase
+     * @param clases Número de clases (un centro por clase)
+     * @param columnas Número de columnas
+     * @param escala Las coordenadas de los centros son uniformes en [0, escala)
+     * @param semilla Semilla para sortear los centros
+     */
+    static Valores agrupados(int clases, int columnas, double escala, long semilla) {
+        Random random = new Random(semilla);
+        double[][] centros = new double[clases][columnas];
+        for (double[] centro : centros) {
+            for (int c = 0; c < columnas; ++c) centro[c] = random.nextDouble() * escala;
+        }
+        return (aleatorio, clase, columna) -> centros[clase][columna] + aleatorio.nextGaussian();
+    }
+
+    static Dataset dataset(int filas, int columnas, int clases, long semilla, Valores valores) {
+        Random random = new Random(semilla);
+        Dataset datos = new Dataset();
+        for (int c = 0; c < columnas; ++c) datos.getAtributos().add(new Cuantitativo("x" + c));
+        datos.getAtributos().add(new Cualitativo("clase"));
+        for (int i = 0; i < filas; ++i) {
+            int clase = random.nextInt(clases);
+            for (int c = 0; c < columnas; ++c) datos.get(c).add(valores.generar(random, clase, c));
+            datos.get(columnas).add("C" + clase);
+        }
+        return datos;
+    }
+
+    static MatrizCaracteristicas matriz(int filas, int columnas, int clases, long semilla, Valores valores) {
+        return new MatrizCaracteristicas(dataset(filas, columnas, clases, semilla, valores));
+    }
+}
@@ -0,0 +1,89 @@
+package clasificacion;
+
+import datos.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+class DistanciaHeterogeneaTest {
+
+    /**
+     * @brief Dataset en el que la clase depende solo del atributo cualitativo
+     */
+    private static Dataset mixto(int filas, long semilla) {
+        Random random = new Random(semilla);
+        String[] colores = {"rojo", "verde", "azul"};
+        Dataset datos = new Dataset();
+        datos.getAtributos().add(new Cuantitativo("x"));
+        datos.getAtributos().add(new Cualitativo("color"));
+        datos.getAtributos().add(new Cualitativo("clase"));
+        for (int i = 0; i < filas; ++i) {
+            String color = colores[random.nextInt(colores.length)];
+            datos.add(new Instancia(Arrays.asList(random.nextDouble(), color, color.equals("rojo") ? "A" : "B")));
+        }
+        return datos;
+    }
+
+    @Test
+    void testHeom() {
+        Dataset datos = new Dataset();
+        datos.getAtributos().add(new Cuantitativo("x"));
+        datos.getAtributos().add(new Cualitativo("color"));
+        datos.getAtributos().add(new Cualitativo("clase"));
+        datos.add(new Instancia(Arrays.asList(0.0, "rojo", "A")));
+        datos.add(new Instancia(Arrays.asList(10.0, "azul", "B")));
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(datos, true);
+        DistanciaHeterogenea heom = DistanciaHeterogenea.heom(matriz);
+
+        double[] valores = matriz.valores();
+        // Diferencia numérica 10 / rango 10 = 1 y colores distintos = 1
+        assertEquals(Math.sqrt(2), heom.distancia(valores, 0, valores, 2, matriz.pesos(), 2), 1e-12);
+        assertEquals(0.5, heom.distancia(new double[]{5.0, 0.0}, 0, valores, 0, matriz.pesos(), 2), 1e-12);
+        assertEquals(Math.sqrt(1.25), heom.distancia(new double[]{5.0, -1.0}, 0, valores, 0, matriz.pesos(), 2), 1e-12);
+        assertFalse(heom.esVdm());
+    }
+
+    @Test
+    void testHvdm() {
+        Dataset datos = new Dataset();
+        datos.getAtributos().add(new Cualitativo("color"));
+        datos.getAtributos().add(new Cualitativo("clase"));
+        datos.add(new Instancia(Arrays.asList("rojo", "A")));
+        datos.add(new Instancia(Arrays.asList("rojo", "A")));
+        datos.add(new Instancia(Arrays.asList("verde", "A")));
+        datos.add(new Instancia(Arrays.asList("verde", "B")));
+        datos.add(new Instancia(Arrays.asList("azul", "B")));
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(datos, true);
+        DistanciaHeterogenea hvdm = DistanciaHeterogenea.hvdm(matriz);
+        double[] pesos = matriz.pesos();
+
+        // P(A|rojo) = 1, P(A|verde) = 0.5, P(A|azul) = 0
+        assertEquals(Math.sqrt(0.5), hvdm.distancia(new double[]{0}, 0, new double[]{1}, 0, pesos, 1), 1e-12);
+        assertEquals(Math.sqrt(2), hvdm.distancia(new double[]{0}, 0, new double[]{2}, 0, pesos, 1), 1e-12);
+        assertEquals(0.0, hvdm.distancia(new double[]{2}, 0, new double[]{2}, 0, pesos, 1));
+        assertEquals(1.0, hvdm.distancia(new double[]{-1}, 0, new double[]{2}, 0, pesos, 1));
+        assertTrue(hvdm.esVdm());
+    }
+
+    @Test
+    void testClasificaConAtributoCualitativo() {
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(mixto(400, 3), true);
+        Dataset pruebas = mixto(100, 4);
+        for (DistanciaHeterogenea metrica : new DistanciaHeterogenea[]{
+                DistanciaHeterogenea.heom(matriz), DistanciaHeterogenea.hvdm(matriz)}) {
+            KNN knn = new KNN(5, metrica);
+            BusquedaExhaustiva exhaustiva = new BusquedaExhaustiva(matriz, metrica);
+            int aciertos = 0;
+            for (int i = 0; i < pruebas.numeroCasos(); ++i) {
+                Instancia instancia = pruebas.getInstance(i);
+                double[] consulta = matriz.codificar(instancia);
+                String prediccion = knn.clasificar(matriz, consulta);
+                assertEquals(prediccion, knn.clasificar(exhaustiva, consulta));
+                if (prediccion.equals(instancia.getValores().get(2))) aciertos++;
+            }
+            assertEquals(pruebas.numeroCasos(), aciertos);
+        }
+    }
+}
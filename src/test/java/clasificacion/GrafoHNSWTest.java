@@ -0,0 +1,85 @@
+package clasificacion;
+
+import datos.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.Random;
+
+class GrafoHNSWTest {
+
+    private static MatrizCaracteristicas aleatoria(int filas, int columnas, long semilla) {
+        return DatosAleatorios.matriz(filas, columnas, 2, semilla, DatosAleatorios.UNIFORMES);
+    }
+
+    @Test
+    void testRecallAlto() {
+        MatrizCaracteristicas matriz = aleatoria(5000, 8, 5);
+        GrafoHNSW grafo = new GrafoHNSW(matriz, 12, 100, 50, 1L);
+        BusquedaExhaustiva exacta = new BusquedaExhaustiva(matriz);
+
+        Random random = new Random(9);
+        double[][] consultas = new double[100][8];
+        for (double[] consulta : consultas) {
+            for (int c = 0; c < consulta.length; ++c) consulta[c] = random.nextDouble();
+        }
+        InformeRecall informe = InformeRecall.generar(grafo, exacta, consultas, 10);
+
+        assertEquals(100, informe.getConsultas());
+        assertTrue(informe.getRecall() > 0.9, "Recall demasiado bajo: " + informe);
+        assertTrue(informe.getLatenciaP99Aproximada() >= informe.getLatenciaMedianaAproximada());
+        assertTrue(grafo.numeroCapas() > 1);
+    }
+
+    @Test
+    void testEfBusquedaMejoraRecall() {
+        MatrizCaracteristicas matriz = aleatoria(3000, 16, 6);
+        GrafoHNSW grafo = new GrafoHNSW(matriz, 4, 20, 1, 1L);
+        BusquedaExhaustiva exacta = new BusquedaExhaustiva(matriz);
+        double[][] consultas = new double[50][];
+        for (int q = 0; q < consultas.length; ++q) consultas[q] = matriz.getFila(q * 13);
+
+        double estrecho = InformeRecall.generar(grafo, exacta, consultas, 10).getRecall();
+        grafo.setEfBusqueda(200);
+        double ancho = InformeRecall.generar(grafo, exacta, consultas, 10).getRecall();
+        assertTrue(ancho >= estrecho);
+        assertEquals(200, grafo.getEfBusqueda());
+    }
+
+    @Test
+    void testClasificarIris() throws IOException {
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(new Dataset("iris.csv"));
+        GrafoHNSW grafo = new GrafoHNSW(matriz);
+        KNN knn = new KNN(1);
+        for (int i = 0; i < matriz.numeroFilas(); ++i) {
+            assertEquals(0.0, grafo.buscar(matriz.getFila(i), 1).getDistancia(0));
+        }
+        assertEquals(matriz.getClase(0), knn.clasificar(grafo, matriz.getFila(0)));
+    }
+
+    @Test
+    void testConstruccionSecuencialDeterminista() {
+        MatrizCaracteristicas matriz = aleatoria(2000, 6, 3);
+        GrafoHNSW primero = new GrafoHNSW(matriz, 8, 40, 20, 7L, false);
+        GrafoHNSW segundo = new GrafoHNSW(matriz, 8, 40, 20, 7L, false);
+        for (int q = 0; q < 100; ++q) {
+            double[] consulta = matriz.getFila(q * 17);
+            assertArrayEquals(primero.buscar(consulta, 5).getIndices(), segundo.buscar(consulta, 5).getIndices());
+        }
+    }
+
+    @Test
+    void testParametrosInvalidos() {
+        MatrizCaracteristicas matriz = aleatoria(10, 2, 1);
+        assertThrows(IllegalArgumentException.class, () -> new GrafoHNSW(matriz, 1, 10, 10, 1L));
+        assertThrows(IllegalArgumentException.class, () -> new GrafoHNSW(matriz).setEfBusqueda(0));
+    }
+
+    @Test
+    void testGrafoVacio() {
+        GrafoHNSW grafo = new GrafoHNSW(aleatoria(0, 2, 1));
+        assertEquals(0, grafo.buscar(new double[]{0.5, 0.5}, 3).size());
+        assertEquals(0, grafo.numeroCapas());
+    }
+}
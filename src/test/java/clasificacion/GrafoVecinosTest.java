@@ -0,0 +1,80 @@
+package clasificacion;
+
+import datos.*;
+import metricas.Metrica;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ForkJoinPool;
+
+class GrafoVecinosTest {
+
+    private static MatrizCaracteristicas crear(int filas, int semilla) {
+        // Valores enteros pequeños para que haya empates y filas repetidas
+        Dataset datos = DatosAleatorios.dataset(filas, 3, 3, semilla, DatosAleatorios.enteros(1, 7));
+        datos.cambiarPeso(1, 0.5);
+        return new MatrizCaracteristicas(datos);
+    }
+
+    private static void comprobar(MatrizCaracteristicas matriz, Metrica metrica, int k) {
+        Vecinos[] grafo = new GrafoVecinos(matriz, new ForkJoinPool(3), metrica).calcular(k);
+        BusquedaPorBloques busqueda = new BusquedaPorBloques(matriz, ForkJoinPool.commonPool(), metrica);
+        assertEquals(matriz.numeroFilas(), grafo.length);
+        for (int i = 0; i < matriz.numeroFilas(); ++i) {
+            Vecinos esperado = busqueda.buscar(new double[][]{matriz.getFila(i)}, k, i, i + 1)[0];
+            assertArrayEquals(esperado.getIndices(), grafo[i].getIndices(), "Fila " + i);
+            assertArrayEquals(esperado.getDistancias(), grafo[i].getDistancias(), "Fila " + i);
+        }
+    }
+
+    @Test
+    void testCoincideConBusquedaExcluyendoLaFila() {
+        // Más de un bloque y un último bloque incompleto
+        MatrizCaracteristicas matriz = crear(2 * GrafoVecinos.FILAS_POR_BLOQUE + 37, 8);
+        comprobar(matriz, Metrica.EUCLIDEA, 5);
+        comprobar(matriz, Metrica.MANHATTAN, 4);
+        comprobar(matriz.normalizada(), Metrica.COSENO, 3);
+    }
+
+    @Test
+    void testConIndice() {
+        MatrizCaracteristicas matriz = crear(600, 9);
+        Vecinos[] grafo = new GrafoVecinos(matriz).calcular(6);
+        Vecinos[] indice = GrafoVecinos.calcular(new ArbolKD(matriz), 6);
+        for (int i = 0; i < matriz.numeroFilas(); ++i) {
+            assertFalse(contiene(indice[i], i), "La propia fila no es vecina");
+            assertEquals(6, indice[i].size());
+            assertArrayEquals(grafo[i].getDistancias(), indice[i].getDistancias(), 1e-12);
+        }
+    }
+
+    @Test
+    void testPocasFilas() {
+        MatrizCaracteristicas matriz = crear(3, 1);
+        Vecinos[] grafo = new GrafoVecinos(matriz).calcular(10);
+        assertEquals(2, grafo[0].size(), "k se limita al resto de filas");
+        assertEquals(0, new GrafoVecinos(crear(1, 1)).calcular(1)[0].size());
+        assertThrows(IllegalArgumentException.class, () -> new GrafoVecinos(matriz).calcular(0));
+    }
+
+    @Test
+    void testClasificarDejandoUno() {
+        MatrizCaracteristicas matriz = crear(300, 4);
+        KNN knn = new KNN(3);
+        String[] predichas = knn.clasificarDejandoUno(matriz);
+        String[] conIndice = knn.clasificarDejandoUno(new BusquedaExhaustiva(matriz));
+        for (int i = 0; i < matriz.numeroFilas(); ++i) {
+            String esperada = knn.clasificarLote(matriz, new double[][]{matriz.getFila(i)}, i, i + 1)[0];
+            assertEquals(esperada, predichas[i]);
+        }
+        assertEquals(predichas.length, conIndice.length);
+        assertThrows(IllegalStateException.class, () -> knn.clasificarDejandoUno(crear(1, 1)));
+    }
+
+    private static boolean contiene(Vecinos vecinos, int fila) {
+        for (int indice : vecinos.getIndices()) {
+            if (indice == fila) return true;
+        }
+        return false;
+    }
+}
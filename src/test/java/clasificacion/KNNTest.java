@@ -1,6 +1,7 @@
 package clasificacion;
 
 import datos.*;
+import metricas.Metrica;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
@@ -8,6 +9,7 @@ import vectores.Vector;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 class KNNTest {
     private Dataset dataset;
@@ -102,4 +104,64 @@ class KNNTest {
         Vector distancias = new Vector(Arrays.asList(1.0, 2.0, 8.0));
         assertEquals("A", knn.getVecino(instancias, distancias));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetVecinos() {
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(dataset);
+        Vecinos vecinos = knn.getVecinos(matriz, new double[]{1.5, 1.5});
+
+        assertEquals(2, vecinos.size());
+        assertEquals(0, vecinos.getIndice(0));
+        assertEquals(1, vecinos.getIndice(1));
+        assertEquals(Math.sqrt(0.5), vecinos.getDistancia(0), 0.001);
+        assertEquals(0, knn.votar(matriz, vecinos));
+    }
+
+    @Test
+    void testMetricaConfigurable() {
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(dataset);
+        KNN manhattan = new KNN(2, Metrica.MANHATTAN);
+        assertSame(Metrica.EUCLIDEA, knn.getMetrica());
+        assertSame(Metrica.MANHATTAN, manhattan.getMetrica());
+
+        double[] distancias = manhattan.getDistancias(matriz, new double[]{1.5, 1.5});
+        assertEquals(1.0, distancias[0], 0.001);
+        Vecinos vecinos = manhattan.getVecinos(matriz, new double[]{1.5, 1.5});
+        assertEquals(1.0, vecinos.getDistancia(0), 0.001);
+        assertEquals(vecinos.getIndices()[0], manhattan.getVecinosLote(matriz, new double[][]{{1.5, 1.5}})[0].getIndice(0));
+    }
+
+    @Test
+    void testMetricaCoseno() {
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(dataset);
+        KNN coseno = new KNN(1, Metrica.COSENO);
+        // Misma dirección que una fila pero con otra escala: distancia coseno nula
+        double[] consulta = matriz.getFila(1).clone();
+        for (int c = 0; c < consulta.length; ++c) consulta[c] *= 10;
+        Vecinos vecinos = coseno.getVecinos(matriz, consulta);
+        assertEquals(0.0, vecinos.getDistancia(0), 1e-12);
+        assertEquals(matriz.getClase(vecinos.getIndice(0)), coseno.clasificar(matriz, consulta));
+        assertEquals(coseno.clasificar(matriz, consulta), coseno.clasificarLote(matriz, new double[][]{consulta})[0]);
+        assertFalse(matriz.esNormalizada());
+        assertTrue(matriz.normalizada().esNormalizada());
+        assertSame(matriz.normalizada(), matriz.normalizada());
+    }
+
+    @Test
+    void testClasificarBarrido() {
+        // Valores enteros pequeños para que haya muchos empates de distancia y de votos
+        Dataset datos = DatosAleatorios.dataset(60, 2, 3, 9, DatosAleatorios.enteros(0, 5));
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(datos);
+        Random random = new Random(10);
+        double[][] consultas = new double[25][];
+        for (int q = 0; q < consultas.length; ++q) consultas[q] = new double[]{random.nextInt(5), random.nextInt(5)};
+
+        String[][] barrido = new KNN(70).clasificarBarrido(matriz, consultas);
+        assertEquals(70, barrido.length);
+        for (int k = 1; k <= 70; ++k) {
+            assertArrayEquals(new KNN(k).clasificarLote(matriz, consultas), barrido[k - 1], "k = " + k);
+        }
+        assertThrows(IllegalStateException.class,
+                () -> knn.clasificarBarrido(new MatrizCaracteristicas(new Dataset(datos.getAtributosEmpty())), consultas));
+    }
+}
@@ -0,0 +1,113 @@
+package clasificacion;
+
+import datos.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+class MatrizCaracteristicasTest {
+    private Dataset dataset;
+
+    @BeforeEach
+    void setUp() {
+        dataset = new Dataset();
+        dataset.getAtributos().add(new Cuantitativo("attr1"));
+        dataset.getAtributos().add(new Cualitativo("color"));
+        dataset.getAtributos().add(new Cuantitativo("attr2"));
+        dataset.getAtributos().add(new Cualitativo("clase"));
+
+        dataset.add(new Instancia(Arrays.asList(1.0, "rojo", 2.0, "A")));
+        dataset.add(new Instancia(Arrays.asList(3.0, "azul", 4.0, "B")));
+        dataset.add(new Instancia(Arrays.asList(5.0, "rojo", 6.0, "A")));
+        dataset.cambiarPeso(2, 0.5);
+    }
+
+    @Test
+    void testDimensiones() {
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(dataset);
+
+        assertEquals(3, matriz.numeroFilas());
+        assertEquals(2, matriz.dimension(), "Solo se compilan los atributos cuantitativos");
+        assertArrayEquals(new double[]{3.0, 4.0}, matriz.getFila(1));
+        assertEquals(6.0, matriz.get(2, 1));
+        assertArrayEquals(new double[]{1.0, 0.5}, matriz.getPesos());
+    }
+
+    @Test
+    void testEtiquetas() {
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(dataset);
+
+        assertEquals(List.of("A", "B"), matriz.getClases());
+        assertEquals(0, matriz.getEtiqueta(0));
+        assertEquals(1, matriz.getEtiqueta(1));
+        assertEquals("A", matriz.getClase(2));
+    }
+
+    @Test
+    void testDistanciaCuadrada() {
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(dataset);
+
+        // (3-1)² + ((4-2)·0.5)² = 4 + 1
+        assertEquals(5.0, matriz.distanciaCuadrada(1, new double[]{1.0, 2.0}), 1e-9);
+    }
+
+    @Test
+    void testSnapshotInmutable() {
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(dataset);
+        dataset.add(new Instancia(Arrays.asList(7.0, "azul", 8.0, "C")));
+
+        assertEquals(3, matriz.numeroFilas());
+        matriz.getPesos()[0] = 10.0;
+        assertEquals(1.0, matriz.getPesos()[0]);
+    }
+
+    @Test
+    void testConsultaDemasiadoLarga() {
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(dataset);
+        assertThrows(IllegalArgumentException.class,
+                () -> matriz.validarConsulta(new double[]{1.0, 2.0, 3.0}));
+    }
+
+    @Test
+    void testClasificarConMatriz() {
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(dataset);
+        KNN knn = new KNN(1);
+
+        assertEquals("B", knn.clasificar(matriz, new double[]{3.1, 4.1}));
+        assertEquals(3, knn.getDistancias(matriz, new double[]{0.0, 0.0}).length);
+    }
+
+    @Test
+    void testColumnasCualitativas() {
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(dataset, true);
+
+        assertEquals(3, matriz.dimension());
+        assertEquals(2, matriz.numericas());
+        assertFalse(matriz.esCategorica(1));
+        assertTrue(matriz.esCategorica(2));
+        assertEquals(List.of("rojo", "azul"), matriz.getDiccionario(2));
+        assertArrayEquals(new double[]{3.0, 4.0, 1.0}, matriz.getFila(1));
+        assertArrayEquals(new double[]{5.0, 6.0, 0.0}, matriz.getFila(2));
+
+        assertArrayEquals(new double[]{7.0, 8.0, 1.0},
+                matriz.codificar(new Instancia(Arrays.asList(7.0, "azul", 8.0, "?"))));
+        assertArrayEquals(new double[]{7.0, 8.0, -1.0},
+                matriz.codificar(new Instancia(Arrays.asList(7.0, "verde", 8.0, "?"))));
+    }
+
+    @Test
+    void testReordenar() {
+        MatrizCaracteristicas matriz = new MatrizCaracteristicas(dataset);
+        MatrizCaracteristicas reordenada = matriz.reordenar(new int[]{2, 0});
+
+        assertEquals(2, reordenada.numeroFilas());
+        assertArrayEquals(new double[]{5.0, 6.0}, reordenada.getFila(0));
+        assertEquals("A", reordenada.getClase(1));
+        assertEquals(matriz.getClases(), reordenada.getClases());
+        assertArrayEquals(matriz.getPesos(), reordenada.getPesos());
+        assertThrows(IndexOutOfBoundsException.class, () -> matriz.reordenar(new int[]{3}));
+    }
+}
@@ -0,0 +1,81 @@
+package clasificacion;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+class SeleccionVecinosTest {
+
+    private static int[] ordenEsperado(double[] distancias, int k) {
+        return IntStream.range(0, distancias.length).boxed()
+                .sorted(Comparator.<Integer>comparingDouble(i -> distancias[i]).thenComparingInt(i -> i))
+                .limit(k)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static double[] aleatorias(int n, long semilla, int valoresDistintos) {
+        Random random = new Random(semilla);
+        double[] d = new double[n];
+        for (int i = 0; i < n; ++i) d[i] = random.nextInt(valoresDistintos);
+        return d;
+    }
+
+    @Test
+    void testMonticuloPequeno() {
+        double[] distancias = {5.0, 1.0, 4.0, 2.0, 3.0};
+        Vecinos vecinos = SeleccionVecinos.seleccionar(distancias, 3);
+
+        assertArrayEquals(new int[]{1, 3, 4}, vecinos.getIndices());
+        assertArrayEquals(new double[]{1.0, 2.0, 3.0}, vecinos.getDistancias());
+    }
+
+    @Test
+    void testMonticuloEIntroselectCoinciden() {
+        double[] distancias = aleatorias(5000, 42, 300);
+        for (int k : new int[]{1, 7, 50, 64, 200, 4999}) {
+            int[] esperado = ordenEsperado(distancias, k);
+            assertArrayEquals(esperado, SeleccionVecinos.seleccionarMonticulo(distancias, k).getIndices());
+            assertArrayEquals(esperado, SeleccionVecinos.seleccionarIntroselect(distancias, k).getIndices());
+            assertArrayEquals(esperado, SeleccionVecinos.seleccionar(distancias, k).getIndices());
+        }
+    }
+
+    @Test
+    void testIntroselectConMuchosEmpates() {
+        double[] distancias = new double[1000];
+        Arrays.fill(distancias, 1.0);
+        assertArrayEquals(ordenEsperado(distancias, 100),
+                SeleccionVecinos.seleccionarIntroselect(distancias, 100).getIndices());
+    }
+
+    @Test
+    void testKMayorQueN() {
+        Vecinos vecinos = SeleccionVecinos.seleccionar(new double[]{3.0, 1.0}, 5);
+        assertArrayEquals(new int[]{1, 0}, vecinos.getIndices());
+    }
+
+    @Test
+    void testKNoPositivo() {
+        assertThrows(IllegalArgumentException.class, () -> SeleccionVecinos.seleccionar(new double[]{1.0}, 0));
+        assertThrows(IllegalArgumentException.class, () -> new MonticuloVecinos(0));
+    }
+
+    @Test
+    void testMonticuloReutilizable() {
+        MonticuloVecinos monticulo = new MonticuloVecinos(2);
+        assertEquals(Double.POSITIVE_INFINITY, monticulo.peor());
+        monticulo.add(0, 3.0);
+        monticulo.add(1, 1.0);
+        assertTrue(monticulo.lleno());
+        assertFalse(monticulo.add(2, 4.0));
+        assertTrue(monticulo.add(3, 2.0));
+        assertEquals(2.0, monticulo.peor());
+        assertArrayEquals(new int[]{1, 3}, monticulo.extraer().getIndices());
+        assertEquals(0, monticulo.size());
+    }
+}
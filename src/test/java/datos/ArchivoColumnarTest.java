@@ -0,0 +1,126 @@
+package datos;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @brief Pruebas unitarias para la clase ArchivoColumnar
+ *
+ * @details Comprueba que guardar y cargar conserva valores, tipos, pesos,
+ * diccionarios y preprocesado, el ancho de los códigos según el tamaño del
+ * diccionario y el rechazo de archivos ajenos, de otra versión o truncados.
+ */
+class ArchivoColumnarTest {
+
+    private static void comprobarIguales(Dataset esperado, Dataset leido) {
+        assertEquals(esperado.numeroAtributos(), leido.numeroAtributos());
+        assertEquals(esperado.numeroCasos(), leido.numeroCasos());
+        assertEquals(esperado.getPreprocesado(), leido.getPreprocesado());
+        for (int j = 0; j < esperado.numeroAtributos(); ++j) {
+            Atributo a = esperado.get(j);
+            Atributo b = leido.get(j);
+            assertEquals(a.getClass(), b.getClass());
+            assertEquals(a.getNombre(), b.getNombre());
+            assertEquals(a.getPeso(), b.getPeso());
+            assertEquals(a.toString(), b.toString());
+            if (a instanceof Cualitativo) {
+                assertEquals(((Cualitativo) a).getDiccionario(), ((Cualitativo) b).getDiccionario());
+                assertEquals(((Cualitativo) a).clases(), ((Cualitativo) b).clases());
+            }
+        }
+    }
+
+    /**
+     * @brief Prueba de ida y vuelta con glass.csv
+     */
+    @Test
+    void testIdaYVuelta(@TempDir Path directorio) throws IOException {
+        Dataset datos = new Dataset("glass.csv");
+        datos.cambiarPeso(2, 0.5);
+        datos.get(9).setPeso(3.0);
+        datos.setPreprocesado(2);
+        String ruta = directorio.resolve("glass" + ArchivoColumnar.EXTENSION).toString();
+        ArchivoColumnar.escribir(datos, ruta);
+
+        assertTrue(ArchivoColumnar.esColumnar(ruta));
+        assertFalse(ArchivoColumnar.esColumnar("glass.csv"));
+        comprobarIguales(datos, ArchivoColumnar.leer(ruta));
+        comprobarIguales(datos, new Dataset(ruta));
+    }
+
+    /**
+     * @brief Prueba con valores especiales, diccionarios grandes y valores eliminados
+     */
+    @Test
+    void testValoresEspeciales(@TempDir Path directorio) throws IOException {
+        List<Atributo> atributos = new ArrayList<>();
+        Cuantitativo x = new Cuantitativo("x ñ");
+        Cualitativo grande = new Cualitativo("id");
+        Cualitativo clase = new Cualitativo("clase");
+        double[] especiales = {Double.NaN, -0.0, Double.MIN_VALUE, Double.NEGATIVE_INFINITY, 1e308};
+        for (int i = 0; i < 70000; ++i) {
+            x.add(i < especiales.length ? especiales[i] : i * 0.1);
+            grande.add("v" + i);
+            clase.add(i % 3 == 0 ? "sí" : "no");
+        }
+        atributos.add(x);
+        atributos.add(grande);
+        atributos.add(clase);
+        Dataset datos = new Dataset(atributos);
+        datos.delete(0);
+        String ruta = directorio.resolve("especiales.knnc").toString();
+        ArchivoColumnar.escribir(datos, ruta);
+
+        Dataset leido = ArchivoColumnar.leer(ruta);
+        comprobarIguales(datos, leido);
+        assertEquals(Double.doubleToRawLongBits(-0.0),
+                Double.doubleToRawLongBits(((Cuantitativo) leido.get(0)).getDouble(0)));
+        assertEquals(0, ((Cualitativo) leido.get(1)).frecuenciaAbsoluta("v0"));
+        assertEquals(4, ArchivoColumnar.anchoCodigo(70000));
+        assertEquals(2, ArchivoColumnar.anchoCodigo(300));
+        assertEquals(1, ArchivoColumnar.anchoCodigo(256));
+    }
+
+    /**
+     * @brief Prueba de un dataset vacío
+     */
+    @Test
+    void testVacio(@TempDir Path directorio) throws IOException {
+        Dataset datos = new Dataset(new ArrayList<>(Arrays.asList(new Cuantitativo("a"), new Cualitativo("b"))));
+        String ruta = directorio.resolve("vacio.knnc").toString();
+        ArchivoColumnar.escribir(datos, ruta);
+        comprobarIguales(datos, ArchivoColumnar.leer(ruta));
+    }
+
+    /**
+     * @brief Prueba de archivos no válidos
+     */
+    @Test
+    void testArchivosNoValidos(@TempDir Path directorio) throws IOException {
+        assertThrows(IOException.class, () -> ArchivoColumnar.leer("glass.csv"));
+
+        String ruta = directorio.resolve("iris.knnc").toString();
+        ArchivoColumnar.escribir(new Dataset("iris.csv"), ruta);
+        byte[] completo = Files.readAllBytes(Path.of(ruta));
+
+        Path truncado = directorio.resolve("truncado.knnc");
+        Files.write(truncado, Arrays.copyOf(completo, completo.length - 100));
+        assertThrows(IOException.class, () -> ArchivoColumnar.leer(truncado.toString()));
+
+        try (RandomAccessFile archivo = new RandomAccessFile(ruta, "rw")) {
+            archivo.seek(4);
+            archivo.write(new byte[]{99, 0, 0, 0});
+        }
+        IOException error = assertThrows(IOException.class, () -> ArchivoColumnar.leer(ruta));
+        assertTrue(error.getMessage().contains("99"));
+    }
+}
@@ -0,0 +1,111 @@
+package datos;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+class ColumnaNumericaTest {
+
+    @Test
+    void testCrecimiento() {
+        ColumnaNumerica columna = new ColumnaNumerica(0);
+        for (int i = 0; i < 1000; ++i) columna.add(i * 0.5);
+        assertEquals(1000, columna.size());
+        assertEquals(499.5, columna.get(999));
+        assertEquals(10.0, columna.get(20));
+    }
+
+    @Test
+    void testOperacionesEnBloque() {
+        ColumnaNumerica columna = new ColumnaNumerica(new double[]{1.0, 2.0});
+        columna.addAll(new double[]{9.0, 3.0, 4.0, 9.0}, 1, 2);
+        assertArrayEquals(new double[]{1.0, 2.0, 3.0, 4.0}, columna.toArray());
+
+        double[] destino = {-1.0, -1.0, -1.0};
+        columna.leer(1, destino, 1, 2);
+        assertArrayEquals(new double[]{-1.0, 2.0, 3.0}, destino);
+        assertThrows(IndexOutOfBoundsException.class, () -> columna.leer(3, destino, 0, 2));
+    }
+
+    @Test
+    void testModificaciones() {
+        ColumnaNumerica columna = new ColumnaNumerica(new double[]{1.0, 2.0, 3.0});
+        columna.set(1, 5.0);
+        assertEquals(5.0, columna.remove(1));
+        assertArrayEquals(new double[]{1.0, 3.0}, columna.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> columna.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> columna.set(-1, 0.0));
+
+        ColumnaNumerica copia = columna.copiar();
+        columna.clear();
+        assertEquals(0, columna.size());
+        assertEquals(2, copia.size());
+        assertThrows(IllegalArgumentException.class, () -> new ColumnaNumerica(-1));
+    }
+
+    @Test
+    void testToString() {
+        ColumnaNumerica columna = new ColumnaNumerica(new double[]{1.0, 2.5});
+        assertEquals("[1.0, 2.5]", columna.toString());
+        assertEquals("[]", new ColumnaNumerica().toString());
+    }
+
+    private static void assertResumen(double[] valores, Estadisticas resumen) {
+        double suma = 0.0;
+        double minimo = Double.POSITIVE_INFINITY;
+        double maximo = Double.NEGATIVE_INFINITY;
+        for (double v : valores) {
+            suma += v;
+            minimo = Math.min(minimo, v);
+            maximo = Math.max(maximo, v);
+        }
+        double media = suma / valores.length;
+        double cuadrados = 0.0;
+        for (double v : valores) cuadrados += (v - media) * (v - media);
+        assertEquals(valores.length, resumen.getNumero());
+        assertEquals(media, resumen.getMedia(), 1e-9);
+        assertEquals(Math.sqrt(cuadrados / (valores.length - 1)), resumen.getDesviacion(), 1e-9);
+        assertEquals(minimo, resumen.getMinimo());
+        assertEquals(maximo, resumen.getMaximo());
+    }
+
+    @Test
+    void testEstadisticasIncrementales() {
+        Random random = new Random(5);
+        ColumnaNumerica columna = new ColumnaNumerica();
+        for (int i = 0; i < 500; ++i) columna.add(random.nextGaussian() * 10 + 3);
+        assertResumen(columna.toArray(), columna.estadisticas());
+
+        columna.addAll(new double[]{100.0, -50.0}, 0, 2);
+        assertResumen(columna.toArray(), columna.estadisticas());
+
+        ColumnaNumerica otra = new ColumnaNumerica();
+        for (int i = 0; i < 300; ++i) otra.add(random.nextDouble());
+        columna.addAll(otra);
+        assertResumen(columna.toArray(), columna.estadisticas());
+    }
+
+    @Test
+    void testEstadisticasTrasModificar() {
+        ColumnaNumerica columna = new ColumnaNumerica(new double[]{4.0, 8.0, 6.0});
+        assertResumen(new double[]{4.0, 8.0, 6.0}, columna.estadisticas());
+        columna.set(1, -2.0);
+        assertResumen(new double[]{4.0, -2.0, 6.0}, columna.estadisticas());
+        columna.remove(2);
+        columna.add(10.0);
+        assertResumen(new double[]{4.0, -2.0, 10.0}, columna.estadisticas());
+        Estadisticas anterior = columna.estadisticas();
+        columna.clear();
+        assertEquals(3, anterior.getNumero());
+
+        Estadisticas vacia = columna.estadisticas();
+        assertEquals(0, vacia.getNumero());
+        assertTrue(Double.isNaN(vacia.getMedia()));
+        assertEquals(0.0, vacia.getDesviacion());
+        assertEquals(Double.POSITIVE_INFINITY, vacia.getMinimo());
+        columna.add(7.0);
+        assertEquals(7.0, columna.estadisticas().getMedia());
+        assertEquals(0.0, columna.estadisticas().getVarianza());
+    }
+}
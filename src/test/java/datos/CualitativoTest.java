@@ -123,4 +123,62 @@ class CualitativoTest {
         assertEquals(atributo.size(), copia.size());
         assertNotSame(atributo, copia);
     }
-}
\ No newline at end of file
+
+    /**
+     * @brief Prueba de la codificación con diccionario
+     *
+     * @details Comprueba que:
+     * - Cada valor distinto recibe un código estable en orden de aparición
+     * - Los conteos se mantienen al eliminar valores
+     * - clases() conserva el orden de primera aparición tras eliminar
+     */
+    @Test
+    void testDiccionarioYConteos() {
+        assertEquals(List.of("rojo", "azul", "verde"), atributo.getDiccionario());
+        assertEquals(0, atributo.getCodigo(2));
+        assertEquals(2, atributo.frecuenciaAbsoluta("rojo"));
+        assertEquals(0, atributo.frecuenciaAbsoluta("negro"));
+
+        atributo.delete(0);
+        assertEquals(List.of("azul", "rojo", "verde"), atributo.clases());
+        atributo.delete(0);
+        assertEquals(2, atributo.nClases());
+        assertEquals(List.of("rojo", "verde"), atributo.clases());
+        atributo.add("azul");
+        assertEquals(List.of("rojo", "verde", "azul"), atributo.clases());
+        assertEquals(List.of(1.0 / 3, 1.0 / 3, 1.0 / 3), atributo.frecuencia());
+        assertEquals("[rojo, verde, azul]", atributo.toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> atributo.getValor(3));
+    }
+
+    /**
+     * @brief Prueba de que getValores() rechaza los cambios y copiarValores() no afecta al atributo
+     */
+    @Test
+    @SuppressWarnings("deprecation")
+    void testValoresSoloLectura() {
+        List<String> valores = atributo.getValores();
+        assertEquals(atributo.size(), valores.size());
+        assertThrows(UnsupportedOperationException.class, () -> valores.set(0, "negro"));
+        assertThrows(UnsupportedOperationException.class, () -> valores.add("negro"));
+
+        List<String> copia = atributo.copiarValores();
+        copia.set(0, "negro");
+        assertEquals(valores.get(0), atributo.getValor(0));
+        atributo.setValores(copia);
+        assertEquals("negro", atributo.getValor(0));
+    }
+
+    /**
+     * @brief Prueba de que la copia es independiente
+     */
+    @Test
+    void testCopiaIndependiente() {
+        Cualitativo copia = atributo.copiar();
+        copia.add("negro");
+        atributo.delete(3);
+        assertEquals(List.of("rojo", "azul", "rojo", "verde", "negro"), copia.getValores());
+        assertEquals(4, copia.nClases());
+        assertEquals(2, atributo.nClases());
+    }
+}
@@ -276,6 +276,22 @@ class CuantitativoTest {
         assertEquals(atributo.getValor(0), copia.getValor(0));
     }
 
+    /**
+     * @brief Prueba de que getValores() rechaza los cambios en lugar de perderlos
+     */
+    @Test
+    @SuppressWarnings("deprecation")
+    void testGetValoresSoloLectura() {
+        Vector valores = atributo.getValores();
+        assertEquals(30.0, valores.get(1));
+        assertEquals(3, valores.getValores().size());
+        assertThrows(UnsupportedOperationException.class, () -> valores.set(0, -1.0));
+        assertThrows(UnsupportedOperationException.class, () -> valores.add(1.0));
+        assertThrows(UnsupportedOperationException.class, valores::normalize);
+        assertThrows(UnsupportedOperationException.class, () -> valores.getValores().set(0, -1.0));
+        assertEquals(25.0, atributo.getDouble(0));
+    }
+
     /**
      * @brief Prueba de representación como cadena
      *
@@ -304,4 +320,31 @@ class CuantitativoTest {
         atributo.clear();
         assertEquals(0, atributo.size());
     }
-}
\ No newline at end of file
+
+    /**
+     * @brief Prueba del acceso primitivo a los valores
+     *
+     * @details Comprueba que:
+     * - getDouble devuelve el valor sin pasar por getValores
+     * - addAll y leer copian tramos completos
+     * - El Vector de getValores es una copia independiente
+     */
+    @Test
+    void testAccesoPrimitivo() {
+        assertEquals(30.0, atributo.getDouble(1));
+        atributo.addAll(new double[]{0.0, 40.0, 45.0}, 1, 2);
+        assertEquals(5, atributo.size());
+
+        double[] destino = new double[4];
+        atributo.leer(2, destino, 1, 3);
+        assertArrayEquals(new double[]{0.0, 35.0, 40.0, 45.0}, destino);
+
+        Vector copia = atributo.copiarValores();
+        copia.set(0, -1.0);
+        assertEquals(25.0, atributo.getDouble(0));
+        atributo.setValores(copia);
+        assertEquals(-1.0, atributo.getDouble(0));
+        assertSame(atributo.getColumna(), atributo.getColumna());
+        assertThrows(IndexOutOfBoundsException.class, () -> atributo.getDouble(5));
+    }
+}
@@ -0,0 +1,101 @@
+package datos;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @brief Pruebas unitarias para la clase CursorFila
+ *
+ * @details Verifica el acceso tipado a las filas de un dataset sin crear
+ * instancias, los errores por tipo de columna o fila inexistente y la copia
+ * de filas entre datasets con Dataset.add(CursorFila).
+ */
+class CursorFilaTest {
+    private Dataset dataset;
+
+    @BeforeEach
+    void setUp() {
+        dataset = new Dataset();
+        dataset.getAtributos().add(new Cuantitativo("edad"));
+        dataset.getAtributos().add(new Cualitativo("color"));
+        dataset.getAtributos().add(new Cualitativo("clase"));
+        dataset.add(new Instancia(Arrays.asList(25.0, "rojo", "si")));
+        dataset.add(new Instancia(Arrays.asList(40.0, "azul", "no")));
+        dataset.add(new Instancia(Arrays.asList(31.0, "rojo", "no")));
+    }
+
+    /**
+     * @brief Prueba de los accesores tipados
+     */
+    @Test
+    void testAccesoTipado() {
+        CursorFila fila = dataset.cursor();
+        assertEquals(-1, fila.getFila());
+        assertEquals(3, fila.numeroFilas());
+        assertEquals(3, fila.numeroAtributos());
+        assertTrue(fila.esNumerico(0));
+        assertFalse(fila.esNumerico(1));
+
+        assertSame(fila, fila.mover(2));
+        assertEquals(2, fila.getFila());
+        assertEquals(31.0, fila.getDouble(0));
+        assertEquals("rojo", fila.getTexto(1));
+        assertEquals(fila.getCodigo(1), dataset.cursor().mover(0).getCodigo(1));
+        assertEquals("no", fila.getClase());
+        assertEquals(fila.getEtiqueta(), dataset.cursor().mover(1).getEtiqueta());
+        assertNotEquals(fila.getEtiqueta(), dataset.cursor().mover(0).getEtiqueta());
+    }
+
+    /**
+     * @brief Prueba de los errores por tipo de columna y fila inexistente
+     */
+    @Test
+    void testErrores() {
+        CursorFila fila = dataset.cursor().mover(0);
+        assertThrows(IllegalArgumentException.class, () -> fila.getDouble(1));
+        assertThrows(IllegalArgumentException.class, () -> fila.getCodigo(0));
+        assertThrows(IllegalArgumentException.class, () -> fila.getTexto(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> fila.mover(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> fila.mover(-1));
+    }
+
+    /**
+     * @brief Prueba de la clase numérica como texto
+     */
+    @Test
+    void testClaseNumerica() {
+        List<Atributo> atributos = new ArrayList<>();
+        atributos.add(new Cuantitativo("x"));
+        atributos.add(new Cuantitativo("y"));
+        Dataset numerico = new Dataset(atributos);
+        numerico.add(new Instancia(Arrays.asList(1.0, 2.0)));
+        assertEquals("2.0", numerico.cursor().mover(0).getClase());
+        assertThrows(IllegalArgumentException.class, () -> numerico.cursor().mover(0).getEtiqueta());
+    }
+
+    /**
+     * @brief Prueba de la copia de filas con Dataset.add(CursorFila)
+     */
+    @Test
+    void testCopiarFilas() {
+        List<Atributo> atributos = new ArrayList<>();
+        atributos.add(new Cuantitativo("edad"));
+        atributos.add(new Cualitativo("color"));
+        atributos.add(new Cualitativo("clase"));
+        Dataset copia = new Dataset(atributos);
+
+        CursorFila fila = dataset.cursor();
+        copia.add(fila.mover(2));
+        copia.add(fila.mover(0));
+
+        assertEquals(2, copia.numeroCasos());
+        assertEquals(dataset.getInstance(2).toString(), copia.getInstance(0).toString());
+        assertEquals(dataset.getInstance(0).toString(), copia.getInstance(1).toString());
+        assertEquals(3, dataset.numeroCasos());
+    }
+}
@@ -0,0 +1,80 @@
+package datos;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * @brief Pruebas unitarias para la clase DatasetProyectado
+ *
+ * @details Comprueba que la proyección de un archivo columnar da los mismos
+ * valores, códigos, pesos y diccionarios que el dataset original, tanto por
+ * acceso directo como al copiarlo al heap.
+ */
+class DatasetProyectadoTest {
+
+    private static String guardar(Dataset datos, Path directorio) throws IOException {
+        String ruta = directorio.resolve("datos" + ArchivoColumnar.EXTENSION).toString();
+        ArchivoColumnar.escribir(datos, ruta);
+        return ruta;
+    }
+
+    /**
+     * @brief Prueba del acceso directo a las columnas proyectadas
+     */
+    @Test
+    void testAccesoDirecto(@TempDir Path directorio) throws IOException {
+        Dataset datos = new Dataset("glass.csv");
+        datos.cambiarPeso(1, 0.25);
+        DatasetProyectado proyectado = new DatasetProyectado(guardar(datos, directorio));
+
+        assertEquals(214, proyectado.numeroCasos());
+        assertEquals(10, proyectado.numeroAtributos());
+        assertEquals("Na", proyectado.getNombre(1));
+        assertEquals(0.25, proyectado.getPeso(1));
+        assertTrue(proyectado.esNumerico(0));
+        assertFalse(proyectado.esNumerico(9));
+        Cualitativo clase = (Cualitativo) datos.get(9);
+        assertEquals(clase.getDiccionario(), proyectado.getDiccionario(9));
+        for (int i = 0; i < datos.numeroCasos(); ++i) {
+            for (int j = 0; j < 9; ++j) {
+                assertEquals(((Cuantitativo) datos.get(j)).getDouble(i), proyectado.getDouble(i, j));
+            }
+            assertEquals(clase.getCodigo(i), proyectado.getCodigo(i, 9));
+            assertEquals(clase.getValor(i), proyectado.getTexto(i, 9));
+        }
+
+        double[] tramo = new double[5];
+        proyectado.leer(2, 10, tramo, 1, 4);
+        assertEquals(((Cuantitativo) datos.get(2)).getDouble(13), tramo[4]);
+    }
+
+    /**
+     * @brief Prueba de los errores de tipo y de rango
+     */
+    @Test
+    void testErrores(@TempDir Path directorio) throws IOException {
+        DatasetProyectado proyectado = new DatasetProyectado(guardar(new Dataset("iris.csv"), directorio));
+        assertThrows(IllegalArgumentException.class, () -> proyectado.getDouble(0, 4));
+        assertThrows(IllegalArgumentException.class, () -> proyectado.getCodigo(0, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> proyectado.getDouble(150, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> proyectado.getCodigo(-1, 4));
+        assertThrows(IOException.class, () -> new DatasetProyectado("iris.csv"));
+    }
+
+    /**
+     * @brief Prueba de la copia al heap
+     */
+    @Test
+    void testADataset(@TempDir Path directorio) throws IOException {
+        Dataset datos = new Dataset("iris.csv");
+        datos.setPreprocesado(3);
+        Dataset copia = new DatasetProyectado(guardar(datos, directorio)).aDataset();
+        assertEquals(datos.toString(), copia.toString());
+        assertEquals(3, copia.getPreprocesado());
+        assertEquals(((Cualitativo) datos.get(4)).clases(), ((Cualitativo) copia.get(4)).clases());
+    }
+}
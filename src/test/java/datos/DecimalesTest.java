@@ -0,0 +1,122 @@
+package datos;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * @brief Pruebas unitarias para la clase Decimales
+ *
+ * @details Comprueba que la conversión desde bytes da exactamente el mismo
+ * double que Double.parseDouble, tanto en la vía rápida como en la delegada,
+ * y que rechaza los mismos textos; y que la escritura da el mismo texto que
+ * Double.toString.
+ */
+class DecimalesTest {
+
+    private static double parsear(String texto) {
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        return Decimales.parsear(bytes, 0, bytes.length);
+    }
+
+    /**
+     * @brief Prueba de valores concretos
+     */
+    @Test
+    void testValoresConcretos() {
+        assertEquals(1.51793, parsear("1.51793"));
+        assertEquals(-12.5, parsear("-12.5"));
+        assertEquals(0.5, parsear("+.5"));
+        assertEquals(5.0, parsear("5."));
+        assertEquals(1.2e-7, parsear("1.2e-7"));
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(parsear("-0")));
+        assertEquals(Double.POSITIVE_INFINITY, parsear("Infinity"));
+        assertTrue(Double.isNaN(parsear("NaN")));
+        assertEquals(3.0, parsear(" 3 "));
+    }
+
+    /**
+     * @brief Prueba de textos no numéricos
+     */
+    @Test
+    void testNoNumeros() {
+        for (String texto : new String[]{"", "-", ".", "1e", "abc", "1,5", "rojo"}) {
+            assertThrows(NumberFormatException.class, () -> parsear(texto), texto);
+            byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+            assertFalse(Decimales.esNumero(bytes, 0, bytes.length));
+        }
+        assertTrue(Decimales.esNumero("x12.5y".getBytes(StandardCharsets.UTF_8), 1, 5));
+    }
+
+    /**
+     * @brief Prueba de igualdad bit a bit con Double.parseDouble
+     */
+    @Test
+    void testIgualQueParseDouble() {
+        Random random = new Random(7);
+        for (int t = 0; t < 200000; ++t) {
+            String texto;
+            switch (t % 4) {
+                case 0:
+                    texto = Double.toString(Double.longBitsToDouble(random.nextLong()));
+                    break;
+                case 1:
+                    texto = String.format(Locale.ROOT, "%.6f", random.nextGaussian() * 1000);
+                    break;
+                case 2:
+                    texto = random.nextInt(100000) + "." + random.nextInt(100000) + "e" + (random.nextInt(80) - 40);
+                    break;
+                default:
+                    texto = Long.toString(random.nextLong());
+            }
+            assertEquals(Double.doubleToRawLongBits(Double.parseDouble(texto)),
+                    Double.doubleToRawLongBits(parsear(texto)), texto);
+        }
+    }
+
+    private static String escribir(double valor) {
+        byte[] bytes = new byte[Decimales.LONGITUD_MAXIMA + 3];
+        int fin = Decimales.escribir(valor, bytes, 3);
+        return new String(bytes, 3, fin - 3, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * @brief Prueba de escritura de valores concretos
+     */
+    @Test
+    void testEscribirConcretos() {
+        double[] valores = {0.0, -0.0, 1.0, -12.5, 0.1, 0.001, 9999999.0, 1e7, 1e-4, 1.51793, 0.30000000000000004,
+                2.0 / 3, 123456.789, Double.NaN, Double.POSITIVE_INFINITY, Double.MIN_VALUE, Double.MAX_VALUE};
+        for (double valor : valores) {
+            assertEquals(Double.toString(valor), escribir(valor));
+        }
+    }
+
+    /**
+     * @brief Prueba de igualdad con Double.toString en valores aleatorios
+     */
+    @Test
+    void testEscribirIgualQueToString() {
+        Random random = new Random(11);
+        for (int t = 0; t < 200000; ++t) {
+            double valor;
+            switch (t % 4) {
+                case 0:
+                    valor = Double.longBitsToDouble(random.nextLong());
+                    break;
+                case 1:
+                    valor = random.nextGaussian() * 1000;
+                    break;
+                case 2:
+                    valor = parsear(String.format(Locale.ROOT, "%.4f", random.nextDouble() * 100));
+                    break;
+                default:
+                    valor = random.nextInt(1000) / Math.pow(10, random.nextInt(8));
+            }
+            assertEquals(Double.toString(valor), escribir(valor));
+        }
+    }
+}
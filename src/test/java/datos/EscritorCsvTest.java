@@ -0,0 +1,95 @@
+package datos;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @brief Pruebas unitarias para la clase EscritorCsv
+ *
+ * @details Comprueba que la salida coincide con Dataset.toString(), que los
+ * campos con caracteres especiales se entrecomillan y que LectorCsv vuelve a
+ * leer el mismo dataset.
+ */
+class EscritorCsvTest {
+
+    private static String escribir(EscritorCsv escritor, Dataset datos) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        escritor.escribir(datos, salida);
+        return salida.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Dataset leer(String texto) throws IOException {
+        return new LectorCsv().leer(new ByteArrayInputStream(texto.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * @brief Prueba de igualdad con toString()
+     */
+    @Test
+    void testIgualQueToString() throws IOException {
+        Dataset datos = leer("x,y,color,clase\n1.5,-0.25,rojo,a\n-2,1e-5,azul,b\n3e2,12345678,rojo,a\n");
+        assertEquals(datos.toString(), escribir(new EscritorCsv(), datos));
+    }
+
+    /**
+     * @brief Prueba de un dataset grande que llena varias veces el buffer
+     */
+    @Test
+    void testVariosBuffers(@TempDir Path directorio) throws IOException {
+        Random random = new Random(3);
+        StringBuilder texto = new StringBuilder("a,b,clase\n");
+        for (int i = 0; i < 20000; ++i) {
+            texto.append(random.nextGaussian()).append(',').append(random.nextInt(100) / 8.0)
+                    .append(",c").append(random.nextInt(5)).append('\n');
+        }
+        Dataset datos = leer(texto.toString());
+        Path ruta = directorio.resolve("datos.csv");
+        datos.write(ruta.toString());
+        assertEquals(datos.toString(), Files.readString(ruta));
+    }
+
+    /**
+     * @brief Prueba de campos entre comillas y lectura de vuelta
+     */
+    @Test
+    void testComillas() throws IOException {
+        Dataset datos = leer("\"nombre, completo\",tipo\n\"Pérez, \"\"Ana\"\"\",'build wind float'\nsimple,\"\"\"x\"\n");
+        String texto = escribir(new EscritorCsv(), datos);
+        assertEquals("\"nombre, completo\",tipo\n\"Pérez, \"\"Ana\"\"\",build wind float\nsimple,\"\"\"x\"\n", texto);
+        Dataset leido = leer(texto);
+        assertEquals(datos.getValores(), leido.getValores());
+        assertEquals(datos.nombreAtributos(), leido.nombreAtributos());
+    }
+
+    /**
+     * @brief Prueba de otro separador
+     */
+    @Test
+    void testSeparador() throws IOException {
+        EscritorCsv escritor = new EscritorCsv();
+        escritor.setSeparador(';');
+        assertEquals(';', escritor.getSeparador());
+        Dataset datos = leer("a,b\n1,x;y\n");
+        assertEquals("a;b\n1.0;\"x;y\"\n", escribir(escritor, datos));
+        assertThrows(IllegalArgumentException.class, () -> escritor.setSeparador('"'));
+    }
+
+    /**
+     * @brief Prueba de un dataset sin instancias
+     */
+    @Test
+    void testVacio() throws IOException {
+        Dataset datos = leer("a,b\n");
+        assertEquals("a,b\n", escribir(new EscritorCsv(), datos));
+    }
+}
@@ -0,0 +1,196 @@
+package datos;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @brief Pruebas unitarias para la clase LectorCsv
+ *
+ * @details Cubre la inferencia de tipos con muestra, los campos entre
+ * comillas, los finales de línea, el cambio de tipo tras la muestra y los
+ * errores de formato.
+ */
+class LectorCsvTest {
+
+    private static Dataset leer(LectorCsv lector, String texto) throws IOException {
+        return lector.leer(new ByteArrayInputStream(texto.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * @brief Prueba de la inferencia de tipos
+     */
+    @Test
+    void testTipos() throws IOException {
+        Dataset datos = leer(new LectorCsv(), "x,color,clase\n1.5,rojo,a\n-2,azul,b\n3e2,rojo,a\n");
+        assertEquals(3, datos.numeroAtributos());
+        assertEquals(3, datos.numeroCasos());
+        assertTrue(datos.get(0) instanceof Cuantitativo);
+        assertTrue(datos.get(1) instanceof Cualitativo);
+        assertEquals(300.0, ((Cuantitativo) datos.get(0)).getDouble(2));
+        assertEquals("azul", datos.get(1).getValor(1));
+        assertEquals(2, ((Cualitativo) datos.get(2)).nClases());
+        assertEquals(datos.getInstance(0).toString(), "[1.5, rojo, a]");
+    }
+
+    /**
+     * @brief Prueba de campos entre comillas dobles y simples
+     */
+    @Test
+    void testComillas() throws IOException {
+        String texto = "\"nombre, completo\",tipo\r\n"
+                + "\"Pérez, \"\"Ana\"\"\",'build wind float'\r\n"
+                + "'linea\nnueva',\"\"\r\n";
+        Dataset datos = leer(new LectorCsv(), texto);
+        assertEquals("nombre, completo", datos.get(0).getNombre());
+        assertEquals("Pérez, \"Ana\"", datos.get(0).getValor(0));
+        assertEquals("build wind float", datos.get(1).getValor(0));
+        assertEquals("linea\nnueva", datos.get(0).getValor(1));
+        assertEquals("", datos.get(1).getValor(1));
+    }
+
+    /**
+     * @brief Prueba de líneas en blanco, BOM y último registro sin salto de línea
+     */
+    @Test
+    void testFormatoLibre() throws IOException {
+        Dataset datos = leer(new LectorCsv(), "﻿a;b\n\n1;2\r\n\r\n3;4");
+        assertEquals(1, datos.numeroAtributos());
+
+        LectorCsv lector = new LectorCsv();
+        lector.setSeparador(';');
+        datos = leer(lector, "﻿a;b\n\n1;2\r\n\r\n3;4");
+        assertEquals("a", datos.get(0).getNombre());
+        assertEquals(2, datos.numeroCasos());
+        assertEquals(4.0, ((Cuantitativo) datos.get(1)).getDouble(1));
+        assertThrows(IllegalArgumentException.class, () -> lector.setSeparador('"'));
+    }
+
+    /**
+     * @brief Prueba de una columna que deja de ser numérica tras la muestra
+     */
+    @Test
+    void testCambioDeTipo() throws IOException {
+        String texto = "v,clase\n1,a\n2,a\nx,b\n";
+        Dataset datos = leer(new LectorCsv(2), texto);
+        assertTrue(datos.get(0) instanceof Cualitativo);
+        // Las filas de muestra conservan su texto
+        assertEquals("1", datos.get(0).getValor(0));
+        assertEquals("x", datos.get(0).getValor(2));
+
+        datos = leer(new LectorCsv(3), texto);
+        assertTrue(datos.get(0) instanceof Cualitativo);
+        assertEquals("1", datos.get(0).getValor(0));
+        assertThrows(IllegalArgumentException.class, () -> new LectorCsv(0));
+    }
+
+    /**
+     * @brief Prueba de que un archivo que cambia de tipo conserva el texto original de cada valor
+     */
+    @Test
+    void testCambioDeTipoConservaTexto(@TempDir Path directorio) throws IOException {
+        String texto = "v,clase\n1,a\n1e3,a\n2.50,b\nx,b\n";
+        Path archivo = directorio.resolve("cambio.csv");
+        Files.write(archivo, texto.getBytes(StandardCharsets.UTF_8));
+        Dataset datos = new LectorCsv(1).leer(archivo.toString());
+        assertTrue(datos.get(0) instanceof Cualitativo);
+        assertEquals(List.of("1", "1e3", "2.50", "x"), ((Cualitativo) datos.get(0)).getDiccionario());
+        assertTrue(datos.get(1) instanceof Cualitativo);
+
+        // En un flujo solo la muestra conserva el texto
+        datos = leer(new LectorCsv(1), texto);
+        assertEquals(List.of("1", "1000.0", "2.5", "x"), ((Cualitativo) datos.get(0)).getDiccionario());
+    }
+
+    /**
+     * @brief Prueba de los errores de formato
+     */
+    @Test
+    void testErrores() {
+        LectorCsv lector = new LectorCsv();
+        assertThrows(IOException.class, () -> leer(lector, ""));
+        assertThrows(IOException.class, () -> leer(lector, "a,b\n1,2\n3\n"));
+        assertThrows(IOException.class, () -> leer(lector, "a,b\n1,'sin cerrar\n"));
+    }
+
+    /**
+     * @brief Prueba de lectura de un archivo con comillas
+     */
+    @Test
+    void testArchivoGlass() throws IOException {
+        Dataset datos = new LectorCsv().leer("glass.csv");
+        assertEquals(10, datos.numeroAtributos());
+        assertEquals(214, datos.numeroCasos());
+        assertEquals("build wind float", datos.get(9).getValor(0));
+        for (int j = 0; j < 9; ++j) assertTrue(datos.get(j) instanceof Cuantitativo);
+    }
+
+    /**
+     * @brief Compara la lectura paralela con la secuencial sobre un archivo
+     */
+    private static void comprobarParalelo(Path archivo) throws IOException {
+        LectorCsv lector = new LectorCsv(5);
+        Dataset secuencial = lector.leer(archivo.toString());
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Dataset paralelo = lector.leerParalelo(archivo.toString(), pool, 64);
+            assertEquals(secuencial.numeroCasos(), paralelo.numeroCasos());
+            assertEquals(secuencial.toString(), paralelo.toString());
+            for (int j = 0; j < secuencial.numeroAtributos(); ++j) {
+                assertEquals(secuencial.get(j).getClass(), paralelo.get(j).getClass());
+                if (secuencial.get(j) instanceof Cualitativo) {
+                    assertEquals(((Cualitativo) secuencial.get(j)).getDiccionario(),
+                            ((Cualitativo) paralelo.get(j)).getDiccionario());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * @brief Prueba de la lectura paralela por trozos
+     */
+    @Test
+    void testParalelo(@TempDir Path directorio) throws IOException {
+        Random random = new Random(3);
+        StringBuilder texto = new StringBuilder("x,y,'clase'\r\n");
+        for (int i = 0; i < 2000; ++i) {
+            texto.append(random.nextInt(1000) / 10.0).append(',').append(random.nextGaussian())
+                    .append(",\"c, ").append(random.nextInt(7)).append("\"\r\n");
+        }
+        Path archivo = directorio.resolve("datos.csv");
+        Files.write(archivo, texto.toString().getBytes(StandardCharsets.UTF_8));
+        comprobarParalelo(archivo);
+        comprobarParalelo(Path.of("glass.csv"));
+    }
+
+    /**
+     * @brief Prueba de los casos en que la lectura paralela vuelve a la secuencial
+     */
+    @Test
+    void testParaleloSecuencial(@TempDir Path directorio) throws IOException {
+        StringBuilder texto = new StringBuilder("x,nota\n");
+        for (int i = 0; i < 500; ++i) texto.append(i).append(",'linea\nsegunda ").append(i % 3).append("'\n");
+        Path saltos = directorio.resolve("saltos.csv");
+        Files.write(saltos, texto.toString().getBytes(StandardCharsets.UTF_8));
+        comprobarParalelo(saltos);
+
+        texto = new StringBuilder("x,c\n");
+        for (int i = 0; i < 500; ++i) texto.append(i == 400 ? "?" : String.valueOf(i)).append(",a\n");
+        Path cambio = directorio.resolve("cambio.csv");
+        Files.write(cambio, texto.toString().getBytes(StandardCharsets.UTF_8));
+        comprobarParalelo(cambio);
+        assertTrue(new LectorCsv().leerParalelo(cambio.toString()).get(0) instanceof Cualitativo);
+    }
+}
@@ -139,6 +139,25 @@ class EntrenamientoTest {
                 e2.getTrainDataset().getValores());
     }
 
+    /**
+     * @brief Prueba la división aleatoria estratificada
+     *
+     * @details Verifica que cada conjunto recibe la mitad de cada clase
+     */
+    @Test
+    void testConstructorEstratificado() {
+        Dataset datos = new Dataset();
+        datos.getAtributos().add(new Cuantitativo("attr1"));
+        datos.getAtributos().add(new Cualitativo("clase"));
+        for (int i = 0; i < 12; ++i) datos.add(List.of(String.valueOf(i), i < 8 ? "A" : "B"));
+
+        Entrenamiento e = new Entrenamiento(datos, 0.5, 9, true);
+
+        assertEquals(6, e.getTrainDataset().numeroCasos());
+        assertEquals(4, ((Cualitativo) e.getTrainDataset().get(1)).frecuenciaAbsoluta("A"));
+        assertEquals(2, ((Cualitativo) e.getTestDataset().get(1)).frecuenciaAbsoluta("B"));
+    }
+
     /**
      * @brief Prueba la generación de archivos de predicción
      *
@@ -392,4 +411,63 @@ class EntrenamientoTest {
         assertNotNull(e.getTestDataset());
         assertEquals(1, e.getTestDataset().numeroCasos());
     }
-}
\ No newline at end of file
+
+    /**
+     * @brief Prueba de la evaluación en una sola clasificación
+     *
+     * @details Comprueba que evaluar() da la clase real y predicha de cada fila
+     * de prueba y que la exportación de una evaluación ya hecha escribe los
+     * mismos resultados.
+     */
+    @Test
+    void testEvaluar() throws IOException {
+        Dataset datos = new Dataset();
+        datos.getAtributos().add(new Cuantitativo("attr1"));
+        datos.getAtributos().add(new Cualitativo("clase"));
+        datos.add(List.of("1.0", "A"));
+        datos.add(List.of("2.0", "B"));
+        datos.add(List.of("1.1", "A"));
+        datos.add(List.of("2.1", "A"));
+
+        Entrenamiento e = new Entrenamiento(datos, 0.5);
+        Evaluacion evaluacion = e.evaluar(1);
+        assertEquals(2, evaluacion.numeroCasos());
+        assertEquals("A", evaluacion.getReal(1));
+        assertEquals("A", evaluacion.getPrediccion(0));
+        assertEquals("B", evaluacion.getPrediccion(1));
+        assertEquals(50.0, evaluacion.porcentajeAciertos());
+        assertEquals(List.of("A", "B"), evaluacion.getClases());
+
+        e.exportarResultados("resultados_evaluacion.csv", evaluacion);
+        List<String> lineas = Files.readAllLines(Paths.get("resultados_evaluacion.csv"));
+        assertEquals("1,A,B,false", lineas.get(2));
+        assertEquals("Precision Global,50.0%", lineas.get(lineas.size() - 1));
+        new File("resultados_evaluacion.csv").delete();
+    }
+
+    /**
+     * @brief Prueba del barrido de valores de k
+     *
+     * @details Comprueba que cada evaluación del barrido coincide con evaluar(k).
+     */
+    @Test
+    void testEvaluarBarrido() {
+        Dataset datos = new Dataset();
+        datos.getAtributos().add(new Cuantitativo("attr1"));
+        datos.getAtributos().add(new Cualitativo("clase"));
+        String[] clases = {"A", "B", "A", "A", "B", "B", "A", "B", "B", "A"};
+        for (int i = 0; i < clases.length; ++i) datos.add(List.of(String.valueOf(i % 4), clases[i]));
+
+        Entrenamiento e = new Entrenamiento(datos, 0.6, 3);
+        Evaluacion[] barrido = e.evaluarBarrido(5);
+        assertEquals(5, barrido.length);
+        for (int k = 1; k <= 5; ++k) {
+            Evaluacion esperada = e.evaluar(k);
+            for (int i = 0; i < esperada.numeroCasos(); ++i) {
+                assertEquals(esperada.getPrediccion(i), barrido[k - 1].getPrediccion(i));
+            }
+            assertEquals(esperada.porcentajeAciertos(), barrido[k - 1].porcentajeAciertos());
+        }
+        assertThrows(IllegalArgumentException.class, () -> e.evaluarBarrido(0));
+    }
+}
@@ -0,0 +1,70 @@
+package entrenamiento;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import vectores.Matriz;
+
+/**
+ * @brief Pruebas unitarias para la clase Evaluacion
+ *
+ * @details Comprueba las métricas derivadas de un único array de predicciones:
+ * aciertos, matriz de confusión y precisión, exhaustividad y F1 por clase.
+ */
+class EvaluacionTest {
+
+    private static Evaluacion crear() {
+        String[] reales = {"a", "a", "a", "b", "b", "c"};
+        String[] predichas = {"a", "a", "b", "b", "a", "b"};
+        return new Evaluacion(List.of("a", "b", "c"), reales, predichas);
+    }
+
+    /**
+     * @brief Prueba de aciertos y matriz de confusión
+     */
+    @Test
+    void testConfusion() {
+        Evaluacion evaluacion = crear();
+        assertEquals(6, evaluacion.numeroCasos());
+        assertEquals(3, evaluacion.getAciertos());
+        assertEquals(50.0, evaluacion.porcentajeAciertos());
+        assertEquals(2, evaluacion.getConfusion(0, 0));
+        assertEquals(1, evaluacion.getConfusion(0, 1));
+        assertEquals(1, evaluacion.getConfusion(2, 1));
+        Matriz matriz = evaluacion.matrizConfusion();
+        assertEquals(1.0, matriz.get(1, 0));
+        assertEquals(0.0, matriz.get(2, 2));
+    }
+
+    /**
+     * @brief Prueba de precisión, exhaustividad y F1 por clase
+     */
+    @Test
+    void testMetricasPorClase() {
+        Evaluacion evaluacion = crear();
+        assertEquals(2.0 / 3, evaluacion.precision(0), 1e-12);
+        assertEquals(2.0 / 3, evaluacion.exhaustividad(0), 1e-12);
+        assertEquals(2.0 / 3, evaluacion.f1(0), 1e-12);
+        assertEquals(1.0 / 3, evaluacion.precision(1), 1e-12);
+        assertEquals(0.5, evaluacion.exhaustividad(1), 1e-12);
+        assertEquals(0.4, evaluacion.f1(1), 1e-12);
+        assertEquals(0.0, evaluacion.precision(2));
+        assertEquals(0.0, evaluacion.f1(2));
+    }
+
+    /**
+     * @brief Prueba de clases que no estaban en la lista y tamaños distintos
+     */
+    @Test
+    void testClasesNuevasYErrores() {
+        Evaluacion evaluacion = new Evaluacion(List.of("a"), new String[]{"a", "z"}, new String[]{"y", "z"});
+        assertEquals(List.of("a", "y", "z"), evaluacion.getClases());
+        assertEquals(1, evaluacion.getConfusion(0, 1));
+        assertEquals(1.0, evaluacion.exhaustividad(2));
+        assertTrue(Double.isNaN(new Evaluacion(List.of(), new String[0], new String[0]).porcentajeAciertos()));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Evaluacion(List.of("a"), new String[]{"a"}, new String[0]));
+    }
+}
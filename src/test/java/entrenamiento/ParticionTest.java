@@ -0,0 +1,77 @@
+package entrenamiento;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+
+/**
+ * @brief Pruebas unitarias para la clase Particion
+ *
+ * @details Comprueba que las divisiones son particiones de las filas, con el
+ * tamaño esperado, reproducibles con la misma semilla y, en la versión
+ * estratificada, con la proporción de cada clase.
+ */
+class ParticionTest {
+
+    private static void comprobarParticion(Particion particion, int filas) {
+        boolean[] vistas = new boolean[filas];
+        for (int fila : particion.getEntrenamiento()) {
+            assertFalse(vistas[fila]);
+            vistas[fila] = true;
+        }
+        int anterior = -1;
+        for (int fila : particion.getPrueba()) {
+            assertFalse(vistas[fila]);
+            assertTrue(fila > anterior, "Prueba en el orden del dataset");
+            vistas[fila] = true;
+            anterior = fila;
+        }
+        for (boolean vista : vistas) assertTrue(vista);
+    }
+
+    /**
+     * @brief División aleatoria: tamaño, partición y reproducibilidad
+     */
+    @Test
+    void testAleatoria() {
+        Particion particion = Particion.aleatoria(1001, 0.7, 42);
+        assertEquals(701, particion.getEntrenamiento().length);
+        assertEquals(300, particion.getPrueba().length);
+        comprobarParticion(particion, 1001);
+        assertArrayEquals(particion.getEntrenamiento(), Particion.aleatoria(1001, 0.7, 42).getEntrenamiento());
+        assertFalse(Arrays.equals(particion.getEntrenamiento(),
+                Particion.aleatoria(1001, 0.7, 43).getEntrenamiento()));
+        assertEquals(1001, Particion.aleatoria(1001, 1.0, 1).getEntrenamiento().length);
+        assertEquals(0, Particion.aleatoria(0, 0.5, 1).getPrueba().length);
+    }
+
+    /**
+     * @brief División estratificada: cada clase conserva su proporción
+     */
+    @Test
+    void testEstratificada() {
+        int[] etiquetas = new int[1000];
+        for (int i = 0; i < etiquetas.length; ++i) etiquetas[i] = i % 10 == 0 ? 1 : (i % 10 < 4 ? 2 : 0);
+        Particion particion = Particion.estratificada(etiquetas, 0.75, 7);
+        comprobarParticion(particion, 1000);
+        int[] porClase = new int[3];
+        for (int fila : particion.getEntrenamiento()) porClase[etiquetas[fila]]++;
+        assertArrayEquals(new int[]{450, 75, 225}, porClase);
+        assertArrayEquals(particion.getPrueba(), Particion.estratificada(etiquetas, 0.75, 7).getPrueba());
+
+        // El total coincide con la división sin estratos aunque ninguna clase divida exacto
+        int[] impares = {0, 0, 0, 1, 1, 1, 2};
+        assertEquals(4, Particion.estratificada(impares, 0.5, 3).getEntrenamiento().length);
+    }
+
+    /**
+     * @brief Porcentaje fuera de rango
+     */
+    @Test
+    void testPorcentajeInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> Particion.aleatoria(10, 1.5, 1));
+        assertThrows(IllegalArgumentException.class, () -> Particion.aleatoria(10, Double.NaN, 1));
+        assertThrows(IllegalArgumentException.class, () -> Particion.estratificada(new int[3], -0.1, 1));
+    }
+}
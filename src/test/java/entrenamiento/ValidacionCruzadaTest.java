@@ -0,0 +1,156 @@
+package entrenamiento;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import clasificacion.KNN;
+import clasificacion.MatrizCaracteristicas;
+import datos.Cualitativo;
+import datos.Cuantitativo;
+import datos.Dataset;
+
+/**
+ * @brief Pruebas unitarias para la clase ValidacionCruzada
+ *
+ * @details Comprueba el reparto de filas en pliegues (simple y estratificado)
+ * y que cada pliegue se clasifica igual que con un conjunto de entrenamiento
+ * formado por el resto de filas.
+ */
+class ValidacionCruzadaTest {
+
+    private static Dataset crear(int filas, int semilla) {
+        Random random = new Random(semilla);
+        Dataset datos = new Dataset();
+        datos.getAtributos().add(new Cuantitativo("x"));
+        datos.getAtributos().add(new Cuantitativo("y"));
+        datos.getAtributos().add(new Cualitativo("clase"));
+        for (int i = 0; i < filas; ++i) {
+            int clase = i % 5 == 0 ? 1 : 0;
+            datos.get(0).add(random.nextDouble() + clase);
+            datos.get(1).add(random.nextDouble());
+            datos.get(2).add("C" + clase);
+        }
+        return datos;
+    }
+
+    /**
+     * @brief Los pliegues son una partición de las filas
+     */
+    @Test
+    void testPlieguesParticion() {
+        ValidacionCruzada validacion = new ValidacionCruzada(crear(103, 1), 4, 7);
+        assertEquals(4, validacion.numeroPliegues());
+        boolean[] vistas = new boolean[103];
+        for (int f = 0; f < 4; ++f) {
+            int[] pliegue = validacion.getPliegue(f);
+            assertTrue(pliegue.length == 25 || pliegue.length == 26);
+            for (int fila : pliegue) {
+                assertFalse(vistas[fila], "Fila repetida: " + fila);
+                vistas[fila] = true;
+            }
+        }
+        int[] consecutivo = new ValidacionCruzada(crear(10, 1), 2).getPliegue(0);
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, consecutivo);
+    }
+
+    /**
+     * @brief Los pliegues estratificados reparten cada clase por igual
+     */
+    @Test
+    void testEstratificada() {
+        Dataset datos = crear(100, 2);
+        ValidacionCruzada validacion = new ValidacionCruzada(datos, 5, 3, true);
+        for (int f = 0; f < 5; ++f) {
+            int minoritaria = 0;
+            for (int fila : validacion.getPliegue(f)) {
+                if (datos.getInstance(fila).getValores().get(2).equals("C1")) minoritaria++;
+            }
+            assertEquals(4, minoritaria);
+        }
+    }
+
+    /**
+     * @brief Cada pliegue se clasifica igual que con el resto de filas como entrenamiento
+     */
+    @Test
+    void testCoincideConEntrenamientoPorPliegue() {
+        Dataset datos = crear(200, 3);
+        MatrizCaracteristicas completa = new MatrizCaracteristicas(datos);
+        ValidacionCruzada validacion = new ValidacionCruzada(datos, 4, 11, true);
+        ResultadoValidacion resultado = validacion.evaluar(3);
+        KNN knn = new KNN(3);
+
+        int aciertos = 0;
+        for (int f = 0; f < validacion.numeroPliegues(); ++f) {
+            int[] prueba = validacion.getPliegue(f);
+            boolean[] enPrueba = new boolean[completa.numeroFilas()];
+            for (int fila : prueba) enPrueba[fila] = true;
+            int[] resto = new int[completa.numeroFilas() - prueba.length];
+            for (int i = 0, n = 0; i < enPrueba.length; ++i) {
+                if (!enPrueba[i]) resto[n++] = i;
+            }
+            MatrizCaracteristicas entrenamiento = completa.reordenar(resto);
+            Evaluacion pliegue = resultado.getPliegue(f);
+            assertEquals(prueba.length, pliegue.numeroCasos());
+            for (int i = 0; i < prueba.length; ++i) {
+                assertEquals(completa.getClase(prueba[i]), pliegue.getReal(i));
+                assertEquals(knn.clasificar(entrenamiento, completa.getFila(prueba[i])), pliegue.getPrediccion(i));
+            }
+            aciertos += pliegue.getAciertos();
+        }
+        assertEquals(200, resultado.getTotal().numeroCasos());
+        assertEquals(aciertos, resultado.getTotal().getAciertos());
+        assertEquals(4, resultado.estadisticasPorcentaje().getNumero());
+    }
+
+    /**
+     * @brief Los pliegues pueden evaluarse en otro ejecutor con el mismo resultado
+     */
+    @Test
+    void testEjecutorPropio() {
+        ValidacionCruzada validacion = new ValidacionCruzada(crear(60, 4), 3, 5);
+        ResultadoValidacion comun = validacion.evaluar(1);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(2);
+        try {
+            validacion.setEjecutor(ejecutor);
+            ResultadoValidacion propio = validacion.evaluar(1);
+            for (int i = 0; i < 60; ++i) {
+                assertEquals(comun.getTotal().getPrediccion(i), propio.getTotal().getPrediccion(i));
+            }
+        } finally {
+            ejecutor.shutdown();
+        }
+    }
+
+    /**
+     * @brief Dejar uno fuera coincide con tantos pliegues como filas
+     */
+    @Test
+    void testDejarUnoFuera() {
+        Dataset datos = crear(150, 7);
+        Evaluacion evaluacion = ValidacionCruzada.dejarUnoFuera(datos, 5);
+        Evaluacion pliegues = new ValidacionCruzada(datos, 150).evaluar(5).getTotal();
+        assertEquals(150, evaluacion.numeroCasos());
+        for (int i = 0; i < 150; ++i) {
+            assertEquals(pliegues.getReal(i), evaluacion.getReal(i));
+            assertEquals(pliegues.getPrediccion(i), evaluacion.getPrediccion(i));
+        }
+        assertThrows(IllegalArgumentException.class, () -> ValidacionCruzada.dejarUnoFuera(datos, 0));
+    }
+
+    /**
+     * @brief Número de pliegues o de vecinos no válido
+     */
+    @Test
+    void testArgumentosInvalidos() {
+        Dataset datos = crear(5, 6);
+        assertThrows(IllegalArgumentException.class, () -> new ValidacionCruzada(datos, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ValidacionCruzada(datos, 6));
+        assertThrows(IllegalArgumentException.class, () -> new ValidacionCruzada(datos, 2).evaluar(0));
+        assertEquals(2, new ValidacionCruzada(datos, 2).getPliegue(1).length);
+    }
+}
@@ -0,0 +1,73 @@
+package metricas;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricaTest {
+    private final double[] a = {1.0, 2.0, 0.0};
+    private final double[] b = {4.0, 6.0};
+    private final double[] pesos = {0.5, 1.0};
+
+    @Test
+    void testEuclidea() {
+        assertEquals(Math.sqrt(2.25 + 16), Metrica.EUCLIDEA.distancia(a, 0, b, 0, pesos, 2), 1e-12);
+    }
+
+    @Test
+    void testManhattan() {
+        assertEquals(1.5 + 4.0, Metrica.MANHATTAN.distancia(a, 0, b, 0, pesos, 2), 1e-12);
+    }
+
+    @Test
+    void testChebyshev() {
+        assertEquals(4.0, Metrica.CHEBYSHEV.distancia(a, 0, b, 0, pesos, 2), 1e-12);
+    }
+
+    @Test
+    void testDesplazamiento() {
+        double[] plano = {9.0, 9.0, 1.0, 2.0};
+        assertEquals(Metrica.EUCLIDEA.distancia(a, 0, b, 0, pesos, 2),
+                Metrica.EUCLIDEA.distancia(plano, 2, b, 0, pesos, 2), 1e-12);
+    }
+
+    @Test
+    void testMinkowski() {
+        assertEquals(Metrica.MANHATTAN.distancia(a, 0, b, 0, pesos, 2),
+                new DistanciaMinkowski(1).distancia(a, 0, b, 0, pesos, 2), 1e-12);
+        assertEquals(Metrica.EUCLIDEA.distancia(a, 0, b, 0, pesos, 2),
+                new DistanciaMinkowski(2).distancia(a, 0, b, 0, pesos, 2), 1e-12);
+        assertEquals(4.0, new DistanciaMinkowski(Double.POSITIVE_INFINITY).distancia(a, 0, b, 0, pesos, 2), 1e-12);
+        assertEquals(Math.cbrt(1.5 * 1.5 * 1.5 + 64), new DistanciaMinkowski(3).distancia(a, 0, b, 0, pesos, 2), 1e-12);
+        assertEquals(3.0, new DistanciaMinkowski(3).getP());
+        assertThrows(IllegalArgumentException.class, () -> new DistanciaMinkowski(0.5));
+        assertThrows(IllegalArgumentException.class, () -> new DistanciaMinkowski(Double.NaN));
+    }
+
+    @Test
+    void testCoseno() {
+        double[] x = {3.0, 4.0};
+        double[] y = {-8.0, 6.0};
+        double[] unos = {1.0, 1.0};
+        DistanciaCoseno.normalizar(x, 0, unos, 2);
+        DistanciaCoseno.normalizar(y, 0, unos, 2);
+        assertArrayEquals(new double[]{0.6, 0.8}, x, 1e-12);
+        assertEquals(1.0, Metrica.COSENO.distancia(x, 0, y, 0, unos, 2), 1e-12);
+        assertEquals(0.0, Metrica.COSENO.distancia(x, 0, x, 0, unos, 2), 1e-12);
+
+        double[] cero = {0.0, 0.0};
+        DistanciaCoseno.normalizar(cero, 0, unos, 2);
+        assertArrayEquals(new double[]{0.0, 0.0}, cero);
+        assertTrue(Metrica.COSENO.requiereNormalizacion());
+        assertFalse(Metrica.COSENO.cumpleDesigualdadTriangular());
+    }
+
+    @Test
+    void testCotaCoordenada() {
+        for (Metrica metrica : new Metrica[]{Metrica.EUCLIDEA, Metrica.MANHATTAN, Metrica.CHEBYSHEV, new DistanciaMinkowski(3)}) {
+            assertEquals(4.0, metrica.cotaCoordenada(-4.0));
+            assertTrue(metrica.cotaCoordenada(4.0) <= metrica.distancia(a, 0, b, 0, pesos, 2));
+            assertTrue(metrica.cumpleDesigualdadTriangular());
+        }
+        assertEquals(0.0, Metrica.COSENO.cotaCoordenada(4.0));
+    }
+}
@@ -0,0 +1,77 @@
+package procesamiento;
+
+import datos.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @brief Pruebas unitarias para la clase ModeloPreprocesado
+ *
+ * @details Comprueba que el modelo ajustado transforma un dataset igual que
+ * procesar() y que transforma consultas sueltas con los mismos parámetros, sin
+ * modificar el dataset de referencia.
+ */
+class ModeloPreprocesadoTest {
+
+    private static Dataset crear() throws IOException {
+        String texto = "edad,altura,fijo,color,clase\n20,1.5,7,rojo,a\n40,1.8,7,azul,b\n60,1.6,7,rojo,a\n30,1.7,7,verde,b\n";
+        return new LectorCsv().leer(new ByteArrayInputStream(texto.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * @brief Prueba que aplicar() coincide con procesar() en los tres preprocesados
+     */
+    @Test
+    void testAplicarIgualQueProcesar() throws IOException {
+        for (Preprocesado preprocesado : new Preprocesado[]{new DatosCrudos(), new Normalizacion(), new Estandarizacion()}) {
+            Dataset datos = crear();
+            Dataset copia = crear();
+            ModeloPreprocesado modelo = preprocesado.ajustar(datos);
+            assertEquals(crear().getValores(), datos.getValores());
+            modelo.aplicar(copia);
+            assertEquals(new Dataset(preprocesado.procesar(datos)).getValores(), copia.getValores());
+        }
+    }
+
+    /**
+     * @brief Prueba de la transformación de una consulta
+     */
+    @Test
+    void testTransformarInstancia() throws IOException {
+        Dataset datos = crear();
+        ModeloPreprocesado modelo = new Normalizacion().ajustar(datos);
+        Instancia consulta = modelo.transformar(new Instancia("50, 1.65,7,azul"));
+        assertEquals(Arrays.asList(0.75, (1.65 - 1.5) / (1.8 - 1.5), Double.NaN, "azul"), consulta.getValores());
+        assertTrue(modelo.transforma(0));
+        assertFalse(modelo.transforma(3));
+
+        ModeloPreprocesado estandar = new Estandarizacion().ajustar(datos);
+        Estadisticas edad = ((Cuantitativo) datos.get(0)).estadisticas();
+        List<Object> valores = estandar.transformar(new Instancia(Arrays.asList(50, 1.65, 9.0))).getValores();
+        assertEquals((50 - edad.getMedia()) / edad.getDesviacion(), (Double) valores.get(0), 1e-12);
+        assertEquals(9.0, valores.get(2));
+        assertFalse(estandar.transforma(2));
+
+        List<Object> crudos = new DatosCrudos().ajustar(datos).transformar(new Instancia("50,1.65")).getValores();
+        assertEquals(Arrays.asList(50.0, 1.65), crudos);
+    }
+
+    /**
+     * @brief Prueba de consultas y datasets no compatibles
+     */
+    @Test
+    void testErrores() throws IOException {
+        ModeloPreprocesado modelo = new Normalizacion().ajustar(crear());
+        assertEquals(5, modelo.numeroAtributos());
+        assertThrows(IllegalArgumentException.class, () -> modelo.transformar(new Instancia("x,1.5")));
+        assertThrows(IllegalArgumentException.class, () -> modelo.transformar(new Instancia("1,2,3,rojo,a,b")));
+        Dataset otro = new Dataset();
+        otro.getAtributos().add(new Cuantitativo("x"));
+        assertThrows(IllegalArgumentException.class, () -> modelo.aplicar(otro));
+    }
+}
@@ -0,0 +1,68 @@
+package vectores;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+class NucleosTest {
+
+    private static final NucleosDistancia ESCALARES = new NucleosEscalares();
+
+    private static double[] aleatorio(Random random, int n) {
+        double[] v = new double[n];
+        for (int i = 0; i < n; ++i) v[i] = random.nextDouble() * 10 - 5;
+        return v;
+    }
+
+    @Test
+    void testEscalaresValoresConocidos() {
+        double[] a = {1.0, 2.0, 3.0};
+        double[] b = {4.0, 6.0, 3.0};
+        double[] pesos = {1.0, 0.5, 2.0};
+        assertEquals(9.0 + 4.0, ESCALARES.euclideaCuadrada(a, 0, b, 0, pesos, 3), 1e-12);
+        assertEquals(3.0 + 2.0, ESCALARES.manhattan(a, 0, b, 0, pesos, 3), 1e-12);
+        assertEquals(4.0 + 12.0 + 9.0, ESCALARES.productoEscalar(a, 0, b, 0, 3), 1e-12);
+        assertEquals(1.0f, ESCALARES.euclideaCuadrada(new float[]{0, 1}, 1, new float[]{2}, 0, new float[]{1}, 1));
+    }
+
+    @Test
+    void testActivosCoincidenConEscalares() {
+        Random random = new Random(3);
+        NucleosDistancia activos = Nucleos.ACTIVOS;
+        // Longitudes que cubren el bucle vectorial y el resto escalar
+        for (int n : new int[]{0, 1, 3, 4, 7, 8, 9, 16, 31, 100}) {
+            double[] a = aleatorio(random, n + 5);
+            double[] b = aleatorio(random, n + 2);
+            double[] pesos = aleatorio(random, n);
+            assertEquals(ESCALARES.euclideaCuadrada(a, 5, b, 2, pesos, n),
+                    activos.euclideaCuadrada(a, 5, b, 2, pesos, n), 1e-9);
+            assertEquals(ESCALARES.manhattan(a, 5, b, 2, pesos, n),
+                    activos.manhattan(a, 5, b, 2, pesos, n), 1e-9);
+            assertEquals(ESCALARES.productoEscalar(a, 5, b, 2, n),
+                    activos.productoEscalar(a, 5, b, 2, n), 1e-9);
+
+            float[] fa = new float[n];
+            float[] fb = new float[n];
+            float[] fp = new float[n];
+            for (int i = 0; i < n; ++i) {
+                fa[i] = (float) a[i];
+                fb[i] = (float) b[i];
+                fp[i] = (float) pesos[i];
+            }
+            float esperado = ESCALARES.euclideaCuadrada(fa, 0, fb, 0, fp, n);
+            assertEquals(esperado, activos.euclideaCuadrada(fa, 0, fb, 0, fp, n), 1e-4f * (1 + esperado));
+            esperado = ESCALARES.manhattan(fa, 0, fb, 0, fp, n);
+            assertEquals(esperado, activos.manhattan(fa, 0, fb, 0, fp, n), 1e-4f * (1 + esperado));
+            esperado = ESCALARES.productoEscalar(fa, 0, fb, 0, n);
+            assertEquals(esperado, activos.productoEscalar(fa, 0, fb, 0, n), 1e-4f * (1 + Math.abs(esperado)));
+        }
+    }
+
+    @Test
+    void testSeleccionSegunModulo() {
+        boolean modulo = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        if (!modulo) assertFalse(Nucleos.simd());
+        assertEquals(Nucleos.simd(), !(Nucleos.ACTIVOS instanceof NucleosEscalares));
+    }
+}